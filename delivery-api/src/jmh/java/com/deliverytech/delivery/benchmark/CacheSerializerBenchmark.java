@@ -0,0 +1,65 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.config.CacheConfig;
+import com.deliverytech.delivery.dto.response.PedidoResponse;
+import com.deliverytech.delivery.dto.response.RestauranteResponse;
+import com.deliverytech.delivery.mapper.PedidoMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializadores de valor usados pelo cache Redis, com o mesmo ObjectMapper
+ * (default typing ativado) configurado em CacheConfig.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheSerializerBenchmark {
+
+    private GenericJackson2JsonRedisSerializer genericSerializer;
+    private Jackson2JsonRedisSerializer<RestauranteResponse> restauranteSerializer;
+
+    private PedidoResponse pedido;
+    private RestauranteResponse restaurante;
+    private byte[] pedidoSerializado;
+    private byte[] restauranteSerializado;
+
+    @Setup
+    public void setup() {
+        ObjectMapper redisObjectMapper = new CacheConfig().redisObjectMapper();
+        genericSerializer = new GenericJackson2JsonRedisSerializer(redisObjectMapper);
+        restauranteSerializer = new Jackson2JsonRedisSerializer<>(redisObjectMapper, RestauranteResponse.class);
+
+        pedido = new PedidoMapper().toResponse(PedidoFixtures.pedido(10));
+        restaurante = pedido.getRestaurante();
+        pedidoSerializado = genericSerializer.serialize(pedido);
+        restauranteSerializado = restauranteSerializer.serialize(restaurante);
+    }
+
+    @Benchmark
+    public byte[] genericSerializarPedido() {
+        return genericSerializer.serialize(pedido);
+    }
+
+    @Benchmark
+    public Object genericDesserializarPedido() {
+        return genericSerializer.deserialize(pedidoSerializado);
+    }
+
+    @Benchmark
+    public byte[] restauranteSerializar() {
+        return restauranteSerializer.serialize(restaurante);
+    }
+
+    @Benchmark
+    public RestauranteResponse restauranteDesserializar() {
+        return restauranteSerializer.deserialize(restauranteSerializado);
+    }
+}
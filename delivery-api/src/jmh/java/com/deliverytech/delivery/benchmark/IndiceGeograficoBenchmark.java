@@ -0,0 +1,84 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.geo.Coordenada;
+import com.deliverytech.delivery.geo.IndiceGeografico;
+import com.deliverytech.delivery.geo.Vizinho;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca de restaurantes próximos com 100 mil pontos: 70% na região metropolitana de São Paulo,
+ * o resto espalhado pelo país. Cada chamada usa uma origem diferente dentro de São Paulo.
+ * A varredura completa é a referência do que a busca antiga (findAll + filtro) custaria só em CPU.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndiceGeograficoBenchmark {
+
+    @Param({"100000"})
+    private int restaurantes;
+
+    private IndiceGeografico indice;
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[][] origens;
+    private int proxima;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(7);
+        indice = new IndiceGeografico(0.05);
+        latitudes = new double[restaurantes];
+        longitudes = new double[restaurantes];
+        for (int i = 0; i < restaurantes; i++) {
+            if (i % 10 < 7) {
+                latitudes[i] = -24.0 + random.nextDouble();
+                longitudes[i] = -47.2 + random.nextDouble();
+            } else {
+                latitudes[i] = -30.0 + random.nextDouble() * 27;
+                longitudes[i] = -55.0 + random.nextDouble() * 20;
+            }
+            indice.atualizar(i, latitudes[i], longitudes[i]);
+        }
+        origens = new double[1024][];
+        for (int i = 0; i < origens.length; i++) {
+            origens[i] = new double[] {-23.8 + random.nextDouble() * 0.6, -46.9 + random.nextDouble() * 0.6};
+        }
+    }
+
+    private double[] origem() {
+        proxima = (proxima + 1) & (origens.length - 1);
+        return origens[proxima];
+    }
+
+    @Benchmark
+    public List<Vizinho> raio5kmPrimeiraPagina() {
+        double[] o = origem();
+        return indice.buscar(o[0], o[1], 5, -1, Long.MIN_VALUE, 21);
+    }
+
+    @Benchmark
+    public List<Vizinho> vinteMaisProximos() {
+        double[] o = origem();
+        return indice.buscar(o[0], o[1], 50, -1, Long.MIN_VALUE, 21);
+    }
+
+    @Benchmark
+    public int varreduraCompleta5km() {
+        double[] o = origem();
+        int encontrados = 0;
+        for (int i = 0; i < restaurantes; i++) {
+            if (Coordenada.distanciaKm(o[0], o[1], latitudes[i], longitudes[i]) <= 5) {
+                encontrados++;
+            }
+        }
+        return encontrados;
+    }
+}
@@ -0,0 +1,57 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.search.IndiceTexto;
+import com.deliverytech.delivery.search.Resultado;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca textual em 100 mil produtos com nomes, categorias e descrições sorteados de um vocabulário
+ * de cardápio: termo exato, prefixo, erro de digitação e dois termos, primeira página de 20.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndiceTextoBenchmark {
+
+    private static final String[] PALAVRAS = {
+        "pizza", "calabresa", "mussarela", "frango", "catupiry", "lasanha", "bolonhesa", "hamburguer",
+        "bacon", "cheddar", "salada", "caesar", "feijoada", "picanha", "farofa", "vinagrete", "sushi",
+        "salmão", "temaki", "yakisoba", "açaí", "granola", "suco", "laranja", "limão", "maracujá",
+        "coxinha", "pastel", "queijo", "carne", "palmito", "esfiha", "kibe", "tapioca", "cuscuz",
+        "moqueca", "camarão", "risoto", "cogumelos", "parmegiana", "batata", "mandioca", "pudim"
+    };
+
+    @Param({"100000"})
+    private int produtos;
+
+    @Param({"calabresa", "calab", "calabreza", "pizza frango"})
+    private String consulta;
+
+    private IndiceTexto indice;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(7);
+        indice = new IndiceTexto(3.0, 1.5, 1.0);
+        for (int i = 0; i < produtos; i++) {
+            indice.atualizar(i, palavra(random) + " " + palavra(random), palavra(random),
+                    palavra(random) + ", " + palavra(random) + " e " + palavra(random));
+        }
+    }
+
+    private static String palavra(Random random) {
+        return PALAVRAS[random.nextInt(PALAVRAS.length)];
+    }
+
+    @Benchmark
+    public List<Resultado> buscar() {
+        return indice.buscar(consulta, Double.POSITIVE_INFINITY, Long.MIN_VALUE, 20);
+    }
+}
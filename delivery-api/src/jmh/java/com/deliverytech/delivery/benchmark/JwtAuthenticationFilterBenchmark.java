@@ -0,0 +1,86 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.enums.Role;
+import com.deliverytech.delivery.repository.UsuarioRepository;
+import com.deliverytech.delivery.security.CustomUserDetailsService;
+import com.deliverytech.delivery.security.InMemoryJwtTokenBlacklist;
+import com.deliverytech.delivery.security.JwtAuthenticationFilter;
+import com.deliverytech.delivery.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Custo do JwtAuthenticationFilter para uma requisição autenticada, comparado
+ * com a verificação do token sem cache (chave e parser recriados a cada chamada).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "1a2b3c4d5e6f7g8h9i0j1k2l3m4n5o6p";
+
+    private JwtAuthenticationFilter filtro;
+    private String token;
+
+    @Setup
+    public void setup() {
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setNome("Benchmark");
+        usuario.setEmail("benchmark@email.com");
+        usuario.setSenha("123456");
+        usuario.setRole(Role.CLIENTE);
+        usuario.setAtivo(true);
+        usuario.setDataCriacao(LocalDateTime.now());
+
+        UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+        when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 3_600_000, 10_000);
+        CustomUserDetailsService userDetailsService =
+                new CustomUserDetailsService(usuarioRepository, Duration.ofSeconds(30), 10_000);
+
+        filtro = new JwtAuthenticationFilter(jwtUtil, userDetailsService, new InMemoryJwtTokenBlacklist(10_000));
+        token = jwtUtil.generateToken(usuario);
+    }
+
+    @Benchmark
+    public Object filtroRequisicaoAutenticada() throws Exception {
+        SecurityContextHolder.clearContext();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/pedidos");
+        request.setServletPath("/api/pedidos");
+        request.addHeader("Authorization", "Bearer " + token);
+
+        filtro.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Claims verificacaoSemCache() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,71 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.enums.Role;
+import com.deliverytech.delivery.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração e leitura de tokens pelo JwtUtil. A leitura repetida do mesmo token
+ * sai do cache de claims; a verificação de assinatura é medida à parte com o parser do jjwt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "1a2b3c4d5e6f7g8h9i0j1k2l3m4n5o6p";
+
+    private JwtUtil jwtUtil;
+    private JwtParser parser;
+    private Usuario usuario;
+    private String token;
+
+    @Setup
+    public void setup() {
+        usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setNome("Benchmark");
+        usuario.setEmail("benchmark@email.com");
+        usuario.setSenha("123456");
+        usuario.setRole(Role.CLIENTE);
+        usuario.setAtivo(true);
+        usuario.setDataCriacao(LocalDateTime.now());
+
+        jwtUtil = new JwtUtil(SECRET, 3_600_000, 10_000);
+        parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build();
+        token = jwtUtil.generateToken(usuario);
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return jwtUtil.generateToken(usuario);
+    }
+
+    @Benchmark
+    public Claims parseClaimsEmCache() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public String extrairUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public Claims verificarAssinatura() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+}
@@ -0,0 +1,90 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.archive.PedidoArquivamento;
+import com.deliverytech.delivery.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery.dto.response.PedidoResponse;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.mapper.PedidoMapper;
+import com.deliverytech.delivery.metrics.PedidoMetrics;
+import com.deliverytech.delivery.outbox.OutboxService;
+import com.deliverytech.delivery.repository.ClienteRepository;
+import com.deliverytech.delivery.repository.PedidoArquivadoRepository;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.service.UsuarioService;
+import com.deliverytech.delivery.service.impl.PedidoServiceImpl;
+import com.deliverytech.delivery.statemachine.PedidoStatusMaquina;
+import com.deliverytech.delivery.stock.StockReservationService;
+import com.deliverytech.delivery.streaming.TransmissaoJpa;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Caminho de montagem da resposta de um pedido: mapper, totais da entidade
+ * e o cálculo de total do serviço, para carrinhos de tamanhos diferentes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PedidoBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int quantidadeItens;
+
+    private PedidoMapper mapper;
+    private PedidoServiceImpl pedidoService;
+    private Pedido pedido;
+    private List<ItemPedidoRequest> itensRequest;
+
+    @Setup
+    public void setup() {
+        mapper = new PedidoMapper();
+        // Só o tracer é usado por calcularTotalPedido; os demais colaboradores não são acessados
+        pedidoService = new PedidoServiceImpl(
+                mock(UsuarioService.class),
+                mock(PedidoRepository.class),
+                mock(ClienteRepository.class),
+                mock(RestauranteRepository.class),
+                mock(ProdutoRepository.class),
+                mapper,
+                mock(PedidoMetrics.class),
+                mock(StockReservationService.class),
+                mock(OutboxService.class),
+                mock(PedidoArquivadoRepository.class),
+                mock(PedidoArquivamento.class),
+                mock(TransmissaoJpa.class),
+                mock(PedidoStatusMaquina.class));
+        pedido = PedidoFixtures.pedido(quantidadeItens);
+        itensRequest = PedidoFixtures.itensRequest(quantidadeItens);
+    }
+
+    @Benchmark
+    public PedidoResponse mapperToResponse() {
+        return mapper.toResponse(pedido);
+    }
+
+    @Benchmark
+    public BigDecimal pedidoCalcularTotais() {
+        pedido.calcularTotais();
+        return pedido.getValorTotal();
+    }
+
+    @Benchmark
+    public BigDecimal pedidoGetTotal() {
+        return pedido.getTotal();
+    }
+
+    @Benchmark
+    public BigDecimal servicoCalcularTotalPedido() {
+        return pedidoService.calcularTotalPedido(itensRequest);
+    }
+}
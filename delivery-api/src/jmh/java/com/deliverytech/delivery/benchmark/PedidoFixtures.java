@@ -0,0 +1,78 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery.entity.Cliente;
+import com.deliverytech.delivery.entity.ItemPedido;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.enums.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dados em memória compartilhados pelos benchmarks de pedido.
+ */
+final class PedidoFixtures {
+
+    private PedidoFixtures() {
+    }
+
+    static Pedido pedido(int quantidadeItens) {
+        Cliente cliente = new Cliente();
+        cliente.setId(1L);
+        cliente.setNome("Cliente Benchmark");
+        cliente.setEmail("cliente@email.com");
+        cliente.setTelefone("11999999999");
+        cliente.setEndereco("Rua A, 100");
+        cliente.setAtivo(true);
+        cliente.setDataCriacao(LocalDateTime.now());
+
+        Restaurante restaurante = new Restaurante();
+        restaurante.setId(1L);
+        restaurante.setNome("Restaurante Benchmark");
+        restaurante.setCategoria("Italiana");
+        restaurante.setEndereco("Rua B, 200");
+        restaurante.setTelefone("1133334444");
+        restaurante.setTaxaEntrega(new BigDecimal("5.00"));
+
+        Pedido pedido = new Pedido();
+        pedido.setId(1L);
+        pedido.setCliente(cliente);
+        pedido.setRestaurante(restaurante);
+        pedido.setEnderecoEntrega("Rua A, 100");
+        pedido.setStatus(StatusPedido.PENDENTE);
+        pedido.setDataPedido(LocalDateTime.now());
+        pedido.setTaxaEntrega(restaurante.getTaxaEntrega());
+
+        for (int i = 0; i < quantidadeItens; i++) {
+            Produto produto = new Produto();
+            produto.setId((long) i + 1);
+            produto.setNome("Produto " + i);
+            produto.setPreco(new BigDecimal("19.90").add(BigDecimal.valueOf(i)));
+            produto.setRestaurante(restaurante);
+            produto.setDisponivel(true);
+
+            ItemPedido item = new ItemPedido(produto, 1 + i % 3);
+            item.setId((long) i + 1);
+            pedido.adicionarItem(item);
+        }
+        pedido.calcularTotais();
+        return pedido;
+    }
+
+    static List<ItemPedidoRequest> itensRequest(int quantidadeItens) {
+        List<ItemPedidoRequest> itens = new ArrayList<>(quantidadeItens);
+        for (int i = 0; i < quantidadeItens; i++) {
+            ItemPedidoRequest item = new ItemPedidoRequest();
+            item.setProdutoId((long) i + 1);
+            item.setQuantidade(1 + i % 3);
+            item.setPrecoUnitario(new BigDecimal("19.90").add(BigDecimal.valueOf(i)));
+            itens.add(item);
+        }
+        return itens;
+    }
+}
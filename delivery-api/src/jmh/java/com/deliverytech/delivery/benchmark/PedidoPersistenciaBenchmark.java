@@ -0,0 +1,144 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.DeliveryApiApplication;
+import com.deliverytech.delivery.entity.*;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.repository.ClienteRepository;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.service.SqlStatementCounter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pedidos gravados por segundo (pedido + itens, em transação) contra o H2 do perfil de teste.
+ *
+ * tamanhoLote=0 desliga o batching JDBC: cada INSERT é um round trip, como era com ids IDENTITY.
+ * tamanhoLote=50 é a configuração da aplicação. Os statements SQL emitidos e os pedidos gravados
+ * saem como resultados secundários (gravarPedido:statements e gravarPedido:pedidos, inclusive no
+ * JSON de -rf json); statements por pedido é a razão entre os dois.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PedidoPersistenciaBenchmark {
+
+    @Param({"0", "50"})
+    private int tamanhoLote;
+
+    @Param({"10"})
+    private int quantidadeItens;
+
+    private ConfigurableApplicationContext contexto;
+    private PedidoRepository pedidoRepository;
+    private TransactionTemplate transacao;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private final List<Produto> produtos = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        contexto = new SpringApplicationBuilder(DeliveryApiApplication.class)
+                .profiles("test")
+                // Como argumentos: precedência sobre o application.properties (properties() seria só default)
+                .run("--server.port=0",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + tamanhoLote,
+                        "--spring.jpa.properties.hibernate.session_factory.statement_inspector=" + SqlStatementCounter.class.getName());
+
+        pedidoRepository = contexto.getBean(PedidoRepository.class);
+        transacao = contexto.getBean(TransactionTemplate.class);
+
+        cliente = new Cliente();
+        cliente.setNome("Cliente Benchmark");
+        cliente.setEndereco("Rua A, 1");
+        cliente.setTelefone("11000000000");
+        cliente.setAtivo(true);
+        cliente = contexto.getBean(ClienteRepository.class).save(cliente);
+
+        restaurante = new Restaurante();
+        restaurante.setNome("Restaurante Benchmark");
+        restaurante.setAtivo(true);
+        restaurante.setTaxaEntrega(new BigDecimal("5.00"));
+        restaurante.setEndereco("Rua B, 2");
+        restaurante.setTelefone("11999999999");
+        restaurante.setCategoria("Lanches");
+        restaurante = contexto.getBean(RestauranteRepository.class).save(restaurante);
+
+        ProdutoRepository produtoRepository = contexto.getBean(ProdutoRepository.class);
+        for (int i = 1; i <= quantidadeItens; i++) {
+            Produto produto = new Produto();
+            produto.setNome("Produto " + i);
+            produto.setDescricao("Produto " + i);
+            produto.setCategoria("Lanche");
+            produto.setPreco(new BigDecimal("10.00"));
+            produto.setEstoque(1_000_000);
+            produto.setDisponivel(true);
+            produto.setRestaurante(restaurante);
+            produtos.add(produtoRepository.save(produto));
+        }
+
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        contexto.close();
+    }
+
+    /**
+     * Totais da medição. O JMH soma contadores EVENTS entre as iterações, por isso são publicadas
+     * as contagens e não a razão (que sairia multiplicada pelo número de iterações).
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+
+        public long pedidos;
+        public long statements;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            pedidos = 0;
+            statements = 0;
+        }
+
+        void registrar(long emitidos) {
+            pedidos++;
+            statements += emitidos;
+        }
+    }
+
+    @Benchmark
+    public Long gravarPedido(Statements contagem) {
+        long antes = SqlStatementCounter.total();
+        Long id = transacao.execute(status -> {
+            Pedido pedido = new Pedido();
+            pedido.setCliente(cliente);
+            pedido.setRestaurante(restaurante);
+            pedido.setEnderecoEntrega("Rua Teste, 123");
+            pedido.setStatus(StatusPedido.PENDENTE);
+            pedido.setDataPedido(LocalDateTime.now());
+            pedido.setTaxaEntrega(restaurante.getTaxaEntrega());
+            produtos.forEach(produto -> pedido.adicionarItem(new ItemPedido(produto, 1)));
+            pedido.calcularTotais();
+            return pedidoRepository.save(pedido).getId();
+        });
+        contagem.registrar(SqlStatementCounter.total() - antes);
+        return id;
+    }
+}
@@ -0,0 +1,73 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.fee.TaxaEntregaCalculadora;
+import com.deliverytech.delivery.geo.TabelaCep;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.ClassPathResource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cotação de taxa de entrega com a tabela de CEP padrão e 10 mil restaurantes em memória na
+ * região metropolitana de São Paulo, CEPs de destino variados (zonas 01 a 09).
+ * Rodar com -prof gc: a cotação não deve alocar (gc.alloc.rate.norm ~ 0 B/op).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaxaEntregaBenchmark {
+
+    @Param({"10000"})
+    private int restaurantes;
+
+    private TaxaEntregaCalculadora calculadora;
+    private Long[] ids;
+    private String[] ceps;
+    private int proxima;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(7);
+        List<Restaurante> carga = new ArrayList<>();
+        ids = new Long[restaurantes];
+        for (int i = 0; i < restaurantes; i++) {
+            Restaurante restaurante = new Restaurante();
+            restaurante.setId((long) i + 1);
+            restaurante.setTaxaEntrega(new BigDecimal("6.90"));
+            restaurante.setLatitude(-23.7 + random.nextDouble() * 0.3);
+            restaurante.setLongitude(-46.8 + random.nextDouble() * 0.3);
+            carga.add(restaurante);
+            ids[i] = restaurante.getId();
+        }
+        RestauranteRepository repository = mock(RestauranteRepository.class);
+        when(repository.buscarComFaixasTaxa()).thenReturn(carga);
+
+        TabelaCep tabela = new TabelaCep(new ClassPathResource("geo/cep-centroides.csv"), "");
+        calculadora = new TaxaEntregaCalculadora(repository, tabela, new SimpleMeterRegistry(), "3:1.0,6:1.5,10:2.0,60:3.0");
+        calculadora.carregar();
+
+        ceps = new String[1024];
+        for (int i = 0; i < ceps.length; i++) {
+            ceps[i] = String.format("0%d%03d-%03d", 1 + random.nextInt(9), random.nextInt(1000), random.nextInt(1000));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal calcular() {
+        proxima = (proxima + 1) & (ceps.length - 1);
+        return calculadora.calcular(ids[proxima % ids.length], ceps[proxima]);
+    }
+}
@@ -0,0 +1,67 @@
+package com.deliverytech.delivery.benchmark;
+
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.validation.ValidCEPValidator;
+import com.deliverytech.delivery.validation.ValidCategoria;
+import com.deliverytech.delivery.validation.ValidCategoriaValidator;
+import com.deliverytech.delivery.validation.ValidHorarioFuncionamentoValidator;
+import com.deliverytech.delivery.validation.ValidTelefoneValidator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validadores customizados do pacote validation, com um valor válido e um inválido por chamada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    @ValidCategoria(enumClass = StatusPedido.class)
+    private String categoriaAnotada;
+
+    private ValidCEPValidator cepValidator;
+    private ValidTelefoneValidator telefoneValidator;
+    private ValidHorarioFuncionamentoValidator horarioValidator;
+    private ValidCategoriaValidator categoriaValidator;
+
+    @Setup
+    public void setup() throws NoSuchFieldException {
+        cepValidator = new ValidCEPValidator();
+        telefoneValidator = new ValidTelefoneValidator();
+        horarioValidator = new ValidHorarioFuncionamentoValidator();
+        categoriaValidator = new ValidCategoriaValidator();
+        categoriaValidator.initialize(ValidatorBenchmark.class
+                .getDeclaredField("categoriaAnotada")
+                .getAnnotation(ValidCategoria.class));
+    }
+
+    @Benchmark
+    public void cep(Blackhole bh) {
+        bh.consume(cepValidator.isValid("01310-100", null));
+        bh.consume(cepValidator.isValid("01310100", null));
+    }
+
+    @Benchmark
+    public void telefone(Blackhole bh) {
+        bh.consume(telefoneValidator.isValid("11999999999", null));
+        bh.consume(telefoneValidator.isValid("(11) 9999-9999", null));
+    }
+
+    @Benchmark
+    public void horarioFuncionamento(Blackhole bh) {
+        bh.consume(horarioValidator.isValid("08:00-22:00", null));
+        bh.consume(horarioValidator.isValid("8h-22h", null));
+    }
+
+    @Benchmark
+    public void categoria(Blackhole bh) {
+        bh.consume(categoriaValidator.isValid("entregue", null));
+        bh.consume(categoriaValidator.isValid("inexistente", null));
+    }
+}
@@ -0,0 +1,173 @@
+package com.deliverytech.delivery.archive;
+
+import com.deliverytech.delivery.dto.response.PedidoResponse;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.PedidoArquivado;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.mapper.PedidoMapper;
+import com.deliverytech.delivery.repository.PedidoArquivadoRepository;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Move pedidos entregues ou cancelados há mais de pedido.arquivamento.idade da tabela pedido
+ * (e seus itens) para pedido_arquivado.
+ *
+ * Cada lote é copiado e removido na mesma transação: um pedido está sempre em exatamente uma das
+ * duas tabelas, o que permite às consultas por cliente juntar as duas sem duplicar resultados.
+ * Os relatórios não são afetados: leem os resumos diários, gravados na entrega.
+ */
+@Component
+public class PedidoArquivamento {
+
+    private static final Logger logger = LoggerFactory.getLogger(PedidoArquivamento.class);
+
+    static final Set<StatusPedido> STATUS_ARQUIVAVEIS = Set.of(StatusPedido.ENTREGUE, StatusPedido.CANCELADO);
+
+    private final PedidoRepository pedidoRepository;
+    private final PedidoArquivadoRepository pedidoArquivadoRepository;
+    private final PedidoMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transacao;
+    private final Duration idade;
+    private final int tamanhoLote;
+    private final boolean habilitado;
+
+    private final ReentrantLock arquivando = new ReentrantLock();
+    private final Counter pedidosArquivados;
+
+    public PedidoArquivamento(PedidoRepository pedidoRepository,
+                              PedidoArquivadoRepository pedidoArquivadoRepository,
+                              PedidoMapper mapper,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${pedido.arquivamento.idade:180d}") Duration idade,
+                              @Value("${pedido.arquivamento.batch-size:500}") int tamanhoLote,
+                              @Value("${pedido.arquivamento.enabled:true}") boolean habilitado) {
+        this.pedidoRepository = pedidoRepository;
+        this.pedidoArquivadoRepository = pedidoArquivadoRepository;
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.idade = idade;
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+        this.habilitado = habilitado;
+
+        this.pedidosArquivados = Counter.builder("pedidos.arquivados")
+                .description("Pedidos finalizados movidos para o armazenamento frio")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${pedido.arquivamento.cron:0 30 3 * * *}")
+    public void agendado() {
+        if (habilitado) {
+            arquivar();
+        }
+    }
+
+    /**
+     * Arquiva, em lotes, todos os pedidos elegíveis neste momento. Retorna a quantidade arquivada.
+     */
+    public long arquivar() {
+        if (!arquivando.tryLock()) {
+            return 0;
+        }
+        try {
+            LocalDateTime limite = LocalDateTime.now().minus(idade);
+            long total = 0;
+            int arquivados;
+            do {
+                arquivados = transacao.execute(status -> arquivarLote(limite));
+                total += arquivados;
+            } while (arquivados == tamanhoLote);
+
+            if (total > 0) {
+                logger.info("Pedidos arquivados: {} (finalizados antes de {})", total, limite);
+            }
+            return total;
+        } catch (Exception e) {
+            logger.warn("Falha ao arquivar pedidos: {}", e.getMessage());
+            return 0;
+        } finally {
+            arquivando.unlock();
+        }
+    }
+
+    private int arquivarLote(LocalDateTime limite) {
+        List<Long> ids = pedidoRepository.buscarIdsParaArquivar(STATUS_ARQUIVAVEIS, limite, PageRequest.of(0, tamanhoLote));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        List<PedidoArquivado> arquivados = pedidoRepository.buscarComItensPorIds(ids).stream()
+                .map(pedido -> paraArquivo(pedido, agora))
+                .toList();
+
+        pedidoArquivadoRepository.saveAll(arquivados);
+        pedidoRepository.removerItensDosPedidos(ids);
+        pedidoRepository.removerPorIds(ids);
+
+        pedidosArquivados.increment(arquivados.size());
+        return ids.size();
+    }
+
+    private PedidoArquivado paraArquivo(Pedido pedido, LocalDateTime dataArquivamento) {
+        PedidoArquivado arquivado = new PedidoArquivado();
+        arquivado.setId(pedido.getId());
+        arquivado.setClienteId(pedido.getCliente().getId());
+        arquivado.setRestauranteId(pedido.getRestaurante().getId());
+        arquivado.setStatus(pedido.getStatus());
+        arquivado.setDataPedido(pedido.getDataPedido());
+        arquivado.setValorTotal(pedido.getValorTotal());
+        arquivado.setDataArquivamento(dataArquivamento);
+        arquivado.setConteudo(compactar(mapper.toResponse(pedido)));
+        return arquivado;
+    }
+
+    /**
+     * Pedido completo, como era na resposta da API no momento do arquivamento.
+     */
+    public PedidoResponse ler(PedidoArquivado arquivado) {
+        try (InputStream entrada = new GZIPInputStream(new ByteArrayInputStream(arquivado.getConteudo()))) {
+            return objectMapper.readValue(entrada, PedidoResponse.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Pedido arquivado ilegível: id=" + arquivado.getId(), e);
+        }
+    }
+
+    private byte[] compactar(PedidoResponse response) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (OutputStream saida = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(saida, response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,52 @@
+package com.deliverytech.delivery.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+/**
+ * Publica invalidações do near cache no canal Redis compartilhado pelas instâncias.
+ *
+ * Formato da mensagem: {@code instancia|cache|operacao|chave}, onde a operação é
+ * {@code E} (remoção de uma chave) ou {@code C} (limpeza do cache inteiro).
+ */
+public class CacheInvalidationPublisher {
+
+    public static final String CANAL = "delivery-api::cache-invalidation";
+
+    static final String SEPARADOR = "|";
+    static final String OP_REMOCAO = "E";
+    static final String OP_LIMPEZA = "C";
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationPublisher.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final String instanciaId = UUID.randomUUID().toString();
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public String getInstanciaId() {
+        return instanciaId;
+    }
+
+    public void publicarRemocao(String cache, String chave) {
+        publicar(String.join(SEPARADOR, instanciaId, cache, OP_REMOCAO, chave));
+    }
+
+    public void publicarLimpeza(String cache) {
+        publicar(String.join(SEPARADOR, instanciaId, cache, OP_LIMPEZA, ""));
+    }
+
+    private void publicar(String mensagem) {
+        try {
+            redisTemplate.convertAndSend(CANAL, mensagem);
+        } catch (Exception e) {
+            // A escrita no Redis já foi feita; as cópias locais das outras instâncias expiram pelo TTL
+            logger.warn("Falha ao publicar invalidação de cache: {}", e.getMessage());
+        }
+    }
+}
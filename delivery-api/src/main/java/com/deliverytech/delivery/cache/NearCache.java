@@ -0,0 +1,214 @@
+package com.deliverytech.delivery.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cache em dois níveis: um mapa local limitado (L1, Caffeine) na frente do cache Redis (L2).
+ *
+ * Leituras consultam primeiro o L1 e só vão ao Redis em caso de miss. Escritas e remoções
+ * vão para os dois níveis e publicam uma invalidação para que as outras instâncias
+ * descartem sua cópia local.
+ *
+ * Os objetos do L1 são compartilhados entre as chamadas, então os valores em cache
+ * não devem ser alterados por quem os lê.
+ *
+ * Uma leitura que foi ao Redis só guarda o valor no L1 se nenhuma escrita ou invalidação da chave
+ * aconteceu enquanto isso: sem essa conferência, um valor antigo lido antes da invalidação de
+ * outra instância entraria no L1 depois dela e ficaria até o TTL local. As gerações ficam em
+ * faixas por hash da chave (uma escrita em outra chave da mesma faixa só custa uma ida ao Redis).
+ */
+public class NearCache implements Cache {
+
+    private final Cache remoto;
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local;
+    private final CacheInvalidationPublisher publisher;
+
+    private static final int FAIXAS = 1024;
+    private final AtomicLongArray geracoes = new AtomicLongArray(FAIXAS);
+    private final AtomicLong geracaoGeral = new AtomicLong();
+
+    private final Counter localHit;
+    private final Counter localMiss;
+    private final Counter redisHit;
+    private final Counter redisMiss;
+
+    public NearCache(Cache remoto,
+                     com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> local,
+                     CacheInvalidationPublisher publisher,
+                     MeterRegistry registry) {
+        this.remoto = remoto;
+        this.local = local;
+        this.publisher = publisher;
+
+        String nome = remoto.getName();
+        this.localHit = contador(registry, nome, "local", "hit");
+        this.localMiss = contador(registry, nome, "local", "miss");
+        this.redisHit = contador(registry, nome, "redis", "hit");
+        this.redisMiss = contador(registry, nome, "redis", "miss");
+
+        Gauge.builder("cache.near.size", local, c -> c.estimatedSize())
+                .description("Quantidade estimada de entradas no cache local")
+                .tag("cache", nome)
+                .register(registry);
+    }
+
+    private static Counter contador(MeterRegistry registry, String cache, String nivel, String resultado) {
+        return Counter.builder("cache.near.gets")
+                .description("Leituras no cache em dois níveis por nível e resultado")
+                .tag("cache", cache)
+                .tag("tier", nivel)
+                .tag("result", resultado)
+                .register(registry);
+    }
+
+    @Override
+    public String getName() {
+        return remoto.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remoto.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String chave = chaveLocal(key);
+        ValueWrapper valor = local.getIfPresent(chave);
+        if (valor != null) {
+            localHit.increment();
+            return valor;
+        }
+        localMiss.increment();
+
+        long geracao = geracao(chave);
+        valor = remoto.get(key);
+        if (valor != null) {
+            redisHit.increment();
+            guardarLocal(chave, geracao, valor.get());
+        } else {
+            redisMiss.increment();
+        }
+        return valor;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper valor = get(key);
+        if (valor == null) {
+            return null;
+        }
+        Object conteudo = valor.get();
+        if (conteudo != null && type != null && !type.isInstance(conteudo)) {
+            throw new IllegalStateException("Valor em cache não é do tipo " + type.getName() + ": " + conteudo);
+        }
+        return (T) conteudo;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String chave = chaveLocal(key);
+        ValueWrapper valor = local.getIfPresent(chave);
+        if (valor != null) {
+            localHit.increment();
+            return (T) valor.get();
+        }
+        localMiss.increment();
+
+        long geracao = geracao(chave);
+        boolean[] carregou = {false};
+        T resultado = remoto.get(key, () -> {
+            carregou[0] = true;
+            return valueLoader.call();
+        });
+        (carregou[0] ? redisMiss : redisHit).increment();
+        guardarLocal(chave, geracao, resultado);
+        return resultado;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remoto.put(key, value);
+        String chave = chaveLocal(key);
+        avancar(chave);
+        local.put(chave, new SimpleValueWrapper(value));
+        publisher.publicarRemocao(getName(), chave);
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoto.evict(key);
+        String chave = chaveLocal(key);
+        avancar(chave);
+        local.invalidate(chave);
+        publisher.publicarRemocao(getName(), chave);
+    }
+
+    @Override
+    public void clear() {
+        remoto.clear();
+        geracaoGeral.incrementAndGet();
+        local.invalidateAll();
+        publisher.publicarLimpeza(getName());
+    }
+
+    /**
+     * Remove a entrada apenas do nível local (usado ao receber invalidações de outras instâncias).
+     */
+    void invalidarLocal(String chave) {
+        avancar(chave);
+        local.invalidate(chave);
+    }
+
+    void limparLocal() {
+        geracaoGeral.incrementAndGet();
+        local.invalidateAll();
+    }
+
+    /**
+     * Guarda no L1 o valor lido do Redis, a menos que a chave tenha sido escrita ou invalidada
+     * desde a geração lida antes da leitura. A conferência é repetida depois do put: uma
+     * invalidação entre a primeira conferência e o put tira a entrada em seguida.
+     */
+    private void guardarLocal(String chave, long geracao, Object valor) {
+        if (geracao(chave) != geracao) {
+            return;
+        }
+        local.put(chave, new SimpleValueWrapper(valor));
+        if (geracao(chave) != geracao) {
+            local.invalidate(chave);
+        }
+    }
+
+    // Avançada antes de mexer no L1: quem conferir depois já vê a geração nova
+    private void avancar(String chave) {
+        geracoes.incrementAndGet(faixa(chave));
+    }
+
+    // Soma de dois contadores que só crescem: muda quando qualquer um dos dois muda
+    private long geracao(String chave) {
+        return geracoes.get(faixa(chave)) + geracaoGeral.get();
+    }
+
+    private static int faixa(String chave) {
+        return (chave.hashCode() & 0x7fffffff) % FAIXAS;
+    }
+
+    /**
+     * O Redis converte as chaves para String; o L1 usa a mesma representação para que
+     * as invalidações recebidas via pub/sub encontrem a entrada correspondente.
+     */
+    static String chaveLocal(Object key) {
+        return String.valueOf(key);
+    }
+}
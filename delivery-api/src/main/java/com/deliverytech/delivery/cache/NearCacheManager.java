@@ -0,0 +1,95 @@
+package com.deliverytech.delivery.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CacheManager que envolve outro CacheManager (Redis) com um {@link NearCache} por nome de cache.
+ *
+ * Também escuta o canal de invalidação para descartar as cópias locais quando outra
+ * instância grava ou remove uma entrada.
+ */
+public class NearCacheManager implements CacheManager, MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(NearCacheManager.class);
+
+    private final CacheManager remoto;
+    private final CacheInvalidationPublisher publisher;
+    private final MeterRegistry registry;
+    private final long tamanhoMaximo;
+    private final Duration ttl;
+
+    private final Map<String, NearCache> caches = new ConcurrentHashMap<>();
+
+    public NearCacheManager(CacheManager remoto,
+                            CacheInvalidationPublisher publisher,
+                            MeterRegistry registry,
+                            long tamanhoMaximo,
+                            Duration ttl) {
+        this.remoto = remoto;
+        this.publisher = publisher;
+        this.registry = registry;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        NearCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache cacheRemoto = remoto.getCache(name);
+        if (cacheRemoto == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> new NearCache(
+                cacheRemoto,
+                Caffeine.newBuilder()
+                        .maximumSize(tamanhoMaximo)
+                        .expireAfterWrite(ttl)
+                        .build(),
+                publisher,
+                registry));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoto.getCacheNames();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] partes = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (partes.length < 4) {
+            logger.warn("Mensagem de invalidação de cache inválida ignorada");
+            return;
+        }
+        String instancia = partes[0];
+        if (publisher.getInstanciaId().equals(instancia)) {
+            return;
+        }
+
+        NearCache cache = caches.get(partes[1]);
+        if (cache == null) {
+            return;
+        }
+        if (CacheInvalidationPublisher.OP_LIMPEZA.equals(partes[2])) {
+            cache.limparLocal();
+        } else {
+            cache.invalidarLocal(partes[3]);
+        }
+    }
+}
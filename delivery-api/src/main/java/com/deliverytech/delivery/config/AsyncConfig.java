@@ -0,0 +1,17 @@
+package com.deliverytech.delivery.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita @Async e @Scheduled usando os executores auto-configurados pelo Spring Boot.
+ *
+ * Com spring.threads.virtual.enabled=true o applicationTaskExecutor, o taskScheduler e o pool
+ * de requisições do Tomcat passam a usar virtual threads; com false voltam aos pools de plataforma.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+}
@@ -1,10 +1,15 @@
 package com.deliverytech.delivery.config;
 
 import com.deliverytech.delivery.dto.response.RestauranteResponse;
+import com.deliverytech.delivery.cache.CacheInvalidationPublisher;
+import com.deliverytech.delivery.cache.NearCacheManager;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -13,6 +18,9 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
@@ -75,10 +83,42 @@ public class CacheConfig {
     }
 
     /**
-     * CacheManager configurado para usar serialização adequada no Redis.
+     * CacheManager em dois níveis: near cache local (Caffeine) na frente do Redis.
+     * Invalidações são propagadas entre instâncias via pub/sub.
      */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory, ObjectMapper redisObjectMapper) {
+    public NearCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                         ObjectMapper redisObjectMapper,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${cache.near.maximum-size:1000}") long tamanhoMaximo,
+                                         @Value("${cache.near.ttl:60s}") Duration ttl) {
+        RedisCacheManager redisCacheManager = redisCacheManager(redisConnectionFactory, redisObjectMapper);
+        redisCacheManager.initializeCaches();
+
+        StringRedisTemplate stringRedisTemplate = new StringRedisTemplate(redisConnectionFactory);
+        CacheInvalidationPublisher publisher = new CacheInvalidationPublisher(stringRedisTemplate);
+
+        return new NearCacheManager(redisCacheManager, publisher, meterRegistry, tamanhoMaximo, ttl);
+    }
+
+    /**
+     * Escuta o canal de invalidação do near cache.
+     * Pode ser desligado (ex.: testes sem Redis); nesse caso as cópias locais expiram apenas pelo TTL.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "cache.near.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                            NearCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(CacheInvalidationPublisher.CANAL));
+        return container;
+    }
+
+    /**
+     * CacheManager do Redis (L2) configurado para usar serialização adequada.
+     */
+    private RedisCacheManager redisCacheManager(RedisConnectionFactory redisConnectionFactory, ObjectMapper redisObjectMapper) {
         GenericJackson2JsonRedisSerializer genericJsonSerializer = new GenericJackson2JsonRedisSerializer(redisObjectMapper);
 
         Jackson2JsonRedisSerializer<RestauranteResponse> restauranteSerializer = new Jackson2JsonRedisSerializer<>(RestauranteResponse.class);
@@ -0,0 +1,31 @@
+package com.deliverytech.delivery.config;
+
+import com.deliverytech.delivery.sse.RedisPedidoStatusBridge;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.util.concurrent.Executors;
+
+@Configuration
+public class PedidoStreamConfig {
+
+    /**
+     * Recebe os eventos de status publicados pela instância que drena o outbox.
+     * Uma única thread de entrega: o executor padrão do container (uma thread por mensagem)
+     * poderia entregar dois status do mesmo pedido fora de ordem.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "pedido.stream.bridge", havingValue = "redis")
+    public RedisMessageListenerContainer pedidoStatusListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                       RedisPedidoStatusBridge bridge) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.setTaskExecutor(Executors.newSingleThreadExecutor(Thread.ofVirtual().name("pedido-status-redis").factory()));
+        container.addMessageListener(bridge, new ChannelTopic(RedisPedidoStatusBridge.CANAL));
+        return container;
+    }
+}
@@ -1,9 +1,16 @@
 package com.deliverytech.delivery.config;
 
 import com.deliverytech.delivery.security.JwtAuthenticationFilter;
+import com.deliverytech.delivery.security.RedisJwtTokenBlacklist;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -38,6 +45,8 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.sameOrigin()))
             .authorizeHttpRequests(auth -> auth
+                // Redespacho assíncrono (SSE) já foi autorizado na requisição original
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(
                     "/api/auth/login",
                     "/api/auth/register",
@@ -58,6 +67,8 @@ public class SecurityConfig {
                     "/actuator/info",
                     "/favicon.ico"
                 ).permitAll()
+                // Cardápio público, como a listagem de restaurantes
+                .requestMatchers(HttpMethod.GET, "/api/restaurantes/*/cardapio").permitAll()
                 // Protege os demais endpoints do actuator
                 .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
@@ -78,6 +89,19 @@ public class SecurityConfig {
     //    return new InMemoryUserDetailsManager(user);
     //}
 
+    /**
+     * Recebe as revogações de token feitas pelas outras réplicas (blacklist no Redis).
+     */
+    @Bean
+    @ConditionalOnProperty(name = "jwt.blacklist.store", havingValue = "redis")
+    public RedisMessageListenerContainer jwtBlacklistListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                       RedisJwtTokenBlacklist jwtTokenBlacklist) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(jwtTokenBlacklist, new ChannelTopic(RedisJwtTokenBlacklist.CANAL));
+        return container;
+    }
+
     @Bean
     public HttpClient httpClient() {
         return HttpClient.newBuilder()
@@ -1,5 +1,6 @@
 package com.deliverytech.delivery.config;
 
+import com.deliverytech.delivery.httpcache.PoliticaCacheInterceptor;
 import com.deliverytech.delivery.logging.AuditLoggingInterceptor;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,13 +28,18 @@ public class WebConfig implements WebMvcConfigurer {
     @Autowired
     private AuditLoggingInterceptor auditLoggingInterceptor;
 
-    public WebConfig(AuditLoggingInterceptor auditLoggingInterceptor) {
+    private final PoliticaCacheInterceptor politicaCacheInterceptor;
+
+    public WebConfig(AuditLoggingInterceptor auditLoggingInterceptor,
+                     PoliticaCacheInterceptor politicaCacheInterceptor) {
         this.auditLoggingInterceptor = auditLoggingInterceptor;
+        this.politicaCacheInterceptor = politicaCacheInterceptor;
     }
 
     @Override
     public void addInterceptors(@NonNull InterceptorRegistry registry) {
         registry.addInterceptor(auditLoggingInterceptor);
+        registry.addInterceptor(politicaCacheInterceptor);
     }
 
     @Bean
@@ -7,12 +7,14 @@ import com.deliverytech.delivery.dto.response.common.UtilsResponse;
 import com.deliverytech.delivery.entity.Cliente;
 import com.deliverytech.delivery.mapper.ClienteMapper;
 import com.deliverytech.delivery.service.ClienteService;
+import com.deliverytech.delivery.streaming.NdjsonResponses;
 
 import jakarta.validation.Valid;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 import java.util.List;
@@ -32,10 +34,12 @@ public class ClienteController {
 
     private final ClienteService clienteService;
     private final ClienteMapper mapper;
+    private final NdjsonResponses ndjsonResponses;
 
-    public ClienteController(ClienteService clienteService, ClienteMapper mapper) {
+    public ClienteController(ClienteService clienteService, ClienteMapper mapper, NdjsonResponses ndjsonResponses) {
         this.clienteService = clienteService;
         this.mapper = mapper;
+        this.ndjsonResponses = ndjsonResponses;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
@@ -122,6 +126,14 @@ public class ClienteController {
         return ResponseEntity.ok(UtilsResponse.success(responses));
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(produces = NdjsonResponses.MEDIA_TYPE)
+    @Operation(summary = "Listar todos os clientes (NDJSON)",
+        description = "Com Accept: application/x-ndjson, envia um cliente por linha à medida que são lidos do banco.")
+    public ResponseEntity<StreamingResponseBody> transmitirTodos() {
+        return ndjsonResponses.responder(clienteService.transmitirTodosClientes().mapear(mapper::toResponse));
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/nome")
     @Operation(summary = "Buscar clientes por nome")
@@ -5,8 +5,15 @@ import com.deliverytech.delivery.dto.request.PedidoRequest;
 import com.deliverytech.delivery.dto.response.PedidoResponse;
 import com.deliverytech.delivery.enums.StatusPedido;
 import com.deliverytech.delivery.dto.response.common.ApiWrapperResponse;
+import com.deliverytech.delivery.dto.response.common.CursorPage;
+import com.deliverytech.delivery.dto.response.common.PagedResponse;
 import com.deliverytech.delivery.dto.response.common.UtilsResponse;
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.idempotency.IdempotencyService;
+import com.deliverytech.delivery.idempotency.IdempotentResult;
 import com.deliverytech.delivery.service.PedidoService;
+import com.deliverytech.delivery.sse.PedidoStatusHub;
+import com.deliverytech.delivery.streaming.NdjsonResponses;
 
 import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
@@ -19,9 +26,13 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -36,19 +47,41 @@ import java.util.List;
 public class PedidoController {
 
     private final PedidoService pedidoService;
+    private final IdempotencyService idempotencyService;
+    private final PedidoStatusHub pedidoStatusHub;
+    private final NdjsonResponses ndjsonResponses;
 
     @PreAuthorize("hasRole('CLIENTE')")
     @Timed(value = "pedido.criar.tempo", description = "Tempo para criar pedido")
     @PostMapping
     @Operation(summary = "Criar um novo pedido",
+            parameters = {
+                @Parameter(name = IdempotencyService.HEADER, in = ParameterIn.HEADER,
+                        description = "Chave única da tentativa; repetições com a mesma chave devolvem o pedido já criado",
+                        example = "3f1c9a2e-7b1d-4c55-9a0e-5d2f8e6b1a77")
+            },
             responses = {
                 @ApiResponse(responseCode = "200", description = "Pedido criado com sucesso"),
-                @ApiResponse(responseCode = "400", description = "Dados inválidos")
+                @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+                @ApiResponse(responseCode = "409", description = "Idempotency-Key em processamento ou reutilizada com outro conteúdo")
             })
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity<ApiWrapperResponse<PedidoResponse>> criarPedido(@Valid @RequestBody PedidoRequest request) {
-        PedidoResponse response = pedidoService.criarPedido(request);
-        return ResponseEntity.ok(UtilsResponse.created(response));
+    public ResponseEntity<ApiWrapperResponse<PedidoResponse>> criarPedido(
+            @Valid @RequestBody PedidoRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
+            @AuthenticationPrincipal Usuario usuario) {
+        if (idempotencyKey == null) {
+            PedidoResponse response = pedidoService.criarPedido(request);
+            return ResponseEntity.ok(UtilsResponse.created(response));
+        }
+
+        String escopo = usuario != null ? String.valueOf(usuario.getId()) : "anonimo";
+        IdempotentResult<PedidoResponse> resultado = idempotencyService.executar(
+                escopo, idempotencyKey, request, PedidoResponse.class, () -> pedidoService.criarPedido(request));
+
+        return ResponseEntity.ok()
+                .header(IdempotencyService.HEADER_REPETIDO, String.valueOf(resultado.repetido()))
+                .body(UtilsResponse.created(resultado.valor()));
     }
 
     // Apenas ADMIN, RESTAURANTE dono do pedido ou CLIENTE dono do pedido pode acessar
@@ -75,12 +108,16 @@ public class PedidoController {
             parameters = {
                 @Parameter(name = "status", description = "Status do pedido (ex: CRIADO, CANCELADO, ENTREGUE)", in = ParameterIn.QUERY),
                 @Parameter(name = "dataInicio", description = "Data e hora inicial no formato dd-MM-yyyy HH:mm", in = ParameterIn.QUERY),
-                @Parameter(name = "dataFim", description = "Data e hora final no formato dd-MM-yyyy HH:mm", in = ParameterIn.QUERY)
+                @Parameter(name = "dataFim", description = "Data e hora final no formato dd-MM-yyyy HH:mm", in = ParameterIn.QUERY),
+                @Parameter(name = "cursor", description = "Cursor retornado em nextCursor pela página anterior", in = ParameterIn.QUERY),
+                @Parameter(name = "size", description = "Quantidade de pedidos por página (máximo 100)", in = ParameterIn.QUERY, example = "20")
             })
-    public ResponseEntity<ApiWrapperResponse<List<PedidoResponse>>> listarComFiltros(
+    public ResponseEntity<PagedResponse<PedidoResponse>> listarComFiltros(
             @RequestParam(required = false) StatusPedido status,
             @RequestParam(required = false) String dataInicio,
-            @RequestParam(required = false) String dataFim
+            @RequestParam(required = false) String dataFim,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
     ) {
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm");
         LocalDateTime inicio = null;
@@ -97,8 +134,8 @@ public class PedidoController {
             throw new IllegalArgumentException("Formato de data inválido. Use: dd-MM-yyyy HH:mm");
         }
 
-        List<PedidoResponse> pedidos = pedidoService.listarPedidosComFiltro(status, inicio, fim);
-        return ResponseEntity.ok(UtilsResponse.success(pedidos));
+        CursorPage<PedidoResponse> pedidos = pedidoService.listarPedidosComFiltro(status, inicio, fim, cursor, size);
+        return ResponseEntity.ok(UtilsResponse.cursorSuccess(pedidos));
     }
 
     @PreAuthorize("hasRole('RESTAURANTE') and @pedidoSecurity.isPedidoDoRestaurante(#id, principal.id)")
@@ -130,10 +167,31 @@ public class PedidoController {
 
     @PreAuthorize("hasRole('ADMIN') or (hasRole('CLIENTE') and #clienteId == principal.id)")
     @GetMapping("/cliente/{clienteId}")
-    @Operation(summary = "Histórico de pedidos de um cliente")
-    public ResponseEntity<ApiWrapperResponse<List<PedidoResponse>>> buscarPorCliente(@PathVariable Long clienteId) {
-        List<PedidoResponse> pedidos = pedidoService.buscarPedidosPorCliente(clienteId);
-        return ResponseEntity.ok(UtilsResponse.success(pedidos));
+    @Operation(summary = "Histórico de pedidos de um cliente",
+            description = "Paginação por cursor, do mais recente para o mais antigo. Inclui pedidos já arquivados.",
+            parameters = {
+                @Parameter(name = "clienteId", description = "ID do cliente", required = true, in = ParameterIn.PATH, example = "1"),
+                @Parameter(name = "cursor", description = "Cursor retornado em nextCursor pela página anterior", in = ParameterIn.QUERY),
+                @Parameter(name = "size", description = "Quantidade de pedidos por página (máximo 100)", in = ParameterIn.QUERY, example = "20")
+            })
+    public ResponseEntity<PagedResponse<PedidoResponse>> buscarPorCliente(
+            @PathVariable Long clienteId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        CursorPage<PedidoResponse> pedidos = pedidoService.buscarPedidosPorCliente(clienteId, cursor, size);
+        return ResponseEntity.ok(UtilsResponse.cursorSuccess(pedidos));
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CLIENTE') and #clienteId == principal.id)")
+    @GetMapping(value = "/cliente/{clienteId}", produces = NdjsonResponses.MEDIA_TYPE)
+    @Operation(summary = "Histórico completo de pedidos de um cliente (NDJSON)",
+            description = "Com Accept: application/x-ndjson, envia um pedido por linha, sem paginação: primeiro os pedidos recentes, depois os arquivados.",
+            parameters = {
+                @Parameter(name = "clienteId", description = "ID do cliente", required = true, in = ParameterIn.PATH, example = "1")
+            })
+    public ResponseEntity<StreamingResponseBody> transmitirPorCliente(@PathVariable Long clienteId) {
+        return ndjsonResponses.responder(pedidoService.transmitirPedidosPorCliente(clienteId));
     }
 
     @PreAuthorize("hasRole('ADMIN') or (hasRole('RESTAURANTE') and #restauranteId == principal.id)")
@@ -143,4 +201,32 @@ public class PedidoController {
         List<PedidoResponse> pedidos = pedidoService.buscarPedidosPorRestaurante(restauranteId);
         return ResponseEntity.ok(UtilsResponse.success(pedidos));
     }
+
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('RESTAURANTE') and #restauranteId == principal.id)")
+    @GetMapping(value = "/restaurantes/{restauranteId}", produces = NdjsonResponses.MEDIA_TYPE)
+    @Operation(summary = "Pedidos de um restaurante (NDJSON)",
+            description = "Com Accept: application/x-ndjson, envia um pedido por linha à medida que são lidos do banco.")
+    public ResponseEntity<StreamingResponseBody> transmitirPorRestaurante(@PathVariable Long restauranteId) {
+        return ndjsonResponses.responder(pedidoService.transmitirPedidosPorRestaurante(restauranteId));
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping(value = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar status do pedido (Server-Sent Events)",
+            description = "Envia o status atual e, em seguida, cada mudança de status. A conexão é encerrada quando o pedido é entregue ou cancelado.",
+            parameters = {
+                @Parameter(name = "id", description = "ID do pedido", required = true, in = ParameterIn.PATH, example = "1")
+            })
+    public SseEmitter acompanharPedido(@PathVariable Long id) {
+        // O status atual é lido depois do registro no hub, para não perder uma transição no intervalo
+        return pedidoStatusHub.acompanharPedido(id, () -> pedidoService.buscarStatusPedido(id));
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('RESTAURANTE') and #restauranteId == principal.id)")
+    @GetMapping(value = "/restaurantes/{restauranteId}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Acompanhar mudanças de status dos pedidos de um restaurante (Server-Sent Events)")
+    public SseEmitter acompanharRestaurante(@PathVariable Long restauranteId) {
+        pedidoService.validarAcessoRestaurante(restauranteId);
+        return pedidoStatusHub.acompanharRestaurante(restauranteId);
+    }
 }
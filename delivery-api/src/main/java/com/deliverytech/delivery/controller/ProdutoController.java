@@ -10,7 +10,10 @@ import org.springframework.web.bind.annotation.*;
 import com.deliverytech.delivery.dto.request.ProdutoRequest;
 import com.deliverytech.delivery.dto.response.ProdutoResponse;
 import com.deliverytech.delivery.dto.response.common.ApiWrapperResponse;
+import com.deliverytech.delivery.dto.response.common.CursorPage;
+import com.deliverytech.delivery.dto.response.common.PagedResponse;
 import com.deliverytech.delivery.dto.response.common.UtilsResponse;
+import com.deliverytech.delivery.httpcache.CacheCatalogo;
 import com.deliverytech.delivery.service.ProdutoService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -53,6 +56,7 @@ public class ProdutoController {
         @ApiResponse(responseCode = "200", description = "Produto encontrado"),
         @ApiResponse(responseCode = "404", description = "Produto não encontrado")
     })
+    @CacheCatalogo
     @GetMapping("/{id}")
     public ResponseEntity<ApiWrapperResponse<ProdutoResponse>> buscarPorId(
         @Parameter(description = "ID do produto a ser consultado", example = "1", in = ParameterIn.PATH, required = true)
@@ -123,6 +127,7 @@ public class ProdutoController {
         @ApiResponse(responseCode = "200", description = "Produtos encontrados para a categoria"),
         @ApiResponse(responseCode = "404", description = "Categoria não encontrada ou sem produtos")
     })
+    @CacheCatalogo
     @GetMapping("/categoria/{categoria}")
     public ResponseEntity<ApiWrapperResponse<List<ProdutoResponse>>> listarPorCategoria(
         @Parameter(description = "Nome da categoria", example = "Lanches", in = ParameterIn.PATH, required = true)
@@ -132,18 +137,27 @@ public class ProdutoController {
         return ResponseEntity.ok(UtilsResponse.success(produtos));
     }
 
-    @Operation(summary = "Buscar produtos pelo nome")
+    @Operation(summary = "Buscar produtos por nome, categoria ou descrição",
+               description = "Produtos disponíveis do mais relevante para o menos. Ignora acentos e aceita prefixos "
+                   + "e pequenos erros de digitação; todos os termos precisam casar. Paginação por cursor.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Produtos encontrados"),
-        @ApiResponse(responseCode = "404", description = "Nenhum produto encontrado com esse nome")
+        @ApiResponse(responseCode = "422", description = "Termos ou cursor inválidos")
     })
+    @CacheCatalogo
     @GetMapping("/buscar")
-    public ResponseEntity<ApiWrapperResponse<List<ProdutoResponse>>> buscarPorNome(
-        @Parameter(description = "Nome do produto para busca", example = "X-Burguer", in = ParameterIn.QUERY, required = true)
-        @RequestParam String nome) {
+    public ResponseEntity<PagedResponse<ProdutoResponse>> buscarPorNome(
+        @Parameter(description = "Termos da busca", example = "pizza calabresa", in = ParameterIn.QUERY, required = true)
+        @RequestParam String nome,
 
-        List<ProdutoResponse> produtos = produtoService.buscarProdutosPorNome(nome);
-        return ResponseEntity.ok(UtilsResponse.success(produtos));
+        @Parameter(description = "Cursor retornado em nextCursor pela página anterior", in = ParameterIn.QUERY)
+        @RequestParam(required = false) String cursor,
+
+        @Parameter(description = "Quantidade de produtos por página (máximo 100)", example = "20", in = ParameterIn.QUERY)
+        @RequestParam(defaultValue = "20") int size) {
+
+        CursorPage<ProdutoResponse> produtos = produtoService.buscarProdutos(nome, cursor, size);
+        return ResponseEntity.ok(UtilsResponse.cursorSuccess(produtos));
     }
 
     @Operation(summary = "Listar produtos de um restaurante específico")
@@ -151,6 +165,7 @@ public class ProdutoController {
         @ApiResponse(responseCode = "200", description = "Produtos encontrados para o restaurante"),
         @ApiResponse(responseCode = "404", description = "Restaurante não encontrado ou sem produtos")
     })
+    @CacheCatalogo
     @GetMapping("/restaurantes/{restauranteId}")
     public ResponseEntity<ApiWrapperResponse<List<ProdutoResponse>>> listarPorRestaurante(
         @Parameter(description = "ID do restaurante", example = "10", in = ParameterIn.PATH, required = true)
@@ -41,8 +41,17 @@ public class RelatorioController {
         }
     )
     @GetMapping("/vendas-por-restaurante")
-    public ResponseEntity<List<RelatorioVendaPorRestauranteResponse>> vendasPorRestaurante() {
-        return ResponseEntity.ok(relatorioService.obterVendasPorRestaurante());
+    public ResponseEntity<List<RelatorioVendaPorRestauranteResponse>> vendasPorRestaurante(
+            @Parameter(description = "Data inicial (inclusive) no formato yyyy-MM-dd", example = "2024-01-01")
+            @RequestParam(value = "dataInicio", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+
+            @Parameter(description = "Data final (inclusive) no formato yyyy-MM-dd", example = "2024-12-31")
+            @RequestParam(value = "dataFim", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+
+            @Parameter(description = "Quantidade máxima de registros (top N)", example = "10")
+            @RequestParam(value = "limite", required = false) Integer limite) {
+
+        return ResponseEntity.ok(relatorioService.obterVendasPorRestaurante(dataInicio, dataFim, limite));
     }
 
     // Só ADMIN pode acessar
@@ -58,8 +67,17 @@ public class RelatorioController {
         }
     )
     @GetMapping("/produtos-mais-vendidos")
-    public ResponseEntity<List<RelatorioProdutoMaisVendidoResponse>> produtosMaisVendidos() {
-        return ResponseEntity.ok(relatorioService.obterProdutosMaisVendidos());
+    public ResponseEntity<List<RelatorioProdutoMaisVendidoResponse>> produtosMaisVendidos(
+            @Parameter(description = "Data inicial (inclusive) no formato yyyy-MM-dd", example = "2024-01-01")
+            @RequestParam(value = "dataInicio", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+
+            @Parameter(description = "Data final (inclusive) no formato yyyy-MM-dd", example = "2024-12-31")
+            @RequestParam(value = "dataFim", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+
+            @Parameter(description = "Quantidade máxima de registros (top N)", example = "10")
+            @RequestParam(value = "limite", required = false) Integer limite) {
+
+        return ResponseEntity.ok(relatorioService.obterProdutosMaisVendidos(dataInicio, dataFim, limite));
     }
 
     // Só ADMIN pode acessar
@@ -75,8 +93,17 @@ public class RelatorioController {
         }
     )
     @GetMapping("/clientes-ativos")
-    public ResponseEntity<List<RelatorioClienteAtivoResponse>> clientesMaisAtivos() {
-        return ResponseEntity.ok(relatorioService.obterClientesMaisAtivos());
+    public ResponseEntity<List<RelatorioClienteAtivoResponse>> clientesMaisAtivos(
+            @Parameter(description = "Data inicial (inclusive) no formato yyyy-MM-dd", example = "2024-01-01")
+            @RequestParam(value = "dataInicio", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+
+            @Parameter(description = "Data final (inclusive) no formato yyyy-MM-dd", example = "2024-12-31")
+            @RequestParam(value = "dataFim", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+
+            @Parameter(description = "Quantidade máxima de registros (top N)", example = "10")
+            @RequestParam(value = "limite", required = false) Integer limite) {
+
+        return ResponseEntity.ok(relatorioService.obterClientesMaisAtivos(dataInicio, dataFim, limite));
     }
 
     // Só ADMIN pode acessar
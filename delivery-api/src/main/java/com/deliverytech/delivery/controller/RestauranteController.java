@@ -1,19 +1,30 @@
 package com.deliverytech.delivery.controller;
 
 import com.deliverytech.delivery.dto.request.RestauranteRequest;
+import com.deliverytech.delivery.dto.response.CardapioResponse;
 import com.deliverytech.delivery.dto.response.RestauranteResponse;
 import com.deliverytech.delivery.dto.response.common.ApiWrapperResponse;
+import com.deliverytech.delivery.dto.response.common.CursorPage;
+import com.deliverytech.delivery.dto.response.common.PagedResponse;
 import com.deliverytech.delivery.dto.response.common.UtilsResponse;
+import com.deliverytech.delivery.httpcache.CacheCatalogo;
+import com.deliverytech.delivery.httpcache.EstrategiaEtag;
+import com.deliverytech.delivery.httpcache.PoliticaCache;
+import com.deliverytech.delivery.menu.Cardapio;
+import com.deliverytech.delivery.menu.VersaoCardapio;
 import com.deliverytech.delivery.service.RestauranteService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import jakarta.validation.Valid;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -57,6 +68,7 @@ public class RestauranteController {
         @ApiResponse(responseCode = "200", description = "Restaurante encontrado"),
         @ApiResponse(responseCode = "404", description = "Restaurante não encontrado")
     })
+    @CacheCatalogo
     @GetMapping("/{id}")
     public ResponseEntity<ApiWrapperResponse<RestauranteResponse>> buscarPorId(
         @Parameter(description = "ID do restaurante", example = "1", required = true) 
@@ -71,6 +83,7 @@ public class RestauranteController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de restaurantes retornada")
     })
+    @CacheCatalogo
     @GetMapping
     public ResponseEntity<ApiWrapperResponse<List<RestauranteResponse>>> listar(
         @Parameter(description = "Categoria do restaurante", example = "Japonesa") 
@@ -88,6 +101,7 @@ public class RestauranteController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de restaurantes retornada")
     })
+    @CacheCatalogo
     @GetMapping("/categoria/{categoria}")
     public ResponseEntity<ApiWrapperResponse<List<RestauranteResponse>>> listarPorCategoria(
         @Parameter(description = "Nome da categoria", example = "Italiana", required = true) 
@@ -134,12 +148,14 @@ public class RestauranteController {
     }
 
     // Calcular taxa de entrega — público
-    @Operation(summary = "Calcular taxa de entrega para um restaurante com base no CEP")
+    @Operation(summary = "Calcular taxa de entrega para um restaurante com base no CEP",
+               description = "Taxa pela distância do restaurante à faixa do CEP, na curva de faixas do restaurante")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Taxa de entrega calculada"),
         @ApiResponse(responseCode = "404", description = "Restaurante não encontrado"),
-        @ApiResponse(responseCode = "400", description = "CEP inválido")
+        @ApiResponse(responseCode = "422", description = "CEP inválido ou fora da área de entrega")
     })
+    @CacheCatalogo
     @GetMapping("/{id}/taxa-entrega/{cep}")
     public ResponseEntity<ApiWrapperResponse<BigDecimal>> calcularTaxaEntrega(
         @Parameter(description = "ID do restaurante", example = "1", required = true) 
@@ -152,18 +168,80 @@ public class RestauranteController {
         return ResponseEntity.ok(UtilsResponse.success(taxaEntrega));
     }
 
+    @Operation(summary = "Cardápio do restaurante",
+               description = "Restaurante e produtos disponíveis por categoria, num documento só. Responde com ETag "
+                   + "(versão do cardápio); com If-None-Match igual à versão atual, responde 304 sem corpo.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cardápio encontrado",
+                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = CardapioResponse.class))),
+        @ApiResponse(responseCode = "304", description = "Cardápio não mudou desde a versão informada em If-None-Match"),
+        @ApiResponse(responseCode = "404", description = "Restaurante não encontrado")
+    })
+    // 304 resolvido pela versão em memória, antes de chegar aqui (ver VersaoCardapio)
+    @PoliticaCache(maxAge = "${http.cache.cardapio.max-age:0s}",
+                   staleWhileRevalidate = "${http.cache.cardapio.stale-while-revalidate:0s}",
+                   etag = EstrategiaEtag.PROFUNDA,
+                   versao = VersaoCardapio.class)
+    @GetMapping("/{id}/cardapio")
+    public ResponseEntity<byte[]> cardapio(
+        @Parameter(description = "ID do restaurante", example = "1", required = true)
+        @PathVariable Long id) {
+
+        Cardapio cardapio = restauranteService.buscarCardapio(id);
+        // Corpo serializado na montagem do cardápio: só é copiado para a resposta
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(cardapio.etag())
+                .body(cardapio.json());
+    }
+
+    @Operation(summary = "Buscar restaurantes por nome ou categoria",
+               description = "Restaurantes ativos do mais relevante para o menos. Ignora acentos e aceita prefixos "
+                   + "e pequenos erros de digitação; todos os termos precisam casar. Paginação por cursor.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Restaurantes encontrados"),
+        @ApiResponse(responseCode = "422", description = "Termos ou cursor inválidos")
+    })
+    @CacheCatalogo
+    @GetMapping("/buscar")
+    public ResponseEntity<PagedResponse<RestauranteResponse>> buscar(
+        @Parameter(description = "Termos da busca", example = "cantina italiana", required = true)
+        @RequestParam String nome,
+
+        @Parameter(description = "Cursor retornado em nextCursor pela página anterior")
+        @RequestParam(required = false) String cursor,
+
+        @Parameter(description = "Quantidade de restaurantes por página (máximo 100)", example = "20")
+        @RequestParam(defaultValue = "20") int size) {
+
+        CursorPage<RestauranteResponse> restaurantes = restauranteService.buscarRestaurantes(nome, cursor, size);
+        return ResponseEntity.ok(UtilsResponse.cursorSuccess(restaurantes));
+    }
+
     // Listar restaurantes próximos — público
-    @Operation(summary = "Listar restaurantes próximos com base no CEP")
+    @Operation(summary = "Listar restaurantes próximos com base no CEP",
+        description = "Restaurantes ativos do mais próximo para o mais distante, com a distância em km. "
+            + "Sem raioKm, retorna os mais próximos dentro do raio máximo configurado. Paginação por cursor.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de restaurantes próximos retornada"),
-        @ApiResponse(responseCode = "400", description = "CEP inválido")
+        @ApiResponse(responseCode = "422", description = "CEP, raio ou cursor inválido")
     })
+    @CacheCatalogo
     @GetMapping("/proximos/{cep}")
-    public ResponseEntity<ApiWrapperResponse<List<RestauranteResponse>>> listarProximos(
-        @Parameter(description = "CEP de referência", example = "01310930", required = true) 
-        @PathVariable String cep) {
+    public ResponseEntity<PagedResponse<RestauranteResponse>> listarProximos(
+        @Parameter(description = "CEP de referência", example = "01310930", required = true)
+        @PathVariable String cep,
+
+        @Parameter(description = "Raio máximo em km", example = "5")
+        @RequestParam(required = false) Double raioKm,
+
+        @Parameter(description = "Cursor retornado em nextCursor pela página anterior")
+        @RequestParam(required = false) String cursor,
+
+        @Parameter(description = "Quantidade de restaurantes por página (máximo 100)", example = "20")
+        @RequestParam(defaultValue = "20") int size) {
 
-        List<RestauranteResponse> proximos = restauranteService.buscarRestaurantesProximos(cep);
-        return ResponseEntity.ok(UtilsResponse.success(proximos));
+        CursorPage<RestauranteResponse> proximos = restauranteService.buscarRestaurantesProximos(cep, raioKm, cursor, size);
+        return ResponseEntity.ok(UtilsResponse.cursorSuccess(proximos));
     }
 }
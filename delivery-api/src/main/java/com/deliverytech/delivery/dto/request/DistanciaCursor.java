@@ -0,0 +1,33 @@
+package com.deliverytech.delivery.dto.request;
+
+import com.deliverytech.delivery.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para resultados ordenados por (distância, id) crescente, como a busca de restaurantes próximos.
+ * Trafega como Base64 URL-safe de "distanciaKm|id"; a distância usa a representação exata do double.
+ */
+public record DistanciaCursor(double distanciaKm, long id) {
+
+    private static final String SEPARADOR = "|";
+
+    public String encode() {
+        String raw = distanciaKm + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static DistanciaCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARADOR);
+            return new DistanciaCursor(Double.parseDouble(raw.substring(0, idx)), Long.parseLong(raw.substring(idx + 1)));
+        } catch (IllegalArgumentException | StringIndexOutOfBoundsException e) {
+            throw new BusinessException("Cursor de paginação inválido", e);
+        }
+    }
+}
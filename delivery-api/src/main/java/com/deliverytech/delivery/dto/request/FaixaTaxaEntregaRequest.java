@@ -0,0 +1,27 @@
+package com.deliverytech.delivery.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Faixa de distância da curva de taxa de entrega")
+public class FaixaTaxaEntregaRequest {
+
+    @NotNull(message = "Distância da faixa é obrigatória")
+    @DecimalMin(value = "0.0", inclusive = false, message = "A distância da faixa deve ser maior que zero")
+    @Schema(example = "5", description = "Entregas até esta distância, em km")
+    private Double ateKm;
+
+    @NotNull(message = "Valor da faixa é obrigatório")
+    @DecimalMin(value = "0.0", message = "O valor da faixa não pode ser negativo")
+    @Schema(example = "7.90")
+    private BigDecimal valor;
+}
@@ -0,0 +1,35 @@
+package com.deliverytech.delivery.dto.request;
+
+import com.deliverytech.delivery.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursor opaco para paginação keyset de pedidos, ordenados por (dataPedido, id) decrescente.
+ * Trafega como Base64 URL-safe de "dataPedido|id".
+ */
+public record PedidoCursor(LocalDateTime dataPedido, Long id) {
+
+    private static final String SEPARADOR = "|";
+
+    public String encode() {
+        String raw = dataPedido + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PedidoCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARADOR);
+            return new PedidoCursor(LocalDateTime.parse(raw.substring(0, idx)), Long.valueOf(raw.substring(idx + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | StringIndexOutOfBoundsException e) {
+            throw new BusinessException("Cursor de paginação inválido", e);
+        }
+    }
+}
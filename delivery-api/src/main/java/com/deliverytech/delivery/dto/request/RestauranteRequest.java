@@ -6,10 +6,12 @@ import com.deliverytech.delivery.validation.ValidHorarioFuncionamento;
 import com.deliverytech.delivery.validation.ValidTelefone;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.Data;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Data
 public class RestauranteRequest {
@@ -51,4 +53,10 @@ public class RestauranteRequest {
 
     @Schema(example = "true")
     private Boolean ativo = true;
+
+    @Valid
+    @Size(max = 20, message = "No máximo 20 faixas de taxa de entrega")
+    @Schema(description = "Curva de taxa por distância. Sem faixas, vale a curva padrão sobre a taxa de entrega; "
+            + "na atualização, ausente mantém a curva atual")
+    private List<FaixaTaxaEntregaRequest> faixasTaxaEntrega;
 }
@@ -0,0 +1,54 @@
+package com.deliverytech.delivery.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cardápio de um restaurante: os dados do restaurante e os produtos disponíveis, por categoria.
+ */
+@Data
+public class CardapioResponse {
+
+    @Schema(description = "Versão do cardápio; muda a cada alteração do restaurante ou dos seus produtos", example = "7")
+    private long versao;
+
+    private RestauranteResponse restaurante;
+
+    @Schema(description = "Categorias em ordem alfabética, cada uma com os produtos disponíveis por nome")
+    private List<Categoria> categorias;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Categoria {
+
+        @Schema(description = "Nome da categoria", example = "PIZZAS")
+        private String nome;
+
+        private List<Item> produtos;
+    }
+
+    // Sem estoque: muda a cada pedido e invalidaria o cardápio sem mudar o que é exibido
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+
+        @Schema(description = "ID do produto", example = "100")
+        private Long id;
+
+        @Schema(description = "Nome do produto", example = "Pizza Margherita")
+        private String nome;
+
+        @Schema(description = "Descrição do produto", example = "Pizza artesanal com molho de tomate e manjericão fresco.")
+        private String descricao;
+
+        @Schema(description = "Preço do produto", example = "49.90")
+        private BigDecimal preco;
+    }
+}
@@ -3,6 +3,7 @@ package com.deliverytech.delivery.dto.response;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 import com.deliverytech.delivery.enums.StatusPedido;
 
@@ -34,6 +35,10 @@ public class PedidoResponse {
     @Schema(example = "2025-08-02T13:00:00")
     private LocalDateTime dataPedido;
 
+    @Schema(description = "Momento em que o pedido entrou em cada status pelo qual já passou",
+            example = "{\"PENDENTE\": \"2025-08-02T13:00:00\", \"CONFIRMADO\": \"2025-08-02T13:02:10\"}")
+    private Map<StatusPedido, LocalDateTime> datasStatus;
+
     @Schema(example = "7.50")
     private BigDecimal taxaEntrega;
 
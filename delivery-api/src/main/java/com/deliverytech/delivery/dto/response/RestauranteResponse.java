@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import lombok.Data;
 
@@ -21,4 +22,8 @@ public class RestauranteResponse {
 
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm")
     private LocalDateTime dataCriacao;
+
+    // Só nas buscas por proximidade
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double distanciaKm;
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.deliverytech.delivery.dto.response.common;
+
+import java.util.List;
+
+/**
+ * Página obtida por paginação keyset (cursor).
+ * nextCursor é null quando não há mais elementos após esta página.
+ */
+public record CursorPage<T>(
+        List<T> itens,
+        int size,
+        String nextCursor
+) {}
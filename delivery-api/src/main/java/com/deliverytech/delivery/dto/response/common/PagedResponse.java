@@ -13,5 +13,6 @@ public record PagedResponse<T>(
         int page,
         int size,
         long totalElements,
-        int totalPages
-) {}
\ No newline at end of file
+        int totalPages,
+        String nextCursor
+) {}
@@ -20,6 +20,14 @@ public final class UtilsResponse {
     }
 
     public static <T> PagedResponse<T> pagedSuccess(List<T> data, int page, int size, long totalElements, int totalPages) {
-        return new PagedResponse<>(200, "Sucesso", data, Instant.now(), page, size, totalElements, totalPages);
+        return new PagedResponse<>(200, "Sucesso", data, Instant.now(), page, size, totalElements, totalPages, null);
+    }
+
+    /**
+     * Resposta paginada por cursor: a contagem total não é calculada (totalElements e totalPages = -1),
+     * para que o custo da consulta não dependa do tamanho da tabela.
+     */
+    public static <T> PagedResponse<T> cursorSuccess(CursorPage<T> page) {
+        return new PagedResponse<>(200, "Sucesso", page.itens(), Instant.now(), 0, page.size(), -1, -1, page.nextCursor());
     }
 }
@@ -0,0 +1,29 @@
+package com.deliverytech.delivery.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Faixa de distância da curva de taxa de entrega de um restaurante: entregas até ateKm custam valor.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Faixa de distância com o valor da taxa de entrega")
+public class FaixaTaxaEntrega {
+
+    @Column(name = "ate_km", nullable = false)
+    @Schema(description = "Distância máxima da faixa, em km", example = "5")
+    private Double ateKm;
+
+    @Column(name = "valor", nullable = false)
+    @Schema(description = "Taxa de entrega na faixa", example = "7.90")
+    private BigDecimal valor;
+}
@@ -1,5 +1,6 @@
 package com.deliverytech.delivery.entity;
 
+import com.deliverytech.delivery.money.Dinheiro;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -12,7 +13,8 @@ import java.math.BigDecimal;
 public class ItemPedido {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_pedido_seq")
+    @SequenceGenerator(name = "item_pedido_seq", sequenceName = "item_pedido_seq", allocationSize = 50)
     @Schema(description = "ID do item do pedido", example = "1")
     private Long id;
 
@@ -45,6 +47,6 @@ public class ItemPedido {
     }
 
     public void calcularSubtotal() {
-        this.subtotal = precoUnitario.multiply(BigDecimal.valueOf(quantidade));
+        this.subtotal = Dinheiro.de(precoUnitario).vezes(quantidade).paraBigDecimal();
     }
 }
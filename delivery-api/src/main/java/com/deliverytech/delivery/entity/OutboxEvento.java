@@ -0,0 +1,41 @@
+package com.deliverytech.delivery.entity;
+
+import com.deliverytech.delivery.enums.StatusPedido;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento do ciclo de vida de um pedido, gravado na mesma transação da mudança de status
+ * e removido pelo relay depois de entregue aos inscritos.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "outbox_evento")
+public class OutboxEvento {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long pedidoId;
+
+    @Column(nullable = false)
+    private Long restauranteId;
+
+    private Long clienteId;
+
+    @Enumerated(EnumType.STRING)
+    private StatusPedido statusAnterior;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusPedido statusNovo;
+
+    @Column(nullable = false)
+    private LocalDateTime dataCriacao;
+}
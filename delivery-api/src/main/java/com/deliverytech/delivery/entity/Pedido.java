@@ -1,6 +1,7 @@
 package com.deliverytech.delivery.entity;
 
 import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.money.Dinheiro;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import lombok.Data;
@@ -14,11 +15,16 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_pedido_data_id", columnList = "dataPedido, id"),
+    @Index(name = "idx_pedido_status_data", columnList = "status, dataPedido, id")
+})
 @Schema(name = "Pedido", description = "Representa um pedido realizado por um cliente em um restaurante")
 public class Pedido {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_seq")
+    @SequenceGenerator(name = "pedido_seq", sequenceName = "pedido_seq", allocationSize = 50)
     @Schema(description = "ID do pedido", example = "101")
     private Long id;
 
@@ -47,6 +53,21 @@ public class Pedido {
     @Schema(description = "Status atual do pedido", example = "PENDENTE")
     private StatusPedido status;
 
+    @Schema(description = "Data e hora em que o pedido foi confirmado pelo restaurante")
+    private LocalDateTime dataConfirmacao;
+
+    @Schema(description = "Data e hora em que o pedido entrou em preparação")
+    private LocalDateTime dataPreparacao;
+
+    @Schema(description = "Data e hora em que o pedido saiu para entrega")
+    private LocalDateTime dataSaidaEntrega;
+
+    @Schema(description = "Data e hora em que o pedido foi entregue")
+    private LocalDateTime dataEntrega;
+
+    @Schema(description = "Data e hora em que o pedido foi cancelado")
+    private LocalDateTime dataCancelamento;
+
     @ManyToOne
     @JoinColumn(name = "cliente_id")
     @Schema(description = "Cliente que realizou o pedido")
@@ -66,17 +87,56 @@ public class Pedido {
         item.setPedido(this);
     }
 
+    /**
+     * Calcula subtotal e valor total em centavos; os campos BigDecimal só recebem o resultado.
+     */
     public void calcularTotais() {
-        this.subtotal = itens.stream()
-                .map(ItemPedido::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        this.valorTotal = subtotal.add(taxaEntrega != null ? taxaEntrega : BigDecimal.ZERO);
+        Dinheiro somaItens = somarItens();
+        this.subtotal = somaItens.paraBigDecimal();
+        this.valorTotal = somaItens.mais(Dinheiro.de(taxaEntrega)).paraBigDecimal();
     }
 
+    /**
+     * Valor total já calculado (calcularTotais ou carregado do banco). Só soma os itens
+     * quando o pedido ainda não teve os totais calculados.
+     */
     public BigDecimal getTotal() {
-        return itens.stream()
-                .map(ItemPedido::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .add(taxaEntrega != null ? taxaEntrega : BigDecimal.ZERO);
+        if (valorTotal != null) {
+            return valorTotal;
+        }
+        return somarItens().mais(Dinheiro.de(taxaEntrega)).paraBigDecimal();
+    }
+
+    /**
+     * Momento em que o pedido entrou no status informado (PENDENTE é a data do pedido), ou null se nunca entrou.
+     */
+    public LocalDateTime getDataStatus(StatusPedido status) {
+        return switch (status) {
+            case PENDENTE -> dataPedido;
+            case CONFIRMADO -> dataConfirmacao;
+            case EM_PREPARACAO -> dataPreparacao;
+            case SAIU_PARA_ENTREGA -> dataSaidaEntrega;
+            case ENTREGUE -> dataEntrega;
+            case CANCELADO -> dataCancelamento;
+        };
+    }
+
+    public void registrarDataStatus(StatusPedido status, LocalDateTime dataHora) {
+        switch (status) {
+            case PENDENTE -> dataPedido = dataHora;
+            case CONFIRMADO -> dataConfirmacao = dataHora;
+            case EM_PREPARACAO -> dataPreparacao = dataHora;
+            case SAIU_PARA_ENTREGA -> dataSaidaEntrega = dataHora;
+            case ENTREGUE -> dataEntrega = dataHora;
+            case CANCELADO -> dataCancelamento = dataHora;
+        }
+    }
+
+    private Dinheiro somarItens() {
+        long centavos = 0;
+        for (ItemPedido item : itens) {
+            centavos = Math.addExact(centavos, Dinheiro.centavosDe(item.getSubtotal()));
+        }
+        return Dinheiro.deCentavos(centavos);
     }
 }
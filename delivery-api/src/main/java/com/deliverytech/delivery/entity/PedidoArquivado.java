@@ -0,0 +1,67 @@
+package com.deliverytech.delivery.entity;
+
+import com.deliverytech.delivery.enums.StatusPedido;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Pedido finalizado (entregue ou cancelado) movido para o armazenamento frio.
+ *
+ * Só as colunas usadas em filtro e ordenação ficam abertas; o pedido completo (itens, cliente,
+ * restaurante) é guardado como PedidoResponse em JSON compactado, lido sem joins. O id é o mesmo
+ * do pedido original, o que mantém o cursor (dataPedido, id) válido entre as duas tabelas.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "pedido_arquivado", indexes = {
+    @Index(name = "idx_pedido_arquivado_cliente", columnList = "clienteId, dataPedido, id"),
+    @Index(name = "idx_pedido_arquivado_restaurante", columnList = "restauranteId, dataPedido, id")
+})
+public class PedidoArquivado implements Persistable<Long> {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long clienteId;
+
+    @Column(nullable = false)
+    private Long restauranteId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatusPedido status;
+
+    @Column(nullable = false)
+    private LocalDateTime dataPedido;
+
+    private BigDecimal valorTotal;
+
+    @Column(nullable = false)
+    private LocalDateTime dataArquivamento;
+
+    @Lob
+    @Column(nullable = false)
+    private byte[] conteudo;
+
+    // Id atribuído: sem isto o save faria um SELECT por registro para decidir entre persist e merge
+    @Transient
+    private boolean novo = true;
+
+    @Override
+    public boolean isNew() {
+        return novo;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marcarPersistido() {
+        this.novo = false;
+    }
+}
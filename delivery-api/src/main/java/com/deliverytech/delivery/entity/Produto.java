@@ -64,6 +64,9 @@ public class Produto {
         this.disponivel = ativo;
     }
 
+    // Fora dos UPDATEs do JPA: quem grava o estoque é o flush de StockReservationService, com
+    // UPDATE relativo. Salvar o produto inteiro sobrescreveria as baixas gravadas depois da leitura
+    @Column(updatable = false)
     private int estoque;
 
     // Getter
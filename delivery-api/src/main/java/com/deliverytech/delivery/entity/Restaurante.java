@@ -5,9 +5,11 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Entity
@@ -55,6 +57,27 @@ public class Restaurante {
     @Schema(description = "Nota média de avaliação do restaurante", example = "4.7")
     private BigDecimal avaliacao;
 
+    @Schema(description = "Latitude do centroide do CEP do endereço", example = "-23.5614")
+    private Double latitude;
+
+    @Schema(description = "Longitude do centroide do CEP do endereço", example = "-46.6559")
+    private Double longitude;
+
+    @ElementCollection
+    @CollectionTable(name = "restaurante_faixa_taxa", joinColumns = @JoinColumn(name = "restaurante_id"))
+    @OrderBy("ateKm")
+    @JsonIgnore
+    @Schema(description = "Curva de taxa de entrega por distância (vazia: curva padrão sobre taxaEntrega)")
+    private List<FaixaTaxaEntrega> faixasTaxaEntrega = new ArrayList<>();
+
+    // Só muda pelo UPDATE de RestauranteRepository.incrementarVersaoCardapio: o save da entidade
+    // não grava a coluna e não desfaz um incremento feito por outra escrita
+    @ColumnDefault("0")
+    @Column(name = "versao_cardapio", nullable = false, insertable = false, updatable = false)
+    @JsonIgnore
+    @Schema(description = "Versão do cardápio, incrementada a cada escrita no restaurante ou nos seus produtos")
+    private Long versaoCardapio = 0L;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id")
     @Schema(description = "Usuário responsável pelo restaurante")
@@ -0,0 +1,42 @@
+package com.deliverytech.delivery.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "resumo_cliente_diario",
+       uniqueConstraints = @UniqueConstraint(name = "uk_resumo_cliente_data", columnNames = {"cliente_id", "data"}))
+@Schema(name = "ResumoClienteDiario", description = "Pedidos entregues agregados por cliente e dia")
+public class ResumoClienteDiario {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "cliente_id", nullable = false)
+    private Cliente cliente;
+
+    @Column(nullable = false)
+    @Schema(description = "Dia do pedido", example = "2025-08-03")
+    private LocalDate data;
+
+    @Column(nullable = false)
+    @Schema(description = "Quantidade de pedidos entregues no dia", example = "2")
+    private Long totalPedidos;
+
+    /**
+     * Linha zerada do dia; os pedidos entram depois, pelo incremento.
+     */
+    public ResumoClienteDiario(Cliente cliente, LocalDate data) {
+        this.cliente = cliente;
+        this.data = data;
+        this.totalPedidos = 0L;
+    }
+}
@@ -0,0 +1,42 @@
+package com.deliverytech.delivery.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "resumo_produto_diario",
+       uniqueConstraints = @UniqueConstraint(name = "uk_resumo_produto_data", columnNames = {"produto_id", "data"}))
+@Schema(name = "ResumoProdutoDiario", description = "Quantidade vendida (pedidos entregues) agregada por produto e dia")
+public class ResumoProdutoDiario {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "produto_id", nullable = false)
+    private Produto produto;
+
+    @Column(nullable = false)
+    @Schema(description = "Dia do pedido", example = "2025-08-03")
+    private LocalDate data;
+
+    @Column(nullable = false)
+    @Schema(description = "Quantidade vendida no dia", example = "40")
+    private Long quantidadeVendida;
+
+    /**
+     * Linha zerada do dia; as quantidades entram depois, pelo incremento.
+     */
+    public ResumoProdutoDiario(Produto produto, LocalDate data) {
+        this.produto = produto;
+        this.data = data;
+        this.quantidadeVendida = 0L;
+    }
+}
@@ -0,0 +1,48 @@
+package com.deliverytech.delivery.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "resumo_restaurante_diario",
+       uniqueConstraints = @UniqueConstraint(name = "uk_resumo_restaurante_data", columnNames = {"restaurante_id", "data"}))
+@Schema(name = "ResumoRestauranteDiario", description = "Vendas entregues agregadas por restaurante e dia")
+public class ResumoRestauranteDiario {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "restaurante_id", nullable = false)
+    private Restaurante restaurante;
+
+    @Column(nullable = false)
+    @Schema(description = "Dia do pedido", example = "2025-08-03")
+    private LocalDate data;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    @Schema(description = "Soma do valor dos pedidos entregues no dia", example = "350.00")
+    private BigDecimal valorTotal;
+
+    @Column(nullable = false)
+    @Schema(description = "Quantidade de pedidos entregues no dia", example = "12")
+    private Long totalPedidos;
+
+    /**
+     * Linha zerada do dia; os pedidos entram depois, pelo incremento.
+     */
+    public ResumoRestauranteDiario(Restaurante restaurante, LocalDate data) {
+        this.restaurante = restaurante;
+        this.data = data;
+        this.valorTotal = BigDecimal.ZERO;
+        this.totalPedidos = 0L;
+    }
+}
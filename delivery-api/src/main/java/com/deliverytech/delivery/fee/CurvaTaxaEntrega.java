@@ -0,0 +1,68 @@
+package com.deliverytech.delivery.fee;
+
+import com.deliverytech.delivery.entity.FaixaTaxaEntrega;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Taxa de entrega por faixa de distância, em arrays ordenados por ateKm.
+ *
+ * Os valores são BigDecimal prontos (imutáveis, compartilhados entre as consultas): a consulta só
+ * percorre as faixas, sem alocar.
+ */
+public final class CurvaTaxaEntrega {
+
+    private final double[] ateKm;
+    private final BigDecimal[] valores;
+
+    private CurvaTaxaEntrega(double[] ateKm, BigDecimal[] valores) {
+        this.ateKm = ateKm;
+        this.valores = valores;
+    }
+
+    /**
+     * Curva própria do restaurante.
+     */
+    public static CurvaTaxaEntrega de(List<FaixaTaxaEntrega> faixas) {
+        List<FaixaTaxaEntrega> ordenadas = faixas.stream()
+                .sorted(Comparator.comparingDouble(FaixaTaxaEntrega::getAteKm))
+                .toList();
+        double[] ateKm = new double[ordenadas.size()];
+        BigDecimal[] valores = new BigDecimal[ordenadas.size()];
+        for (int i = 0; i < ordenadas.size(); i++) {
+            ateKm[i] = ordenadas.get(i).getAteKm();
+            valores[i] = ordenadas.get(i).getValor().setScale(2, RoundingMode.HALF_EVEN);
+        }
+        return new CurvaTaxaEntrega(ateKm, valores);
+    }
+
+    /**
+     * Curva padrão: cada faixa cobra a taxa base vezes o multiplicador da faixa.
+     */
+    public static CurvaTaxaEntrega padrao(BigDecimal taxaBase, double[] ateKm, BigDecimal[] multiplicadores) {
+        BigDecimal[] valores = new BigDecimal[ateKm.length];
+        for (int i = 0; i < ateKm.length; i++) {
+            valores[i] = taxaBase.multiply(multiplicadores[i]).setScale(2, RoundingMode.HALF_EVEN);
+        }
+        return new CurvaTaxaEntrega(ateKm.clone(), valores);
+    }
+
+    /**
+     * Taxa da primeira faixa que alcança a distância, ou null se estiver além da última.
+     */
+    public BigDecimal valor(double distanciaKm) {
+        for (int i = 0; i < ateKm.length; i++) {
+            if (distanciaKm <= ateKm[i]) {
+                return valores[i];
+            }
+        }
+        return null;
+    }
+
+    public double alcanceKm() {
+        return ateKm.length == 0 ? 0 : ateKm[ateKm.length - 1];
+    }
+}
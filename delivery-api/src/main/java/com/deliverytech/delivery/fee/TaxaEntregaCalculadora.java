@@ -0,0 +1,154 @@
+package com.deliverytech.delivery.fee;
+
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.exception.EntityNotFoundException;
+import com.deliverytech.delivery.geo.Cep;
+import com.deliverytech.delivery.geo.Coordenada;
+import com.deliverytech.delivery.geo.TabelaCep;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Taxa de entrega pela distância entre o restaurante e o centroide da faixa do CEP de destino.
+ *
+ * Posição, taxa base e curva de cada restaurante ficam em memória: carregadas na inicialização e
+ * mantidas pelas escritas de RestauranteService (e, para as feitas por outras instâncias, pela
+ * ReconciliacaoIndices). A consulta não vai ao banco (só o primeiro acesso
+ * a um restaurante que não passou pelo serviço) e não aloca: CEP convertido para int, faixa
+ * encontrada por busca binária na TabelaCep e valor já pronto na curva.
+ *
+ * Sem faixas próprias, vale a curva padrão restaurante.taxa-entrega.faixas-padrao sobre a taxa do
+ * restaurante. Restaurante sem posição conhecida ou CEP fora da tabela pagam a taxa base.
+ */
+@Component
+public class TaxaEntregaCalculadora {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaxaEntregaCalculadora.class);
+
+    private final RestauranteRepository restauranteRepository;
+    private final TabelaCep tabelaCep;
+    private final double[] faixasPadraoKm;
+    private final BigDecimal[] multiplicadoresPadrao;
+
+    private final Map<Long, Tarifa> tarifas = new ConcurrentHashMap<>();
+
+    /**
+     * Estado de um restaurante usado no cálculo; latitude/longitude NaN quando não há coordenadas.
+     */
+    record Tarifa(double latitude, double longitude, BigDecimal taxaBase, CurvaTaxaEntrega curva) {
+
+        boolean posicionada() {
+            return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+        }
+    }
+
+    public TaxaEntregaCalculadora(RestauranteRepository restauranteRepository,
+                                  TabelaCep tabelaCep,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${restaurante.taxa-entrega.faixas-padrao:3:1.0,6:1.5,10:2.0,15:2.5}") String faixasPadrao) {
+        this.restauranteRepository = restauranteRepository;
+        this.tabelaCep = tabelaCep;
+
+        String[] faixas = faixasPadrao.split(",");
+        this.faixasPadraoKm = new double[faixas.length];
+        this.multiplicadoresPadrao = new BigDecimal[faixas.length];
+        for (int i = 0; i < faixas.length; i++) {
+            String[] campos = faixas[i].strip().split(":");
+            faixasPadraoKm[i] = Double.parseDouble(campos[0].strip());
+            multiplicadoresPadrao[i] = new BigDecimal(campos[1].strip());
+            if (i > 0 && faixasPadraoKm[i] <= faixasPadraoKm[i - 1]) {
+                throw new IllegalArgumentException("Faixas padrão de taxa de entrega fora de ordem: " + faixasPadrao);
+            }
+        }
+
+        Gauge.builder("restaurantes.taxa.entrega.tamanho", tarifas, Map::size)
+                .description("Restaurantes com tarifa de entrega em memória")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        try {
+            List<Restaurante> restaurantes = restauranteRepository.buscarComFaixasTaxa();
+            restaurantes.forEach(this::atualizar);
+            logger.info("Tarifas de entrega carregadas: {} restaurantes", restaurantes.size());
+        } catch (Exception e) {
+            logger.warn("Não foi possível carregar as tarifas de entrega: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Relê o restaurante com as faixas (após cadastro ou atualização, nesta ou em outra instância).
+     */
+    public void recarregar(Long restauranteId) {
+        restauranteRepository.buscarComFaixasTaxaPorId(restauranteId)
+                .ifPresentOrElse(this::atualizar, () -> tarifas.remove(restauranteId));
+    }
+
+    public void remover(Long restauranteId) {
+        tarifas.remove(restauranteId);
+    }
+
+    /**
+     * Taxa para entregar no CEP (com ou sem hífen).
+     *
+     * @throws EntityNotFoundException se o restaurante não existir
+     * @throws BusinessException se o CEP for inválido ou estiver além da última faixa da curva
+     */
+    public BigDecimal calcular(Long restauranteId, String cep) {
+        Tarifa tarifa = tarifas.get(restauranteId);
+        if (tarifa == null) {
+            tarifa = restauranteRepository.buscarComFaixasTaxaPorId(restauranteId)
+                    .map(this::atualizar)
+                    .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado com ID: " + restauranteId));
+        }
+
+        int numero = Cep.paraNumero(cep);
+        if (numero < 0) {
+            throw new BusinessException("CEP inválido: " + cep);
+        }
+        int faixa = tabelaCep.faixa(numero);
+        if (faixa < 0 || !tarifa.posicionada()) {
+            return tarifa.taxaBase();
+        }
+
+        double distanciaKm = Coordenada.distanciaKm(tarifa.latitude(), tarifa.longitude(),
+                tabelaCep.latitude(faixa), tabelaCep.longitude(faixa));
+        BigDecimal valor = tarifa.curva().valor(distanciaKm);
+        if (valor == null) {
+            throw new BusinessException(String.format("CEP %s fora da área de entrega do restaurante (%.1f km, máximo %.1f km)",
+                    cep, distanciaKm, tarifa.curva().alcanceKm()));
+        }
+        return valor;
+    }
+
+    private Tarifa atualizar(Restaurante restaurante) {
+        BigDecimal taxaBase = restaurante.getTaxaEntrega() != null ? restaurante.getTaxaEntrega() : BigDecimal.ZERO;
+        CurvaTaxaEntrega curva = restaurante.getFaixasTaxaEntrega() == null || restaurante.getFaixasTaxaEntrega().isEmpty()
+                ? CurvaTaxaEntrega.padrao(taxaBase, faixasPadraoKm, multiplicadoresPadrao)
+                : CurvaTaxaEntrega.de(restaurante.getFaixasTaxaEntrega());
+        // Restaurantes antigos, sem coordenadas gravadas: centroide do CEP do endereço
+        Coordenada posicao = restaurante.getLatitude() != null && restaurante.getLongitude() != null
+                ? new Coordenada(restaurante.getLatitude(), restaurante.getLongitude())
+                : tabelaCep.localizar(Cep.extrair(restaurante.getEndereco())).orElse(null);
+        Tarifa tarifa = new Tarifa(
+                posicao != null ? posicao.latitude() : Double.NaN,
+                posicao != null ? posicao.longitude() : Double.NaN,
+                taxaBase, curva);
+        tarifas.put(restaurante.getId(), tarifa);
+        return tarifa;
+    }
+}
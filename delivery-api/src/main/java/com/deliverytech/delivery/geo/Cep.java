@@ -0,0 +1,69 @@
+package com.deliverytech.delivery.geo;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de CEP: só os 8 dígitos, sem hífen.
+ */
+public final class Cep {
+
+    // Mesmo formato aceito por ValidCEP nos endereços
+    private static final Pattern CEP_NO_TEXTO = Pattern.compile("\\b(\\d{5})-?(\\d{3})\\b");
+
+    private Cep() {}
+
+    /**
+     * CEP informado diretamente (com ou sem hífen), ou null se não tiver 8 dígitos.
+     */
+    public static String normalizar(String cep) {
+        if (cep == null) {
+            return null;
+        }
+        StringBuilder digitos = new StringBuilder(8);
+        for (int i = 0; i < cep.length(); i++) {
+            char c = cep.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            } else if (c != '-' && c != '.' && c != ' ') {
+                return null;
+            }
+        }
+        return digitos.length() == 8 ? digitos.toString() : null;
+    }
+
+    /**
+     * CEP informado diretamente como número (01001-000 vira 1001000), ou -1 se não tiver 8 dígitos.
+     * Não aloca: usado na consulta da taxa de entrega.
+     */
+    public static int paraNumero(CharSequence cep) {
+        if (cep == null) {
+            return -1;
+        }
+        int numero = 0;
+        int digitos = 0;
+        for (int i = 0; i < cep.length(); i++) {
+            char c = cep.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digitos > 8) {
+                    return -1;
+                }
+                numero = numero * 10 + (c - '0');
+            } else if (c != '-' && c != '.' && c != ' ') {
+                return -1;
+            }
+        }
+        return digitos == 8 ? numero : -1;
+    }
+
+    /**
+     * Primeiro CEP presente em um endereço em texto livre, ou null.
+     */
+    public static String extrair(String endereco) {
+        if (endereco == null) {
+            return null;
+        }
+        Matcher matcher = CEP_NO_TEXTO.matcher(endereco);
+        return matcher.find() ? matcher.group(1) + matcher.group(2) : null;
+    }
+}
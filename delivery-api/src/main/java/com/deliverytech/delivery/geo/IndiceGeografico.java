@@ -0,0 +1,229 @@
+package com.deliverytech.delivery.geo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice espacial em memória: grade regular de latitude/longitude (equivalente a um geohash de
+ * precisão fixa), com busca por raio e pelos k mais próximos em ordem de distância.
+ *
+ * Cada célula guarda ids e coordenadas em arrays primitivos imutáveis, trocados inteiros a cada
+ * escrita (cópia na escrita): as buscas não usam lock e nunca veem uma célula pela metade. As
+ * escritas (cadastro, alteração, remoção de restaurante) são raras e serializadas.
+ *
+ * A busca percorre anéis de células ao redor do ponto, do mais próximo para fora, e para quando
+ * nenhuma célula do próximo anel pode conter um ponto mais perto que o pior dos já encontrados
+ * (ou além do raio). Não trata a volta no antimeridiano (longitude ±180).
+ */
+public class IndiceGeografico {
+
+    private static final double KM_POR_GRAU = Coordenada.RAIO_TERRA_KM * Math.PI / 180;
+    // Folga no limite inferior do anel: a conta em graus é plana, a distância é no círculo máximo
+    private static final double FOLGA_LIMITE = 0.99;
+
+    private static final Comparator<Vizinho> POR_DISTANCIA =
+            Comparator.comparingDouble(Vizinho::distanciaKm).thenComparingLong(Vizinho::id);
+
+    private final double tamanhoCelula;
+    private final long colunas;
+
+    private final ConcurrentHashMap<Long, Celula> celulas = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> celulaPorId = new ConcurrentHashMap<>();
+
+    // Extensão ocupada da grade (só cresce): limita os anéis percorridos
+    private volatile int menorLinha = Integer.MAX_VALUE;
+    private volatile int maiorLinha = Integer.MIN_VALUE;
+    private volatile int menorColuna = Integer.MAX_VALUE;
+    private volatile int maiorColuna = Integer.MIN_VALUE;
+
+    private record Celula(long[] ids, double[] latitudes, double[] longitudes) {
+
+        static final Celula VAZIA = new Celula(new long[0], new double[0], new double[0]);
+
+        Celula com(long id, double latitude, double longitude) {
+            int n = ids.length;
+            long[] novosIds = Arrays.copyOf(ids, n + 1);
+            double[] novasLatitudes = Arrays.copyOf(latitudes, n + 1);
+            double[] novasLongitudes = Arrays.copyOf(longitudes, n + 1);
+            novosIds[n] = id;
+            novasLatitudes[n] = latitude;
+            novasLongitudes[n] = longitude;
+            return new Celula(novosIds, novasLatitudes, novasLongitudes);
+        }
+
+        Celula sem(long id) {
+            int i = 0;
+            while (i < ids.length && ids[i] != id) {
+                i++;
+            }
+            if (i == ids.length) {
+                return this;
+            }
+            if (ids.length == 1) {
+                return null;
+            }
+            long[] novosIds = new long[ids.length - 1];
+            double[] novasLatitudes = new double[ids.length - 1];
+            double[] novasLongitudes = new double[ids.length - 1];
+            System.arraycopy(ids, 0, novosIds, 0, i);
+            System.arraycopy(latitudes, 0, novasLatitudes, 0, i);
+            System.arraycopy(longitudes, 0, novasLongitudes, 0, i);
+            System.arraycopy(ids, i + 1, novosIds, i, ids.length - i - 1);
+            System.arraycopy(latitudes, i + 1, novasLatitudes, i, ids.length - i - 1);
+            System.arraycopy(longitudes, i + 1, novasLongitudes, i, ids.length - i - 1);
+            return new Celula(novosIds, novasLatitudes, novasLongitudes);
+        }
+    }
+
+    /**
+     * @param tamanhoCelula lado da célula em graus (0,05° ≈ 5,5 km de altura)
+     */
+    public IndiceGeografico(double tamanhoCelula) {
+        if (!(tamanhoCelula > 0 && tamanhoCelula <= 10)) {
+            throw new IllegalArgumentException("Tamanho de célula inválido: " + tamanhoCelula);
+        }
+        this.tamanhoCelula = tamanhoCelula;
+        this.colunas = (long) Math.ceil(360 / tamanhoCelula) + 1;
+    }
+
+    /**
+     * Inclui o id ou move para a nova posição.
+     */
+    public synchronized void atualizar(long id, double latitude, double longitude) {
+        remover(id);
+        int linha = linha(latitude);
+        int coluna = coluna(longitude);
+        long chave = chave(linha, coluna);
+        celulas.compute(chave, (k, celula) -> (celula == null ? Celula.VAZIA : celula).com(id, latitude, longitude));
+        celulaPorId.put(id, chave);
+
+        if (linha < menorLinha) menorLinha = linha;
+        if (linha > maiorLinha) maiorLinha = linha;
+        if (coluna < menorColuna) menorColuna = coluna;
+        if (coluna > maiorColuna) maiorColuna = coluna;
+    }
+
+    public synchronized void remover(long id) {
+        Long chave = celulaPorId.remove(id);
+        if (chave != null) {
+            celulas.computeIfPresent(chave, (k, celula) -> celula.sem(id));
+        }
+    }
+
+    public int tamanho() {
+        return celulaPorId.size();
+    }
+
+    /**
+     * Até limite pontos a no máximo raioKm, em ordem de (distância, id), começando depois de
+     * (depoisDistancia, depoisId). Para a primeira página, use depoisDistancia negativa.
+     */
+    public List<Vizinho> buscar(double latitude, double longitude, double raioKm,
+                                double depoisDistancia, long depoisId, int limite) {
+        if (limite <= 0 || celulaPorId.isEmpty()) {
+            return List.of();
+        }
+
+        // Heap de máximo: a raiz é o pior dos melhores encontrados até agora
+        PriorityQueue<Vizinho> melhores = new PriorityQueue<>(limite, POR_DISTANCIA.reversed());
+
+        int linha0 = linha(latitude);
+        int coluna0 = coluna(longitude);
+        double alturaKm = tamanhoCelula * KM_POR_GRAU;
+
+        int menorL = menorLinha;
+        int maiorL = maiorLinha;
+        int menorC = menorColuna;
+        int maiorC = maiorColuna;
+
+        for (int anel = 0; ; anel++) {
+            if (anel > 0) {
+                double latitudeExtrema = Math.min(89.9, Math.abs(latitude) + (anel + 1) * tamanhoCelula);
+                double larguraKm = alturaKm * Math.cos(Math.toRadians(latitudeExtrema));
+                double limiteInferior = (anel - 1) * Math.min(alturaKm, larguraKm) * FOLGA_LIMITE;
+                if (limiteInferior > raioKm) {
+                    break;
+                }
+                if (melhores.size() == limite && limiteInferior > melhores.peek().distanciaKm()) {
+                    break;
+                }
+            }
+            if (linha0 - anel < menorL && linha0 + anel > maiorL && coluna0 - anel < menorC && coluna0 + anel > maiorC) {
+                break;
+            }
+
+            int primeiraLinha = Math.max(linha0 - anel, menorL);
+            int ultimaLinha = Math.min(linha0 + anel, maiorL);
+            for (int l = primeiraLinha; l <= ultimaLinha; l++) {
+                if (l == linha0 - anel || l == linha0 + anel) {
+                    int primeiraColuna = Math.max(coluna0 - anel, menorC);
+                    int ultimaColuna = Math.min(coluna0 + anel, maiorC);
+                    for (int c = primeiraColuna; c <= ultimaColuna; c++) {
+                        visitar(l, c, latitude, longitude, raioKm, depoisDistancia, depoisId, limite, melhores);
+                    }
+                } else {
+                    if (coluna0 - anel >= menorC) {
+                        visitar(l, coluna0 - anel, latitude, longitude, raioKm, depoisDistancia, depoisId, limite, melhores);
+                    }
+                    if (anel > 0 && coluna0 + anel <= maiorC) {
+                        visitar(l, coluna0 + anel, latitude, longitude, raioKm, depoisDistancia, depoisId, limite, melhores);
+                    }
+                }
+            }
+        }
+
+        List<Vizinho> resultado = new ArrayList<>(melhores);
+        resultado.sort(POR_DISTANCIA);
+        return resultado;
+    }
+
+    private void visitar(int linha, int coluna, double latitude, double longitude, double raioKm,
+                         double depoisDistancia, long depoisId, int limite, PriorityQueue<Vizinho> melhores) {
+        Celula celula = celulas.get(chave(linha, coluna));
+        if (celula == null) {
+            return;
+        }
+        long[] ids = celula.ids();
+        double[] latitudes = celula.latitudes();
+        double[] longitudes = celula.longitudes();
+        for (int i = 0; i < ids.length; i++) {
+            // A distância no círculo máximo nunca é menor que a diferença de latitude: descarta sem o haversine
+            double corte = melhores.size() == limite ? Math.min(raioKm, melhores.peek().distanciaKm()) : raioKm;
+            if (Math.abs(latitudes[i] - latitude) * KM_POR_GRAU > corte) {
+                continue;
+            }
+            double distancia = Coordenada.distanciaKm(latitude, longitude, latitudes[i], longitudes[i]);
+            if (distancia > raioKm) {
+                continue;
+            }
+            if (distancia < depoisDistancia || (distancia == depoisDistancia && ids[i] <= depoisId)) {
+                continue;
+            }
+            if (melhores.size() < limite) {
+                melhores.add(new Vizinho(ids[i], distancia));
+            } else {
+                Vizinho pior = melhores.peek();
+                if (distancia < pior.distanciaKm() || (distancia == pior.distanciaKm() && ids[i] < pior.id())) {
+                    melhores.poll();
+                    melhores.add(new Vizinho(ids[i], distancia));
+                }
+            }
+        }
+    }
+
+    private int linha(double latitude) {
+        return (int) Math.floor((latitude + 90) / tamanhoCelula);
+    }
+
+    private int coluna(double longitude) {
+        return (int) Math.floor((longitude + 180) / tamanhoCelula);
+    }
+
+    private long chave(int linha, int coluna) {
+        return linha * colunas + coluna;
+    }
+}
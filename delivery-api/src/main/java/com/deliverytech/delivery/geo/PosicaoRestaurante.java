@@ -0,0 +1,7 @@
+package com.deliverytech.delivery.geo;
+
+/**
+ * Dados mínimos de um restaurante ativo para carregar o índice geográfico.
+ */
+public record PosicaoRestaurante(Long id, String endereco, Double latitude, Double longitude) {
+}
@@ -0,0 +1,127 @@
+package com.deliverytech.delivery.geo;
+
+import com.deliverytech.delivery.dto.request.DistanciaCursor;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Restaurantes ativos no índice geográfico: carregados na inicialização e mantidos pelas escritas
+ * de RestauranteService (cadastro, atualização, mudança de status e remoção). Escritas feitas por
+ * outras instâncias chegam pela ReconciliacaoIndices.
+ *
+ * A posição vem das colunas latitude/longitude; restaurantes antigos, sem coordenadas gravadas,
+ * são geocodificados em memória pelo CEP do endereço na carga.
+ */
+@Component
+public class RestauranteGeoIndice {
+
+    private static final Logger logger = LoggerFactory.getLogger(RestauranteGeoIndice.class);
+
+    private final RestauranteRepository restauranteRepository;
+    private final TabelaCep tabelaCep;
+    private final IndiceGeografico indice;
+    private final double raioMaximoKm;
+
+    public RestauranteGeoIndice(RestauranteRepository restauranteRepository,
+                                TabelaCep tabelaCep,
+                                MeterRegistry meterRegistry,
+                                @Value("${geo.indice.celula-graus:0.05}") double tamanhoCelula,
+                                @Value("${geo.busca.raio-maximo-km:50}") double raioMaximoKm) {
+        this.restauranteRepository = restauranteRepository;
+        this.tabelaCep = tabelaCep;
+        this.indice = new IndiceGeografico(tamanhoCelula);
+        this.raioMaximoKm = raioMaximoKm;
+
+        Gauge.builder("restaurantes.indice.geo.tamanho", indice, IndiceGeografico::tamanho)
+                .description("Restaurantes ativos no índice geográfico")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        try {
+            List<PosicaoRestaurante> posicoes = restauranteRepository.buscarPosicoesAtivas();
+            int indexados = 0;
+            for (PosicaoRestaurante posicao : posicoes) {
+                if (indexar(posicao)) {
+                    indexados++;
+                }
+            }
+            logger.info("Índice geográfico carregado: {} de {} restaurantes ativos", indexados, posicoes.size());
+        } catch (Exception e) {
+            logger.warn("Não foi possível carregar o índice geográfico: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Preenche latitude/longitude a partir do CEP do endereço (ou limpa, se não houver CEP conhecido).
+     */
+    public void geocodificar(Restaurante restaurante) {
+        Optional<Coordenada> coordenada = tabelaCep.localizar(Cep.extrair(restaurante.getEndereco()));
+        restaurante.setLatitude(coordenada.map(Coordenada::latitude).orElse(null));
+        restaurante.setLongitude(coordenada.map(Coordenada::longitude).orElse(null));
+    }
+
+    /**
+     * Reflete o estado atual do restaurante no índice: entra se estiver ativo e com coordenadas.
+     */
+    public void indexar(Restaurante restaurante) {
+        if (Boolean.TRUE.equals(restaurante.getAtivo()) && restaurante.getLatitude() != null && restaurante.getLongitude() != null) {
+            indice.atualizar(restaurante.getId(), restaurante.getLatitude(), restaurante.getLongitude());
+        } else {
+            indice.remover(restaurante.getId());
+        }
+    }
+
+    /**
+     * Relê a posição do restaurante no banco (alterado ou removido por outra instância).
+     */
+    public void recarregar(Long restauranteId) {
+        restauranteRepository.buscarPosicaoAtiva(restauranteId)
+                .ifPresentOrElse(this::indexar, () -> indice.remover(restauranteId));
+    }
+
+    public void remover(Long restauranteId) {
+        indice.remover(restauranteId);
+    }
+
+    // Restaurantes antigos, sem coordenadas gravadas: centroide do CEP do endereço
+    private boolean indexar(PosicaoRestaurante posicao) {
+        Optional<Coordenada> coordenada = posicao.latitude() != null && posicao.longitude() != null
+                ? Optional.of(new Coordenada(posicao.latitude(), posicao.longitude()))
+                : tabelaCep.localizar(Cep.extrair(posicao.endereco()));
+        if (coordenada.isEmpty()) {
+            indice.remover(posicao.id());
+            return false;
+        }
+        indice.atualizar(posicao.id(), coordenada.get().latitude(), coordenada.get().longitude());
+        return true;
+    }
+
+    public Optional<Coordenada> localizar(String cep) {
+        return tabelaCep.localizar(cep);
+    }
+
+    /**
+     * Restaurantes ativos em ordem de distância, até raioKm (limitado a geo.busca.raio-maximo-km;
+     * sem raio, os mais próximos dentro do máximo).
+     */
+    public List<Vizinho> buscar(Coordenada origem, Double raioKm, DistanciaCursor depois, int limite) {
+        double raio = raioKm == null ? raioMaximoKm : Math.min(raioKm, raioMaximoKm);
+        return indice.buscar(origem.latitude(), origem.longitude(), raio,
+                depois != null ? depois.distanciaKm() : -1,
+                depois != null ? depois.id() : Long.MIN_VALUE,
+                limite);
+    }
+}
@@ -0,0 +1,210 @@
+package com.deliverytech.delivery.geo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Geocodificação de CEP por faixas: tabela ordenada de (cepInicio, cepFim, latitude, longitude),
+ * mapeada em memória (mmap) e consultada por busca binária, sem objetos por consulta.
+ *
+ * A fonte é o arquivo de centroides em geo.cep-centroides, uma linha "prefixo;latitude;longitude"
+ * por faixa (prefixo de 1 a 8 dígitos, vale o mais longo que casar com o CEP). Na inicialização os
+ * prefixos são achatados em faixas disjuntas e gravadas em geo.cep-tabela.arquivo (ou em um arquivo
+ * temporário): 16 bytes por faixa, fora do heap e compartilhados pelo cache de páginas do SO.
+ * O arquivo padrão traz só as regiões postais e as zonas das principais capitais.
+ */
+@Component
+public class TabelaCep {
+
+    private static final Logger logger = LoggerFactory.getLogger(TabelaCep.class);
+
+    static final int MAGICO = 0x43455031; // "CEP1"
+    private static final int CABECALHO = 8; // mágico + quantidade de faixas
+    private static final int REGISTRO = 16; // cepInicio, cepFim (int), latitude, longitude (float)
+
+    private final ByteBuffer tabela;
+    private final int quantidade;
+
+    public TabelaCep(@Value("${geo.cep-centroides:classpath:geo/cep-centroides.csv}") Resource centroides,
+                     @Value("${geo.cep-tabela.arquivo:}") String arquivo) {
+        try {
+            Path destino = arquivo.isBlank() ? Files.createTempFile("cep-faixas", ".bin") : Path.of(arquivo);
+            if (arquivo.isBlank()) {
+                destino.toFile().deleteOnExit();
+            }
+            gravar(faixas(lerCentroides(centroides)), destino);
+            try (FileChannel canal = FileChannel.open(destino, StandardOpenOption.READ)) {
+                this.tabela = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()).order(ByteOrder.LITTLE_ENDIAN);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível montar a tabela de CEP: " + centroides, e);
+        }
+        if (tabela.getInt(0) != MAGICO) {
+            throw new IllegalStateException("Tabela de CEP inválida: " + arquivo);
+        }
+        this.quantidade = tabela.getInt(4);
+        logger.info("Tabela de CEP mapeada: {} faixas ({} bytes)", quantidade, tabela.capacity());
+    }
+
+    /**
+     * Posição da faixa que contém o CEP (número de 8 dígitos, ver Cep.paraNumero), ou -1.
+     */
+    public int faixa(int cep) {
+        if (cep < 0) {
+            return -1;
+        }
+        int baixo = 0;
+        int alto = quantidade - 1;
+        while (baixo <= alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (tabela.getInt(registro(meio)) <= cep) {
+                baixo = meio + 1;
+            } else {
+                alto = meio - 1;
+            }
+        }
+        // alto: última faixa que começa antes do CEP
+        return alto >= 0 && tabela.getInt(registro(alto) + 4) >= cep ? alto : -1;
+    }
+
+    public double latitude(int faixa) {
+        return tabela.getFloat(registro(faixa) + 8);
+    }
+
+    public double longitude(int faixa) {
+        return tabela.getFloat(registro(faixa) + 12);
+    }
+
+    public int tamanho() {
+        return quantidade;
+    }
+
+    /**
+     * Coordenada do CEP (com ou sem hífen), ou vazio se o CEP for inválido ou não tiver faixa conhecida.
+     */
+    public Optional<Coordenada> localizar(String cep) {
+        int faixa = faixa(Cep.paraNumero(cep));
+        return faixa < 0 ? Optional.empty() : Optional.of(new Coordenada(latitude(faixa), longitude(faixa)));
+    }
+
+    private static int registro(int faixa) {
+        return CABECALHO + faixa * REGISTRO;
+    }
+
+    record Faixa(int inicio, int fim, float latitude, float longitude) {}
+
+    /**
+     * Achata os prefixos em faixas disjuntas e ordenadas: cada trecho entre duas fronteiras de
+     * prefixo fica com o prefixo mais longo que o cobre; trechos vizinhos iguais são unidos.
+     */
+    static List<Faixa> faixas(Map<String, Coordenada> porPrefixo) {
+        TreeSet<Integer> fronteiras = new TreeSet<>();
+        int maiorPrefixo = 0;
+        for (String prefixo : porPrefixo.keySet()) {
+            fronteiras.add(inicio(prefixo));
+            fronteiras.add(fim(prefixo) + 1);
+            maiorPrefixo = Math.max(maiorPrefixo, prefixo.length());
+        }
+
+        List<Faixa> faixas = new ArrayList<>();
+        Integer inicio = fronteiras.isEmpty() ? null : fronteiras.first();
+        while (inicio != null) {
+            Integer proxima = fronteiras.higher(inicio);
+            if (proxima == null) {
+                break;
+            }
+            Coordenada coordenada = maisLongo(porPrefixo, String.format("%08d", inicio), maiorPrefixo);
+            if (coordenada != null) {
+                Faixa anterior = faixas.isEmpty() ? null : faixas.get(faixas.size() - 1);
+                if (anterior != null && anterior.fim() == inicio - 1
+                        && anterior.latitude() == (float) coordenada.latitude()
+                        && anterior.longitude() == (float) coordenada.longitude()) {
+                    faixas.set(faixas.size() - 1, new Faixa(anterior.inicio(), proxima - 1, anterior.latitude(), anterior.longitude()));
+                } else {
+                    faixas.add(new Faixa(inicio, proxima - 1, (float) coordenada.latitude(), (float) coordenada.longitude()));
+                }
+            }
+            inicio = proxima;
+        }
+        return faixas;
+    }
+
+    private static Coordenada maisLongo(Map<String, Coordenada> porPrefixo, String cep, int maiorPrefixo) {
+        for (int tamanho = maiorPrefixo; tamanho > 0; tamanho--) {
+            Coordenada coordenada = porPrefixo.get(cep.substring(0, tamanho));
+            if (coordenada != null) {
+                return coordenada;
+            }
+        }
+        return null;
+    }
+
+    private static int inicio(String prefixo) {
+        return Integer.parseInt(prefixo) * potencia(8 - prefixo.length());
+    }
+
+    private static int fim(String prefixo) {
+        return inicio(prefixo) + potencia(8 - prefixo.length()) - 1;
+    }
+
+    private static int potencia(int expoente) {
+        int resultado = 1;
+        for (int i = 0; i < expoente; i++) {
+            resultado *= 10;
+        }
+        return resultado;
+    }
+
+    private static Map<String, Coordenada> lerCentroides(Resource arquivo) throws IOException {
+        Map<String, Coordenada> porPrefixo = new HashMap<>();
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(arquivo.getInputStream(), StandardCharsets.UTF_8))) {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                linha = linha.strip();
+                if (linha.isEmpty() || linha.startsWith("#")) {
+                    continue;
+                }
+                String[] campos = linha.split(";");
+                porPrefixo.put(campos[0].strip(),
+                        new Coordenada(Double.parseDouble(campos[1].strip()), Double.parseDouble(campos[2].strip())));
+            }
+        }
+        return porPrefixo;
+    }
+
+    private static void gravar(List<Faixa> faixas, Path destino) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CABECALHO + faixas.size() * REGISTRO).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGICO).putInt(faixas.size());
+        for (Faixa faixa : faixas) {
+            buffer.putInt(faixa.inicio()).putInt(faixa.fim()).putFloat(faixa.latitude()).putFloat(faixa.longitude());
+        }
+        buffer.flip();
+        try (FileChannel canal = FileChannel.open(destino, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                canal.write(buffer);
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.deliverytech.delivery.geo;
+
+/**
+ * Resultado de uma busca no índice geográfico.
+ */
+public record Vizinho(long id, double distanciaKm) {
+}
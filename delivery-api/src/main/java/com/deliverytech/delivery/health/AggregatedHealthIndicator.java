@@ -1,25 +1,37 @@
 package com.deliverytech.delivery.health;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.stereotype.Component;
 
 @Component("healthAggregator")
-public class AggregatedHealthIndicator implements HealthIndicator {
+public class AggregatedHealthIndicator implements HealthSnapshotIndicator {
 
     private final CustomDbHealthIndicator dbHealthIndicator;
     private final ExternalApiHealthIndicator externalApiHealthIndicator;
+    private final HealthSampler healthSampler;
 
+    // Construtor usado pela aplicação: lê a última amostra de cada indicador
+    @Autowired
     public AggregatedHealthIndicator(CustomDbHealthIndicator dbHealthIndicator,
-                                     ExternalApiHealthIndicator externalApiHealthIndicator) {
+                                     ExternalApiHealthIndicator externalApiHealthIndicator,
+                                     HealthSampler healthSampler) {
         this.dbHealthIndicator = dbHealthIndicator;
         this.externalApiHealthIndicator = externalApiHealthIndicator;
+        this.healthSampler = healthSampler;
+    }
+
+    // Construtor usado nos testes: avalia os indicadores na hora
+    public AggregatedHealthIndicator(CustomDbHealthIndicator dbHealthIndicator,
+                                     ExternalApiHealthIndicator externalApiHealthIndicator) {
+        this(dbHealthIndicator, externalApiHealthIndicator, null);
     }
 
     @Override
     public Health health() {
-        Health dbHealth = dbHealthIndicator.health();
-        Health externalHealth = externalApiHealthIndicator.health();
+        Health dbHealth = saude(dbHealthIndicator);
+        Health externalHealth = saude(externalApiHealthIndicator);
 
         if (dbHealth.getStatus().equals(org.springframework.boot.actuate.health.Status.UP)
             && externalHealth.getStatus().equals(org.springframework.boot.actuate.health.Status.UP)) {
@@ -34,4 +46,8 @@ public class AggregatedHealthIndicator implements HealthIndicator {
                     .build();
         }
     }
+
+    private Health saude(HealthIndicator indicator) {
+        return healthSampler != null ? healthSampler.ultima(indicator) : indicator.health();
+    }
 }
@@ -0,0 +1,166 @@
+package com.deliverytech.delivery.health;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.availability.AvailabilityStateHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.health.HealthContributorRegistry;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.NamedContributor;
+import org.springframework.boot.actuate.health.PingHealthIndicator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Executa os health indicators em segundo plano e guarda o último resultado de cada um.
+ *
+ * Na inicialização os indicadores do registro do actuator são trocados por leitores da amostra:
+ * /actuator/health e os indicadores agregados passam a responder da memória, sem abrir conexões
+ * nem fazer chamadas HTTP por requisição. Cada rodada executa todos os indicadores em paralelo,
+ * com timeout individual; um indicador que ainda não terminou a chamada anterior não é disparado de novo.
+ *
+ * Ficam de fora os indicadores que só leem estado em memória: liveness/readiness (a troca para
+ * REFUSING_TRAFFIC no desligamento precisa aparecer na hora, não na próxima rodada) e ping. Se as
+ * rodadas pararem (agendador travado ou encerrado), a amostra expira depois de três intervalos
+ * mais o timeout e os indicadores amostrados passam a responder DOWN, em vez do último UP.
+ */
+@Component
+public class HealthSampler implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(HealthSampler.class);
+
+    private final ObjectProvider<HealthContributorRegistry> registryProvider;
+    private final Duration timeout;
+    private final Duration validade;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Indicadores amostrados, pelo nome no registro do actuator
+    private final Map<String, HealthIndicator> indicadores = new LinkedHashMap<>();
+    // Chamada em andamento por indicador; só o agendador acessa (fixedDelay, sem sobreposição)
+    private final Map<HealthIndicator, CompletableFuture<Health>> emAndamento = new IdentityHashMap<>();
+
+    private volatile Map<HealthIndicator, Health> amostra = Map.of();
+    private volatile Instant ultimaAmostra;
+
+    public HealthSampler(ObjectProvider<HealthContributorRegistry> registryProvider,
+                         @Value("${health.sampler.interval:10s}") Duration intervalo,
+                         @Value("${health.sampler.timeout:3s}") Duration timeout) {
+        this.registryProvider = registryProvider;
+        this.timeout = timeout;
+        this.validade = intervalo.multipliedBy(3).plus(timeout);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        HealthContributorRegistry registry = registryProvider.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+
+        List<NamedContributor<HealthContributor>> contribuidores = new ArrayList<>();
+        registry.forEach(contribuidores::add);
+
+        for (NamedContributor<HealthContributor> contribuidor : contribuidores) {
+            if (contribuidor.getContributor() instanceof HealthIndicator indicador && amostravel(indicador)) {
+                indicadores.put(contribuidor.getName(), indicador);
+                registry.unregisterContributor(contribuidor.getName());
+                registry.registerContributor(contribuidor.getName(), (HealthIndicator) () -> ultima(indicador));
+            }
+        }
+        logger.info("Health indicators amostrados em segundo plano: {}", indicadores.keySet());
+    }
+
+    @Scheduled(fixedDelayString = "${health.sampler.interval:10s}")
+    public void amostrar() {
+        Map<HealthIndicator, CompletableFuture<Health>> rodada = new IdentityHashMap<>();
+        indicadores.values().forEach(indicador -> rodada.put(indicador, disparar(indicador)));
+
+        Map<HealthIndicator, Health> nova = new IdentityHashMap<>();
+        long prazo = System.nanoTime() + timeout.toNanos();
+        rodada.forEach((indicador, chamada) -> nova.put(indicador, aguardar(chamada, prazo)));
+
+        // Instante antes da amostra: quem lê a amostra nova já encontra o instante dela
+        ultimaAmostra = Instant.now();
+        amostra = nova;
+    }
+
+    /**
+     * Último resultado amostrado do indicador. Indicadores fora da amostragem (ou antes da
+     * primeira rodada, quando ainda não há resultado) são avaliados na hora.
+     */
+    public Health ultima(HealthIndicator indicador) {
+        Health health = amostra.get(indicador);
+        if (health != null) {
+            Instant amostradaEm = ultimaAmostra;
+            if (amostradaEm.plus(validade).isBefore(Instant.now())) {
+                return Health.down()
+                        .withDetail("erro", "Amostra expirada: sem rodada de amostragem desde " + amostradaEm)
+                        .build();
+            }
+            return health;
+        }
+        if (!indicadores.containsValue(indicador)) {
+            return indicador.health();
+        }
+        return Health.unknown().withDetail("motivo", "Aguardando a primeira amostra").build();
+    }
+
+    public Instant getUltimaAmostra() {
+        return ultimaAmostra;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    // Agregados, estado de disponibilidade e ping respondem da memória: nada a ganhar amostrando
+    private static boolean amostravel(HealthIndicator indicador) {
+        return !(indicador instanceof HealthSnapshotIndicator)
+                && !(indicador instanceof AvailabilityStateHealthIndicator)
+                && !(indicador instanceof PingHealthIndicator);
+    }
+
+    private CompletableFuture<Health> disparar(HealthIndicator indicador) {
+        CompletableFuture<Health> anterior = emAndamento.get(indicador);
+        if (anterior != null && !anterior.isDone()) {
+            return anterior;
+        }
+        CompletableFuture<Health> chamada = CompletableFuture.supplyAsync(indicador::health, executor);
+        emAndamento.put(indicador, chamada);
+        return chamada;
+    }
+
+    private Health aguardar(CompletableFuture<Health> chamada, long prazo) {
+        try {
+            return chamada.get(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return Health.down().withDetail("erro", "Timeout após " + timeout.toMillis() + " ms").build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Health.unknown().withDetail("erro", "Amostragem interrompida").build();
+        } catch (ExecutionException e) {
+            return Health.down().withException(e.getCause()).build();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.deliverytech.delivery.health;
+
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Indicador calculado a partir das amostras do {@link HealthSampler}. Por ser barato,
+ * é consultado diretamente e não entra na amostragem.
+ */
+public interface HealthSnapshotIndicator extends HealthIndicator {
+}
@@ -0,0 +1,20 @@
+package com.deliverytech.delivery.httpcache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Política das leituras do catálogo (restaurantes e produtos): iguais para todos os clientes e
+ * alteradas poucas vezes por dia. Tempos em http.cache.catalogo.*.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@PoliticaCache(maxAge = "${http.cache.catalogo.max-age:60s}",
+               staleWhileRevalidate = "${http.cache.catalogo.stale-while-revalidate:5m}",
+               etag = EstrategiaEtag.RASA)
+public @interface CacheCatalogo {
+}
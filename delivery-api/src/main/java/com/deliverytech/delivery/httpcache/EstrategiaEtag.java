@@ -0,0 +1,24 @@
+package com.deliverytech.delivery.httpcache;
+
+/**
+ * Como a ETag de uma rota com {@link PoliticaCache} é calculada.
+ */
+public enum EstrategiaEtag {
+
+    /**
+     * Sem ETag: o cliente só reaproveita a resposta enquanto ela estiver dentro do max-age.
+     */
+    NENHUMA,
+
+    /**
+     * Hash do corpo, calculado enquanto o controller escreve a resposta. O controller é sempre
+     * executado; o 304 economiza só a transferência.
+     */
+    RASA,
+
+    /**
+     * Versão da entidade, consultada num {@link VersaoRecurso} antes do controller. Com a versão
+     * atual em If-None-Match o controller não é executado.
+     */
+    PROFUNDA
+}
@@ -0,0 +1,48 @@
+package com.deliverytech.delivery.httpcache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Política de cache HTTP de uma rota GET (Cache-Control e ETag), aplicada por
+ * {@link PoliticaCacheInterceptor} e {@link PoliticaCacheFilter}.
+ *
+ * Rotas sem a anotação, métodos que não são GET/HEAD e respostas de erro saem com no-store.
+ * Requisições autenticadas recebem "private" no lugar de "public": a resposta pode ficar no
+ * navegador, mas não em caches compartilhados (CDN, proxy).
+ *
+ * Durações aceitam o formato das propriedades ("30s", "5m") e placeholders, para que os valores
+ * venham da configuração: {@code maxAge = "${http.cache.catalogo.max-age:60s}"}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface PoliticaCache {
+
+    /**
+     * Tempo em que a resposta é servida pelo cache sem revalidar; "0s" = no-cache (guarda, mas
+     * revalida a cada uso).
+     */
+    String maxAge() default "0s";
+
+    /**
+     * Tempo depois do max-age em que o cache pode servir a resposta vencida enquanto revalida em
+     * segundo plano; "0s" = não pode.
+     */
+    String staleWhileRevalidate() default "0s";
+
+    EstrategiaEtag etag() default EstrategiaEtag.NENHUMA;
+
+    /**
+     * Fonte da versão, obrigatória com {@link EstrategiaEtag#PROFUNDA}.
+     */
+    Class<? extends VersaoRecurso> versao() default VersaoRecurso.class;
+
+    /**
+     * Dados de quem fez a requisição: "private" mesmo sem autenticação.
+     */
+    boolean privada() default false;
+}
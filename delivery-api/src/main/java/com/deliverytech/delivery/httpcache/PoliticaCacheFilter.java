@@ -0,0 +1,52 @@
+package com.deliverytech.delivery.httpcache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Envolve a resposta para que os cabeçalhos de cache sejam decididos no commit, com o status
+ * final; a política de cada rota é informada por {@link PoliticaCacheInterceptor}. Substitui o
+ * antigo CacheControlFilter, que mandava no-store em todas as respostas.
+ *
+ * Registrado com a ordem padrão, depois da cadeia do Spring Security: escreve Cache-Control antes
+ * dos cabeçalhos padrão do Security, que então não sobrescrevem a política.
+ */
+@Component
+public class PoliticaCacheFilter extends OncePerRequestFilter {
+
+    private final int limiteEtagRasa;
+    private final Set<String> camposIgnorados;
+
+    public PoliticaCacheFilter(@Value("${http.cache.etag-rasa.limite:256KB}") DataSize limiteEtagRasa,
+                               @Value("${http.cache.etag-rasa.campos-ignorados:timestamp}") Set<String> camposIgnorados) {
+        this.limiteEtagRasa = (int) Math.min(Integer.MAX_VALUE, limiteEtagRasa.toBytes());
+        this.camposIgnorados = Set.copyOf(camposIgnorados);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RespostaCacheavel resposta = new RespostaCacheavel(request, response, limiteEtagRasa, camposIgnorados);
+        filterChain.doFilter(request, resposta);
+
+        if (request.isAsyncStarted()) {
+            // Streaming (SSE, NDJSON): o corpo é escrito depois, em outra thread
+            resposta.desistirDaEtagRasa();
+        } else {
+            resposta.concluir();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.deliverytech.delivery.httpcache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.WebUtils;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolve o {@link PoliticaCache} da rota e o repassa à resposta envolvida por
+ * {@link PoliticaCacheFilter}. Com ETag profunda, compara If-None-Match com a versão do recurso e
+ * responde 304 sem executar o controller.
+ *
+ * A anotação de cada método é lida e convertida em cabeçalhos prontos uma vez só.
+ */
+@Component
+public class PoliticaCacheInterceptor implements HandlerInterceptor {
+
+    private final ConfigurableBeanFactory beanFactory;
+    private final Counter naoModificadasProfunda;
+
+    private final Map<Method, Optional<Politica>> politicas = new ConcurrentHashMap<>();
+
+    /**
+     * Política resolvida de uma rota: Cache-Control para requisições anônimas e autenticadas.
+     */
+    record Politica(String publica, String privada, EstrategiaEtag etag, VersaoRecurso versao) {
+    }
+
+    public PoliticaCacheInterceptor(ConfigurableBeanFactory beanFactory, MeterRegistry meterRegistry) {
+        this.beanFactory = beanFactory;
+        this.naoModificadasProfunda = Counter.builder("http.cache.nao.modificadas")
+                .tag("etag", "profunda")
+                .description("Respostas 304 por ETag profunda, sem executar o controller")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+
+        if (!(handler instanceof HandlerMethod metodo)) {
+            return true;
+        }
+        boolean leitura = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        RespostaCacheavel resposta = WebUtils.getNativeResponse(response, RespostaCacheavel.class);
+        if (!leitura || resposta == null) {
+            return true;
+        }
+        Politica politica = politicas.computeIfAbsent(metodo.getMethod(), m -> resolver(metodo)).orElse(null);
+        if (politica == null) {
+            return true;
+        }
+
+        resposta.politica(autenticada(request) ? politica.privada() : politica.publica());
+        switch (politica.etag()) {
+            case RASA -> {
+                // HEAD não tem corpo para o hash
+                if ("GET".equals(request.getMethod())) {
+                    resposta.iniciarEtagRasa();
+                }
+            }
+            case PROFUNDA -> {
+                @SuppressWarnings("unchecked")
+                Map<String, String> variaveis = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+                Long versao = politica.versao().versao(variaveis != null ? variaveis : Map.of());
+                if (versao != null) {
+                    String etag = VersaoRecurso.etag(versao);
+                    resposta.etagProfunda(etag);
+                    if (new ServletWebRequest(request, resposta).checkNotModified(etag)) {
+                        naoModificadasProfunda.increment();
+                        return false;
+                    }
+                }
+            }
+            case NENHUMA -> {
+            }
+        }
+        return true;
+    }
+
+    // Principal resolvido pelo Spring Security (null para anônimo) ou token enviado
+    private static boolean autenticada(HttpServletRequest request) {
+        return request.getUserPrincipal() != null || request.getHeader(HttpHeaders.AUTHORIZATION) != null;
+    }
+
+    private Optional<Politica> resolver(HandlerMethod metodo) {
+        PoliticaCache anotacao = AnnotatedElementUtils.findMergedAnnotation(metodo.getMethod(), PoliticaCache.class);
+        if (anotacao == null) {
+            anotacao = AnnotatedElementUtils.findMergedAnnotation(metodo.getBeanType(), PoliticaCache.class);
+        }
+        if (anotacao == null) {
+            return Optional.empty();
+        }
+
+        Duration maxAge = duracao(anotacao.maxAge());
+        Duration stale = duracao(anotacao.staleWhileRevalidate());
+        String privada = cacheControl(maxAge, stale).cachePrivate().getHeaderValue();
+        String publica = anotacao.privada() ? privada : cacheControl(maxAge, stale).cachePublic().getHeaderValue();
+
+        VersaoRecurso versao = null;
+        if (anotacao.etag() == EstrategiaEtag.PROFUNDA) {
+            if (anotacao.versao() == VersaoRecurso.class) {
+                throw new IllegalStateException("ETag profunda sem fonte de versão em " + metodo);
+            }
+            versao = beanFactory.getBean(anotacao.versao());
+        }
+        return Optional.of(new Politica(publica, privada, anotacao.etag(), versao));
+    }
+
+    private static CacheControl cacheControl(Duration maxAge, Duration stale) {
+        CacheControl cacheControl = maxAge.isZero() ? CacheControl.noCache() : CacheControl.maxAge(maxAge);
+        return stale.isZero() ? cacheControl : cacheControl.staleWhileRevalidate(stale);
+    }
+
+    private Duration duracao(String valor) {
+        return DurationStyle.detectAndParse(beanFactory.resolveEmbeddedValue(valor));
+    }
+}
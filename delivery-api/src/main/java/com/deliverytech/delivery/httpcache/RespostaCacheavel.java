@@ -0,0 +1,314 @@
+package com.deliverytech.delivery.httpcache;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.Set;
+
+/**
+ * Resposta que escreve Cache-Control (e ETag) no último momento possível, antes do primeiro byte
+ * do corpo, quando o status final já é conhecido: respostas de erro saem com no-store mesmo numa
+ * rota com política de cache.
+ *
+ * Com ETag rasa, o corpo fica retido enquanto o hash é calculado, até o limite configurado; acima
+ * dele a resposta segue sem ETag, do jeito que o controller escreveu.
+ */
+class RespostaCacheavel extends HttpServletResponseWrapper {
+
+    static final String SEM_CACHE = "no-cache, no-store, must-revalidate";
+
+    private final HttpServletRequest request;
+    private final int limiteEtagRasa;
+    private final Set<String> camposIgnorados;
+
+    // Cache-Control da política da rota; null: sem política
+    private String cacheControl;
+    private String etagProfunda;
+    private boolean cabecalhosAplicados;
+
+    private Saida saida;
+    private PrintWriter escritor;
+
+    // ETag rasa: corpo retido e hash parcial; null quando não há ETag rasa (ou desistiu)
+    private ByteArrayOutputStream corpo;
+    private ResumoJson resumo;
+    private long tamanhoDeclarado = -1;
+
+    RespostaCacheavel(HttpServletRequest request, HttpServletResponse response,
+                      int limiteEtagRasa, Set<String> camposIgnorados) {
+        super(response);
+        this.request = request;
+        this.limiteEtagRasa = limiteEtagRasa;
+        this.camposIgnorados = camposIgnorados;
+    }
+
+    void politica(String cacheControl) {
+        this.cacheControl = cacheControl;
+    }
+
+    void etagProfunda(String etag) {
+        this.etagProfunda = etag;
+    }
+
+    void iniciarEtagRasa() {
+        if (!isCommitted() && saida == null) {
+            corpo = new ByteArrayOutputStream(1024);
+            resumo = new ResumoJson(camposIgnorados);
+        }
+    }
+
+    /**
+     * Fim da requisição: resolve a ETag rasa (304 ou corpo retido) e garante os cabeçalhos.
+     */
+    void concluir() throws IOException {
+        if (escritor != null) {
+            escritor.flush();
+        }
+        if (corpo == null) {
+            if (!isCommitted()) {
+                aplicarCabecalhos();
+            }
+            return;
+        }
+
+        ByteArrayOutputStream retido = corpo;
+        corpo = null;
+        if (getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+            // 304 decidido pelo controller (ETag própria): sem corpo
+            aplicarCabecalhos();
+            return;
+        }
+        if (getStatus() == HttpServletResponse.SC_OK && getHeader(HttpHeaders.ETAG) == null) {
+            String etag = resumo.etag();
+            if (new ServletWebRequest(request, this).checkNotModified(etag)) {
+                aplicarCabecalhos();
+                return;
+            }
+            setHeader(HttpHeaders.ETAG, etag);
+        }
+        aplicarCabecalhos();
+        super.setContentLength(retido.size());
+        retido.writeTo(saida != null ? saida.destino : super.getOutputStream());
+    }
+
+    /**
+     * Deixa de reter o corpo (resposta grande demais ou assíncrona): o que foi retido é escrito e o
+     * resto passa direto.
+     */
+    void desistirDaEtagRasa() throws IOException {
+        if (corpo == null) {
+            return;
+        }
+        ByteArrayOutputStream retido = corpo;
+        corpo = null;
+        aplicarCabecalhos();
+        if (tamanhoDeclarado >= 0) {
+            super.setContentLengthLong(tamanhoDeclarado);
+        }
+        if (retido.size() > 0) {
+            retido.writeTo(saida.destino);
+        }
+    }
+
+    private void aplicarCabecalhos() {
+        if (cabecalhosAplicados) {
+            return;
+        }
+        cabecalhosAplicados = true;
+        if (getHeader(HttpHeaders.CACHE_CONTROL) != null) {
+            // Definido pelo próprio controller
+            return;
+        }
+        int status = getStatus();
+        boolean cacheavel = cacheControl != null
+                && (status == HttpServletResponse.SC_OK || status == HttpServletResponse.SC_NOT_MODIFIED);
+        if (!cacheavel) {
+            setHeader(HttpHeaders.CACHE_CONTROL, SEM_CACHE);
+            setHeader(HttpHeaders.PRAGMA, "no-cache");
+            setDateHeader(HttpHeaders.EXPIRES, 0);
+            return;
+        }
+        setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        if (etagProfunda != null && status == HttpServletResponse.SC_OK && getHeader(HttpHeaders.ETAG) == null) {
+            setHeader(HttpHeaders.ETAG, etagProfunda);
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (saida == null) {
+            saida = new Saida(super.getOutputStream());
+        }
+        return saida;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (escritor == null) {
+            escritor = new PrintWriter(new OutputStreamWriter(getOutputStream(), Charset.forName(getCharacterEncoding())));
+        }
+        return escritor;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (escritor != null) {
+            escritor.flush();
+        }
+        if (corpo != null) {
+            return;
+        }
+        aplicarCabecalhos();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        descartarCorpo();
+        super.setStatus(sc);
+        aplicarCabecalhos();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        descartarCorpo();
+        super.setStatus(sc);
+        aplicarCabecalhos();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        descartarCorpo();
+        super.setStatus(HttpServletResponse.SC_FOUND);
+        aplicarCabecalhos();
+        super.sendRedirect(location);
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (corpo != null) {
+            corpo.reset();
+            resumo.reiniciar();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        cabecalhosAplicados = false;
+        tamanhoDeclarado = -1;
+        if (corpo != null) {
+            corpo.reset();
+            resumo.reiniciar();
+        }
+    }
+
+    // Com o corpo retido, o tamanho declarado só vale se a resposta não virar 304
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (corpo != null) {
+            tamanhoDeclarado = len;
+        } else {
+            super.setContentLengthLong(len);
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (corpo != null && HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            tamanhoDeclarado = Long.parseLong(value);
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (corpo != null && HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            tamanhoDeclarado = Long.parseLong(value);
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    private void descartarCorpo() {
+        corpo = null;
+        resumo = null;
+    }
+
+    private class Saida extends ServletOutputStream {
+
+        private final ServletOutputStream destino;
+
+        Saida(ServletOutputStream destino) {
+            this.destino = destino;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (corpo != null) {
+                if (corpo.size() + len <= limiteEtagRasa) {
+                    corpo.write(b, off, len);
+                    resumo.atualizar(b, off, len);
+                    return;
+                }
+                desistirDaEtagRasa();
+            }
+            aplicarCabecalhos();
+            destino.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (corpo != null) {
+                return;
+            }
+            aplicarCabecalhos();
+            destino.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (corpo != null) {
+                // Fechado pelo conversor antes do fim da requisição: concluir() escreve o corpo
+                return;
+            }
+            aplicarCabecalhos();
+            destino.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return destino.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            destino.setWriteListener(listener);
+        }
+    }
+}
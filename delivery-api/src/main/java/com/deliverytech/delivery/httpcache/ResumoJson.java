@@ -0,0 +1,201 @@
+package com.deliverytech.delivery.httpcache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Set;
+
+/**
+ * Hash incremental de um corpo JSON, alimentado à medida que a resposta é escrita, que deixa de
+ * fora o valor de alguns campos do objeto raiz.
+ *
+ * ApiWrapperResponse e PagedResponse levam o instante em que a resposta foi montada
+ * ("timestamp"): com ele no hash, duas respostas com os mesmos dados nunca teriam a mesma ETag.
+ * Campos com o mesmo nome dentro de "dados" entram no hash normalmente.
+ *
+ * Só os caracteres estruturais do JSON são examinados, todos ASCII: em UTF-8 eles nunca aparecem
+ * dentro de um caractere de vários bytes.
+ */
+final class ResumoJson {
+
+    private final MessageDigest md5;
+    private final byte[][] ignorados;
+    private final int maiorIgnorado;
+
+    private int profundidade;
+    private boolean emString;
+    private boolean escape;
+
+    // Nome de campo do objeto raiz sendo lido, para decidir se o valor entra no hash
+    private boolean esperandoNome;
+    private boolean lendoNome;
+    private boolean nomeFechado;
+    private final byte[] nome;
+    private int tamanhoNome;
+
+    // Valor de um campo ignorado sendo descartado
+    private boolean descartando;
+    private int profundidadeValor;
+    private boolean valorEmString;
+    private boolean valorEscape;
+
+    ResumoJson(Set<String> camposIgnorados) {
+        try {
+            this.md5 = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        this.ignorados = camposIgnorados.stream()
+                .map(campo -> campo.getBytes(StandardCharsets.UTF_8))
+                .toArray(byte[][]::new);
+        this.maiorIgnorado = Arrays.stream(ignorados).mapToInt(b -> b.length).max().orElse(0);
+        this.nome = new byte[maiorIgnorado];
+    }
+
+    void atualizar(byte[] bytes, int inicio, int tamanho) {
+        int fim = inicio + tamanho;
+        // Trechos contínuos que entram no hash vão ao MessageDigest de uma vez
+        int trecho = inicio;
+        for (int i = inicio; i < fim; i++) {
+            byte b = bytes[i];
+            if (descartando) {
+                if (!descartar(b)) {
+                    continue;
+                }
+                // Fim do valor descartado: a vírgula que o encerra também fica de fora
+                trecho = b == ',' ? i + 1 : i;
+                if (b == ',') {
+                    esperandoNome = true;
+                    continue;
+                }
+            }
+            examinar(b);
+            if (descartando) {
+                md5.update(bytes, trecho, i + 1 - trecho);
+                trecho = i + 1;
+            }
+        }
+        if (!descartando && trecho < fim) {
+            md5.update(bytes, trecho, fim - trecho);
+        }
+    }
+
+    /**
+     * ETag fraca do que foi lido até aqui.
+     */
+    String etag() {
+        return "W/\"" + HexFormat.of().formatHex(md5.digest()) + "\"";
+    }
+
+    void reiniciar() {
+        md5.reset();
+        profundidade = 0;
+        emString = escape = false;
+        esperandoNome = lendoNome = nomeFechado = false;
+        tamanhoNome = 0;
+        descartando = false;
+    }
+
+    private void examinar(byte b) {
+        if (emString) {
+            if (escape) {
+                escape = false;
+            } else if (b == '\\') {
+                escape = true;
+            } else if (b == '"') {
+                emString = false;
+                if (lendoNome) {
+                    lendoNome = false;
+                    nomeFechado = true;
+                }
+            } else if (lendoNome) {
+                if (tamanhoNome < maiorIgnorado) {
+                    nome[tamanhoNome++] = b;
+                } else {
+                    lendoNome = false;
+                }
+            }
+            return;
+        }
+        switch (b) {
+            case '"' -> {
+                emString = true;
+                lendoNome = esperandoNome && profundidade == 1;
+                tamanhoNome = 0;
+                esperandoNome = false;
+                nomeFechado = false;
+            }
+            case ':' -> {
+                if (nomeFechado && ignorado()) {
+                    descartando = true;
+                    profundidadeValor = 0;
+                    valorEmString = valorEscape = false;
+                }
+                nomeFechado = false;
+            }
+            case '{', '[' -> {
+                profundidade++;
+                esperandoNome = b == '{' && profundidade == 1;
+                nomeFechado = false;
+            }
+            case '}', ']' -> {
+                profundidade--;
+                nomeFechado = false;
+            }
+            case ',' -> {
+                esperandoNome = profundidade == 1;
+                nomeFechado = false;
+            }
+            case ' ', '\t', '\n', '\r' -> {
+            }
+            default -> nomeFechado = false;
+        }
+    }
+
+    /**
+     * Consome um byte do valor descartado; true quando o byte já não faz parte do valor.
+     */
+    private boolean descartar(byte b) {
+        if (valorEmString) {
+            if (valorEscape) {
+                valorEscape = false;
+            } else if (b == '\\') {
+                valorEscape = true;
+            } else if (b == '"') {
+                valorEmString = false;
+            }
+            return false;
+        }
+        switch (b) {
+            case '"' -> valorEmString = true;
+            case '{', '[' -> profundidadeValor++;
+            case '}', ']' -> {
+                if (profundidadeValor == 0) {
+                    descartando = false;
+                    return true;
+                }
+                profundidadeValor--;
+            }
+            case ',' -> {
+                if (profundidadeValor == 0) {
+                    descartando = false;
+                    return true;
+                }
+            }
+            default -> {
+            }
+        }
+        return false;
+    }
+
+    private boolean ignorado() {
+        for (byte[] campo : ignorados) {
+            if (campo.length == tamanhoNome && Arrays.equals(campo, 0, campo.length, nome, 0, tamanhoNome)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
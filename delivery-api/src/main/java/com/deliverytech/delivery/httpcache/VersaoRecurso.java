@@ -0,0 +1,24 @@
+package com.deliverytech.delivery.httpcache;
+
+import java.util.Map;
+
+/**
+ * Versão atual do recurso de uma rota com ETag {@link EstrategiaEtag#PROFUNDA}. Implementações são
+ * beans do Spring e devem responder sem montar o recurso (de preferência sem ir ao banco).
+ */
+public interface VersaoRecurso {
+
+    /**
+     * @param variaveis variáveis do caminho da rota (ex.: "id")
+     * @return versão atual, ou null se o recurso não existir ou a versão não for conhecida (a
+     *         requisição segue para o controller sem ETag)
+     */
+    Long versao(Map<String, String> variaveis);
+
+    /**
+     * ETag fraca de uma versão, no formato usado pelas respostas com ETag profunda.
+     */
+    static String etag(long versao) {
+        return "W/\"" + versao + "\"";
+    }
+}
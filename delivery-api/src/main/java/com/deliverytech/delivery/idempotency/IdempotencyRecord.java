@@ -0,0 +1,18 @@
+package com.deliverytech.delivery.idempotency;
+
+/**
+ * Estado de uma Idempotency-Key no store.
+ *
+ * @param fingerprint hash do corpo da requisição original
+ * @param resposta    resposta serializada em JSON; null enquanto a requisição original está em processamento
+ */
+public record IdempotencyRecord(String fingerprint, String resposta) {
+
+    public static IdempotencyRecord emProcessamento(String fingerprint) {
+        return new IdempotencyRecord(fingerprint, null);
+    }
+
+    public boolean concluido() {
+        return resposta != null;
+    }
+}
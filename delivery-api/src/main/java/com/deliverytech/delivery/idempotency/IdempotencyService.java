@@ -0,0 +1,171 @@
+package com.deliverytech.delivery.idempotency;
+
+import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.exception.ConflictException;
+import com.deliverytech.delivery.security.TokenHash;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Executa uma operação no máximo uma vez por Idempotency-Key.
+ *
+ * Requisições repetidas recebem a resposta gravada no store, sem executar a operação de novo.
+ * Duplicatas simultâneas na mesma instância aguardam a execução em andamento; em outra instância,
+ * aguardam a conclusão consultando o store até o limite de espera. A mesma chave com um corpo
+ * diferente é rejeitada com 409.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String HEADER_REPETIDO = "Idempotent-Replayed";
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+    private static final long INTERVALO_CONSULTA_MS = 50;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration ttlReserva;
+    private final Duration espera;
+
+    private final ConcurrentHashMap<String, EmAndamento> emAndamento = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyStore store,
+                              ObjectMapper objectMapper,
+                              @Value("${idempotency.ttl:24h}") Duration ttl,
+                              @Value("${idempotency.reservation-ttl:30s}") Duration ttlReserva,
+                              @Value("${idempotency.wait:10s}") Duration espera) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.ttlReserva = ttlReserva;
+        this.espera = espera;
+    }
+
+    /**
+     * @param escopo     dono da chave (ex.: id do usuário), para que clientes diferentes não colidam
+     * @param chave      valor do header Idempotency-Key
+     * @param requisicao corpo da requisição, usado para detectar reuso da chave com outro conteúdo
+     */
+    public <T> IdempotentResult<T> executar(String escopo, String chave, Object requisicao,
+                                            Class<T> tipo, Supplier<T> operacao) {
+        if (chave == null || chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new BusinessException("Idempotency-Key deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+        }
+
+        String chaveCompleta = escopo + ":" + chave;
+        String fingerprint = TokenHash.sha256(serializar(requisicao));
+
+        EmAndamento nova = new EmAndamento(fingerprint, new CompletableFuture<>());
+        EmAndamento existente = emAndamento.putIfAbsent(chaveCompleta, nova);
+        if (existente != null) {
+            validarFingerprint(existente.fingerprint(), fingerprint);
+            return new IdempotentResult<>(tipo.cast(aguardar(existente.resultado()).valor()), true);
+        }
+
+        try {
+            IdempotentResult<T> resultado = executarUmaVez(chaveCompleta, fingerprint, tipo, operacao);
+            nova.resultado().complete(resultado);
+            return resultado;
+        } catch (RuntimeException e) {
+            nova.resultado().completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chaveCompleta, nova);
+        }
+    }
+
+    private <T> IdempotentResult<T> executarUmaVez(String chave, String fingerprint, Class<T> tipo, Supplier<T> operacao) {
+        long prazo = System.nanoTime() + espera.toNanos();
+
+        while (true) {
+            Optional<IdempotencyRecord> existente = store.reservar(chave, fingerprint, ttlReserva);
+            if (existente.isEmpty()) {
+                return new IdempotentResult<>(executarOriginal(chave, fingerprint, operacao), false);
+            }
+
+            IdempotencyRecord registro = existente.get();
+            validarFingerprint(registro.fingerprint(), fingerprint);
+            if (registro.concluido()) {
+                return new IdempotentResult<>(desserializar(registro.resposta(), tipo), true);
+            }
+
+            // Em processamento em outra instância: aguarda a conclusão (ou a liberação, se ela falhar)
+            if (System.nanoTime() > prazo) {
+                throw new ConflictException("Requisição com esta Idempotency-Key ainda está em processamento");
+            }
+            try {
+                Thread.sleep(INTERVALO_CONSULTA_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ConflictException("Requisição com esta Idempotency-Key ainda está em processamento", e);
+            }
+        }
+    }
+
+    private <T> T executarOriginal(String chave, String fingerprint, Supplier<T> operacao) {
+        T resposta;
+        try {
+            resposta = operacao.get();
+        } catch (RuntimeException e) {
+            // Falhou: libera a chave para que uma nova tentativa execute de novo
+            store.liberar(chave);
+            throw e;
+        }
+        store.concluir(chave, new IdempotencyRecord(fingerprint, serializar(resposta)), ttl);
+        return resposta;
+    }
+
+    private IdempotentResult<?> aguardar(CompletableFuture<IdempotentResult<?>> resultado) {
+        try {
+            return resultado.get(espera.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ConflictException("Requisição com esta Idempotency-Key ainda está em processamento");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Requisição com esta Idempotency-Key ainda está em processamento", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void validarFingerprint(String original, String atual) {
+        if (!original.equals(atual)) {
+            throw new ConflictException("Idempotency-Key já utilizada com outro conteúdo de requisição");
+        }
+    }
+
+    private String serializar(Object valor) {
+        try {
+            return objectMapper.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar para idempotência", e);
+        }
+    }
+
+    private <T> T desserializar(String json, Class<T> tipo) {
+        try {
+            return objectMapper.readValue(json, tipo);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao ler resposta armazenada para idempotência", e);
+        }
+    }
+
+    private record EmAndamento(String fingerprint, CompletableFuture<IdempotentResult<?>> resultado) {
+    }
+}
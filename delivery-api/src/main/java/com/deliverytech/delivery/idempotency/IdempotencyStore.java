@@ -0,0 +1,28 @@
+package com.deliverytech.delivery.idempotency;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Armazena o estado das Idempotency-Keys: reservada (em processamento) ou concluída com a resposta.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Reserva a chave de forma atômica. Retorna vazio se a reserva foi feita por esta chamada,
+     * ou o registro já existente (em processamento ou concluído).
+     */
+    Optional<IdempotencyRecord> reservar(String chave, String fingerprint, Duration ttlReserva);
+
+    /**
+     * Grava a resposta da requisição original, mantida até o fim do ttl.
+     */
+    void concluir(String chave, IdempotencyRecord registro, Duration ttl);
+
+    /**
+     * Desfaz a reserva quando a requisição original falha, permitindo uma nova tentativa.
+     */
+    void liberar(String chave);
+
+    Optional<IdempotencyRecord> buscar(String chave);
+}
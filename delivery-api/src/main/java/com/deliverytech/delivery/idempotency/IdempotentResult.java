@@ -0,0 +1,10 @@
+package com.deliverytech.delivery.idempotency;
+
+/**
+ * Resultado de uma execução idempotente.
+ *
+ * @param valor    resposta da operação
+ * @param repetido true quando a resposta veio de uma execução anterior (replay ou requisição simultânea)
+ */
+public record IdempotentResult<T>(T valor, boolean repetido) {
+}
@@ -0,0 +1,77 @@
+package com.deliverytech.delivery.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Store local, válido só para a instância. Cada entrada expira no próprio prazo
+ * (reserva curta ou resposta concluída) pela roda de tempo do Caffeine.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, Entrada> chaves;
+
+    public InMemoryIdempotencyStore(@Value("${idempotency.maximum-size:100000}") long tamanhoMaximo) {
+        this.chaves = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new ExpiraNoPrazo())
+                .scheduler(Scheduler.systemScheduler())
+                .build();
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> reservar(String chave, String fingerprint, Duration ttlReserva) {
+        Entrada nova = new Entrada(IdempotencyRecord.emProcessamento(fingerprint), Instant.now().plus(ttlReserva));
+        Entrada existente = chaves.asMap().putIfAbsent(chave, nova);
+        return existente == null ? Optional.empty() : Optional.of(existente.registro());
+    }
+
+    @Override
+    public void concluir(String chave, IdempotencyRecord registro, Duration ttl) {
+        chaves.put(chave, new Entrada(registro, Instant.now().plus(ttl)));
+    }
+
+    @Override
+    public void liberar(String chave) {
+        chaves.invalidate(chave);
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> buscar(String chave) {
+        return Optional.ofNullable(chaves.getIfPresent(chave)).map(Entrada::registro);
+    }
+
+    private record Entrada(IdempotencyRecord registro, Instant expiraEm) {
+    }
+
+    private static class ExpiraNoPrazo implements Expiry<String, Entrada> {
+
+        @Override
+        public long expireAfterCreate(String chave, Entrada entrada, long currentTime) {
+            long restanteMs = entrada.expiraEm().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, restanteMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, Entrada entrada, long currentTime, long currentDuration) {
+            return expireAfterCreate(chave, entrada, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String chave, Entrada entrada, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.deliverytech.delivery.idempotency;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Store compartilhado entre réplicas. A reserva é um SET NX com TTL curto; a conclusão
+ * sobrescreve o valor com a resposta e o TTL longo.
+ *
+ * Formato do valor: "P|fingerprint" em processamento, "C|fingerprint|json" concluído.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "redis")
+public class RedisIdempotencyStore implements IdempotencyStore {
+
+    static final String PREFIXO = "delivery-api::idempotencia::";
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisIdempotencyStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> reservar(String chave, String fingerprint, Duration ttlReserva) {
+        String redisKey = PREFIXO + chave;
+        Boolean reservou = redisTemplate.opsForValue().setIfAbsent(redisKey, "P|" + fingerprint, ttlReserva);
+        if (Boolean.TRUE.equals(reservou)) {
+            return Optional.empty();
+        }
+        Optional<IdempotencyRecord> existente = buscar(chave);
+        if (existente.isEmpty()) {
+            // A chave expirou entre o SET NX e o GET: tenta reservar mais uma vez
+            reservou = redisTemplate.opsForValue().setIfAbsent(redisKey, "P|" + fingerprint, ttlReserva);
+            return Boolean.TRUE.equals(reservou) ? Optional.empty() : buscar(chave);
+        }
+        return existente;
+    }
+
+    @Override
+    public void concluir(String chave, IdempotencyRecord registro, Duration ttl) {
+        redisTemplate.opsForValue().set(PREFIXO + chave, "C|" + registro.fingerprint() + "|" + registro.resposta(), ttl);
+    }
+
+    @Override
+    public void liberar(String chave) {
+        redisTemplate.delete(PREFIXO + chave);
+    }
+
+    @Override
+    public Optional<IdempotencyRecord> buscar(String chave) {
+        String valor = redisTemplate.opsForValue().get(PREFIXO + chave);
+        if (valor == null) {
+            return Optional.empty();
+        }
+        String[] partes = valor.split("\\|", 3);
+        if (partes[0].equals("C") && partes.length == 3) {
+            return Optional.of(new IdempotencyRecord(partes[1], partes[2]));
+        }
+        return Optional.of(IdempotencyRecord.emProcessamento(partes[1]));
+    }
+}
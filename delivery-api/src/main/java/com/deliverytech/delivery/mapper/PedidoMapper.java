@@ -4,13 +4,19 @@ import com.deliverytech.delivery.dto.response.ItemPedidoResponse;
 import com.deliverytech.delivery.dto.response.PedidoResponse;
 import com.deliverytech.delivery.entity.ItemPedido;
 import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.enums.StatusPedido;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class PedidoMapper {
 
+    private static final StatusPedido[] STATUS = StatusPedido.values();
+
     private final ClienteMapper clienteMapper;
     private final RestauranteMapper restauranteMapper;
 
@@ -33,13 +39,25 @@ public class PedidoMapper {
         response.setObservacoes(pedido.getObservacoes());
         response.setStatus(pedido.getStatus());
         response.setDataPedido(pedido.getDataPedido());
+        response.setDatasStatus(datasStatus(pedido));
         response.setTaxaEntrega(pedido.getTaxaEntrega());
-        response.setTotal(pedido.getTotal());
+        response.setTotal(pedido.getTotal()); // calculado em calcularTotais, não soma os itens de novo
         response.setItens(itens);
 
         return response;
     }
 
+    private Map<StatusPedido, LocalDateTime> datasStatus(Pedido pedido) {
+        EnumMap<StatusPedido, LocalDateTime> datas = new EnumMap<>(StatusPedido.class);
+        for (StatusPedido status : STATUS) {
+            LocalDateTime data = pedido.getDataStatus(status);
+            if (data != null) {
+                datas.put(status, data);
+            }
+        }
+        return datas;
+    }
+
     private ItemPedidoResponse toItemResponse(ItemPedido item) {
         ItemPedidoResponse response = new ItemPedidoResponse();
         response.setId(item.getId());
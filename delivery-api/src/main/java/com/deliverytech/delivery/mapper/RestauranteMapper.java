@@ -1,13 +1,19 @@
 package com.deliverytech.delivery.mapper;
 
+import com.deliverytech.delivery.dto.request.FaixaTaxaEntregaRequest;
 import com.deliverytech.delivery.dto.request.RestauranteRequest;
 import com.deliverytech.delivery.dto.response.RestauranteResponse;
+import com.deliverytech.delivery.entity.FaixaTaxaEntrega;
 import com.deliverytech.delivery.entity.Restaurante;
 
 
 
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
 
 @Component
 public class RestauranteMapper {
@@ -19,9 +25,20 @@ public class RestauranteMapper {
         restaurante.setEndereco(request.getEndereco());
         restaurante.setCategoria(request.getCategoria());
         restaurante.setTaxaEntrega(request.getTaxaEntrega());
+        if (request.getFaixasTaxaEntrega() != null) {
+            restaurante.setFaixasTaxaEntrega(toFaixas(request.getFaixasTaxaEntrega()));
+        }
         return restaurante;
     }
 
+    public List<FaixaTaxaEntrega> toFaixas(List<FaixaTaxaEntregaRequest> faixas) {
+        List<FaixaTaxaEntrega> resultado = new ArrayList<>(faixas.size());
+        faixas.stream()
+                .sorted(Comparator.comparing(FaixaTaxaEntregaRequest::getAteKm))
+                .forEach(faixa -> resultado.add(new FaixaTaxaEntrega(faixa.getAteKm(), faixa.getValor())));
+        return resultado;
+    }
+
     public RestauranteResponse toResponse(Restaurante restaurante) {
         RestauranteResponse response = new RestauranteResponse();
         response.setId(restaurante.getId());
@@ -0,0 +1,25 @@
+package com.deliverytech.delivery.menu;
+
+import com.deliverytech.delivery.httpcache.VersaoRecurso;
+
+/**
+ * Cardápio já serializado de um restaurante, numa versão.
+ *
+ * O array json é compartilhado entre as requisições e não deve ser alterado.
+ *
+ * @param conferidoEm System.nanoTime() da última vez em que a versão foi conferida com a do banco
+ */
+public record Cardapio(long versao, String etag, byte[] json, long conferidoEm) {
+
+    /**
+     * ETag fraca: o conteúdo de uma versão é o mesmo em todas as instâncias, mas não
+     * necessariamente byte a byte.
+     */
+    public static String etag(long versao) {
+        return VersaoRecurso.etag(versao);
+    }
+
+    Cardapio conferido(long agora) {
+        return new Cardapio(versao, etag, json, agora);
+    }
+}
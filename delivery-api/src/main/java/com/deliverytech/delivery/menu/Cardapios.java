@@ -0,0 +1,155 @@
+package com.deliverytech.delivery.menu;
+
+import com.deliverytech.delivery.dto.response.CardapioResponse;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.exception.EntityNotFoundException;
+import com.deliverytech.delivery.mapper.RestauranteMapper;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cardápio de cada restaurante (restaurante + produtos disponíveis por categoria) montado e
+ * serializado uma vez por versão, no lugar de buscarRestaurantePorId + buscarProdutosPorRestaurante
+ * a cada abertura da página do restaurante.
+ *
+ * A versão fica na coluna restaurante.versao_cardapio e é incrementada no banco pelas escritas de
+ * RestauranteService e ProdutoService: cresce sempre, inclusive entre reinícios e instâncias, e
+ * serve de ETag. A versão em memória é servida sem ir ao banco por cardapio.conferencia-versao;
+ * depois disso uma consulta só da versão decide se o cardápio precisa ser remontado, o que cobre as
+ * escritas feitas por outras instâncias.
+ *
+ * Os cardápios são montados sob demanda, no primeiro acesso após uma escrita.
+ */
+@Component
+public class Cardapios {
+
+    private final RestauranteRepository restauranteRepository;
+    private final ProdutoRepository produtoRepository;
+    private final RestauranteMapper restauranteMapper;
+    private final ObjectWriter writer;
+    private final long conferenciaNanos;
+
+    private final Map<Long, Cardapio> cardapios = new ConcurrentHashMap<>();
+    // Versão gravada pela última escrita desta instância: cardápio mais antigo é remontado
+    private final Map<Long, Long> versoesMinimas = new ConcurrentHashMap<>();
+
+    public Cardapios(RestauranteRepository restauranteRepository,
+                     ProdutoRepository produtoRepository,
+                     RestauranteMapper restauranteMapper,
+                     ObjectMapper objectMapper,
+                     MeterRegistry meterRegistry,
+                     @Value("${cardapio.conferencia-versao:30s}") Duration conferencia) {
+        this.restauranteRepository = restauranteRepository;
+        this.produtoRepository = produtoRepository;
+        this.restauranteMapper = restauranteMapper;
+        this.writer = objectMapper.writerFor(CardapioResponse.class);
+        this.conferenciaNanos = conferencia.toNanos();
+
+        Gauge.builder("cardapios.prontos.tamanho", cardapios, Map::size)
+                .description("Cardápios serializados em memória")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Cardápio atual do restaurante; só monta e serializa quando a versão mudou.
+     *
+     * @throws EntityNotFoundException se o restaurante não existir
+     */
+    public Cardapio obter(Long restauranteId) {
+        Cardapio atual = cardapios.get(restauranteId);
+        if (atual != null && atual.versao() >= versoesMinimas.getOrDefault(restauranteId, 0L)) {
+            long agora = System.nanoTime();
+            if (agora - atual.conferidoEm() < conferenciaNanos) {
+                return atual;
+            }
+            Long versao = restauranteRepository.buscarVersaoCardapio(restauranteId).orElse(null);
+            if (versao == null) {
+                remover(restauranteId);
+                throw naoEncontrado(restauranteId);
+            }
+            if (versao == atual.versao()) {
+                Cardapio conferido = atual.conferido(agora);
+                cardapios.replace(restauranteId, atual, conferido);
+                return conferido;
+            }
+        }
+        return montar(restauranteId);
+    }
+
+    /**
+     * Registra uma alteração no restaurante ou nos seus produtos: nova versão no banco e
+     * remontagem no próximo acesso. Deve ser chamado depois de a alteração ser gravada.
+     */
+    public void invalidar(Long restauranteId) {
+        if (restauranteId == null || restauranteRepository.incrementarVersaoCardapio(restauranteId) == 0) {
+            return;
+        }
+        restauranteRepository.buscarVersaoCardapio(restauranteId)
+                .ifPresent(versao -> versoesMinimas.merge(restauranteId, versao, Math::max));
+    }
+
+    public void remover(Long restauranteId) {
+        cardapios.remove(restauranteId);
+        versoesMinimas.remove(restauranteId);
+    }
+
+    private Cardapio montar(Long restauranteId) {
+        // Versão lida antes dos produtos: uma escrita no meio deixa o cardápio com conteúdo novo e
+        // versão antiga, que é remontado no próximo acesso, e nunca o contrário
+        Restaurante restaurante = restauranteRepository.findById(restauranteId)
+                .orElseThrow(() -> {
+                    remover(restauranteId);
+                    return naoEncontrado(restauranteId);
+                });
+        List<Produto> produtos = produtoRepository.findByRestauranteIdAndDisponivelTrue(restauranteId);
+
+        long versao = restaurante.getVersaoCardapio();
+        CardapioResponse documento = new CardapioResponse();
+        documento.setVersao(versao);
+        documento.setRestaurante(restauranteMapper.toResponse(restaurante));
+        documento.setCategorias(categorias(produtos));
+
+        byte[] json;
+        try {
+            json = writer.writeValueAsBytes(documento);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o cardápio do restaurante " + restauranteId, e);
+        }
+
+        Cardapio novo = new Cardapio(versao, Cardapio.etag(versao), json, System.nanoTime());
+        // Duas montagens simultâneas: fica a de versão mais nova
+        return cardapios.merge(restauranteId, novo, (anterior, montado) -> montado.versao() >= anterior.versao() ? montado : anterior);
+    }
+
+    private static List<CardapioResponse.Categoria> categorias(List<Produto> produtos) {
+        Map<String, List<CardapioResponse.Item>> porCategoria = new TreeMap<>();
+        produtos.stream()
+                .sorted(Comparator.comparing(Produto::getNome, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)))
+                .forEach(produto -> porCategoria
+                        .computeIfAbsent(produto.getCategoria(), c -> new ArrayList<>())
+                        .add(new CardapioResponse.Item(produto.getId(), produto.getNome(), produto.getDescricao(), produto.getPreco())));
+        return porCategoria.entrySet().stream()
+                .map(entrada -> new CardapioResponse.Categoria(entrada.getKey(), entrada.getValue()))
+                .toList();
+    }
+
+    private static EntityNotFoundException naoEncontrado(Long restauranteId) {
+        return new EntityNotFoundException("Restaurante não encontrado com ID: " + restauranteId);
+    }
+}
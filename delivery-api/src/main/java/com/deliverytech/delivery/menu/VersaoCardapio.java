@@ -0,0 +1,33 @@
+package com.deliverytech.delivery.menu;
+
+import com.deliverytech.delivery.exception.EntityNotFoundException;
+import com.deliverytech.delivery.httpcache.VersaoRecurso;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Versão do cardápio do restaurante {id}, para a ETag profunda de GET /api/restaurantes/{id}/cardapio.
+ *
+ * Vem do cardápio em memória: quando a versão mudou, o cardápio é montado aqui mesmo e o controller
+ * só o reaproveita.
+ */
+@Component
+public class VersaoCardapio implements VersaoRecurso {
+
+    private final Cardapios cardapios;
+
+    public VersaoCardapio(Cardapios cardapios) {
+        this.cardapios = cardapios;
+    }
+
+    @Override
+    public Long versao(Map<String, String> variaveis) {
+        try {
+            return cardapios.obter(Long.valueOf(variaveis.get("id"))).versao();
+        } catch (NumberFormatException | EntityNotFoundException e) {
+            // O controller responde com o erro
+            return null;
+        }
+    }
+}
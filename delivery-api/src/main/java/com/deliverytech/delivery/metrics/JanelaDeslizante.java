@@ -0,0 +1,83 @@
+package com.deliverytech.delivery.metrics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Janela deslizante sem locks com um balde por minuto.
+ *
+ * Os baldes ficam em um buffer circular: ao chegar um valor de um minuto novo, o balde
+ * antigo daquela posição é substituído via CAS. Valores mais antigos que a janela são descartados.
+ */
+public class JanelaDeslizante {
+
+    private final int tamanhoEmMinutos;
+    private final AtomicReferenceArray<Balde> baldes;
+
+    private static final class Balde {
+        private final long minuto;
+        private final LongAdder valor = new LongAdder();
+
+        private Balde(long minuto) {
+            this.minuto = minuto;
+        }
+    }
+
+    public JanelaDeslizante(int tamanhoEmMinutos) {
+        this.tamanhoEmMinutos = tamanhoEmMinutos;
+        this.baldes = new AtomicReferenceArray<>(tamanhoEmMinutos);
+    }
+
+    /**
+     * Soma {@code valor} ao balde do minuto informado (minutos desde a epoch).
+     * Valores negativos são usados para estornos.
+     */
+    public void adicionar(long minuto, long valor) {
+        int indice = (int) Math.floorMod(minuto, (long) tamanhoEmMinutos);
+        while (true) {
+            Balde atual = baldes.get(indice);
+            if (atual != null && atual.minuto == minuto) {
+                atual.valor.add(valor);
+                return;
+            }
+            if (atual != null && atual.minuto > minuto) {
+                // Minuto já saiu da janela
+                return;
+            }
+            Balde novo = new Balde(minuto);
+            if (baldes.compareAndSet(indice, atual, novo)) {
+                novo.valor.add(valor);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Indica se nenhum balde pertence à janela terminada em {@code minutoAtual}.
+     */
+    public boolean vazia(long minutoAtual) {
+        long inicio = minutoAtual - tamanhoEmMinutos + 1;
+        for (int i = 0; i < tamanhoEmMinutos; i++) {
+            Balde balde = baldes.get(i);
+            if (balde != null && balde.minuto >= inicio) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Soma os últimos {@code minutos} minutos até {@code minutoAtual}, inclusive.
+     */
+    public long somar(long minutoAtual, int minutos) {
+        int limite = Math.min(minutos, tamanhoEmMinutos);
+        long total = 0;
+        for (long minuto = minutoAtual - limite + 1; minuto <= minutoAtual; minuto++) {
+            Balde balde = baldes.get((int) Math.floorMod(minuto, (long) tamanhoEmMinutos));
+            if (balde != null && balde.minuto == minuto) {
+                total += balde.valor.sum();
+            }
+        }
+        return total;
+    }
+}
@@ -2,58 +2,212 @@ package com.deliverytech.delivery.metrics;
 
 import com.deliverytech.delivery.repository.PedidoRepository;
 import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.money.Dinheiro;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import jakarta.annotation.PostConstruct;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.concurrent.atomic.AtomicReference;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 @RequiredArgsConstructor
 public class PedidoMetrics {
 
+    private static final Logger logger = LoggerFactory.getLogger(PedidoMetrics.class);
+
+    private static final int MINUTOS_HORA = 60;
+    private static final int MINUTOS_DIA = 24 * 60;
+
     private final PedidoRepository pedidoRepository;
     private final MeterRegistry meterRegistry;
 
     private Counter produtosVendidosCounter;
-    private AtomicReference<Double> receitaUltimaHora;
+
+    // Receita em centavos por minuto: total e por restaurante. Janelas de restaurante sem receita
+    // nas últimas 24 horas são descartadas com seus gauges (ver descartarJanelasOciosas)
+    private final JanelaDeslizante receitaTotal = new JanelaDeslizante(MINUTOS_DIA);
+    private final Map<Long, ReceitaRestaurante> receitaPorRestaurante = new ConcurrentHashMap<>();
+
+    private record ReceitaRestaurante(JanelaDeslizante janela, List<Gauge> gauges) {
+    }
 
     @PostConstruct
     public void init() {
         produtosVendidosCounter = meterRegistry.counter("produtos.vendidos.total");
-        receitaUltimaHora = new AtomicReference<>(0.0);
 
-        Gauge.builder("receita.por.hora", receitaUltimaHora, AtomicReference::get)
+        Gauge.builder("receita.por.minuto", receitaTotal, j -> emReais(j.somar(minutoAtual(), 1)))
+                .description("Receita total do minuto atual")
+                .register(meterRegistry);
+
+        Gauge.builder("receita.por.hora", receitaTotal, j -> emReais(j.somar(minutoAtual(), MINUTOS_HORA)))
                 .description("Receita total da última hora")
                 .register(meterRegistry);
+
+        Gauge.builder("receita.por.dia", receitaTotal, j -> emReais(j.somar(minutoAtual(), MINUTOS_DIA)))
+                .description("Receita total das últimas 24 horas")
+                .register(meterRegistry);
+
+        aquecerReceita();
     }
 
     public void incrementarProdutosVendidos(int quantidade) {
         produtosVendidosCounter.increment(quantidade);
     }
 
-    @Scheduled(fixedRate = 60 * 60 * 1000) // Atualiza a cada 1 hora
-    public void atualizarReceitaUltimaHora() {
-        LocalDateTime umaHoraAtras = LocalDateTime.now().minusHours(1);
-        BigDecimal receita = pedidoRepository.findAll().stream()
-                .filter(p -> p.getDataPedido().isAfter(umaHoraAtras))
-                .map(Pedido::getValorTotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    /**
+     * Soma o valor de um pedido recém-criado à janela de receita. Dentro de uma transação,
+     * só depois do commit.
+     */
+    public void registrarReceita(Pedido pedido) {
+        Long restauranteId = pedido.getRestaurante().getId();
+        LocalDateTime dataPedido = pedido.getDataPedido();
+        long valor = centavos(pedido.getValorTotal());
+        aposCommit(() -> acumular(restauranteId, dataPedido, valor));
+    }
+
+    /**
+     * Retira da janela a receita de um pedido cancelado, no minuto em que ele foi criado. Dentro de
+     * uma transação, só depois do commit.
+     */
+    public void estornarReceita(Pedido pedido) {
+        Long restauranteId = pedido.getRestaurante().getId();
+        LocalDateTime dataPedido = pedido.getDataPedido();
+        long valor = -centavos(pedido.getValorTotal());
+        aposCommit(() -> acumular(restauranteId, dataPedido, valor));
+    }
+
+    /**
+     * Remove as janelas (e os gauges) de restaurantes sem receita nas últimas 24 horas: sem isso,
+     * cada restaurante que já vendeu manteria 24 horas de baldes e duas séries para sempre.
+     * A janela volta a ser criada na próxima venda.
+     */
+    @Scheduled(fixedDelayString = "${pedido.receita.descarte-intervalo:1h}")
+    public void descartarJanelasOciosas() {
+        long agora = minutoAtual();
+        receitaPorRestaurante.keySet().forEach(restauranteId ->
+                receitaPorRestaurante.computeIfPresent(restauranteId, (id, receita) -> {
+                    if (!receita.janela().vazia(agora)) {
+                        return receita;
+                    }
+                    receita.gauges().forEach(meterRegistry::remove);
+                    return null;
+                }));
+    }
+
+    private static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+
+    /**
+     * Carrega as últimas 24 horas do banco com um agregado por minuto. Executado só na inicialização;
+     * depois disso a janela é mantida pelos eventos de criação e cancelamento de pedidos.
+     */
+    private void aquecerReceita() {
+        try {
+            pedidoRepository.somarReceitaPorMinutoDesde(LocalDateTime.now().minusDays(1))
+                    .forEach(r -> acumular(r.restauranteId(), r.dataHora(), centavos(r.total())));
+        } catch (Exception e) {
+            logger.warn("Não foi possível aquecer a janela de receita: {}", e.getMessage());
+        }
+    }
+
+    private void acumular(Long restauranteId, LocalDateTime dataPedido, long valor) {
+        if (dataPedido == null || valor == 0) {
+            return;
+        }
+        long minuto = paraMinuto(dataPedido);
+        receitaTotal.adicionar(minuto, valor);
+        if (restauranteId != null) {
+            // A soma dentro do compute: o descarte não remove a janela entre a busca e a soma
+            receitaPorRestaurante.compute(restauranteId, (id, receita) -> {
+                ReceitaRestaurante atual = receita != null ? receita : registrarJanelaRestaurante(id);
+                atual.janela().adicionar(minuto, valor);
+                return atual;
+            });
+        }
+    }
+
+    private ReceitaRestaurante registrarJanelaRestaurante(Long restauranteId) {
+        JanelaDeslizante janela = new JanelaDeslizante(MINUTOS_DIA);
+
+        Gauge porHora = Gauge.builder("receita.restaurante.por.hora", janela, j -> emReais(j.somar(minutoAtual(), MINUTOS_HORA)))
+                .description("Receita do restaurante na última hora")
+                .tag("restauranteId", String.valueOf(restauranteId))
+                .register(meterRegistry);
+
+        Gauge porDia = Gauge.builder("receita.restaurante.por.dia", janela, j -> emReais(j.somar(minutoAtual(), MINUTOS_DIA)))
+                .description("Receita do restaurante nas últimas 24 horas")
+                .tag("restauranteId", String.valueOf(restauranteId))
+                .register(meterRegistry);
+
+        return new ReceitaRestaurante(janela, List.of(porHora, porDia));
+    }
+
+    private static long minutoAtual() {
+        return System.currentTimeMillis() / 60_000;
+    }
+
+    private static long paraMinuto(LocalDateTime dataHora) {
+        return dataHora.atZone(ZoneId.systemDefault()).toEpochSecond() / 60;
+    }
 
-        receitaUltimaHora.set(receita.doubleValue());
+    private static long centavos(BigDecimal valor) {
+        return Dinheiro.centavosDe(valor);
+    }
+
+    private static double emReais(long centavos) {
+        return centavos / 100.0;
     }
 
     public void incrementarPedidosPorStatus(String status) {
         meterRegistry.counter("pedidos.processados", "status", status).increment();
     }
 
+    /**
+     * Tempo que o pedido passou no status de origem, por restaurante e transição: o histograma
+     * (percentis no backend) mostra, por exemplo, as cozinhas lentas em EM_PREPARACAO -> SAIU_PARA_ENTREGA.
+     */
+    public void registrarTempoNoStatus(Long restauranteId, StatusPedido de, StatusPedido para, Duration tempo) {
+        if (tempo.isNegative()) {
+            return;
+        }
+        Timer.builder("pedidos.tempo.status")
+                .description("Tempo de permanência do pedido em um status até a próxima transição")
+                .tag("restauranteId", String.valueOf(restauranteId))
+                .tag("de", de.name())
+                .tag("para", para.name())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofSeconds(1))
+                .maximumExpectedValue(Duration.ofHours(6))
+                .register(meterRegistry)
+                .record(tempo);
+    }
+
     public Timer.Sample startTimer() {
         return Timer.start(meterRegistry);
     }
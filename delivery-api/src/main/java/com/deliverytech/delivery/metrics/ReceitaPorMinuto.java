@@ -0,0 +1,20 @@
+package com.deliverytech.delivery.metrics;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Receita agregada por restaurante e minuto, usada no aquecimento da janela de receita.
+ */
+public record ReceitaPorMinuto(Long restauranteId,
+                               Integer ano,
+                               Integer mes,
+                               Integer dia,
+                               Integer hora,
+                               Integer minuto,
+                               BigDecimal total) {
+
+    public LocalDateTime dataHora() {
+        return LocalDateTime.of(ano, mes, dia, hora, minuto);
+    }
+}
@@ -0,0 +1,110 @@
+package com.deliverytech.delivery.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+
+/**
+ * Detecta virtual threads presas ao carrier (pinning) via evento JFR jdk.VirtualThreadPinned.
+ *
+ * Cada ocorrência acima do limite é registrada no timer jvm.threads.virtual.pinned com o motivo:
+ * "native" quando há um frame nativo na pilha, "synchronized" quando o bloqueio ocorreu com um
+ * monitor retido. O log indica o primeiro frame da aplicação para localizar o trecho.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "threads.virtual.pinning.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor {
+
+    static final String EVENTO = "jdk.VirtualThreadPinned";
+    static final String METRICA = "jvm.threads.virtual.pinned";
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PACOTE_APLICACAO = "com.deliverytech.";
+
+    private final MeterRegistry meterRegistry;
+    private final Duration limite;
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${threads.virtual.pinning.threshold:20ms}") Duration limite) {
+        this.meterRegistry = meterRegistry;
+        this.limite = limite;
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        stream = new RecordingStream();
+        stream.enable(EVENTO).withThreshold(limite).withStackTrace();
+        stream.onEvent(EVENTO, this::registrar);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    void registrar(RecordedEvent evento) {
+        RecordedStackTrace pilha = evento.getStackTrace();
+        String motivo = motivo(pilha);
+
+        Timer.builder(METRICA)
+                .description("Tempo em que uma virtual thread ficou presa ao carrier")
+                .tag("motivo", motivo)
+                .register(meterRegistry)
+                .record(evento.getDuration());
+
+        logger.warn("Virtual thread presa ao carrier por {} ms ({}) em {}",
+                evento.getDuration().toMillis(), motivo, origem(pilha));
+    }
+
+    private static String motivo(RecordedStackTrace pilha) {
+        if (pilha != null) {
+            for (RecordedFrame frame : pilha.getFrames()) {
+                // Abaixo de VirtualThread.run só há a entrada da continuation, que é sempre nativa
+                if (frame.getMethod().getType().getName().equals("java.lang.VirtualThread")
+                        && frame.getMethod().getName().equals("run")) {
+                    break;
+                }
+                if (frame.isJavaFrame() && Modifier.isNative(frame.getMethod().getModifiers())) {
+                    return "native";
+                }
+            }
+        }
+        return "synchronized";
+    }
+
+    private static String origem(RecordedStackTrace pilha) {
+        if (pilha == null || pilha.getFrames().isEmpty()) {
+            return "desconhecida";
+        }
+        RecordedFrame primeiro = pilha.getFrames().get(0);
+        for (RecordedFrame frame : pilha.getFrames()) {
+            if (frame.getMethod().getType().getName().startsWith(PACOTE_APLICACAO)) {
+                primeiro = frame;
+                break;
+            }
+        }
+        return primeiro.getMethod().getType().getName() + "." + primeiro.getMethod().getName()
+                + ":" + primeiro.getLineNumber();
+    }
+}
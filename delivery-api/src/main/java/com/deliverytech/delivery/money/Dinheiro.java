@@ -0,0 +1,62 @@
+package com.deliverytech.delivery.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valor monetário em centavos, para as contas do caminho de precificação (itens, subtotal, total).
+ *
+ * As somas e multiplicações são feitas em long, sem alocar BigDecimal a cada passo; a conversão
+ * para BigDecimal acontece só na borda (colunas DECIMAL das entidades e JSON). Valores com mais
+ * de duas casas são arredondados para o centavo (HALF_EVEN). Estouro de long lança ArithmeticException.
+ */
+public record Dinheiro(long centavos) implements Comparable<Dinheiro> {
+
+    public static final Dinheiro ZERO = new Dinheiro(0);
+
+    public static Dinheiro deCentavos(long centavos) {
+        return centavos == 0 ? ZERO : new Dinheiro(centavos);
+    }
+
+    /**
+     * Converte de BigDecimal; null vale zero.
+     */
+    public static Dinheiro de(BigDecimal valor) {
+        return deCentavos(centavosDe(valor));
+    }
+
+    /**
+     * Centavos de um BigDecimal, sem criar o objeto intermediário (usado nos laços de soma).
+     */
+    public static long centavosDe(BigDecimal valor) {
+        if (valor == null) {
+            return 0;
+        }
+        if (valor.scale() <= 2) {
+            return valor.movePointRight(2).longValueExact();
+        }
+        return valor.setScale(2, RoundingMode.HALF_EVEN).movePointRight(2).longValueExact();
+    }
+
+    public Dinheiro mais(Dinheiro outro) {
+        return deCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    public Dinheiro vezes(int quantidade) {
+        return deCentavos(Math.multiplyExact(centavos, quantidade));
+    }
+
+    public BigDecimal paraBigDecimal() {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+
+    @Override
+    public int compareTo(Dinheiro outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public String toString() {
+        return paraBigDecimal().toPlainString();
+    }
+}
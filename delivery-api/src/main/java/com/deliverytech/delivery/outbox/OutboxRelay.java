@@ -0,0 +1,171 @@
+package com.deliverytech.delivery.outbox;
+
+import com.deliverytech.delivery.entity.OutboxEvento;
+import com.deliverytech.delivery.repository.OutboxEventoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drena o outbox em lotes, na ordem de id, e entrega os eventos aos inscritos desta instância.
+ *
+ * Cada lote é dividido em partições por restaurante (restauranteId mod partições). As partições
+ * são entregues em paralelo, cada uma em ordem; o lote seguinte só é lido depois que todas
+ * terminam e o lote atual é removido com um único DELETE. Assim os eventos de um mesmo
+ * restaurante (e, portanto, de um mesmo pedido) nunca chegam fora de ordem.
+ *
+ * O relay supõe uma única instância drenando a tabela; com várias réplicas, apenas uma
+ * deve ter outbox.relay.enabled=true.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventoRepository outboxEventoRepository;
+    private final int tamanhoLote;
+    private final int particoes;
+    private final boolean habilitado;
+
+    private final List<PedidoEventoListener> inscritos = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ReentrantLock drenando = new ReentrantLock();
+
+    private final Counter eventosPublicados;
+    private final Counter falhasInscritos;
+    private final Timer duracaoLote;
+    private final Timer atrasoEntrega;
+
+    public OutboxRelay(OutboxEventoRepository outboxEventoRepository,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:500}") int tamanhoLote,
+                       @Value("${outbox.relay.partitions:4}") int particoes,
+                       @Value("${outbox.relay.enabled:true}") boolean habilitado) {
+        this.outboxEventoRepository = outboxEventoRepository;
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+        this.particoes = Math.max(1, particoes);
+        this.habilitado = habilitado;
+
+        this.eventosPublicados = Counter.builder("outbox.eventos.publicados")
+                .description("Eventos do outbox entregues aos inscritos")
+                .register(meterRegistry);
+        this.falhasInscritos = Counter.builder("outbox.inscritos.falhas")
+                .description("Exceções lançadas por inscritos ao receber eventos do outbox")
+                .register(meterRegistry);
+        this.duracaoLote = Timer.builder("outbox.relay.lote")
+                .description("Tempo para entregar e remover um lote do outbox")
+                .register(meterRegistry);
+        this.atrasoEntrega = Timer.builder("outbox.relay.atraso")
+                .description("Tempo entre a gravação do evento e a entrega aos inscritos")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Inscreve um listener nos eventos de pedido. O retorno cancela a inscrição.
+     */
+    public Runnable inscrever(PedidoEventoListener listener) {
+        inscritos.add(listener);
+        return () -> inscritos.remove(listener);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval:200ms}")
+    public void agendado() {
+        if (habilitado) {
+            drenar();
+        }
+    }
+
+    /**
+     * Entrega lotes até esvaziar o outbox. Retorna a quantidade de eventos entregues.
+     */
+    public long drenar() {
+        drenando.lock();
+        try {
+            long total = 0;
+            int entregues;
+            do {
+                entregues = processarLote();
+                total += entregues;
+            } while (entregues == tamanhoLote);
+            return total;
+        } catch (Exception e) {
+            logger.warn("Falha ao drenar outbox: {}", e.getMessage());
+            return 0;
+        } finally {
+            drenando.unlock();
+        }
+    }
+
+    private int processarLote() throws InterruptedException, ExecutionException {
+        List<OutboxEvento> lote = outboxEventoRepository.findAllByOrderByIdAsc(PageRequest.of(0, tamanhoLote));
+        if (lote.isEmpty()) {
+            return 0;
+        }
+
+        Timer.Sample sample = Timer.start();
+
+        List<List<PedidoEvento>> porParticao = new ArrayList<>(particoes);
+        for (int i = 0; i < particoes; i++) {
+            porParticao.add(new ArrayList<>());
+        }
+        List<Long> ids = new ArrayList<>(lote.size());
+        for (OutboxEvento evento : lote) {
+            porParticao.get((int) Math.floorMod(evento.getRestauranteId(), (long) particoes)).add(PedidoEvento.de(evento));
+            ids.add(evento.getId());
+        }
+
+        List<Future<?>> entregas = new ArrayList<>(particoes);
+        for (List<PedidoEvento> particao : porParticao) {
+            if (!particao.isEmpty()) {
+                entregas.add(executor.submit(() -> particao.forEach(this::publicar)));
+            }
+        }
+        for (Future<?> entrega : entregas) {
+            entrega.get();
+        }
+
+        outboxEventoRepository.deleteAllByIdInBatch(ids);
+
+        eventosPublicados.increment(lote.size());
+        sample.stop(duracaoLote);
+        return lote.size();
+    }
+
+    private void publicar(PedidoEvento evento) {
+        atrasoEntrega.record(Duration.between(evento.dataHora(), LocalDateTime.now()));
+        for (PedidoEventoListener inscrito : inscritos) {
+            try {
+                inscrito.onPedidoEvento(evento);
+            } catch (Exception e) {
+                // Um inscrito com defeito não pode travar o outbox nem os demais inscritos
+                falhasInscritos.increment();
+                logger.warn("Inscrito {} falhou no evento {} do pedido {}: {}",
+                        inscrito.getClass().getSimpleName(), evento.id(), evento.pedidoId(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdown();
+    }
+}
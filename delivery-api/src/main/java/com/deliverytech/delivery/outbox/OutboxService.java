@@ -0,0 +1,34 @@
+package com.deliverytech.delivery.outbox;
+
+import com.deliverytech.delivery.entity.OutboxEvento;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.repository.OutboxEventoRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Grava eventos de pedido no outbox. Exige uma transação ativa: o evento só existe
+ * se a mudança de status que o originou for confirmada.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventoRepository outboxEventoRepository;
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void registrar(Pedido pedido, StatusPedido statusAnterior) {
+        OutboxEvento evento = new OutboxEvento();
+        evento.setPedidoId(pedido.getId());
+        evento.setRestauranteId(pedido.getRestaurante().getId());
+        evento.setClienteId(pedido.getCliente() != null ? pedido.getCliente().getId() : null);
+        evento.setStatusAnterior(statusAnterior);
+        evento.setStatusNovo(pedido.getStatus());
+        evento.setDataCriacao(LocalDateTime.now());
+        outboxEventoRepository.save(evento);
+    }
+}
@@ -0,0 +1,25 @@
+package com.deliverytech.delivery.outbox;
+
+import com.deliverytech.delivery.entity.OutboxEvento;
+import com.deliverytech.delivery.enums.StatusPedido;
+
+import java.time.LocalDateTime;
+
+/**
+ * Mudança de status de um pedido, como entregue aos inscritos do outbox.
+ * statusAnterior é nulo na criação do pedido.
+ */
+public record PedidoEvento(Long id,
+                           Long pedidoId,
+                           Long restauranteId,
+                           Long clienteId,
+                           StatusPedido statusAnterior,
+                           StatusPedido statusNovo,
+                           LocalDateTime dataHora) {
+
+    static PedidoEvento de(OutboxEvento evento) {
+        return new PedidoEvento(evento.getId(), evento.getPedidoId(), evento.getRestauranteId(),
+                evento.getClienteId(), evento.getStatusAnterior(), evento.getStatusNovo(),
+                evento.getDataCriacao());
+    }
+}
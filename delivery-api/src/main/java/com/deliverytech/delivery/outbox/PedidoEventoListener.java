@@ -0,0 +1,17 @@
+package com.deliverytech.delivery.outbox;
+
+/**
+ * Inscrito nos eventos de pedido publicados pelo {@link OutboxRelay}.
+ *
+ * Eventos do mesmo restaurante chegam na ordem em que foram gravados, um de cada vez; eventos de
+ * restaurantes diferentes podem chegar em paralelo. A ordem não implica afinidade de thread: cada
+ * lote de uma partição roda numa thread virtual nova, então o listener não pode guardar estado em
+ * {@link ThreadLocal} nem contar com confinamento de thread. A entrega é
+ * "pelo menos uma vez": se a instância cair entre a entrega e a remoção do lote, o lote é reenviado.
+ * O método deve ser rápido e não bloquear, pois atrasa os demais eventos da partição.
+ */
+@FunctionalInterface
+public interface PedidoEventoListener {
+
+    void onPedidoEvento(PedidoEvento evento);
+}
@@ -3,10 +3,15 @@ package com.deliverytech.delivery.repository;
 import com.deliverytech.delivery.entity.Cliente;
 import com.deliverytech.delivery.entity.Usuario;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
@@ -26,4 +31,9 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     Optional<Cliente> findByUsuario(Usuario usuario);
     double countByAtivoTrue();
 
+    // Cursor para a listagem NDJSON (ver PedidoRepository.streamPorCliente)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT c FROM Cliente c ORDER BY c.id")
+    Stream<Cliente> streamTodos();
+
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.deliverytech.delivery.repository;
+
+import com.deliverytech.delivery.entity.OutboxEvento;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface OutboxEventoRepository extends JpaRepository<OutboxEvento, Long> {
+
+    // Próximo lote na ordem de gravação
+    List<OutboxEvento> findAllByOrderByIdAsc(Pageable pageable);
+}
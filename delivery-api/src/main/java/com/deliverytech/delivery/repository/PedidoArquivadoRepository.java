@@ -0,0 +1,37 @@
+package com.deliverytech.delivery.repository;
+
+import com.deliverytech.delivery.entity.PedidoArquivado;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface PedidoArquivadoRepository extends JpaRepository<PedidoArquivado, Long> {
+
+    // Mesma paginação keyset de PedidoRepository.buscarPorClienteKeyset, sobre idx_pedido_arquivado_cliente
+    @Query("""
+        SELECT a FROM PedidoArquivado a
+        WHERE a.clienteId = :clienteId
+          AND (:cursorData IS NULL
+               OR a.dataPedido < :cursorData
+               OR (a.dataPedido = :cursorData AND a.id < :cursorId))
+        ORDER BY a.dataPedido DESC, a.id DESC
+    """)
+    List<PedidoArquivado> buscarPorClienteKeyset(@Param("clienteId") Long clienteId,
+                                                 @Param("cursorData") LocalDateTime cursorData,
+                                                 @Param("cursorId") Long cursorId,
+                                                 Pageable limite);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT a FROM PedidoArquivado a WHERE a.clienteId = :clienteId ORDER BY a.dataPedido DESC, a.id DESC")
+    Stream<PedidoArquivado> streamPorCliente(@Param("clienteId") Long clienteId);
+}
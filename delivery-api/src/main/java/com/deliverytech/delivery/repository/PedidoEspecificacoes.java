@@ -0,0 +1,48 @@
+package com.deliverytech.delivery.repository;
+
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.enums.StatusPedido;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtros da listagem keyset de pedidos. Cada filtro só entra na consulta quando informado, então o
+ * SQL gerado é um por combinação de filtros: com status, a igualdade seguida do intervalo e do seek
+ * em (dataPedido, id) casa com idx_pedido_status_data; sem status, com idx_pedido_data_id.
+ */
+public final class PedidoEspecificacoes {
+
+    private PedidoEspecificacoes() {
+    }
+
+    public static Specification<Pedido> filtro(StatusPedido status, LocalDateTime dataInicio, LocalDateTime dataFim,
+                                               LocalDateTime cursorData, Long cursorId) {
+        Specification<Pedido> filtro = Specification.unrestricted();
+        if (status != null) {
+            filtro = filtro.and(comStatus(status));
+        }
+        if (dataInicio != null) {
+            filtro = filtro.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dataPedido"), dataInicio));
+        }
+        if (dataFim != null) {
+            filtro = filtro.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("dataPedido"), dataFim));
+        }
+        if (cursorData != null) {
+            filtro = filtro.and(depoisDoCursor(cursorData, cursorId));
+        }
+        return filtro;
+    }
+
+    static Specification<Pedido> comStatus(StatusPedido status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    // Próximos na ordem (dataPedido, id) decrescente: dataPedido < :data OR (dataPedido = :data AND id < :id)
+    static Specification<Pedido> depoisDoCursor(LocalDateTime cursorData, Long cursorId) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("dataPedido"), cursorData),
+                cb.and(cb.equal(root.get("dataPedido"), cursorData), cb.lessThan(root.get("id"), cursorId)));
+    }
+}
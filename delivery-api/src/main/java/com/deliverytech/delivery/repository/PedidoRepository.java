@@ -1,20 +1,34 @@
 package com.deliverytech.delivery.repository;
 
-import com.deliverytech.delivery.dto.response.RelatorioClienteAtivoResponse;
-import com.deliverytech.delivery.dto.response.RelatorioProdutoMaisVendidoResponse;
-import com.deliverytech.delivery.dto.response.RelatorioVendaPorRestauranteResponse;
 import com.deliverytech.delivery.entity.Pedido;
 import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.metrics.ReceitaPorMinuto;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface PedidoRepository extends JpaRepository<Pedido, Long>, JpaSpecificationExecutor<Pedido> {
+    // Carrega o pedido com cliente, restaurante, itens e produtos em uma única consulta (usado pelo PedidoMapper)
+    @EntityGraph(attributePaths = {"cliente", "restaurante", "itens", "itens.produto"})
+    @Query("SELECT p FROM Pedido p WHERE p.id = :id")
+    Optional<Pedido> buscarComItensPorId(@Param("id") Long id);
 
-public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     List<Pedido> findByClienteId(Long clienteId);
 
     List<Pedido> findByRestauranteId(Long restauranteId);
@@ -25,51 +39,80 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
 
     List<Pedido> findByStatusAndDataPedidoBetween(StatusPedido status, LocalDateTime inicio, LocalDateTime fim);
 
-    @Query("""
-        SELECT new com.deliverytech.delivery.dto.response.RelatorioVendaPorRestauranteResponse(
-            p.restaurante.id,
-            p.restaurante.nome,
-            SUM(p.valorTotal),
-            COUNT(p.id)
-        )
-        FROM Pedido p
-        WHERE p.status = 'ENTREGUE'
-        GROUP BY p.restaurante.id, p.restaurante.nome
-        ORDER BY SUM(p.valorTotal) DESC
-    """)
-    List<RelatorioVendaPorRestauranteResponse> buscarVendasPorRestaurante();
+    // Paginação keyset sobre (dataPedido, id), ordem decrescente. Os filtros ausentes ficam fora do SQL
+    // (PedidoEspecificacoes), então cada combinação usa o índice que casa com ela. O limite vira LIMIT,
+    // sem consulta de COUNT; cliente e restaurante vêm na mesma consulta.
+    default List<Pedido> buscarComFiltroKeyset(StatusPedido status,
+                                               LocalDateTime dataInicio,
+                                               LocalDateTime dataFim,
+                                               LocalDateTime cursorData,
+                                               Long cursorId,
+                                               int limite) {
+        return findBy(PedidoEspecificacoes.filtro(status, dataInicio, dataFim, cursorData, cursorId),
+                consulta -> consulta
+                        .sortBy(Sort.by(Sort.Direction.DESC, "dataPedido", "id"))
+                        .limit(limite)
+                        .project("cliente", "restaurante")
+                        .all());
+    }
 
+    // Pedidos recentes do cliente, na ordem do cursor (dataPedido, id) decrescente; complementados por pedido_arquivado
+    @EntityGraph(attributePaths = {"cliente", "restaurante"})
     @Query("""
-        SELECT new com.deliverytech.delivery.dto.response.RelatorioProdutoMaisVendidoResponse(
-            ip.produto.id,
-            ip.produto.nome,
-            SUM(ip.quantidade)
-        )
-        FROM Pedido p
-        JOIN p.itens ip
-        WHERE p.status = 'ENTREGUE'
-        GROUP BY ip.produto.id, ip.produto.nome
-        ORDER BY SUM(ip.quantidade) DESC
+        SELECT p FROM Pedido p
+        WHERE p.cliente.id = :clienteId
+          AND (:cursorData IS NULL
+               OR p.dataPedido < :cursorData
+               OR (p.dataPedido = :cursorData AND p.id < :cursorId))
+        ORDER BY p.dataPedido DESC, p.id DESC
     """)
-    List<RelatorioProdutoMaisVendidoResponse> buscarProdutosMaisVendidos();
+    List<Pedido> buscarPorClienteKeyset(@Param("clienteId") Long clienteId,
+                                        @Param("cursorData") LocalDateTime cursorData,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable limite);
 
-    @Query("""
-        SELECT new com.deliverytech.delivery.dto.response.RelatorioClienteAtivoResponse(
-            p.cliente.id,
-            p.cliente.nome,
-            COUNT(p.id)
-        )
-        FROM Pedido p
-        WHERE p.status = 'ENTREGUE'
-        GROUP BY p.cliente.id, p.cliente.nome
-        ORDER BY COUNT(p.id) DESC
-    """)
-    List<RelatorioClienteAtivoResponse> buscarClientesMaisAtivos();
+    // Cursores para as respostas NDJSON (TransmissaoJpa). No MySQL o fetch size só limita a leitura
+    // com useCursorFetch=true na URL; sem isso o driver traz o resultado inteiro para a memória.
+    @EntityGraph(attributePaths = {"cliente", "restaurante"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT p FROM Pedido p WHERE p.cliente.id = :clienteId ORDER BY p.dataPedido DESC, p.id DESC")
+    Stream<Pedido> streamPorCliente(@Param("clienteId") Long clienteId);
+
+    @EntityGraph(attributePaths = {"cliente", "restaurante"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT p FROM Pedido p WHERE p.restaurante.id = :restauranteId ORDER BY p.dataPedido DESC, p.id DESC")
+    Stream<Pedido> streamPorRestaurante(@Param("restauranteId") Long restauranteId);
+
+    // Candidatos ao arquivamento: finalizados antes do limite, em ordem de id
+    @Query("SELECT p.id FROM Pedido p WHERE p.status IN :status AND p.dataPedido < :limite ORDER BY p.id")
+    List<Long> buscarIdsParaArquivar(@Param("status") Collection<StatusPedido> status,
+                                     @Param("limite") LocalDateTime limite,
+                                     Pageable lote);
 
+    @EntityGraph(attributePaths = {"cliente", "restaurante", "itens", "itens.produto"})
+    @Query("SELECT DISTINCT p FROM Pedido p WHERE p.id IN :ids")
+    List<Pedido> buscarComItensPorIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM ItemPedido i WHERE i.pedido.id IN :ids")
+    int removerItensDosPedidos(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Pedido p WHERE p.id IN :ids")
+    int removerPorIds(@Param("ids") Collection<Long> ids);
+
+    // Receita por restaurante e minuto a partir de uma data (aquecimento da janela de receita em PedidoMetrics)
     @Query("""
-        SELECT COUNT(p), COALESCE(SUM(p.valorTotal), 0)
+        SELECT new com.deliverytech.delivery.metrics.ReceitaPorMinuto(
+            p.restaurante.id,
+            YEAR(p.dataPedido), MONTH(p.dataPedido), DAY(p.dataPedido),
+            HOUR(p.dataPedido), MINUTE(p.dataPedido),
+            SUM(p.valorTotal))
         FROM Pedido p
-        WHERE p.status = 'ENTREGUE' AND p.dataPedido BETWEEN :inicio AND :fim
+        WHERE p.dataPedido >= :inicio AND p.status <> 'CANCELADO'
+        GROUP BY p.restaurante.id,
+            YEAR(p.dataPedido), MONTH(p.dataPedido), DAY(p.dataPedido),
+            HOUR(p.dataPedido), MINUTE(p.dataPedido)
     """)
-    Object[] buscarPedidosPorPeriodo(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+    List<ReceitaPorMinuto> somarReceitaPorMinutoDesde(@Param("inicio") LocalDateTime inicio);
 }
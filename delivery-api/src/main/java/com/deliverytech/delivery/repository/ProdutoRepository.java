@@ -2,6 +2,7 @@ package com.deliverytech.delivery.repository;
 
 import com.deliverytech.delivery.entity.Produto;
 import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.search.TextoIndexado;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -53,4 +54,11 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
 
     List<Produto> findByNomeContainingIgnoreCase(String nome);
 
+    // Carga do índice de busca textual
+    @Query("SELECT new com.deliverytech.delivery.search.TextoIndexado(p.id, p.nome, p.categoria, p.descricao, p.restaurante.id) FROM Produto p WHERE p.disponivel = true")
+    List<TextoIndexado> buscarTextosDisponiveis();
+
+    @Query("SELECT new com.deliverytech.delivery.search.TextoIndexado(p.id, p.nome, p.categoria, p.descricao, p.restaurante.id) FROM Produto p WHERE p.disponivel = true AND p.restaurante.id = :restauranteId")
+    List<TextoIndexado> buscarTextosDisponiveisPorRestaurante(@Param("restauranteId") Long restauranteId);
+
 }
\ No newline at end of file
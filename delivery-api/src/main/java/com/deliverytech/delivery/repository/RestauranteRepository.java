@@ -1,10 +1,15 @@
 package com.deliverytech.delivery.repository;
 
 import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.geo.PosicaoRestaurante;
+import com.deliverytech.delivery.search.TextoIndexado;
+import com.deliverytech.delivery.sync.VersaoRestaurante;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -48,7 +53,41 @@ public interface RestauranteRepository extends JpaRepository<Restaurante, Long>
 
     List<Restaurante> findByCategoriaIgnoreCase(String categoria);
 
+    // Carga do índice geográfico: só o necessário para posicionar cada restaurante ativo
+    @Query("SELECT new com.deliverytech.delivery.geo.PosicaoRestaurante(r.id, r.endereco, r.latitude, r.longitude) FROM Restaurante r WHERE r.ativo = true")
+    List<PosicaoRestaurante> buscarPosicoesAtivas();
+
+    @Query("SELECT new com.deliverytech.delivery.geo.PosicaoRestaurante(r.id, r.endereco, r.latitude, r.longitude) FROM Restaurante r WHERE r.ativo = true AND r.id = :id")
+    Optional<PosicaoRestaurante> buscarPosicaoAtiva(@Param("id") Long id);
+
+    // Carga do índice de busca textual
+    @Query("SELECT new com.deliverytech.delivery.search.TextoIndexado(r.id, r.nome, r.categoria) FROM Restaurante r WHERE r.ativo = true")
+    List<TextoIndexado> buscarTextosAtivos();
+
+    @Query("SELECT new com.deliverytech.delivery.search.TextoIndexado(r.id, r.nome, r.categoria) FROM Restaurante r WHERE r.ativo = true AND r.id = :id")
+    Optional<TextoIndexado> buscarTextoAtivo(@Param("id") Long id);
+
+    // Carga das tarifas de entrega: restaurante com a curva de faixas, numa consulta
+    @Query("SELECT DISTINCT r FROM Restaurante r LEFT JOIN FETCH r.faixasTaxaEntrega")
+    List<Restaurante> buscarComFaixasTaxa();
+
+    @Query("SELECT r FROM Restaurante r LEFT JOIN FETCH r.faixasTaxaEntrega WHERE r.id = :id")
+    Optional<Restaurante> buscarComFaixasTaxaPorId(@Param("id") Long id);
+
     List<Restaurante> findByCategoriaIgnoreCaseAndAtivo(String categoria, Boolean ativo);
 
     List<Restaurante> findByAtivo(Boolean ativo);
-}
\ No newline at end of file
+
+    // Versão do cardápio: incremento atômico no banco, sem ler a entidade
+    @Transactional
+    @Modifying
+    @Query("UPDATE Restaurante r SET r.versaoCardapio = r.versaoCardapio + 1 WHERE r.id = :id")
+    int incrementarVersaoCardapio(@Param("id") Long id);
+
+    @Query("SELECT r.versaoCardapio FROM Restaurante r WHERE r.id = :id")
+    Optional<Long> buscarVersaoCardapio(@Param("id") Long id);
+
+    // Reconciliação dos índices em memória: versão de todos os restaurantes, sem ler as entidades
+    @Query("SELECT new com.deliverytech.delivery.sync.VersaoRestaurante(r.id, r.versaoCardapio) FROM Restaurante r")
+    List<VersaoRestaurante> buscarVersoesCardapio();
+}
@@ -0,0 +1,40 @@
+package com.deliverytech.delivery.repository;
+
+import com.deliverytech.delivery.dto.response.RelatorioClienteAtivoResponse;
+import com.deliverytech.delivery.entity.ResumoClienteDiario;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ResumoClienteDiarioRepository extends JpaRepository<ResumoClienteDiario, Long> {
+
+    @Modifying
+    @Query("""
+        UPDATE ResumoClienteDiario r
+        SET r.totalPedidos = r.totalPedidos + 1
+        WHERE r.cliente.id = :clienteId AND r.data = :data
+    """)
+    int incrementar(@Param("clienteId") Long clienteId, @Param("data") LocalDate data);
+
+    @Query("""
+        SELECT new com.deliverytech.delivery.dto.response.RelatorioClienteAtivoResponse(
+            r.cliente.id,
+            r.cliente.nome,
+            SUM(r.totalPedidos)
+        )
+        FROM ResumoClienteDiario r
+        WHERE (:dataInicio IS NULL OR r.data >= :dataInicio)
+          AND (:dataFim IS NULL OR r.data <= :dataFim)
+        GROUP BY r.cliente.id, r.cliente.nome
+        ORDER BY SUM(r.totalPedidos) DESC
+    """)
+    List<RelatorioClienteAtivoResponse> buscarClientesMaisAtivos(@Param("dataInicio") LocalDate dataInicio,
+                                                                @Param("dataFim") LocalDate dataFim,
+                                                                Pageable limite);
+}
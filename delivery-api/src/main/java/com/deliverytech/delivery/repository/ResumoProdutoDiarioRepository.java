@@ -0,0 +1,42 @@
+package com.deliverytech.delivery.repository;
+
+import com.deliverytech.delivery.dto.response.RelatorioProdutoMaisVendidoResponse;
+import com.deliverytech.delivery.entity.ResumoProdutoDiario;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ResumoProdutoDiarioRepository extends JpaRepository<ResumoProdutoDiario, Long> {
+
+    @Modifying
+    @Query("""
+        UPDATE ResumoProdutoDiario r
+        SET r.quantidadeVendida = r.quantidadeVendida + :quantidade
+        WHERE r.produto.id = :produtoId AND r.data = :data
+    """)
+    int incrementar(@Param("produtoId") Long produtoId,
+                    @Param("data") LocalDate data,
+                    @Param("quantidade") long quantidade);
+
+    @Query("""
+        SELECT new com.deliverytech.delivery.dto.response.RelatorioProdutoMaisVendidoResponse(
+            r.produto.id,
+            r.produto.nome,
+            SUM(r.quantidadeVendida)
+        )
+        FROM ResumoProdutoDiario r
+        WHERE (:dataInicio IS NULL OR r.data >= :dataInicio)
+          AND (:dataFim IS NULL OR r.data <= :dataFim)
+        GROUP BY r.produto.id, r.produto.nome
+        ORDER BY SUM(r.quantidadeVendida) DESC
+    """)
+    List<RelatorioProdutoMaisVendidoResponse> buscarProdutosMaisVendidos(@Param("dataInicio") LocalDate dataInicio,
+                                                                        @Param("dataFim") LocalDate dataFim,
+                                                                        Pageable limite);
+}
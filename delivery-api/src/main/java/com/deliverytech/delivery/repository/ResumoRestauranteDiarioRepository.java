@@ -0,0 +1,51 @@
+package com.deliverytech.delivery.repository;
+
+import com.deliverytech.delivery.dto.response.RelatorioVendaPorRestauranteResponse;
+import com.deliverytech.delivery.entity.ResumoRestauranteDiario;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ResumoRestauranteDiarioRepository extends JpaRepository<ResumoRestauranteDiario, Long> {
+
+    @Modifying
+    @Query("""
+        UPDATE ResumoRestauranteDiario r
+        SET r.valorTotal = r.valorTotal + :valor, r.totalPedidos = r.totalPedidos + 1
+        WHERE r.restaurante.id = :restauranteId AND r.data = :data
+    """)
+    int incrementar(@Param("restauranteId") Long restauranteId,
+                    @Param("data") LocalDate data,
+                    @Param("valor") BigDecimal valor);
+
+    @Query("""
+        SELECT new com.deliverytech.delivery.dto.response.RelatorioVendaPorRestauranteResponse(
+            r.restaurante.id,
+            r.restaurante.nome,
+            SUM(r.valorTotal),
+            SUM(r.totalPedidos)
+        )
+        FROM ResumoRestauranteDiario r
+        WHERE (:dataInicio IS NULL OR r.data >= :dataInicio)
+          AND (:dataFim IS NULL OR r.data <= :dataFim)
+        GROUP BY r.restaurante.id, r.restaurante.nome
+        ORDER BY SUM(r.valorTotal) DESC
+    """)
+    List<RelatorioVendaPorRestauranteResponse> buscarVendasPorRestaurante(@Param("dataInicio") LocalDate dataInicio,
+                                                                         @Param("dataFim") LocalDate dataFim,
+                                                                         Pageable limite);
+
+    @Query("""
+        SELECT COALESCE(SUM(r.totalPedidos), 0), COALESCE(SUM(r.valorTotal), 0)
+        FROM ResumoRestauranteDiario r
+        WHERE r.data BETWEEN :dataInicio AND :dataFim
+    """)
+    List<Object[]> somarPorPeriodo(@Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim);
+}
@@ -6,6 +6,7 @@ import org.springframework.stereotype.Component;
 
 import com.deliverytech.delivery.entity.Usuario;
 import com.deliverytech.delivery.security.SecurityUtils;
+import com.deliverytech.delivery.security.UsuarioLogadoContexto;
 
 import jakarta.annotation.PostConstruct;
 
@@ -18,15 +19,15 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     @Component
     public class SecurityUtilsInjector {
 
-        private final UsuarioRepository usuarioRepository;
+        private final UsuarioLogadoContexto usuarioLogadoContexto;
 
-        public SecurityUtilsInjector(UsuarioRepository usuarioRepository) {
-            this.usuarioRepository = usuarioRepository;
+        public SecurityUtilsInjector(UsuarioLogadoContexto usuarioLogadoContexto) {
+            this.usuarioLogadoContexto = usuarioLogadoContexto;
         }
 
         @PostConstruct
         public void init() {
-            SecurityUtils.setUsuarioRepository(usuarioRepository);
+            SecurityUtils.setUsuarioLogadoContexto(usuarioLogadoContexto);
         }
     }
 }
\ No newline at end of file
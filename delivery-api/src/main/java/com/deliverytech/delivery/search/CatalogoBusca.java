@@ -0,0 +1,147 @@
+package com.deliverytech.delivery.search;
+
+import com.deliverytech.delivery.dto.request.RelevanciaCursor;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Busca textual de restaurantes ativos (nome, categoria) e produtos disponíveis (nome, categoria,
+ * descrição), sem LIKE '%termo%' no banco.
+ *
+ * Os índices são carregados na inicialização e mantidos pelas escritas de RestauranteService e
+ * ProdutoService: quem deixa de estar ativo/disponível sai do índice. Escritas feitas por outras
+ * instâncias chegam pela ReconciliacaoIndices, que relê o restaurante e seus produtos.
+ */
+@Component
+public class CatalogoBusca {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogoBusca.class);
+
+    private final RestauranteRepository restauranteRepository;
+    private final ProdutoRepository produtoRepository;
+
+    // Pesos: nome, categoria (, descrição)
+    private final IndiceTexto restaurantes = new IndiceTexto(3.0, 1.5);
+    private final IndiceTexto produtos = new IndiceTexto(3.0, 1.5, 1.0);
+    // Restaurante de cada produto indexado: produtos removidos em outra instância não aparecem na
+    // releitura do restaurante e precisam ser encontrados por aqui
+    private final Map<Long, Long> restauranteDoProduto = new ConcurrentHashMap<>();
+
+    public CatalogoBusca(RestauranteRepository restauranteRepository,
+                         ProdutoRepository produtoRepository,
+                         MeterRegistry meterRegistry) {
+        this.restauranteRepository = restauranteRepository;
+        this.produtoRepository = produtoRepository;
+
+        Gauge.builder("busca.indice.tamanho", restaurantes, IndiceTexto::tamanho)
+                .tag("tipo", "restaurante")
+                .description("Documentos no índice de busca textual")
+                .register(meterRegistry);
+        Gauge.builder("busca.indice.tamanho", produtos, IndiceTexto::tamanho)
+                .tag("tipo", "produto")
+                .description("Documentos no índice de busca textual")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        try {
+            List<TextoIndexado> textosRestaurantes = restauranteRepository.buscarTextosAtivos();
+            textosRestaurantes.forEach(t -> restaurantes.atualizar(t.id(), t.nome(), t.categoria()));
+            List<TextoIndexado> textosProdutos = produtoRepository.buscarTextosDisponiveis();
+            textosProdutos.forEach(this::indexarProduto);
+            logger.info("Índice de busca carregado: {} restaurantes, {} produtos", textosRestaurantes.size(), textosProdutos.size());
+        } catch (Exception e) {
+            logger.warn("Não foi possível carregar o índice de busca: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reflete o estado atual do restaurante no índice: entra se estiver ativo.
+     */
+    public void indexar(Restaurante restaurante) {
+        if (Boolean.TRUE.equals(restaurante.getAtivo())) {
+            restaurantes.atualizar(restaurante.getId(), restaurante.getNome(), restaurante.getCategoria());
+        } else {
+            restaurantes.remover(restaurante.getId());
+        }
+    }
+
+    public void removerRestaurante(Long restauranteId) {
+        restaurantes.remover(restauranteId);
+    }
+
+    /**
+     * Reflete o estado atual do produto no índice: entra se estiver disponível.
+     */
+    public void indexar(Produto produto) {
+        if (Boolean.TRUE.equals(produto.getDisponivel())) {
+            indexarProduto(new TextoIndexado(produto.getId(), produto.getNome(), produto.getCategoria(), produto.getDescricao(),
+                    produto.getRestaurante() != null ? produto.getRestaurante().getId() : null));
+        } else {
+            removerProduto(produto.getId());
+        }
+    }
+
+    public void removerProduto(Long produtoId) {
+        produtos.remover(produtoId);
+        restauranteDoProduto.remove(produtoId);
+    }
+
+    /**
+     * Relê o restaurante e seus produtos disponíveis no banco (alterados ou removidos por outra
+     * instância); produtos do restaurante que não estão mais disponíveis saem do índice.
+     */
+    public void recarregarRestaurante(Long restauranteId) {
+        restauranteRepository.buscarTextoAtivo(restauranteId).ifPresentOrElse(
+                t -> restaurantes.atualizar(t.id(), t.nome(), t.categoria()),
+                () -> restaurantes.remover(restauranteId));
+
+        List<TextoIndexado> disponiveis = produtoRepository.buscarTextosDisponiveisPorRestaurante(restauranteId);
+        Set<Long> ids = disponiveis.stream().map(TextoIndexado::id).collect(Collectors.toSet());
+        restauranteDoProduto.forEach((produtoId, restaurante) -> {
+            if (restaurante.equals(restauranteId) && !ids.contains(produtoId)) {
+                produtos.remover(produtoId);
+                restauranteDoProduto.remove(produtoId, restaurante);
+            }
+        });
+        disponiveis.forEach(this::indexarProduto);
+    }
+
+    private void indexarProduto(TextoIndexado texto) {
+        produtos.atualizar(texto.id(), texto.nome(), texto.categoria(), texto.descricao());
+        if (texto.restauranteId() != null) {
+            restauranteDoProduto.put(texto.id(), texto.restauranteId());
+        }
+    }
+
+    public List<Resultado> buscarRestaurantes(String consulta, RelevanciaCursor depois, int limite) {
+        return buscar(restaurantes, consulta, depois, limite);
+    }
+
+    public List<Resultado> buscarProdutos(String consulta, RelevanciaCursor depois, int limite) {
+        return buscar(produtos, consulta, depois, limite);
+    }
+
+    private static List<Resultado> buscar(IndiceTexto indice, String consulta, RelevanciaCursor depois, int limite) {
+        return indice.buscar(consulta,
+                depois != null ? depois.relevancia() : Double.POSITIVE_INFINITY,
+                depois != null ? depois.id() : Long.MIN_VALUE,
+                limite);
+    }
+}
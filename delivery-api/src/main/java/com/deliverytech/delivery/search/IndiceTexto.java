@@ -0,0 +1,242 @@
+package com.deliverytech.delivery.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice invertido em memória, com campos de pesos diferentes (ex.: nome pesa mais que descrição)
+ * e resultados ordenados por relevância.
+ *
+ * Dois níveis: cada termo distinto do vocabulário aponta para os documentos que o contêm (com a
+ * máscara dos campos em que aparece), e cada trigrama aponta para os termos do vocabulário que o
+ * contêm. Um termo da consulta é casado primeiro contra o vocabulário — igual, prefixo, trecho ou,
+ * com 4 letras ou mais, parecido (erro de digitação) —, uma vez só, e depois expandido para os
+ * documentos. Só entram no resultado os documentos que casam com todos os termos da consulta; a
+ * relevância soma, por termo, a qualidade do casamento vezes o peso do melhor campo.
+ *
+ * As escritas são serializadas; as buscas não usam lock e, durante uma escrita, podem ver parte dos
+ * termos antigos e parte dos novos do documento sendo alterado.
+ */
+public class IndiceTexto {
+
+    private static final double CANDIDATO_MINIMO = 0.5;
+    private static final double SEMELHANCA_MINIMA = 0.6;
+
+    private static final double IGUAL = 1.0;
+    private static final double PREFIXO = 0.8;
+    private static final double TRECHO = 0.6;
+    private static final double PARECIDO = 0.5;
+
+    // Pior resultado no topo do heap: sai primeiro quando chega um melhor
+    private static final Comparator<Resultado> PIOR_PRIMEIRO =
+            Comparator.comparingDouble(Resultado::relevancia).thenComparing(Resultado::id, Comparator.reverseOrder());
+
+    // Maior peso entre os campos de cada máscara
+    private final double[] pesoPorMascara;
+    private final int campos;
+
+    private final ConcurrentHashMap<String, Map<Long, Integer>> documentosPorTermo = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<String>> termosPorTrigrama = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Map<String, Integer>> termosPorDocumento = new ConcurrentHashMap<>();
+
+    /**
+     * @param pesos peso de cada campo, na ordem em que os campos são passados a atualizar (até 16)
+     */
+    public IndiceTexto(double... pesos) {
+        if (pesos.length == 0 || pesos.length > 16) {
+            throw new IllegalArgumentException("Entre 1 e 16 campos");
+        }
+        this.campos = pesos.length;
+        this.pesoPorMascara = new double[1 << pesos.length];
+        for (int mascara = 1; mascara < pesoPorMascara.length; mascara++) {
+            for (int campo = 0; campo < pesos.length; campo++) {
+                if ((mascara & (1 << campo)) != 0) {
+                    pesoPorMascara[mascara] = Math.max(pesoPorMascara[mascara], pesos[campo]);
+                }
+            }
+        }
+    }
+
+    public synchronized void atualizar(long id, String... textos) {
+        if (textos.length != campos) {
+            throw new IllegalArgumentException("Esperados " + campos + " campos, recebidos " + textos.length);
+        }
+        Map<String, Integer> novos = new LinkedHashMap<>();
+        for (int campo = 0; campo < textos.length; campo++) {
+            int bit = 1 << campo;
+            for (String termo : Texto.termos(textos[campo])) {
+                novos.merge(termo, bit, (a, b) -> a | b);
+            }
+        }
+
+        Map<String, Integer> anteriores = termosPorDocumento.put(id, novos);
+        if (anteriores != null) {
+            anteriores.keySet().stream()
+                    .filter(termo -> !novos.containsKey(termo))
+                    .forEach(termo -> desindexar(termo, id));
+        }
+        novos.forEach((termo, mascara) -> documentosPorTermo.computeIfAbsent(termo, this::novoTermo).put(id, mascara));
+    }
+
+    public synchronized void remover(long id) {
+        Map<String, Integer> anteriores = termosPorDocumento.remove(id);
+        if (anteriores != null) {
+            anteriores.keySet().forEach(termo -> desindexar(termo, id));
+        }
+    }
+
+    private Map<Long, Integer> novoTermo(String termo) {
+        for (String trigrama : Texto.trigramas(termo, true)) {
+            termosPorTrigrama.computeIfAbsent(trigrama, t -> ConcurrentHashMap.newKeySet()).add(termo);
+        }
+        return new ConcurrentHashMap<>();
+    }
+
+    private void desindexar(String termo, long id) {
+        Map<Long, Integer> documentos = documentosPorTermo.get(termo);
+        if (documentos == null) {
+            return;
+        }
+        documentos.remove(id);
+        if (documentos.isEmpty()) {
+            documentosPorTermo.remove(termo);
+            for (String trigrama : Texto.trigramas(termo, true)) {
+                Set<String> termos = termosPorTrigrama.get(trigrama);
+                if (termos != null) {
+                    termos.remove(termo);
+                    if (termos.isEmpty()) {
+                        termosPorTrigrama.remove(trigrama);
+                    }
+                }
+            }
+        }
+    }
+
+    public int tamanho() {
+        return termosPorDocumento.size();
+    }
+
+    /**
+     * Até limite resultados por relevância decrescente (empate: id crescente), começando depois
+     * de (depoisRelevancia, depoisId), a última posição da página anterior.
+     */
+    public List<Resultado> buscar(String consulta, double depoisRelevancia, long depoisId, int limite) {
+        List<String> termos = Texto.termosDaConsulta(consulta);
+        if (termos.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        List<Map<Long, Double>> relevanciaPorTermo = new ArrayList<>(termos.size());
+        for (String termo : termos) {
+            Map<Long, Double> documentos = documentosDoTermo(termo);
+            if (documentos.isEmpty()) {
+                return List.of();
+            }
+            relevanciaPorTermo.add(documentos);
+        }
+        // Percorre só o menor conjunto; os dos outros termos servem de filtro
+        Map<Long, Double> menor = relevanciaPorTermo.stream().min(Comparator.comparingInt(Map::size)).orElseThrow();
+
+        PriorityQueue<Resultado> melhores = new PriorityQueue<>(limite + 1, PIOR_PRIMEIRO);
+        for (Long id : menor.keySet()) {
+            double relevancia = 0;
+            for (Map<Long, Double> documentos : relevanciaPorTermo) {
+                Double doTermo = documentos.get(id);
+                if (doTermo == null) {
+                    relevancia = 0;
+                    break;
+                }
+                relevancia += doTermo;
+            }
+            if (relevancia <= 0 || !depois(relevancia, id, depoisRelevancia, depoisId)) {
+                continue;
+            }
+            Resultado resultado = new Resultado(id, relevancia);
+            if (melhores.size() < limite) {
+                melhores.add(resultado);
+            } else if (PIOR_PRIMEIRO.compare(resultado, melhores.peek()) > 0) {
+                melhores.poll();
+                melhores.add(resultado);
+            }
+        }
+
+        List<Resultado> ordenados = new ArrayList<>(melhores);
+        ordenados.sort(PIOR_PRIMEIRO.reversed());
+        return ordenados;
+    }
+
+    private static boolean depois(double relevancia, long id, double depoisRelevancia, long depoisId) {
+        return relevancia < depoisRelevancia || (relevancia == depoisRelevancia && id > depoisId);
+    }
+
+    /**
+     * Melhor relevância de cada documento para um termo da consulta, entre os termos do vocabulário que casam com ele.
+     */
+    private Map<Long, Double> documentosDoTermo(String termo) {
+        Map<Long, Double> relevancias = new HashMap<>();
+        for (Map.Entry<String, Double> casamento : termosParecidos(termo).entrySet()) {
+            Map<Long, Integer> documentos = documentosPorTermo.get(casamento.getKey());
+            if (documentos == null) {
+                continue;
+            }
+            double qualidade = casamento.getValue();
+            documentos.forEach((id, mascara) ->
+                    relevancias.merge(id, qualidade * pesoPorMascara[mascara], Math::max));
+        }
+        return relevancias;
+    }
+
+    /**
+     * Termos do vocabulário que casam com o da consulta, com a qualidade do casamento.
+     */
+    private Map<String, Double> termosParecidos(String termo) {
+        Set<String> trigramas = Texto.trigramas(termo, false);
+        Map<String, Integer> contagem = new HashMap<>();
+        for (String trigrama : trigramas) {
+            Set<String> termos = termosPorTrigrama.get(trigrama);
+            if (termos != null) {
+                for (String candidato : termos) {
+                    contagem.merge(candidato, 1, Integer::sum);
+                }
+            }
+        }
+        int minimo = (int) Math.ceil(trigramas.size() * CANDIDATO_MINIMO);
+        Map<String, Double> parecidos = new HashMap<>();
+        contagem.forEach((candidato, quantidade) -> {
+            if (quantidade >= minimo) {
+                double qualidade = qualidade(termo, candidato);
+                if (qualidade > 0) {
+                    parecidos.put(candidato, qualidade);
+                }
+            }
+        });
+        return parecidos;
+    }
+
+    static double qualidade(String termo, String termoDocumento) {
+        if (termoDocumento.equals(termo)) {
+            return IGUAL;
+        }
+        if (termoDocumento.startsWith(termo)) {
+            return PREFIXO;
+        }
+        if (termoDocumento.contains(termo)) {
+            return TRECHO;
+        }
+        if (termo.length() < 4) {
+            return 0;
+        }
+        Set<String> daConsulta = Texto.trigramas(termo, false);
+        Set<String> doDocumento = Texto.trigramas(termoDocumento, true);
+        long comuns = daConsulta.stream().filter(doDocumento::contains).count();
+        double semelhanca = (double) comuns / Math.max(daConsulta.size(), doDocumento.size() - 1);
+        return semelhanca >= SEMELHANCA_MINIMA ? PARECIDO * semelhanca : 0;
+    }
+}
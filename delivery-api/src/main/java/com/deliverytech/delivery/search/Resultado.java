@@ -0,0 +1,7 @@
+package com.deliverytech.delivery.search;
+
+/**
+ * Documento encontrado numa busca textual, com a relevância calculada pelo índice.
+ */
+public record Resultado(long id, double relevancia) {
+}
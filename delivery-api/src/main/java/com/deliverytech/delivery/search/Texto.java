@@ -0,0 +1,71 @@
+package com.deliverytech.delivery.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalização de texto para a busca: minúsculas, sem acentos ("Feijão" e "feijao" são o mesmo
+ * termo), só letras e dígitos. Os termos viram trigramas com duas posições de início e uma de fim,
+ * o que permite casar prefixos, trechos do meio e pequenos erros de digitação.
+ */
+public final class Texto {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Artigos, preposições e conjunções que não ajudam a distinguir resultados
+    private static final Set<String> PALAVRAS_VAZIAS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos", "com", "sem", "em", "na", "no",
+            "nas", "nos", "para", "por", "um", "uma", "ao");
+
+    private static final String INICIO = "  ";
+    private static final String FIM = " ";
+
+    private Texto() {}
+
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String semAcentos = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    /**
+     * Termos distintos do texto, na ordem em que aparecem.
+     */
+    public static List<String> termos(String texto) {
+        String normalizado = normalizar(texto);
+        if (normalizado.isEmpty()) {
+            return List.of();
+        }
+        return new ArrayList<>(new LinkedHashSet<>(List.of(normalizado.split(" "))));
+    }
+
+    /**
+     * Termos de uma consulta: sem as palavras vazias, a não ser que a consulta só tenha delas.
+     */
+    public static List<String> termosDaConsulta(String consulta) {
+        List<String> termos = termos(consulta);
+        List<String> significativos = termos.stream().filter(termo -> !PALAVRAS_VAZIAS.contains(termo)).toList();
+        return significativos.isEmpty() ? termos : significativos;
+    }
+
+    /**
+     * Trigramas do termo. Os do texto indexado têm a marca de fim; os da consulta não, para que
+     * um termo incompleto case como prefixo.
+     */
+    public static Set<String> trigramas(String termo, boolean comFim) {
+        String marcado = INICIO + termo + (comFim ? FIM : "");
+        Set<String> trigramas = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= marcado.length(); i++) {
+            trigramas.add(marcado.substring(i, i + 3));
+        }
+        return trigramas;
+    }
+}
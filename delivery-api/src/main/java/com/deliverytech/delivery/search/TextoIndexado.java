@@ -0,0 +1,12 @@
+package com.deliverytech.delivery.search;
+
+/**
+ * Campos de texto de um restaurante (sem descrição nem restauranteId) ou produto, lidos na carga do
+ * índice de busca.
+ */
+public record TextoIndexado(Long id, String nome, String categoria, String descricao, Long restauranteId) {
+
+    public TextoIndexado(Long id, String nome, String categoria) {
+        this(id, nome, categoria, null, null);
+    }
+}
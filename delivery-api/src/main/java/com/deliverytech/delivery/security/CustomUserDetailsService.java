@@ -2,21 +2,37 @@ package com.deliverytech.delivery.security;
 
 
 import com.deliverytech.delivery.repository.UsuarioRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UsuarioRepository usuarioRepository;
 
-    public CustomUserDetailsService(UsuarioRepository usuarioRepository) {
+    // Cache curto de principals para que requisições autenticadas não consultem o banco a cada chamada.
+    // A API não altera papel, senha nem status de usuários já cadastrados; uma mudança feita direto
+    // no banco vale para os tokens em uso depois de no máximo jwt.principal-cache.ttl
+    private final Cache<String, UserDetails> principais;
+
+    public CustomUserDetailsService(UsuarioRepository usuarioRepository,
+                                    @Value("${jwt.principal-cache.ttl:30s}") Duration ttl,
+                                    @Value("${jwt.principal-cache.maximum-size:10000}") long tamanhoMaximo) {
         this.usuarioRepository = usuarioRepository;
+        this.principais = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(tamanhoMaximo)
+                .build();
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return usuarioRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com email: " + email));
+        return principais.get(email, e -> usuarioRepository.findByEmail(e)
+                .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado com email: " + e)));
     }
 }
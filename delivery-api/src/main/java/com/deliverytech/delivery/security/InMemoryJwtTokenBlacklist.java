@@ -0,0 +1,64 @@
+package com.deliverytech.delivery.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blacklist local indexada pelo hash do token.
+ *
+ * A expiração usa a roda de tempo (timer wheel) do Caffeine: cada entrada sai no "exp" do token
+ * sem agendar uma tarefa por logout.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.blacklist.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryJwtTokenBlacklist implements JwtTokenBlacklist {
+
+    private final Cache<String, Instant> revogados;
+
+    public InMemoryJwtTokenBlacklist(@Value("${jwt.blacklist.maximum-size:1000000}") long tamanhoMaximo) {
+        this.revogados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new ExpiraNoInstante())
+                .scheduler(Scheduler.systemScheduler())
+                .build();
+    }
+
+    @Override
+    public void add(String token, Instant expiration) {
+        if (expiration.isAfter(Instant.now())) {
+            revogados.put(TokenHash.sha256(token), expiration);
+        }
+    }
+
+    @Override
+    public boolean isBlacklisted(String token) {
+        return revogados.getIfPresent(TokenHash.sha256(token)) != null;
+    }
+
+    private static class ExpiraNoInstante implements Expiry<String, Instant> {
+
+        @Override
+        public long expireAfterCreate(String chave, Instant expiracao, long currentTime) {
+            long restanteMs = expiracao.toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, restanteMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, Instant expiracao, long currentTime, long currentDuration) {
+            return expireAfterCreate(chave, expiracao, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String chave, Instant expiracao, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
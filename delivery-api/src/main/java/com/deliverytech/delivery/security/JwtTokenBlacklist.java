@@ -1,25 +1,16 @@
 package com.deliverytech.delivery.security;
 
 import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.*;
 
-import org.springframework.stereotype.Component;
+/**
+ * Armazena os tokens revogados (logout) até a expiração deles.
+ *
+ * Implementações: {@link InMemoryJwtTokenBlacklist} (uma instância) e
+ * {@link RedisJwtTokenBlacklist} (compartilhada entre réplicas), escolhidas por {@code jwt.blacklist.store}.
+ */
+public interface JwtTokenBlacklist {
 
-@Component
-public class JwtTokenBlacklist {
+    void add(String token, Instant expiration);
 
-    private final Map<String, Instant> blacklist = new ConcurrentHashMap<>();
-    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
-
-    public void add(String token, Instant expiration) {
-        blacklist.put(token, expiration);
-        long delay = expiration.getEpochSecond() - Instant.now().getEpochSecond();
-        scheduler.schedule(() -> blacklist.remove(token), delay, TimeUnit.SECONDS);
-    }
-
-    public boolean isBlacklisted(String token) {
-        return blacklist.containsKey(token);
-    }
+    boolean isBlacklisted(String token);
 }
-
@@ -1,6 +1,9 @@
 package com.deliverytech.delivery.security;
 
 import com.deliverytech.delivery.entity.Usuario;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,22 +13,33 @@ import org.springframework.stereotype.Component;
 import java.security.Key;
 import java.time.Instant;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final long expiration; // em milissegundos
 
-    @Value("${jwt.expiration}")
-    private long expiration; // em milissegundos
+    // Chave e parser são imutáveis e thread-safe: criados uma única vez
+    private final Key signingKey;
+    private final JwtParser parser;
 
-    /**
-     * Gera a chave de assinatura com base na chave secreta
-     */
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // Claims de tokens já verificados, indexados pelo hash do token e expirando no "exp" do próprio token
+    private final Cache<String, Claims> tokensVerificados;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") long expiration,
+                   @Value("${jwt.cache.maximum-size:10000}") long tamanhoMaximoCache) {
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximoCache)
+                .expireAfter(new ExpiraNoExp())
+                .build();
     }
 
     /**
@@ -43,7 +57,7 @@ public class JwtUtil {
                 .claim("restauranteId", usuario.getRestauranteId())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -93,13 +107,43 @@ public class JwtUtil {
     }
 
     /**
-     * Faz o parsing e validação da assinatura do token
+     * Retorna as claims do token, verificando assinatura e expiração apenas na primeira vez.
+     * Lança JwtException se o token for inválido ou estiver expirado.
+     */
+    public Claims parseClaims(String token) {
+        String chave = TokenHash.sha256(token);
+        Claims claims = tokensVerificados.getIfPresent(chave);
+        if (claims != null) {
+            return claims;
+        }
+        claims = parser.parseClaimsJws(token).getBody();
+        tokensVerificados.put(chave, claims);
+        return claims;
+    }
+
+    /**
+     * Remove a entrada do cache no instante de expiração do token.
      */
-    private Claims parseClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static class ExpiraNoExp implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String chave, Claims claims, long currentTime) {
+            Date exp = claims.getExpiration();
+            if (exp == null) {
+                return 0;
+            }
+            long restanteMs = exp.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, restanteMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String chave, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,141 @@
+package com.deliverytech.delivery.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blacklist compartilhada entre réplicas, guardada no Redis com TTL até a expiração do token.
+ *
+ * Cada instância mantém um bloom filter local com os hashes revogados: a verificação comum
+ * (token não revogado) é respondida sem ir ao Redis. Só os positivos do bloom consultam o Redis.
+ * O filtro é alimentado pelo canal de revogação e reconstruído periodicamente a partir das chaves
+ * existentes, o que também descarta hashes já expirados.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.blacklist.store", havingValue = "redis")
+public class RedisJwtTokenBlacklist implements JwtTokenBlacklist, MessageListener {
+
+    public static final String CANAL = "delivery-api::jwt-revogado";
+    static final String PREFIXO = "delivery-api::jwt-revogado::";
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisJwtTokenBlacklist.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long insercoesEsperadas;
+    private final double taxaFalsoPositivo;
+    private final Duration intervaloReconstrucao;
+
+    private final ScheduledExecutorService reconstrucao = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "jwt-blacklist-bloom");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile TokenBloomFilter filtro;
+    // Filtro em construção: recebe também as revogações que chegam durante a reconstrução
+    private volatile TokenBloomFilter filtroEmConstrucao;
+
+    public RedisJwtTokenBlacklist(StringRedisTemplate redisTemplate,
+                                  @Value("${jwt.blacklist.bloom.expected-insertions:100000}") long insercoesEsperadas,
+                                  @Value("${jwt.blacklist.bloom.false-positive-rate:0.01}") double taxaFalsoPositivo,
+                                  @Value("${jwt.blacklist.bloom.rebuild-interval:10m}") Duration intervaloReconstrucao) {
+        this.redisTemplate = redisTemplate;
+        this.insercoesEsperadas = insercoesEsperadas;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.intervaloReconstrucao = intervaloReconstrucao;
+        this.filtro = new TokenBloomFilter(insercoesEsperadas, taxaFalsoPositivo);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        // Primeira carga síncrona para não aceitar tokens já revogados logo após a inicialização
+        reconstruirFiltro();
+        long intervalo = intervaloReconstrucao.toMillis();
+        reconstrucao.scheduleWithFixedDelay(this::reconstruirFiltro, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        reconstrucao.shutdownNow();
+    }
+
+    @Override
+    public void add(String token, Instant expiration) {
+        Duration ttl = Duration.between(Instant.now(), expiration);
+        if (ttl.isNegative() || ttl.isZero()) {
+            return;
+        }
+        String hash = TokenHash.sha256(token);
+        // Grava antes de marcar: uma reconstrução iniciada depois daqui já encontra a chave no SCAN
+        redisTemplate.opsForValue().set(PREFIXO + hash, "1", ttl);
+        marcar(hash);
+        redisTemplate.convertAndSend(CANAL, hash);
+    }
+
+    @Override
+    public boolean isBlacklisted(String token) {
+        String hash = TokenHash.sha256(token);
+        if (!filtro.talvezContenha(hash)) {
+            return false;
+        }
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(PREFIXO + hash));
+        } catch (Exception e) {
+            // Sem Redis não dá para descartar o falso positivo: trata como revogado
+            logger.warn("Falha ao consultar blacklist no Redis: {}", e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Revogação feita em outra instância.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        marcar(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void marcar(String hash) {
+        TokenBloomFilter atual = filtro;
+        atual.adicionar(hash);
+        TokenBloomFilter emConstrucao = filtroEmConstrucao;
+        if (emConstrucao != null) {
+            emConstrucao.adicionar(hash);
+        }
+        // O filtro pode ter sido trocado no meio do caminho
+        TokenBloomFilter depois = filtro;
+        if (depois != atual) {
+            depois.adicionar(hash);
+        }
+    }
+
+    void reconstruirFiltro() {
+        TokenBloomFilter novo = new TokenBloomFilter(insercoesEsperadas, taxaFalsoPositivo);
+        filtroEmConstrucao = novo;
+        try (Cursor<String> chaves = redisTemplate.scan(ScanOptions.scanOptions().match(PREFIXO + "*").count(1000).build())) {
+            chaves.forEachRemaining(chave -> novo.adicionar(chave.substring(PREFIXO.length())));
+            filtro = novo;
+        } catch (Exception e) {
+            logger.warn("Falha ao reconstruir bloom filter da blacklist: {}", e.getMessage());
+        } finally {
+            filtroEmConstrucao = null;
+        }
+    }
+}
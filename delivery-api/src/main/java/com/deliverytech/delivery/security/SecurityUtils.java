@@ -1,7 +1,6 @@
 package com.deliverytech.delivery.security;
 
 import com.deliverytech.delivery.entity.Usuario;
-import com.deliverytech.delivery.repository.UsuarioRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -11,11 +10,11 @@ import java.util.Collection;
 
 public class SecurityUtils {
 
-    private static UsuarioRepository usuarioRepository;
+    private static UsuarioLogadoContexto usuarioLogadoContexto;
 
-    // Método para injetar o repository (ex: via config ou setter)
-    public static void setUsuarioRepository(UsuarioRepository repo) {
-        usuarioRepository = repo;
+    // Método para injetar o contexto do usuário logado (ex: via config ou setter)
+    public static void setUsuarioLogadoContexto(UsuarioLogadoContexto contexto) {
+        usuarioLogadoContexto = contexto;
     }
 
     /**
@@ -27,7 +26,7 @@ public class SecurityUtils {
         if (email == null) {
             throw new RuntimeException("Usuário não autenticado");
         }
-        return usuarioRepository.findByEmail(email)
+        return usuarioLogadoContexto.getUsuario()
                 .orElseThrow(() -> new EntityNotFoundException("Usuário logado não encontrado"));
     }
 
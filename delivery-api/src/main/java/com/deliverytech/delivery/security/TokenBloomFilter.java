@@ -0,0 +1,53 @@
+package com.deliverytech.delivery.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter sem locks sobre hashes SHA-256 (hex) de tokens.
+ *
+ * Sem falsos negativos: se {@link #talvezContenha} retorna false o token com certeza não foi adicionado.
+ * Os índices são derivados dos primeiros 128 bits do hash (técnica de Kirsch-Mitzenmacher).
+ */
+public class TokenBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long totalBits;
+    private final int funcoesHash;
+
+    public TokenBloomFilter(long insercoesEsperadas, double taxaFalsoPositivo) {
+        long n = Math.max(1, insercoesEsperadas);
+        long m = (long) Math.ceil(-n * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        this.totalBits = Math.max(64, m);
+        this.funcoesHash = Math.max(1, (int) Math.round((double) totalBits / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((totalBits + 63) / 64));
+    }
+
+    public void adicionar(String hashHex) {
+        long h1 = Long.parseUnsignedLong(hashHex.substring(0, 16), 16);
+        long h2 = Long.parseUnsignedLong(hashHex.substring(16, 32), 16);
+        for (int i = 0; i < funcoesHash; i++) {
+            long indice = Long.remainderUnsigned(h1 + i * h2, totalBits);
+            int palavra = (int) (indice >>> 6);
+            long mascara = 1L << (indice & 63);
+            long atual;
+            do {
+                atual = bits.get(palavra);
+                if ((atual & mascara) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(palavra, atual, atual | mascara));
+        }
+    }
+
+    public boolean talvezContenha(String hashHex) {
+        long h1 = Long.parseUnsignedLong(hashHex.substring(0, 16), 16);
+        long h2 = Long.parseUnsignedLong(hashHex.substring(16, 32), 16);
+        for (int i = 0; i < funcoesHash; i++) {
+            long indice = Long.remainderUnsigned(h1 + i * h2, totalBits);
+            if ((bits.get((int) (indice >>> 6)) & (1L << (indice & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,54 @@
+package com.deliverytech.delivery.security;
+
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.repository.UsuarioRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Resolve o usuário logado uma única vez por requisição.
+ *
+ * Com JWT o principal já é o Usuario montado pelo JwtAuthenticationFilter (a partir do subject do
+ * token, com cache no CustomUserDetailsService) e é devolvido sem consulta. Para outros principais
+ * (ex.: só o email) a busca por email é feita uma vez e guardada como atributo da requisição,
+ * compartilhada entre a checagem de permissão e a regra de negócio. Fora de uma requisição HTTP
+ * (jobs, testes) a busca é feita a cada chamada.
+ */
+@Component
+@RequiredArgsConstructor
+public class UsuarioLogadoContexto {
+
+    static final String ATRIBUTO = UsuarioLogadoContexto.class.getName() + ".usuario";
+
+    private final UsuarioRepository usuarioRepository;
+
+    public Optional<Usuario> getUsuario() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return Optional.empty();
+        }
+        if (authentication.getPrincipal() instanceof Usuario usuario) {
+            return Optional.of(usuario);
+        }
+
+        String email = authentication.getName();
+        RequestAttributes requisicao = RequestContextHolder.getRequestAttributes();
+        if (requisicao != null
+                && requisicao.getAttribute(ATRIBUTO, RequestAttributes.SCOPE_REQUEST) instanceof Usuario usuario
+                && email.equals(usuario.getEmail())) {
+            return Optional.of(usuario);
+        }
+
+        Optional<Usuario> usuario = usuarioRepository.findByEmail(email);
+        if (requisicao != null) {
+            usuario.ifPresent(u -> requisicao.setAttribute(ATRIBUTO, u, RequestAttributes.SCOPE_REQUEST));
+        }
+        return usuario;
+    }
+}
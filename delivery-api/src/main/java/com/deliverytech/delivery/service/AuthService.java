@@ -1,17 +1,18 @@
 package com.deliverytech.delivery.service;
 
 import com.deliverytech.delivery.entity.Usuario;
-import org.springframework.security.core.context.SecurityContextHolder;
+import com.deliverytech.delivery.security.UsuarioLogadoContexto;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 @Service
+@RequiredArgsConstructor
 public class AuthService {
 
+    private final UsuarioLogadoContexto usuarioLogadoContexto;
+
     public Usuario getUsuarioAutenticado() {
-        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-        if (principal instanceof Usuario usuario) {
-            return usuario;
-        }
-        throw new RuntimeException("Usuário não autenticado");
+        return usuarioLogadoContexto.getUsuario()
+                .orElseThrow(() -> new RuntimeException("Usuário não autenticado"));
     }
 }
@@ -2,6 +2,7 @@ package com.deliverytech.delivery.service;
 
 import com.deliverytech.delivery.dto.request.ClienteRequest;
 import com.deliverytech.delivery.entity.Cliente;
+import com.deliverytech.delivery.streaming.Transmissao;
 
 import java.util.List;
 
@@ -30,4 +31,6 @@ public interface ClienteService {
     Cliente ativarCliente(Long id);
 
     List<Cliente> listarTodosClientes();
+
+    Transmissao<Cliente> transmitirTodosClientes();
 }
@@ -3,7 +3,9 @@ package com.deliverytech.delivery.service;
 import com.deliverytech.delivery.dto.request.ItemPedidoRequest;
 import com.deliverytech.delivery.dto.request.PedidoRequest;
 import com.deliverytech.delivery.dto.response.PedidoResponse;
+import com.deliverytech.delivery.dto.response.common.CursorPage;
 import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.streaming.Transmissao;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,7 +17,15 @@ public interface PedidoService {
 
     PedidoResponse buscarPedidoPorId(Long id);
 
-    List<PedidoResponse> buscarPedidosPorCliente(Long clienteId);
+    StatusPedido buscarStatusPedido(Long id);
+
+    CursorPage<PedidoResponse> buscarPedidosPorCliente(Long clienteId, String cursor, int size);
+
+    /**
+     * Todos os pedidos do cliente, sem paginação: primeiro os da tabela quente, depois os arquivados,
+     * cada grupo do mais recente para o mais antigo.
+     */
+    Transmissao<PedidoResponse> transmitirPedidosPorCliente(Long clienteId);
 
     PedidoResponse atualizarStatusPedido(Long id, StatusPedido status);
 
@@ -25,7 +35,12 @@ public interface PedidoService {
 
     List<PedidoResponse> buscarPedidosPorRestaurante(Long restauranteId);
 
-    List<PedidoResponse> listarPedidosComFiltro(StatusPedido status, LocalDateTime dataInicio, LocalDateTime dataFim);
+    Transmissao<PedidoResponse> transmitirPedidosPorRestaurante(Long restauranteId);
+
+    CursorPage<PedidoResponse> listarPedidosComFiltro(StatusPedido status, LocalDateTime dataInicio, LocalDateTime dataFim,
+                                                      String cursor, int size);
 
     boolean canAccess(Long pedidoId);
+
+    void validarAcessoRestaurante(Long restauranteId);
 }
@@ -2,6 +2,7 @@ package com.deliverytech.delivery.service;
 
 import com.deliverytech.delivery.dto.request.ProdutoRequest;
 import com.deliverytech.delivery.dto.response.ProdutoResponse;
+import com.deliverytech.delivery.dto.response.common.CursorPage;
 
 
 import java.util.List;
@@ -23,7 +24,11 @@ public interface ProdutoService {
 
     ProdutoResponse removerProduto(Long id);
 
-    List<ProdutoResponse> buscarProdutosPorNome(String nome);
+    /**
+     * Produtos disponíveis cujo nome, categoria ou descrição casam com os termos (sem acento, por
+     * prefixo ou aproximado), do mais relevante para o menos, paginados por cursor.
+     */
+    CursorPage<ProdutoResponse> buscarProdutos(String termos, String cursor, int size);
 
     boolean isOwner(Long produtoId);
 
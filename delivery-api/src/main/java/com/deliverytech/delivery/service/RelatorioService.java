@@ -1,17 +1,27 @@
 package com.deliverytech.delivery.service;
 
 import com.deliverytech.delivery.dto.response.*;
+import com.deliverytech.delivery.entity.Pedido;
 
 import java.time.LocalDate;
 import java.util.List;
 
 public interface RelatorioService {
 
-    List<RelatorioVendaPorRestauranteResponse> obterVendasPorRestaurante();
+    /**
+     * Os relatórios leem as tabelas de resumo diário; datas nulas não limitam o período
+     * e limite nulo retorna todos os registros.
+     */
+    List<RelatorioVendaPorRestauranteResponse> obterVendasPorRestaurante(LocalDate dataInicio, LocalDate dataFim, Integer limite);
 
-    List<RelatorioProdutoMaisVendidoResponse> obterProdutosMaisVendidos();
+    List<RelatorioProdutoMaisVendidoResponse> obterProdutosMaisVendidos(LocalDate dataInicio, LocalDate dataFim, Integer limite);
 
-    List<RelatorioClienteAtivoResponse> obterClientesMaisAtivos();
+    List<RelatorioClienteAtivoResponse> obterClientesMaisAtivos(LocalDate dataInicio, LocalDate dataFim, Integer limite);
 
     RelatorioPedidosPorPeriodoResponse obterPedidosPorPeriodo(LocalDate dataInicio, LocalDate dataFim);
+
+    /**
+     * Soma um pedido que acabou de ser entregue às tabelas de resumo diário.
+     */
+    void registrarPedidoEntregue(Pedido pedido);
 }
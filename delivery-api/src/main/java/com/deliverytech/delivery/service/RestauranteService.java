@@ -5,6 +5,8 @@ import java.util.List;
 
 import com.deliverytech.delivery.dto.request.RestauranteRequest;
 import com.deliverytech.delivery.dto.response.RestauranteResponse;
+import com.deliverytech.delivery.dto.response.common.CursorPage;
+import com.deliverytech.delivery.menu.Cardapio;
 
 public interface RestauranteService {
     
@@ -24,7 +26,23 @@ public interface RestauranteService {
 
     RestauranteResponse alterarStatusRestaurante(Long id);
 
-    List<RestauranteResponse> buscarRestaurantesProximos(String cep);
+    /**
+     * Cardápio (restaurante + produtos disponíveis por categoria) já serializado em JSON, com a
+     * versão atual, usada como ETag.
+     */
+    Cardapio buscarCardapio(Long restauranteId);
+
+    /**
+     * Restaurantes ativos do mais próximo para o mais distante do CEP, paginados por cursor.
+     * Sem raioKm, retorna os mais próximos até o raio máximo configurado.
+     */
+    CursorPage<RestauranteResponse> buscarRestaurantesProximos(String cep, Double raioKm, String cursor, int size);
+
+    /**
+     * Restaurantes ativos cujo nome ou categoria casam com os termos (sem acento, por prefixo ou
+     * aproximado), do mais relevante para o menos, paginados por cursor.
+     */
+    CursorPage<RestauranteResponse> buscarRestaurantes(String termos, String cursor, int size);
 
     boolean isOwner(Long restauranteId);
 
@@ -1,6 +1,7 @@
 package com.deliverytech.delivery.service.impl;
 
 import java.util.List;
+import java.util.function.Function;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +18,8 @@ import com.deliverytech.delivery.exception.BusinessException;
 import com.deliverytech.delivery.exception.EntityNotFoundException;
 import com.deliverytech.delivery.repository.ClienteRepository;
 import com.deliverytech.delivery.service.ClienteService;
+import com.deliverytech.delivery.streaming.Transmissao;
+import com.deliverytech.delivery.streaming.TransmissaoJpa;
 
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
@@ -33,12 +36,14 @@ public class ClienteServiceImpl implements ClienteService {
 
     private final ClienteRepository clienteRepository;
     private final MeterRegistry meterRegistry;
+    private final TransmissaoJpa transmissaoJpa;
     private final Tracer tracer = GlobalOpenTelemetry.getTracer("delivery-api");
 
     @Autowired
-    public ClienteServiceImpl(ClienteRepository clienteRepository, MeterRegistry meterRegistry) {
+    public ClienteServiceImpl(ClienteRepository clienteRepository, MeterRegistry meterRegistry, TransmissaoJpa transmissaoJpa) {
         this.clienteRepository = clienteRepository;
         this.meterRegistry = meterRegistry;
+        this.transmissaoJpa = transmissaoJpa;
 
         if (this.meterRegistry != null) {
             Gauge.builder("clientes.ativos.total", this, ClienteServiceImpl::contarClientesAtivos)
@@ -50,6 +55,7 @@ public class ClienteServiceImpl implements ClienteService {
     public ClienteServiceImpl(ClienteRepository clienteRepository) {
         this.clienteRepository = clienteRepository;
         this.meterRegistry = null;
+        this.transmissaoJpa = null;
     }
 
     private String getCorrelationId() {
@@ -313,4 +319,10 @@ public class ClienteServiceImpl implements ClienteService {
             span.end();
         }
     }
+
+    @Override
+    public Transmissao<Cliente> transmitirTodosClientes() {
+        // A leitura acontece durante a escrita da resposta, em lotes e com memória constante
+        return transmissaoJpa.de(clienteRepository::streamTodos, Function.identity());
+    }
 }
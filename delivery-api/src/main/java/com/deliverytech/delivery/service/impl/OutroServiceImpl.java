@@ -1,6 +1,7 @@
 package com.deliverytech.delivery.service.impl;
 
 import com.deliverytech.delivery.service.OutroService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
@@ -8,13 +9,16 @@ import org.springframework.web.client.RestTemplate;
 public class OutroServiceImpl implements OutroService {
 
     private final RestTemplate restTemplate;
+    private final String url;
 
-    public OutroServiceImpl(RestTemplate restTemplate) {
+    public OutroServiceImpl(RestTemplate restTemplate,
+                            @Value("${outro-servico.url:http://outro-servico}") String url) {
         this.restTemplate = restTemplate;
+        this.url = url;
     }
 
     @Override
     public String chamaOutroServico() {
-        return restTemplate.getForObject("http://outro-servico/api/data", String.class);
+        return restTemplate.getForObject(url + "/api/data", String.class);
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,11 @@
 package com.deliverytech.delivery.service.impl;
 
+import com.deliverytech.delivery.archive.PedidoArquivamento;
 import com.deliverytech.delivery.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery.dto.request.PedidoCursor;
 import com.deliverytech.delivery.dto.request.PedidoRequest;
 import com.deliverytech.delivery.dto.response.PedidoResponse;
+import com.deliverytech.delivery.dto.response.common.CursorPage;
 import com.deliverytech.delivery.entity.*;
 import com.deliverytech.delivery.enums.StatusPedido;
 import com.deliverytech.delivery.exception.BusinessException;
@@ -10,23 +13,37 @@ import com.deliverytech.delivery.exception.EntityNotFoundException;
 import com.deliverytech.delivery.exception.TransactionException;
 import com.deliverytech.delivery.mapper.PedidoMapper;
 import com.deliverytech.delivery.metrics.PedidoMetrics;
+import com.deliverytech.delivery.money.Dinheiro;
+import com.deliverytech.delivery.outbox.OutboxService;
 import com.deliverytech.delivery.repository.*;
 import com.deliverytech.delivery.security.SecurityUtils;
 import com.deliverytech.delivery.service.PedidoService;
 import com.deliverytech.delivery.service.UsuarioService;
+import com.deliverytech.delivery.statemachine.PedidoStatusMaquina;
+import com.deliverytech.delivery.stock.StockReservationService;
+import com.deliverytech.delivery.streaming.Transmissao;
+import com.deliverytech.delivery.streaming.TransmissaoJpa;
 
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import io.micrometer.core.annotation.Timed;
 import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.Tracer;
@@ -39,6 +56,8 @@ public class PedidoServiceImpl implements PedidoService {
 
     private static final Logger logger = LoggerFactory.getLogger(PedidoServiceImpl.class);
 
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
     private final UsuarioService usuarioService;
     private final PedidoRepository pedidoRepository;
     private final ClienteRepository clienteRepository;
@@ -46,6 +65,12 @@ public class PedidoServiceImpl implements PedidoService {
     private final ProdutoRepository produtoRepository;
     private final PedidoMapper mapper;
     private final PedidoMetrics pedidoMetrics;
+    private final StockReservationService stockReservationService;
+    private final OutboxService outboxService;
+    private final PedidoArquivadoRepository pedidoArquivadoRepository;
+    private final PedidoArquivamento pedidoArquivamento;
+    private final TransmissaoJpa transmissaoJpa;
+    private final PedidoStatusMaquina pedidoStatusMaquina;
 
     // OpenTelemetry Tracer
     private final Tracer tracer = GlobalOpenTelemetry.getTracer("delivery-api");
@@ -102,10 +127,15 @@ public class PedidoServiceImpl implements PedidoService {
             pedido.setDataPedido(LocalDateTime.now());
             pedido.setTaxaEntrega(restaurante.getTaxaEntrega());
 
+            // Carrega todos os produtos do pedido em uma única consulta e valida em memória
+            Map<Long, Produto> produtos = carregarProdutos(request.getItens());
+
             var itens = request.getItens().stream()
                 .map(itemDto -> {
-                    Produto produto = produtoRepository.findById(itemDto.getProdutoId())
-                            .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado"));
+                    Produto produto = produtos.get(itemDto.getProdutoId());
+                    if (produto == null) {
+                        throw new EntityNotFoundException("Produto não encontrado");
+                    }
 
                     if (!produto.getRestaurante().getId().equals(restaurante.getId())) {
                         throw new BusinessException("Produto " + produto.getNome() + " não pertence ao restaurante informado");
@@ -122,9 +152,14 @@ public class PedidoServiceImpl implements PedidoService {
             itens.forEach(pedido::adicionarItem);
             pedido.calcularTotais();
 
+            // Reserva em memória; desfeita automaticamente se a transação sofrer rollback
+            stockReservationService.reservar(itens);
+
             Pedido salvo = pedidoRepository.save(pedido);
+            outboxService.registrar(salvo, null);
 
             pedidoMetrics.incrementarPedidosPorStatus(pedido.getStatus().name());
+            pedidoMetrics.registrarReceita(salvo);
 
             logger.info("[{}] Pedido criado: id={}, clienteId={}, restauranteId={}",
                     getCorrelationId(), salvo.getId(), cliente.getId(), restaurante.getId());
@@ -145,16 +180,25 @@ public class PedidoServiceImpl implements PedidoService {
         }
     }
 
+    private Map<Long, Produto> carregarProdutos(List<ItemPedidoRequest> itens) {
+        Set<Long> ids = itens.stream()
+                .map(ItemPedidoRequest::getProdutoId)
+                .collect(Collectors.toSet());
+
+        return produtoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+    }
+
     @Override
     public PedidoResponse buscarPedidoPorId(Long id) {
         Span span = tracer.spanBuilder("PedidoServiceImpl.buscarPedidoPorId").startSpan();
         span.setAttribute("pedidoId", id);
 
         try {
-            Pedido pedido = pedidoRepository.findById(id)
+            Pedido pedido = pedidoRepository.buscarComItensPorId(id)
                     .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com ID: " + id));
 
-            if (!canAccess(id)) {
+            if (!podeAcessar(pedido)) {
                 span.addEvent("Acesso negado");
                 throw new BusinessException("Você não tem permissão para visualizar este pedido.");
             }
@@ -177,14 +221,91 @@ public class PedidoServiceImpl implements PedidoService {
     }
 
     @Override
-    public List<PedidoResponse> buscarPedidosPorCliente(Long clienteId) {
+    public StatusPedido buscarStatusPedido(Long id) {
+        Span span = tracer.spanBuilder("PedidoServiceImpl.buscarStatusPedido").startSpan();
+        span.setAttribute("pedidoId", id);
+
+        try {
+            Pedido pedido = pedidoRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com ID: " + id));
+
+            if (!podeAcessar(pedido)) {
+                span.addEvent("Acesso negado");
+                throw new BusinessException("Você não tem permissão para acompanhar este pedido.");
+            }
+
+            return pedido.getStatus();
+
+        } catch (BusinessException | EntityNotFoundException ex) {
+            span.recordException(ex);
+            span.setAttribute("error", true);
+            throw ex;
+        } catch (Exception ex) {
+            span.recordException(ex);
+            span.setAttribute("error", true);
+            throw logAndWrap("Erro ao buscar status do pedido id " + id, ex);
+        } finally {
+            span.end();
+        }
+    }
+
+    // As duas leituras usam o mesmo snapshot: um lote arquivado entre elas não some da página
+    // nem aparece duas vezes
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public CursorPage<PedidoResponse> buscarPedidosPorCliente(Long clienteId, String cursor, int size) {
         Span span = tracer.spanBuilder("PedidoServiceImpl.buscarPedidosPorCliente").startSpan();
         span.setAttribute("clienteId", clienteId);
 
         try {
-            return pedidoRepository.findByClienteId(clienteId).stream()
-                    .map(mapper::toResponse)
-                    .toList();
+            int tamanho = Math.max(1, Math.min(size, TAMANHO_MAXIMO_PAGINA));
+            span.setAttribute("size", tamanho);
+
+            PedidoCursor posicao = PedidoCursor.decode(cursor);
+            LocalDateTime cursorData = posicao != null ? posicao.dataPedido() : null;
+            Long cursorId = posicao != null ? posicao.id() : null;
+            PageRequest limite = PageRequest.of(0, tamanho + 1);
+
+            // Pedidos recentes e arquivados vêm na mesma ordem (dataPedido, id) decrescente, cada origem
+            // com um elemento a mais: a intercalação monta a página e sabe se existe próxima.
+            List<Pedido> recentes = pedidoRepository.buscarPorClienteKeyset(clienteId, cursorData, cursorId, limite);
+            List<PedidoArquivado> arquivados = pedidoArquivadoRepository.buscarPorClienteKeyset(clienteId, cursorData, cursorId, limite);
+
+            List<PedidoResponse> pagina = new ArrayList<>(tamanho);
+            Set<Long> vistos = new HashSet<>();
+            PedidoCursor ultimo = null;
+            int r = 0;
+            int a = 0;
+            while (pagina.size() < tamanho && (r < recentes.size() || a < arquivados.size())) {
+                // No empate (o mesmo pedido nas duas tabelas) a linha quente vem antes e prevalece
+                boolean proximoRecente = a == arquivados.size() || (r < recentes.size() && !vemAntes(
+                        arquivados.get(a).getDataPedido(), arquivados.get(a).getId(),
+                        recentes.get(r).getDataPedido(), recentes.get(r).getId()));
+                if (proximoRecente) {
+                    Pedido pedido = recentes.get(r++);
+                    if (vistos.add(pedido.getId())) {
+                        pagina.add(mapper.toResponse(pedido));
+                    }
+                    ultimo = new PedidoCursor(pedido.getDataPedido(), pedido.getId());
+                } else {
+                    PedidoArquivado arquivado = arquivados.get(a++);
+                    if (vistos.add(arquivado.getId())) {
+                        pagina.add(pedidoArquivamento.ler(arquivado));
+                    }
+                    ultimo = new PedidoCursor(arquivado.getDataPedido(), arquivado.getId());
+                }
+            }
+
+            // Uma origem consumida por inteiro com o elemento a mais (só possível com repetidos)
+            // ainda pode ter continuação no banco
+            boolean temProxima = r < recentes.size() || a < arquivados.size() || r > tamanho || a > tamanho;
+            span.setAttribute("arquivados", a);
+            return new CursorPage<>(pagina, tamanho, temProxima ? ultimo.encode() : null);
+
+        } catch (BusinessException ex) {
+            span.recordException(ex);
+            span.setAttribute("error", true);
+            throw ex;
         } catch (Exception ex) {
             span.recordException(ex);
             span.setAttribute("error", true);
@@ -194,6 +315,12 @@ public class PedidoServiceImpl implements PedidoService {
         }
     }
 
+    @Override
+    public Transmissao<PedidoResponse> transmitirPedidosPorCliente(Long clienteId) {
+        return transmissaoJpa.<Pedido, PedidoResponse>de(() -> pedidoRepository.streamPorCliente(clienteId), mapper::toResponse)
+                .seguidaDe(transmissaoJpa.de(() -> pedidoArquivadoRepository.streamPorCliente(clienteId), pedidoArquivamento::ler));
+    }
+
     @Override
     public PedidoResponse atualizarStatusPedido(Long id, StatusPedido novoStatus) {
         Span span = tracer.spanBuilder("PedidoServiceImpl.atualizarStatusPedido").startSpan();
@@ -201,27 +328,26 @@ public class PedidoServiceImpl implements PedidoService {
         span.setAttribute("novoStatus", novoStatus.name());
 
         try {
-            if (!canAccess(id)) {
+            // Uma única leitura: o mesmo pedido (com itens) serve à checagem de acesso e à transição
+            Pedido pedido = pedidoRepository.buscarComItensPorId(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado."));
+
+            if (!podeAcessar(pedido)) {
                 span.addEvent("Acesso negado");
                 throw new BusinessException("Você não tem permissão para atualizar o status deste pedido.");
             }
 
-            Pedido pedido = pedidoRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado."));
-
-            if (isStatusFinal(pedido.getStatus())) {
+            if (PedidoStatusMaquina.isFinal(pedido.getStatus())) {
                 throw new TransactionException("Pedido não pode mais ser atualizado. Status atual: " + pedido.getStatus());
             }
 
-            if (!isTransicaoValida(pedido.getStatus(), novoStatus)) {
+            if (!PedidoStatusMaquina.permiteAtualizacao(pedido.getStatus(), novoStatus)) {
                 throw new BusinessException("Transição de status inválida: de " + pedido.getStatus() + " para " + novoStatus);
             }
 
-            pedido.setStatus(novoStatus);
+            pedidoStatusMaquina.atualizar(pedido, novoStatus);
             pedidoRepository.save(pedido);
 
-            pedidoMetrics.incrementarPedidosPorStatus(novoStatus.name());
-
             logger.info("[{}] Status do pedido atualizado: id={}, novoStatus={}", getCorrelationId(), id, novoStatus);
 
             return mapper.toResponse(pedido);
@@ -239,18 +365,10 @@ public class PedidoServiceImpl implements PedidoService {
         }
     }
 
-    private boolean isTransicaoValida(StatusPedido statusAtual, StatusPedido novoStatus) {
-        return switch (statusAtual) {
-            case PENDENTE -> novoStatus == StatusPedido.CONFIRMADO || novoStatus == StatusPedido.CANCELADO;
-            case CONFIRMADO -> novoStatus == StatusPedido.EM_PREPARACAO;
-            case EM_PREPARACAO -> novoStatus == StatusPedido.SAIU_PARA_ENTREGA;
-            case SAIU_PARA_ENTREGA -> novoStatus == StatusPedido.ENTREGUE;
-            default -> false;
-        };
-    }
-
-    private boolean isStatusFinal(StatusPedido status) {
-        return status == StatusPedido.CANCELADO || status == StatusPedido.ENTREGUE;
+    // Ordem decrescente por (dataPedido, id), a mesma do cursor
+    private static boolean vemAntes(LocalDateTime dataA, Long idA, LocalDateTime dataB, Long idB) {
+        int comparacao = dataA.compareTo(dataB);
+        return comparacao > 0 || (comparacao == 0 && idA > idB);
     }
 
     @Override
@@ -259,18 +377,18 @@ public class PedidoServiceImpl implements PedidoService {
         span.setAttribute("pedidoId", id);
 
         try {
-            if (!canAccess(id)) {
+            Pedido pedido = pedidoRepository.buscarComItensPorId(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado"));
+
+            if (!podeAcessar(pedido)) {
                 throw new BusinessException("Você não tem permissão para cancelar este pedido.");
             }
 
-            Pedido pedido = pedidoRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado"));
-
-            if (pedido.getStatus() != StatusPedido.CONFIRMADO) {
+            if (!PedidoStatusMaquina.permiteCancelamento(pedido.getStatus())) {
                 throw new TransactionException("Apenas pedidos confirmados podem ser cancelados.");
             }
 
-            pedido.setStatus(StatusPedido.CANCELADO);
+            pedidoStatusMaquina.cancelar(pedido);
             pedidoRepository.save(pedido);
 
             logger.info("[{}] Pedido cancelado: id={}", getCorrelationId(), id);
@@ -289,19 +407,41 @@ public class PedidoServiceImpl implements PedidoService {
     }
 
     @Override
-    public List<PedidoResponse> listarPedidosComFiltro(StatusPedido status, LocalDateTime dataInicio, LocalDateTime dataFim) {
+    public CursorPage<PedidoResponse> listarPedidosComFiltro(StatusPedido status, LocalDateTime dataInicio, LocalDateTime dataFim,
+                                                             String cursor, int size) {
         Span span = tracer.spanBuilder("PedidoServiceImpl.listarPedidosComFiltro").startSpan();
         span.setAttribute("status", status != null ? status.name() : "TODOS");
 
         try {
-            List<Pedido> pedidos = pedidoRepository.findAll().stream()
-                    .filter(p -> (status == null || p.getStatus() == status))
-                    .filter(p -> (dataInicio == null || !p.getDataPedido().isBefore(dataInicio)))
-                    .filter(p -> (dataFim == null || !p.getDataPedido().isAfter(dataFim)))
-                    .toList();
+            int tamanho = Math.max(1, Math.min(size, TAMANHO_MAXIMO_PAGINA));
+            span.setAttribute("size", tamanho);
+
+            PedidoCursor posicao = PedidoCursor.decode(cursor);
+
+            // Busca um elemento a mais para saber se existe próxima página sem precisar de COUNT
+            List<Pedido> pedidos = pedidoRepository.buscarComFiltroKeyset(
+                    status,
+                    dataInicio,
+                    dataFim,
+                    posicao != null ? posicao.dataPedido() : null,
+                    posicao != null ? posicao.id() : null,
+                    tamanho + 1);
+
+            boolean temProxima = pedidos.size() > tamanho;
+            List<Pedido> pagina = temProxima ? pedidos.subList(0, tamanho) : pedidos;
+
+            String proximoCursor = null;
+            if (temProxima) {
+                Pedido ultimo = pagina.get(pagina.size() - 1);
+                proximoCursor = new PedidoCursor(ultimo.getDataPedido(), ultimo.getId()).encode();
+            }
 
-            return pedidos.stream().map(mapper::toResponse).toList();
+            return new CursorPage<>(pagina.stream().map(mapper::toResponse).toList(), tamanho, proximoCursor);
 
+        } catch (BusinessException ex) {
+            span.recordException(ex);
+            span.setAttribute("error", true);
+            throw ex;
         } catch (Exception ex) {
             span.recordException(ex);
             span.setAttribute("error", true);
@@ -339,24 +479,75 @@ public class PedidoServiceImpl implements PedidoService {
     }
 
     @Override
-    public boolean canAccess(Long pedidoId) {
-        Span span = tracer.spanBuilder("PedidoServiceImpl.canAccess").startSpan();
-        span.setAttribute("pedidoId", pedidoId);
+    public Transmissao<PedidoResponse> transmitirPedidosPorRestaurante(Long restauranteId) {
+        Span span = tracer.spanBuilder("PedidoServiceImpl.transmitirPedidosPorRestaurante").startSpan();
+        span.setAttribute("restauranteId", restauranteId);
 
         try {
-            Pedido pedido = pedidoRepository.findById(pedidoId)
-                    .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado"));
+            // Validado antes de a resposta começar: depois do status 200 não há mais como devolver 404
+            if (!restauranteRepository.existsById(restauranteId)) {
+                throw new EntityNotFoundException("Restaurante não encontrado");
+            }
+            return transmissaoJpa.de(() -> pedidoRepository.streamPorRestaurante(restauranteId), mapper::toResponse);
+
+        } catch (EntityNotFoundException ex) {
+            span.recordException(ex);
+            span.setAttribute("error", true);
+            throw ex;
+        } catch (Exception ex) {
+            span.recordException(ex);
+            span.setAttribute("error", true);
+            throw logAndWrap("Erro ao transmitir pedidos por restaurante " + restauranteId, ex);
+        } finally {
+            span.end();
+        }
+    }
+
+    @Override
+    public void validarAcessoRestaurante(Long restauranteId) {
+        Span span = tracer.spanBuilder("PedidoServiceImpl.validarAcessoRestaurante").startSpan();
+        span.setAttribute("restauranteId", restauranteId);
+
+        try {
+            Restaurante restaurante = restauranteRepository.findById(restauranteId)
+                    .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado"));
 
             Usuario usuario = usuarioService.getUsuarioLogado();
 
-            return switch (usuario.getRole()) {
+            boolean permitido = switch (usuario.getRole()) {
                 case ADMIN -> true;
-                case CLIENTE -> pedido.getCliente() != null &&
-                        pedido.getCliente().getUsuario().getId().equals(usuario.getId());
-                case RESTAURANTE -> pedido.getRestaurante() != null &&
-                        pedido.getRestaurante().getUsuario().getId().equals(usuario.getId());
+                case RESTAURANTE -> restaurante.getUsuario() != null &&
+                        restaurante.getUsuario().getId().equals(usuario.getId());
                 default -> false;
             };
+            if (!permitido) {
+                span.addEvent("Acesso negado");
+                throw new BusinessException("Você não tem permissão para acompanhar os pedidos deste restaurante.");
+            }
+
+        } catch (BusinessException | EntityNotFoundException ex) {
+            span.recordException(ex);
+            span.setAttribute("error", true);
+            throw ex;
+        } catch (Exception ex) {
+            span.recordException(ex);
+            span.setAttribute("error", true);
+            throw logAndWrap("Erro ao verificar acesso ao restaurante " + restauranteId, ex);
+        } finally {
+            span.end();
+        }
+    }
+
+    @Override
+    public boolean canAccess(Long pedidoId) {
+        Span span = tracer.spanBuilder("PedidoServiceImpl.canAccess").startSpan();
+        span.setAttribute("pedidoId", pedidoId);
+
+        try {
+            Pedido pedido = pedidoRepository.findById(pedidoId)
+                    .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado"));
+
+            return podeAcessar(pedido);
         } catch (EntityNotFoundException ex) {
             span.recordException(ex);
             span.setAttribute("error", true);
@@ -370,6 +561,22 @@ public class PedidoServiceImpl implements PedidoService {
         }
     }
 
+    /**
+     * Regra de acesso aplicada sobre o pedido já carregado, para não buscá-lo de novo na operação.
+     */
+    private boolean podeAcessar(Pedido pedido) {
+        Usuario usuario = usuarioService.getUsuarioLogado();
+
+        return switch (usuario.getRole()) {
+            case ADMIN -> true;
+            case CLIENTE -> pedido.getCliente() != null && pedido.getCliente().getUsuario() != null &&
+                    pedido.getCliente().getUsuario().getId().equals(usuario.getId());
+            case RESTAURANTE -> pedido.getRestaurante() != null && pedido.getRestaurante().getUsuario() != null &&
+                    pedido.getRestaurante().getUsuario().getId().equals(usuario.getId());
+            default -> false;
+        };
+    }
+
     @Override
     @Timed(
         value = "pedidos.calculo.total",
@@ -384,11 +591,15 @@ public class PedidoServiceImpl implements PedidoService {
                 return BigDecimal.ZERO;
             }
 
-            return itens.stream()
-                .filter(item -> item.getPrecoUnitario() != null && item.getQuantidade() != null)
-                .map(item -> item.getPrecoUnitario()
-                    .multiply(BigDecimal.valueOf(item.getQuantidade())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            // Soma em centavos (long); BigDecimal só no retorno
+            long total = 0;
+            for (ItemPedidoRequest item : itens) {
+                if (item.getPrecoUnitario() != null && item.getQuantidade() != null) {
+                    total = Math.addExact(total,
+                            Math.multiplyExact(Dinheiro.centavosDe(item.getPrecoUnitario()), item.getQuantidade()));
+                }
+            }
+            return Dinheiro.deCentavos(total).paraBigDecimal();
         } finally {
             span.end();
         }
@@ -1,15 +1,19 @@
 package com.deliverytech.delivery.service.impl;
 
 import com.deliverytech.delivery.dto.request.ProdutoRequest;
+import com.deliverytech.delivery.dto.request.RelevanciaCursor;
 import com.deliverytech.delivery.dto.response.ProdutoResponse;
+import com.deliverytech.delivery.dto.response.common.CursorPage;
 import com.deliverytech.delivery.entity.Produto;
 import com.deliverytech.delivery.entity.Restaurante;
-import com.deliverytech.delivery.entity.Usuario;
 import com.deliverytech.delivery.exception.BusinessException;
 import com.deliverytech.delivery.exception.EntityNotFoundException;
 import com.deliverytech.delivery.mapper.ProdutoMapper;
+import com.deliverytech.delivery.menu.Cardapios;
 import com.deliverytech.delivery.repository.ProdutoRepository;
 import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.search.CatalogoBusca;
+import com.deliverytech.delivery.search.Resultado;
 import com.deliverytech.delivery.security.SecurityUtils;
 import com.deliverytech.delivery.service.ProdutoService;
 
@@ -20,10 +24,13 @@ import org.slf4j.MDC;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.Tracer;
@@ -34,18 +41,26 @@ public class ProdutoServiceImpl implements ProdutoService {
 
     private static final Logger logger = LoggerFactory.getLogger(ProdutoServiceImpl.class);
 
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
     private final ProdutoRepository produtoRepository;
     private final RestauranteRepository restauranteRepository;
     private final ProdutoMapper mapper;
+    private final CatalogoBusca catalogoBusca;
+    private final Cardapios cardapios;
 
     private final Tracer tracer = GlobalOpenTelemetry.getTracer("delivery-api");
 
     public ProdutoServiceImpl(ProdutoRepository produtoRepository,
                               RestauranteRepository restauranteRepository,
-                              ProdutoMapper mapper) {
+                              ProdutoMapper mapper,
+                              CatalogoBusca catalogoBusca,
+                              Cardapios cardapios) {
         this.produtoRepository = produtoRepository;
         this.restauranteRepository = restauranteRepository;
         this.mapper = mapper;
+        this.catalogoBusca = catalogoBusca;
+        this.cardapios = cardapios;
     }
 
     private String getCorrelationId() {
@@ -68,8 +83,7 @@ public class ProdutoServiceImpl implements ProdutoService {
             Restaurante restaurante = restauranteRepository.findById(request.getRestauranteId())
                 .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado"));
 
-            if (!SecurityUtils.hasRole("ADMIN") &&
-                !restaurante.getUsuario().getId().equals(SecurityUtils.getCurrentUserId())) {
+            if (!SecurityUtils.hasRole("ADMIN") && !isDono(restaurante)) {
                 logger.warn("[{}] Acesso negado para cadastrar produto no restauranteId={} pelo usuárioId={}",
                         getCorrelationId(), request.getRestauranteId(), SecurityUtils.getCurrentUserId());
                 span.addEvent("Acesso negado para cadastrar produto");
@@ -78,6 +92,8 @@ public class ProdutoServiceImpl implements ProdutoService {
 
             Produto produto = mapper.toEntity(request, restaurante);
             Produto salvo = produtoRepository.save(produto);
+            catalogoBusca.indexar(salvo);
+            cardapios.invalidar(restaurante.getId());
             logger.info("[{}] Produto cadastrado com sucesso, id={}", getCorrelationId(), salvo.getId());
             return mapper.toResponse(salvo);
 
@@ -154,14 +170,15 @@ public class ProdutoServiceImpl implements ProdutoService {
             Restaurante restaurante = restauranteRepository.findById(request.getRestauranteId())
                     .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado"));
 
-            if (!SecurityUtils.hasRole("ADMIN") &&
-                !restaurante.getUsuario().getId().equals(SecurityUtils.getCurrentUserId())) {
+            // Dono do produto carregado e do restaurante de destino
+            if (!SecurityUtils.hasRole("ADMIN") && !(isOwner(produto) && isDono(restaurante))) {
                 logger.warn("[{}] Acesso negado para atualizar produto id={} pelo usuárioId={}",
                         getCorrelationId(), id, SecurityUtils.getCurrentUserId());
                 span.addEvent("Acesso negado para atualizar produto");
                 throw new BusinessException("Acesso negado: você não tem permissão para atualizar este produto.");
             }
 
+            Long restauranteAnteriorId = produto.getRestaurante() != null ? produto.getRestaurante().getId() : null;
             produto.setNome(request.getNome());
             produto.setDescricao(request.getDescricao());
             produto.setPreco(request.getPreco());
@@ -169,6 +186,12 @@ public class ProdutoServiceImpl implements ProdutoService {
             produto.setRestaurante(restaurante);
 
             Produto salvo = produtoRepository.save(produto);
+            catalogoBusca.indexar(salvo);
+            cardapios.invalidar(restaurante.getId());
+            if (restauranteAnteriorId != null && !restauranteAnteriorId.equals(restaurante.getId())) {
+                // Produto mudou de restaurante: sai do cardápio do anterior
+                cardapios.invalidar(restauranteAnteriorId);
+            }
             logger.info("[{}] Produto atualizado com sucesso, id={}", getCorrelationId(), salvo.getId());
             return mapper.toResponse(salvo);
 
@@ -198,8 +221,15 @@ public class ProdutoServiceImpl implements ProdutoService {
                         return new EntityNotFoundException("Produto não encontrado");
                     });
 
+            if (!SecurityUtils.hasRole("ADMIN") && !isOwner(produto)) {
+                span.addEvent("Acesso negado para alterar disponibilidade");
+                throw new BusinessException("Acesso negado: você não tem permissão para alterar este produto.");
+            }
+
             produto.setDisponivel(disponivel);
             produtoRepository.save(produto);
+            catalogoBusca.indexar(produto);
+            cardapios.invalidar(produto.getRestaurante() != null ? produto.getRestaurante().getId() : null);
             logger.info("[{}] Disponibilidade alterada com sucesso para produto id={}", getCorrelationId(), id);
             return mapper.toResponse(produto);
 
@@ -243,8 +273,15 @@ public class ProdutoServiceImpl implements ProdutoService {
                         return new EntityNotFoundException("Produto não encontrado");
                     });
 
+            if (!SecurityUtils.hasRole("ADMIN") && !isOwner(produto)) {
+                span.addEvent("Acesso negado para remover produto");
+                throw new BusinessException("Acesso negado: você não tem permissão para remover este produto.");
+            }
+
             ProdutoResponse response = mapper.toResponse(produto);
             produtoRepository.delete(produto);
+            catalogoBusca.removerProduto(id);
+            cardapios.invalidar(response.getRestauranteId());
             logger.info("[{}] Produto removido com sucesso, id={}", getCorrelationId(), id);
             return response;
 
@@ -257,18 +294,47 @@ public class ProdutoServiceImpl implements ProdutoService {
         }
     }
 
+    /**
+     * Busca textual no índice em memória (nome, categoria e descrição dos produtos disponíveis), por
+     * relevância. O banco só é consultado para montar a página.
+     */
     @Override
-    @Cacheable(value = "produtos", key = "#nome")
-    public List<ProdutoResponse> buscarProdutosPorNome(String nome) {
-        Span span = tracer.spanBuilder("ProdutoServiceImpl.buscarProdutosPorNome").startSpan();
-        span.setAttribute("nomeBusca", nome);
+    public CursorPage<ProdutoResponse> buscarProdutos(String termos, String cursor, int size) {
+        Span span = tracer.spanBuilder("ProdutoServiceImpl.buscarProdutos").startSpan();
+        span.setAttribute("termos", termos == null ? "null" : termos);
 
-        logger.debug("[{}] Buscando produtos por nome contendo '{}'", getCorrelationId(), nome);
+        logger.debug("[{}] Buscando produtos por termos '{}'", getCorrelationId(), termos);
         try {
-            List<Produto> produtos = produtoRepository.findByNomeContainingIgnoreCase(nome);
-            return produtos.stream()
-                    .map(mapper::toResponse)
-                    .toList();
+            if (termos == null || termos.isBlank()) {
+                throw new BusinessException("Informe os termos da busca");
+            }
+            int tamanho = Math.max(1, Math.min(size, TAMANHO_MAXIMO_PAGINA));
+
+            // Um a mais para saber se existe próxima página
+            List<Resultado> resultados = catalogoBusca.buscarProdutos(termos, RelevanciaCursor.decode(cursor), tamanho + 1);
+            boolean temProxima = resultados.size() > tamanho;
+            List<Resultado> pagina = temProxima ? resultados.subList(0, tamanho) : resultados;
+            span.setAttribute("encontrados", pagina.size());
+
+            Map<Long, Produto> porId = produtoRepository.findAllById(pagina.stream().map(Resultado::id).toList())
+                    .stream()
+                    .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
+            List<ProdutoResponse> itens = new ArrayList<>(pagina.size());
+            for (Resultado resultado : pagina) {
+                Produto produto = porId.get(resultado.id());
+                if (produto != null) {
+                    itens.add(mapper.toResponse(produto));
+                }
+            }
+
+            Resultado ultimo = pagina.isEmpty() ? null : pagina.get(pagina.size() - 1);
+            return new CursorPage<>(itens, tamanho,
+                    temProxima ? new RelevanciaCursor(ultimo.relevancia(), ultimo.id()).encode() : null);
+        } catch (Exception e) {
+            span.recordException(e);
+            span.setAttribute("error", true);
+            throw e;
         } finally {
             span.end();
         }
@@ -287,17 +353,9 @@ public class ProdutoServiceImpl implements ProdutoService {
                         return new EntityNotFoundException("Produto não encontrado");
                     });
 
-            Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
-
-            if (principal instanceof Usuario usuario) {
-                Restaurante restaurante = produto.getRestaurante();
-                boolean isOwner = restaurante.getUsuario().getId().equals(usuario.getId());
-                logger.debug("[{}] Usuário id={} é dono do produto? {}", getCorrelationId(), usuario.getId(), isOwner);
-                return isOwner;
-            }
-
-            logger.warn("[{}] Usuário não autenticado ou tipo do principal inesperado", getCorrelationId());
-            return false;
+            boolean isOwner = isOwner(produto);
+            logger.debug("[{}] Usuário atual é dono do produto id={}? {}", getCorrelationId(), produtoId, isOwner);
+            return isOwner;
 
         } catch (Exception e) {
             span.recordException(e);
@@ -307,4 +365,16 @@ public class ProdutoServiceImpl implements ProdutoService {
             span.end();
         }
     }
+
+    // Sobre o produto já carregado: a checagem de dono não repete a leitura
+    private boolean isOwner(Produto produto) {
+        return isDono(produto.getRestaurante());
+    }
+
+    private boolean isDono(Restaurante restaurante) {
+        if (restaurante == null || restaurante.getUsuario() == null) {
+            return false;
+        }
+        return restaurante.getUsuario().getId().equals(SecurityUtils.getCurrentUserId());
+    }
 }
@@ -1,18 +1,31 @@
 package com.deliverytech.delivery.service.impl;
 
 import com.deliverytech.delivery.dto.response.*;
-import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.entity.*;
+import com.deliverytech.delivery.repository.ResumoClienteDiarioRepository;
+import com.deliverytech.delivery.repository.ResumoProdutoDiarioRepository;
+import com.deliverytech.delivery.repository.ResumoRestauranteDiarioRepository;
 import com.deliverytech.delivery.service.RelatorioService;
 
+import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
 
 import io.opentelemetry.api.trace.Span;
 import io.opentelemetry.api.trace.Tracer;
@@ -23,12 +36,24 @@ public class RelatorioServiceImpl implements RelatorioService {
 
     private static final Logger logger = LoggerFactory.getLogger(RelatorioServiceImpl.class);
 
-    private final PedidoRepository pedidoRepository;
+    private static final int LIMITE_MAXIMO = 1000;
+
+    private final ResumoRestauranteDiarioRepository resumoRestauranteRepository;
+    private final ResumoProdutoDiarioRepository resumoProdutoRepository;
+    private final ResumoClienteDiarioRepository resumoClienteRepository;
+    private final TransactionTemplate transacaoPropria;
 
     private final Tracer tracer = GlobalOpenTelemetry.getTracer("delivery-api");
 
-    public RelatorioServiceImpl(PedidoRepository pedidoRepository) {
-        this.pedidoRepository = pedidoRepository;
+    public RelatorioServiceImpl(ResumoRestauranteDiarioRepository resumoRestauranteRepository,
+                                ResumoProdutoDiarioRepository resumoProdutoRepository,
+                                ResumoClienteDiarioRepository resumoClienteRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.resumoRestauranteRepository = resumoRestauranteRepository;
+        this.resumoProdutoRepository = resumoProdutoRepository;
+        this.resumoClienteRepository = resumoClienteRepository;
+        this.transacaoPropria = new TransactionTemplate(transactionManager);
+        this.transacaoPropria.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
     }
 
     private String getCorrelationId() {
@@ -40,11 +65,18 @@ public class RelatorioServiceImpl implements RelatorioService {
         logger.error("[{}] {}", getCorrelationId(), msg, e);
     }
 
+    private Pageable limitar(Integer limite) {
+        if (limite == null) {
+            return Pageable.unpaged();
+        }
+        return PageRequest.of(0, Math.max(1, Math.min(limite, LIMITE_MAXIMO)));
+    }
+
     @Override
-    public List<RelatorioVendaPorRestauranteResponse> obterVendasPorRestaurante() {
+    public List<RelatorioVendaPorRestauranteResponse> obterVendasPorRestaurante(LocalDate dataInicio, LocalDate dataFim, Integer limite) {
         Span span = tracer.spanBuilder("RelatorioServiceImpl.obterVendasPorRestaurante").startSpan();
         try {
-            return pedidoRepository.buscarVendasPorRestaurante();
+            return resumoRestauranteRepository.buscarVendasPorRestaurante(dataInicio, dataFim, limitar(limite));
         } catch (Exception e) {
             span.recordException(e);
             span.setAttribute("error", true);
@@ -56,10 +88,10 @@ public class RelatorioServiceImpl implements RelatorioService {
     }
 
     @Override
-    public List<RelatorioProdutoMaisVendidoResponse> obterProdutosMaisVendidos() {
+    public List<RelatorioProdutoMaisVendidoResponse> obterProdutosMaisVendidos(LocalDate dataInicio, LocalDate dataFim, Integer limite) {
         Span span = tracer.spanBuilder("RelatorioServiceImpl.obterProdutosMaisVendidos").startSpan();
         try {
-            return pedidoRepository.buscarProdutosMaisVendidos();
+            return resumoProdutoRepository.buscarProdutosMaisVendidos(dataInicio, dataFim, limitar(limite));
         } catch (Exception e) {
             span.recordException(e);
             span.setAttribute("error", true);
@@ -71,10 +103,10 @@ public class RelatorioServiceImpl implements RelatorioService {
     }
 
     @Override
-    public List<RelatorioClienteAtivoResponse> obterClientesMaisAtivos() {
+    public List<RelatorioClienteAtivoResponse> obterClientesMaisAtivos(LocalDate dataInicio, LocalDate dataFim, Integer limite) {
         Span span = tracer.spanBuilder("RelatorioServiceImpl.obterClientesMaisAtivos").startSpan();
         try {
-            return pedidoRepository.buscarClientesMaisAtivos();
+            return resumoClienteRepository.buscarClientesMaisAtivos(dataInicio, dataFim, limitar(limite));
         } catch (Exception e) {
             span.recordException(e);
             span.setAttribute("error", true);
@@ -92,14 +124,15 @@ public class RelatorioServiceImpl implements RelatorioService {
         span.setAttribute("dataFim", dataFim.toString());
 
         try {
-            Object[] resultado = pedidoRepository.buscarPedidosPorPeriodo(dataInicio, dataFim);
+            List<Object[]> linhas = resumoRestauranteRepository.somarPorPeriodo(dataInicio, dataFim);
+            Object[] resultado = linhas.isEmpty() ? null : linhas.get(0);
             if (resultado == null || resultado.length < 2) {
                 logger.warn("[{}] Resultado inválido ao buscar pedidos por período: dataInicio={}, dataFim={}",
                         getCorrelationId(), dataInicio, dataFim);
                 return new RelatorioPedidosPorPeriodoResponse();
             }
 
-            Long totalPedidos = (Long) resultado[0];
+            Long totalPedidos = ((Number) resultado[0]).longValue();
             BigDecimal valorTotal = (BigDecimal) resultado[1];
 
             RelatorioPedidosPorPeriodoResponse response = new RelatorioPedidosPorPeriodoResponse();
@@ -118,4 +151,63 @@ public class RelatorioServiceImpl implements RelatorioService {
             span.end();
         }
     }
+
+    @Override
+    @Transactional
+    public void registrarPedidoEntregue(Pedido pedido) {
+        Span span = tracer.spanBuilder("RelatorioServiceImpl.registrarPedidoEntregue").startSpan();
+        span.setAttribute("pedidoId", pedido.getId());
+
+        try {
+            LocalDate data = pedido.getDataPedido().toLocalDate();
+            BigDecimal valor = pedido.getValorTotal() != null ? pedido.getValorTotal() : BigDecimal.ZERO;
+
+            incrementar(() -> resumoRestauranteRepository.incrementar(pedido.getRestaurante().getId(), data, valor),
+                    () -> resumoRestauranteRepository.save(new ResumoRestauranteDiario(pedido.getRestaurante(), data)));
+
+            incrementar(() -> resumoClienteRepository.incrementar(pedido.getCliente().getId(), data),
+                    () -> resumoClienteRepository.save(new ResumoClienteDiario(pedido.getCliente(), data)));
+
+            Map<Long, Produto> produtos = new LinkedHashMap<>();
+            Map<Long, Long> quantidades = new LinkedHashMap<>();
+            for (ItemPedido item : pedido.getItens()) {
+                produtos.putIfAbsent(item.getProduto().getId(), item.getProduto());
+                quantidades.merge(item.getProduto().getId(), (long) item.getQuantidade(), Long::sum);
+            }
+            quantidades.forEach((produtoId, quantidade) ->
+                    incrementar(() -> resumoProdutoRepository.incrementar(produtoId, data, quantidade),
+                            () -> resumoProdutoRepository.save(new ResumoProdutoDiario(produtos.get(produtoId), data))));
+
+            logger.debug("[{}] Resumos diários atualizados para o pedido entregue id={}", getCorrelationId(), pedido.getId());
+        } catch (Exception e) {
+            span.recordException(e);
+            span.setAttribute("error", true);
+            logError("Erro ao atualizar resumos do pedido id " + pedido.getId(), e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Incrementa a linha do dia, criando-a antes se ainda não existir.
+     *
+     * A linha é criada zerada numa transação própria: se outra entrega do mesmo dia a criou ao
+     * mesmo tempo, a violação da chave única fica restrita a essa transação, e não desfaz a
+     * mudança de status do pedido. Em seguida o incremento encontra a linha, de quem quer que a
+     * tenha criado.
+     */
+    private void incrementar(IntSupplier incremento, Runnable criarLinha) {
+        if (incremento.getAsInt() > 0) {
+            return;
+        }
+        try {
+            transacaoPropria.executeWithoutResult(status -> criarLinha.run());
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("[{}] Linha de resumo do dia criada por outra transação", getCorrelationId());
+        }
+        if (incremento.getAsInt() == 0) {
+            throw new IllegalStateException("Linha de resumo do dia não encontrada após criação");
+        }
+    }
 }
@@ -1,8 +1,13 @@
 package com.deliverytech.delivery.service.impl;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,14 +17,27 @@ import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
+import com.deliverytech.delivery.dto.request.DistanciaCursor;
+import com.deliverytech.delivery.dto.request.RelevanciaCursor;
 import com.deliverytech.delivery.dto.request.RestauranteRequest;
 import com.deliverytech.delivery.dto.response.RestauranteResponse;
+import com.deliverytech.delivery.dto.response.common.CursorPage;
 import com.deliverytech.delivery.entity.Restaurante;
 import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.exception.BusinessException;
 import com.deliverytech.delivery.exception.EntityNotFoundException;
 import com.deliverytech.delivery.exception.ValidationException;
+import com.deliverytech.delivery.fee.TaxaEntregaCalculadora;
+import com.deliverytech.delivery.geo.Cep;
+import com.deliverytech.delivery.geo.Coordenada;
+import com.deliverytech.delivery.geo.RestauranteGeoIndice;
+import com.deliverytech.delivery.geo.Vizinho;
 import com.deliverytech.delivery.mapper.RestauranteMapper;
+import com.deliverytech.delivery.menu.Cardapio;
+import com.deliverytech.delivery.menu.Cardapios;
 import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.search.CatalogoBusca;
+import com.deliverytech.delivery.search.Resultado;
 import com.deliverytech.delivery.security.SecurityUtils;
 import com.deliverytech.delivery.service.AuthService;
 import com.deliverytech.delivery.service.RestauranteService;
@@ -35,9 +53,15 @@ public class RestauranteServiceImpl implements RestauranteService {
 
     private static final Logger logger = LoggerFactory.getLogger(RestauranteServiceImpl.class);
 
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+
     private final AuthService authService;
     private final RestauranteRepository restauranteRepository;
     private final RestauranteMapper mapper;
+    private final RestauranteGeoIndice geoIndice;
+    private final TaxaEntregaCalculadora taxaEntregaCalculadora;
+    private final CatalogoBusca catalogoBusca;
+    private final Cardapios cardapios;
 
     // Objeto para rastreamento distribuído via OpenTelemetry
     private final Tracer tracer = GlobalOpenTelemetry.getTracer("delivery-api");
@@ -62,7 +86,11 @@ public class RestauranteServiceImpl implements RestauranteService {
         try {
             Restaurante restaurante = mapper.toEntity(request);
             restaurante.setAtivo(true);
+            geoIndice.geocodificar(restaurante);
             Restaurante salvo = restauranteRepository.save(restaurante);
+            geoIndice.indexar(salvo);
+            taxaEntregaCalculadora.recarregar(salvo.getId());
+            catalogoBusca.indexar(salvo);
             logger.info("[{}] Restaurante cadastrado com sucesso: id={}", getCorrelationId(), salvo.getId());
             return mapper.toResponse(salvo);
         } catch (Exception e) {
@@ -112,22 +140,31 @@ public class RestauranteServiceImpl implements RestauranteService {
         span.setAttribute("restauranteId", id);
         authService.getUsuarioAutenticado();
 
-        if (!SecurityUtils.hasRole("ADMIN") && !isOwner(id)) {
+        // Carregado uma vez: serve à checagem de dono e à alteração
+        Restaurante restaurante = buscarOuLancar(id);
+        if (!SecurityUtils.hasRole("ADMIN") && !isOwner(restaurante)) {
             String msg = "Você não tem permissão para atualizar este restaurante id=" + id;
             logger.warn("[{}] {}", getCorrelationId(), msg);
             throw new ValidationException(msg);
         }
 
         try {
-            Restaurante restaurante = buscarOuLancar(id);
             // Atualiza campos
             restaurante.setNome(request.getNome());
             restaurante.setCategoria(request.getCategoria());
             restaurante.setEndereco(request.getEndereco());
             restaurante.setTelefone(request.getTelefone());
             restaurante.setTaxaEntrega(request.getTaxaEntrega());
+            if (request.getFaixasTaxaEntrega() != null) {
+                restaurante.setFaixasTaxaEntrega(mapper.toFaixas(request.getFaixasTaxaEntrega()));
+            }
+            geoIndice.geocodificar(restaurante);
 
             Restaurante salvo = restauranteRepository.save(restaurante);
+            geoIndice.indexar(salvo);
+            taxaEntregaCalculadora.recarregar(id);
+            catalogoBusca.indexar(salvo);
+            cardapios.invalidar(id);
             logger.info("[{}] Restaurante atualizado com sucesso: id={}", getCorrelationId(), id);
             return mapper.toResponse(salvo);
         } catch (EntityNotFoundException e) {
@@ -235,16 +272,19 @@ public class RestauranteServiceImpl implements RestauranteService {
         span.setAttribute("restauranteId", id);
         authService.getUsuarioAutenticado();
 
-        if (!SecurityUtils.hasRole("ADMIN") && !isOwner(id)) {
+        Restaurante restaurante = buscarOuLancar(id);
+        if (!SecurityUtils.hasRole("ADMIN") && !isOwner(restaurante)) {
             String msg = "Você não tem permissão para alterar o status do restaurante id=" + id;
             logger.warn("[{}] {}", getCorrelationId(), msg);
             throw new ValidationException(msg);
         }
 
         try {
-            Restaurante restaurante = buscarOuLancar(id);
             restaurante.setAtivo(!restaurante.getAtivo());
             Restaurante salvo = restauranteRepository.save(restaurante);
+            geoIndice.indexar(salvo);
+            catalogoBusca.indexar(salvo);
+            cardapios.invalidar(id);
             logger.info("[{}] Status do restaurante alterado: id={}, ativo={}", getCorrelationId(), id, salvo.getAtivo());
             return mapper.toResponse(salvo);
         } catch (EntityNotFoundException e) {
@@ -261,8 +301,8 @@ public class RestauranteServiceImpl implements RestauranteService {
     }
 
     /**
-     * Calcula taxa de entrega com regra simples: se CEP começa com "01", taxa é reduzida à metade.
-     * Caso contrário, retorna taxa original.
+     * Calcula a taxa de entrega pela distância até o CEP, na curva do restaurante (ver TaxaEntregaCalculadora).
+     * Não consulta o banco: restaurante e faixas de CEP estão em memória.
      */
     @Override
     public BigDecimal calcularTaxaEntrega(Long restauranteId, String cep) {
@@ -270,14 +310,13 @@ public class RestauranteServiceImpl implements RestauranteService {
         span.setAttribute("restauranteId", restauranteId);
         span.setAttribute("cep", cep == null ? "null" : cep);
         try {
-            Restaurante restaurante = buscarOuLancar(restauranteId);
-            if (cep != null && cep.startsWith("01")) {
-                return restaurante.getTaxaEntrega().multiply(BigDecimal.valueOf(0.5));
-            }
-            return restaurante.getTaxaEntrega();
+            return taxaEntregaCalculadora.calcular(restauranteId, cep);
         } catch (EntityNotFoundException e) {
             logger.warn("[{}] Restaurante não encontrado para calcular taxa: id={}", getCorrelationId(), restauranteId);
             throw e;
+        } catch (BusinessException e) {
+            logger.warn("[{}] Taxa de entrega não calculada para restaurante id={}: {}", getCorrelationId(), restauranteId, e.getMessage());
+            throw e;
         } catch (Exception e) {
             span.recordException(e);
             span.setAttribute("error", true);
@@ -289,31 +328,134 @@ public class RestauranteServiceImpl implements RestauranteService {
     }
 
     /**
-     * Busca restaurantes próximos por prefixo do CEP (3 primeiros caracteres do CEP).
-     * Filtra restaurantes cujo endereço contenha esse prefixo.
+     * Cardápio do restaurante já serializado, na versão atual (ver Cardapios). Só monta o documento
+     * quando o restaurante ou algum dos seus produtos mudou desde a última montagem.
+     */
+    @Override
+    public Cardapio buscarCardapio(Long restauranteId) {
+        Span span = tracer.spanBuilder("RestauranteServiceImpl.buscarCardapio").startSpan();
+        span.setAttribute("restauranteId", restauranteId);
+
+        logger.debug("[{}] Buscando cardápio do restaurante id={}", getCorrelationId(), restauranteId);
+        try {
+            Cardapio cardapio = cardapios.obter(restauranteId);
+            span.setAttribute("versao", cardapio.versao());
+            return cardapio;
+        } catch (EntityNotFoundException e) {
+            logger.warn("[{}] Restaurante não encontrado para cardápio: id={}", getCorrelationId(), restauranteId);
+            throw e;
+        } catch (Exception e) {
+            span.recordException(e);
+            span.setAttribute("error", true);
+            logger.error("[{}] Erro ao buscar cardápio do restaurante id={}", getCorrelationId(), restauranteId, e);
+            throw new RuntimeException("Erro ao buscar cardápio", e);
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Busca restaurantes ativos próximos ao CEP no índice geográfico em memória, em ordem de distância.
+     * O banco só é consultado para montar a página (busca por id dos restaurantes encontrados).
      */
     @Override
-    public List<RestauranteResponse> buscarRestaurantesProximos(String cep) {
+    public CursorPage<RestauranteResponse> buscarRestaurantesProximos(String cep, Double raioKm, String cursor, int size) {
         Span span = tracer.spanBuilder("RestauranteServiceImpl.buscarRestaurantesProximos").startSpan();
         span.setAttribute("cep", cep == null ? "null" : cep);
         try {
-            if (cep == null || cep.length() < 3) {
+            if (Cep.normalizar(cep) == null) {
                 logger.warn("[{}] CEP inválido para busca de restaurantes próximos: {}", getCorrelationId(), cep);
-                return Collections.emptyList();
+                throw new BusinessException("CEP inválido: " + cep);
             }
-            String bairroPrefix = cep.substring(0, 3);
-            List<Restaurante> proximos = restauranteRepository.findAll().stream()
-                    .filter(r -> r.getEndereco() != null && r.getEndereco().contains(bairroPrefix))
-                    .toList();
+            if (raioKm != null && !(raioKm > 0)) {
+                throw new BusinessException("O raio deve ser maior que zero");
+            }
+            int tamanho = Math.max(1, Math.min(size, TAMANHO_MAXIMO_PAGINA));
+            DistanciaCursor depois = DistanciaCursor.decode(cursor);
 
-            return proximos.stream()
-                    .map(mapper::toResponse)
-                    .toList();
+            Optional<Coordenada> origem = geoIndice.localizar(cep);
+            if (origem.isEmpty()) {
+                span.addEvent("CEP sem faixa conhecida");
+                return new CursorPage<>(List.of(), tamanho, null);
+            }
+
+            // Um a mais para saber se existe próxima página
+            List<Vizinho> vizinhos = geoIndice.buscar(origem.get(), raioKm, depois, tamanho + 1);
+            boolean temProxima = vizinhos.size() > tamanho;
+            List<Vizinho> pagina = temProxima ? vizinhos.subList(0, tamanho) : vizinhos;
+            span.setAttribute("encontrados", pagina.size());
+
+            Map<Long, Restaurante> porId = restauranteRepository.findAllById(pagina.stream().map(Vizinho::id).toList())
+                    .stream()
+                    .collect(Collectors.toMap(Restaurante::getId, Function.identity()));
+
+            List<RestauranteResponse> itens = new ArrayList<>(pagina.size());
+            for (Vizinho vizinho : pagina) {
+                Restaurante restaurante = porId.get(vizinho.id());
+                if (restaurante != null) {
+                    RestauranteResponse response = mapper.toResponse(restaurante);
+                    response.setDistanciaKm(Math.round(vizinho.distanciaKm() * 100) / 100.0);
+                    itens.add(response);
+                }
+            }
+
+            Vizinho ultimo = pagina.isEmpty() ? null : pagina.get(pagina.size() - 1);
+            return new CursorPage<>(itens, tamanho,
+                    temProxima ? new DistanciaCursor(ultimo.distanciaKm(), ultimo.id()).encode() : null);
+        } catch (BusinessException e) {
+            throw e;
         } catch (Exception e) {
             span.recordException(e);
             span.setAttribute("error", true);
             logger.error("[{}] Erro ao buscar restaurantes próximos para cep={}", getCorrelationId(), cep, e);
-            return Collections.emptyList();
+            throw new RuntimeException("Erro ao buscar restaurantes próximos", e);
+        } finally {
+            span.end();
+        }
+    }
+
+    /**
+     * Busca textual no índice em memória (nome e categoria dos restaurantes ativos), por relevância.
+     * O banco só é consultado para montar a página.
+     */
+    @Override
+    public CursorPage<RestauranteResponse> buscarRestaurantes(String termos, String cursor, int size) {
+        Span span = tracer.spanBuilder("RestauranteServiceImpl.buscarRestaurantes").startSpan();
+        span.setAttribute("termos", termos == null ? "null" : termos);
+        try {
+            if (termos == null || termos.isBlank()) {
+                throw new BusinessException("Informe os termos da busca");
+            }
+            int tamanho = Math.max(1, Math.min(size, TAMANHO_MAXIMO_PAGINA));
+
+            // Um a mais para saber se existe próxima página
+            List<Resultado> resultados = catalogoBusca.buscarRestaurantes(termos, RelevanciaCursor.decode(cursor), tamanho + 1);
+            boolean temProxima = resultados.size() > tamanho;
+            List<Resultado> pagina = temProxima ? resultados.subList(0, tamanho) : resultados;
+            span.setAttribute("encontrados", pagina.size());
+
+            Map<Long, Restaurante> porId = restauranteRepository.findAllById(pagina.stream().map(Resultado::id).toList())
+                    .stream()
+                    .collect(Collectors.toMap(Restaurante::getId, Function.identity()));
+
+            List<RestauranteResponse> itens = new ArrayList<>(pagina.size());
+            for (Resultado resultado : pagina) {
+                Restaurante restaurante = porId.get(resultado.id());
+                if (restaurante != null) {
+                    itens.add(mapper.toResponse(restaurante));
+                }
+            }
+
+            Resultado ultimo = pagina.isEmpty() ? null : pagina.get(pagina.size() - 1);
+            return new CursorPage<>(itens, tamanho,
+                    temProxima ? new RelevanciaCursor(ultimo.relevancia(), ultimo.id()).encode() : null);
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            span.recordException(e);
+            span.setAttribute("error", true);
+            logger.error("[{}] Erro ao buscar restaurantes por termos='{}'", getCorrelationId(), termos, e);
+            throw new RuntimeException("Erro ao buscar restaurantes", e);
         } finally {
             span.end();
         }
@@ -332,7 +474,10 @@ public class RestauranteServiceImpl implements RestauranteService {
      */
     @Override
     public boolean isOwner(Long restauranteId) {
-        Restaurante restaurante = buscarOuLancar(restauranteId);
+        return isOwner(buscarOuLancar(restauranteId));
+    }
+
+    private boolean isOwner(Restaurante restaurante) {
         Usuario logado = authService.getUsuarioAutenticado();
         return restaurante.getUsuario() != null && restaurante.getUsuario().getId().equals(logado.getId());
     }
@@ -348,15 +493,19 @@ public class RestauranteServiceImpl implements RestauranteService {
         span.setAttribute("restauranteId", id);
         authService.getUsuarioAutenticado();
 
-        if (!SecurityUtils.hasRole("ADMIN") && !isOwner(id)) {
+        Restaurante restaurante = buscarOuLancar(id);
+        if (!SecurityUtils.hasRole("ADMIN") && !isOwner(restaurante)) {
             String msg = "Você não tem permissão para remover o restaurante id=" + id;
             logger.warn("[{}] {}", getCorrelationId(), msg);
             throw new ValidationException(msg);
         }
 
         try {
-            Restaurante restaurante = buscarOuLancar(id);
             restauranteRepository.delete(restaurante);
+            geoIndice.remover(id);
+            taxaEntregaCalculadora.remover(id);
+            catalogoBusca.removerRestaurante(id);
+            cardapios.remover(id);
             logger.info("[{}] Restaurante removido com sucesso: id={}", getCorrelationId(), id);
         } catch (EntityNotFoundException e) {
             logger.warn("[{}] Restaurante não encontrado para remoção: id={}", getCorrelationId(), id);
@@ -5,6 +5,7 @@ import com.deliverytech.delivery.entity.Usuario;
 import com.deliverytech.delivery.enums.Role;
 import com.deliverytech.delivery.exception.EntityNotFoundException;
 import com.deliverytech.delivery.repository.UsuarioRepository;
+import com.deliverytech.delivery.security.UsuarioLogadoContexto;
 import com.deliverytech.delivery.service.UsuarioService;
 
 import io.micrometer.core.instrument.MeterRegistry;
@@ -34,6 +35,7 @@ public class UsuarioServiceImpl implements UsuarioService {
     private final UsuarioRepository usuarioRepository;
     private final PasswordEncoder passwordEncoder;
     private final MeterRegistry meterRegistry;
+    private final UsuarioLogadoContexto usuarioLogadoContexto;
 
     private final AtomicInteger usuariosAtivos = new AtomicInteger(0);
 
@@ -41,8 +43,10 @@ public class UsuarioServiceImpl implements UsuarioService {
 
     public UsuarioServiceImpl(UsuarioRepository usuarioRepository,
                               PasswordEncoder passwordEncoder,
-                              MeterRegistry meterRegistry) {
+                              MeterRegistry meterRegistry,
+                              UsuarioLogadoContexto usuarioLogadoContexto) {
         this.usuarioRepository = usuarioRepository;
+        this.usuarioLogadoContexto = usuarioLogadoContexto;
         this.passwordEncoder = passwordEncoder;
         this.meterRegistry = meterRegistry;
     }
@@ -141,7 +145,8 @@ public class UsuarioServiceImpl implements UsuarioService {
             logger.debug("[{}] Obtendo usuário logado pelo email: {}", getCorrelationId(), email);
             span.setAttribute("email", email);
 
-            return usuarioRepository.findByEmail(email)
+            // Sem consulta quando o principal já é o Usuario; senão uma busca por requisição
+            return usuarioLogadoContexto.getUsuario()
                     .orElseThrow(() -> {
                         String msg = "Usuário logado não encontrado";
                         logger.error("[{}] Usuário logado não encontrado no banco: {}", getCorrelationId(), email);
@@ -0,0 +1,24 @@
+package com.deliverytech.delivery.sse;
+
+import com.deliverytech.delivery.outbox.OutboxRelay;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Instância única: os eventos do outbox vão direto para o hub local.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "pedido.stream.bridge", havingValue = "memory", matchIfMissing = true)
+public class LocalPedidoStatusBridge {
+
+    private final OutboxRelay outboxRelay;
+    private final PedidoStatusHub hub;
+
+    @PostConstruct
+    public void iniciar() {
+        outboxRelay.inscrever(hub::entregar);
+    }
+}
@@ -0,0 +1,334 @@
+package com.deliverytech.delivery.sse;
+
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.outbox.PedidoEvento;
+import com.deliverytech.delivery.statemachine.PedidoStatusMaquina;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hub único por instância para as conexões SSE de acompanhamento de pedidos.
+ *
+ * As conexões ficam indexadas por pedido e por restaurante; cada evento é serializado uma única vez
+ * e enfileirado apenas nas conexões interessadas. Uma conexão ociosa é só um SseEmitter e um socket
+ * em espera no Tomcat (requisição assíncrona), sem thread associada. A escrita no socket acontece
+ * numa thread virtual por conexão com dados pendentes, nunca na thread que entrega o evento (partição
+ * do outbox ou listener do Redis): um cliente lento atrasa só a própria conexão. Conexões cuja fila
+ * estoura ou cuja escrita fica parada além do limite são descartadas. Um heartbeat periódico mantém
+ * as conexões abertas em proxies e descarta as que o cliente já fechou.
+ */
+@Component
+public class PedidoStatusHub {
+
+    public static final String EVENTO = "status";
+
+    private static final Logger logger = LoggerFactory.getLogger(PedidoStatusHub.class);
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("").build();
+
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final int tamanhoFila;
+    private final long limiteEscritaNanos;
+
+    private final Map<Long, Set<Conexao>> porPedido = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Conexao>> porRestaurante = new ConcurrentHashMap<>();
+    private final AtomicInteger conexoes = new AtomicInteger();
+    private final ExecutorService escritores = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Counter eventosEnviados;
+    private final Counter conexoesDescartadas;
+
+    public PedidoStatusHub(ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${pedido.stream.timeout:30m}") Duration timeout,
+                           @Value("${pedido.stream.fila:64}") int tamanhoFila,
+                           @Value("${pedido.stream.limite-escrita:10s}") Duration limiteEscrita) {
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeout.toMillis();
+        this.tamanhoFila = tamanhoFila;
+        this.limiteEscritaNanos = limiteEscrita.toNanos();
+
+        Gauge.builder("pedidos.stream.conexoes", conexoes, AtomicInteger::get)
+                .description("Conexões SSE abertas para acompanhamento de pedidos")
+                .register(meterRegistry);
+        this.eventosEnviados = Counter.builder("pedidos.stream.eventos")
+                .description("Eventos de status escritos nas conexões SSE")
+                .register(meterRegistry);
+        this.conexoesDescartadas = Counter.builder("pedidos.stream.descartadas")
+                .description("Conexões SSE descartadas por fila cheia ou escrita parada")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Abre o acompanhamento de um pedido e envia o status atual, lido só depois de a conexão estar
+     * registrada: uma transição entregue entre a leitura e o registro não se perde (no máximo chega
+     * repetida). Pedidos em status final recebem o status e a conexão é encerrada.
+     */
+    public SseEmitter acompanharPedido(Long pedidoId, Supplier<StatusPedido> statusAtual) {
+        Conexao conexao = registrar(porPedido, pedidoId);
+        StatusPedido status;
+        try {
+            status = statusAtual.get();
+        } catch (RuntimeException e) {
+            conexao.remover();
+            throw e;
+        }
+        PedidoEvento atual = new PedidoEvento(null, pedidoId, null, null, null, status, LocalDateTime.now());
+        conexao.enfileirar(dados(atual), PedidoStatusMaquina.isFinal(status));
+        return conexao.emitter;
+    }
+
+    /**
+     * Abre o acompanhamento de todos os pedidos de um restaurante.
+     */
+    public SseEmitter acompanharRestaurante(Long restauranteId) {
+        return registrar(porRestaurante, restauranteId).emitter;
+    }
+
+    /**
+     * Entrega um evento às conexões do pedido e do restaurante. Chamado pela ponte
+     * (local ou Redis) na ordem em que os eventos saem do outbox; só enfileira, não escreve no socket.
+     */
+    public void entregar(PedidoEvento evento) {
+        Set<Conexao> doPedido = porPedido.get(evento.pedidoId());
+        Set<Conexao> doRestaurante = porRestaurante.get(evento.restauranteId());
+        if (doPedido == null && doRestaurante == null) {
+            return;
+        }
+
+        Set<DataWithMediaType> dados;
+        try {
+            dados = dados(evento);
+        } catch (IllegalStateException e) {
+            logger.warn("Evento {} do pedido {} não pôde ser serializado: {}", evento.id(), evento.pedidoId(), e.getMessage());
+            return;
+        }
+
+        if (doPedido != null) {
+            boolean fim = PedidoStatusMaquina.isFinal(evento.statusNovo());
+            doPedido.forEach(conexao -> conexao.enfileirar(dados, fim));
+        }
+        if (doRestaurante != null) {
+            doRestaurante.forEach(conexao -> conexao.enfileirar(dados, false));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${pedido.stream.heartbeat:25s}")
+    public void heartbeat() {
+        long agora = System.nanoTime();
+        porPedido.values().forEach(conexoes -> conexoes.forEach(conexao -> conexao.heartbeat(agora)));
+        porRestaurante.values().forEach(conexoes -> conexoes.forEach(conexao -> conexao.heartbeat(agora)));
+    }
+
+    public int conexoesAbertas() {
+        return conexoes.get();
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        escritores.shutdownNow();
+    }
+
+    // Ponto de extensão dos testes, que substituem o emitter por um com escrita lenta ou falha
+    SseEmitter novoEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private Conexao registrar(Map<Long, Set<Conexao>> indice, Long chave) {
+        Conexao conexao = new Conexao(novoEmitter(), indice, chave);
+        // O add dentro do compute: um remover concorrente que esvaziasse o conjunto o tiraria do índice
+        // entre o computeIfAbsent e o add, e a conexão ficaria num conjunto órfão, sem eventos
+        indice.compute(chave, (k, atuais) -> {
+            Set<Conexao> conjunto = atuais == null ? ConcurrentHashMap.newKeySet() : atuais;
+            conjunto.add(conexao);
+            return conjunto;
+        });
+        conexoes.incrementAndGet();
+
+        SseEmitter emitter = conexao.emitter;
+        emitter.onCompletion(conexao::remover);
+        emitter.onError(e -> conexao.remover());
+        emitter.onTimeout(emitter::complete);
+        return conexao;
+    }
+
+    private Set<DataWithMediaType> dados(PedidoEvento evento) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(evento);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e.getOriginalMessage(), e);
+        }
+        SseEmitter.SseEventBuilder builder = SseEmitter.event().name(EVENTO).data(json, MediaType.APPLICATION_JSON);
+        if (evento.id() != null) {
+            builder.id(String.valueOf(evento.id()));
+        }
+        return builder.build();
+    }
+
+    private record Envio(Set<DataWithMediaType> dados, boolean encerrar) {
+    }
+
+    /**
+     * Uma conexão SSE com sua fila de envio. No máximo uma thread escreve por vez (flag escrevendo),
+     * na ordem da fila. SseEmitter.send e complete são synchronized: uma escrita presa segura o
+     * monitor, então só a própria thread de escrita encerra o emitter, nunca quem descarta a conexão.
+     */
+    private final class Conexao {
+
+        final SseEmitter emitter;
+        private final Map<Long, Set<Conexao>> indice;
+        private final Long chave;
+
+        private final Queue<Envio> fila = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendentes = new AtomicInteger();
+        private final AtomicBoolean escrevendo = new AtomicBoolean();
+        private final AtomicBoolean removida = new AtomicBoolean();
+        private volatile long escrevendoDesde;
+        private volatile boolean encerrada;
+        private volatile Throwable falha;
+
+        Conexao(SseEmitter emitter, Map<Long, Set<Conexao>> indice, Long chave) {
+            this.emitter = emitter;
+            this.indice = indice;
+            this.chave = chave;
+        }
+
+        void enfileirar(Set<DataWithMediaType> dados, boolean encerrar) {
+            if (encerrada) {
+                return;
+            }
+            if (pendentes.incrementAndGet() > tamanhoFila) {
+                descartar(new IOException("Fila de envio cheia (" + tamanhoFila + " eventos)"));
+                return;
+            }
+            fila.add(new Envio(dados, encerrar));
+            agendar();
+        }
+
+        void heartbeat(long agora) {
+            long desde = escrevendoDesde;
+            if (desde != 0 && agora - desde > limiteEscritaNanos) {
+                descartar(new IOException("Escrita parada há mais de " + Duration.ofNanos(limiteEscritaNanos)));
+            } else {
+                enfileirar(HEARTBEAT, false);
+            }
+        }
+
+        // Sai do índice na hora, para não receber mais eventos; o emitter é encerrado pela thread de escrita
+        void descartar(Throwable causa) {
+            if (encerrada) {
+                return;
+            }
+            falha = causa;
+            encerrada = true;
+            if (remover()) {
+                conexoesDescartadas.increment();
+                logger.debug("Conexão SSE {} descartada: {}", chave, causa.getMessage());
+            }
+            agendar();
+        }
+
+        boolean remover() {
+            if (!removida.compareAndSet(false, true)) {
+                return false;
+            }
+            indice.computeIfPresent(chave, (k, atuais) -> {
+                atuais.remove(this);
+                return atuais.isEmpty() ? null : atuais;
+            });
+            conexoes.decrementAndGet();
+            return true;
+        }
+
+        private void agendar() {
+            if (escrevendo.compareAndSet(false, true)) {
+                try {
+                    escritores.execute(this::escrever);
+                } catch (RejectedExecutionException e) {
+                    // Aplicação encerrando
+                    escrevendo.set(false);
+                }
+            }
+        }
+
+        private void escrever() {
+            while (true) {
+                Envio envio;
+                while (!encerrada && (envio = fila.poll()) != null) {
+                    pendentes.decrementAndGet();
+                    enviar(envio);
+                }
+                if (encerrada) {
+                    fila.clear();
+                    fechar();
+                    // escrevendo fica true: nenhuma outra escrita é agendada
+                    return;
+                }
+                escrevendo.set(false);
+                // Um enfileirar ou descartar entre o último poll e o set(false) não conseguiu agendar
+                if ((fila.isEmpty() && !encerrada) || !escrevendo.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+
+        private void enviar(Envio envio) {
+            escrevendoDesde = System.nanoTime();
+            try {
+                emitter.send(envio.dados());
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado ou emitter já encerrado
+                falha = e;
+                encerrada = true;
+                return;
+            } finally {
+                escrevendoDesde = 0;
+            }
+            if (envio.dados() != HEARTBEAT) {
+                eventosEnviados.increment();
+            }
+            if (envio.encerrar()) {
+                encerrada = true;
+            }
+        }
+
+        private void fechar() {
+            remover();
+            Throwable causa = falha;
+            if (causa != null) {
+                emitter.completeWithError(causa);
+            } else {
+                emitter.complete();
+            }
+        }
+    }
+}
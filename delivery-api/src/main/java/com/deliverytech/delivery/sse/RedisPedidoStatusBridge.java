@@ -0,0 +1,67 @@
+package com.deliverytech.delivery.sse;
+
+import com.deliverytech.delivery.outbox.OutboxRelay;
+import com.deliverytech.delivery.outbox.PedidoEvento;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Várias réplicas: a instância que drena o outbox publica cada evento no Redis e todas as
+ * instâncias (inclusive ela) entregam ao seu hub local as mensagens recebidas do canal.
+ *
+ * O container de mensagens usa uma única thread, preservando a ordem de publicação.
+ */
+@Component
+@ConditionalOnProperty(name = "pedido.stream.bridge", havingValue = "redis")
+public class RedisPedidoStatusBridge implements MessageListener {
+
+    public static final String CANAL = "delivery-api::pedido-status";
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisPedidoStatusBridge.class);
+
+    private final OutboxRelay outboxRelay;
+    private final PedidoStatusHub hub;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public RedisPedidoStatusBridge(OutboxRelay outboxRelay,
+                                   PedidoStatusHub hub,
+                                   StringRedisTemplate redisTemplate,
+                                   ObjectMapper objectMapper) {
+        this.outboxRelay = outboxRelay;
+        this.hub = hub;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        outboxRelay.inscrever(this::publicar);
+    }
+
+    void publicar(PedidoEvento evento) {
+        try {
+            redisTemplate.convertAndSend(CANAL, objectMapper.writeValueAsString(evento));
+        } catch (Exception e) {
+            // Sem Redis, ao menos as conexões desta instância recebem o evento
+            logger.warn("Falha ao publicar evento {} do pedido {} no Redis: {}", evento.id(), evento.pedidoId(), e.getMessage());
+            hub.entregar(evento);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            hub.entregar(objectMapper.readValue(message.getBody(), PedidoEvento.class));
+        } catch (Exception e) {
+            logger.warn("Mensagem inválida no canal {}: {}", CANAL, e.getMessage());
+        }
+    }
+}
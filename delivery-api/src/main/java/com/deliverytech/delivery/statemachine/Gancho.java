@@ -0,0 +1,10 @@
+package com.deliverytech.delivery.statemachine;
+
+/**
+ * Ação executada em uma transição de estado da entidade.
+ */
+@FunctionalInterface
+public interface Gancho<S extends Enum<S>, E> {
+
+    void executar(E entidade, S de, S para);
+}
@@ -0,0 +1,97 @@
+package com.deliverytech.delivery.statemachine;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Aplica transições de uma TabelaTransicoes a uma entidade, com ganchos antes e depois da troca de estado.
+ *
+ * Ordem de uma transição: ganchos "antes" (a entidade ainda está no estado de origem; uma exceção
+ * cancela a transição), troca do estado, ganchos "depois" e, por fim, os de aoEntrar do estado de destino.
+ * Os ganchos rodam na thread e na transação de quem chamou transicionar.
+ */
+public final class MaquinaEstados<S extends Enum<S>, E> {
+
+    private final TabelaTransicoes<S> tabela;
+    private final Function<E, S> leitor;
+    private final BiConsumer<E, S> escritor;
+    private final List<Gancho<S, E>> antes;
+    private final List<Gancho<S, E>> depois;
+    private final Map<S, List<Gancho<S, E>>> aoEntrar;
+
+    private MaquinaEstados(Builder<S, E> builder) {
+        this.tabela = builder.tabela;
+        this.leitor = builder.leitor;
+        this.escritor = builder.escritor;
+        this.antes = List.copyOf(builder.antes);
+        this.depois = List.copyOf(builder.depois);
+        this.aoEntrar = new EnumMap<>(builder.tabela.tipo());
+        builder.aoEntrar.forEach((estado, ganchos) -> this.aoEntrar.put(estado, List.copyOf(ganchos)));
+    }
+
+    public static <S extends Enum<S>, E> Builder<S, E> builder(TabelaTransicoes<S> tabela,
+                                                               Function<E, S> leitor,
+                                                               BiConsumer<E, S> escritor) {
+        return new Builder<>(tabela, leitor, escritor);
+    }
+
+    public TabelaTransicoes<S> tabela() {
+        return tabela;
+    }
+
+    /**
+     * Leva a entidade ao estado informado e devolve o estado anterior.
+     */
+    public S transicionar(E entidade, S para) {
+        S de = leitor.apply(entidade);
+        if (!tabela.permite(de, para)) {
+            throw new TransicaoInvalidaException(de, para);
+        }
+
+        antes.forEach(gancho -> gancho.executar(entidade, de, para));
+        escritor.accept(entidade, para);
+        depois.forEach(gancho -> gancho.executar(entidade, de, para));
+        aoEntrar.getOrDefault(para, List.of()).forEach(gancho -> gancho.executar(entidade, de, para));
+        return de;
+    }
+
+    public static final class Builder<S extends Enum<S>, E> {
+
+        private final TabelaTransicoes<S> tabela;
+        private final Function<E, S> leitor;
+        private final BiConsumer<E, S> escritor;
+        private final List<Gancho<S, E>> antes = new ArrayList<>();
+        private final List<Gancho<S, E>> depois = new ArrayList<>();
+        private final EnumMap<S, List<Gancho<S, E>>> aoEntrar;
+
+        private Builder(TabelaTransicoes<S> tabela, Function<E, S> leitor, BiConsumer<E, S> escritor) {
+            this.tabela = tabela;
+            this.leitor = leitor;
+            this.escritor = escritor;
+            this.aoEntrar = new EnumMap<>(tabela.tipo());
+        }
+
+        public Builder<S, E> antes(Gancho<S, E> gancho) {
+            antes.add(gancho);
+            return this;
+        }
+
+        public Builder<S, E> depois(Gancho<S, E> gancho) {
+            depois.add(gancho);
+            return this;
+        }
+
+        public Builder<S, E> aoEntrar(S estado, Gancho<S, E> gancho) {
+            aoEntrar.computeIfAbsent(estado, e -> new ArrayList<>()).add(gancho);
+            return this;
+        }
+
+        public MaquinaEstados<S, E> build() {
+            return new MaquinaEstados<>(this);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.deliverytech.delivery.statemachine;
+
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.metrics.PedidoMetrics;
+import com.deliverytech.delivery.outbox.OutboxService;
+import com.deliverytech.delivery.service.RelatorioService;
+import com.deliverytech.delivery.stock.StockReservationService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static com.deliverytech.delivery.enums.StatusPedido.*;
+
+/**
+ * Ciclo de vida do pedido: as tabelas de transições de StatusPedido e os efeitos de cada mudança.
+ *
+ * Cada porta de entrada tem a sua tabela: a atualização de status (PATCH) não cancela pedidos já
+ * confirmados, o que só o cancelamento (DELETE) faz. A máquina roda sobre a união das duas, que
+ * também define os status finais. Toda mudança dispara os mesmos efeitos, venha de onde vier: data
+ * de entrada no novo status, tempo no status anterior, evento no outbox e, conforme o destino,
+ * estorno e devolução de estoque (CANCELADO) ou resumo diário (ENTREGUE).
+ */
+@Component
+public class PedidoStatusMaquina {
+
+    /**
+     * Transições pela atualização de status (PATCH /api/pedidos/{id}/status).
+     */
+    public static final TabelaTransicoes<StatusPedido> ATUALIZACAO = TabelaTransicoes.de(StatusPedido.class)
+            .permitir(PENDENTE, CONFIRMADO, CANCELADO)
+            .permitir(CONFIRMADO, EM_PREPARACAO)
+            .permitir(EM_PREPARACAO, SAIU_PARA_ENTREGA)
+            .permitir(SAIU_PARA_ENTREGA, ENTREGUE)
+            .build();
+
+    /**
+     * Transições pelo cancelamento (DELETE /api/pedidos/{id}): só pedidos confirmados.
+     */
+    public static final TabelaTransicoes<StatusPedido> CANCELAMENTO = TabelaTransicoes.de(StatusPedido.class)
+            .permitir(CONFIRMADO, CANCELADO)
+            .build();
+
+    public static final TabelaTransicoes<StatusPedido> TRANSICOES = ATUALIZACAO.unir(CANCELAMENTO);
+
+    private final MaquinaEstados<StatusPedido, Pedido> maquina;
+
+    public PedidoStatusMaquina(PedidoMetrics pedidoMetrics,
+                               OutboxService outboxService,
+                               StockReservationService stockReservationService,
+                               RelatorioService relatorioService) {
+        this.maquina = MaquinaEstados.builder(TRANSICOES, Pedido::getStatus, Pedido::setStatus)
+                .antes((pedido, de, para) -> registrarTempoNoStatus(pedidoMetrics, pedido, de, para))
+                .depois((pedido, de, para) -> pedido.registrarDataStatus(para, LocalDateTime.now()))
+                .depois((pedido, de, para) -> outboxService.registrar(pedido, de))
+                .depois((pedido, de, para) -> pedidoMetrics.incrementarPedidosPorStatus(para.name()))
+                .aoEntrar(CANCELADO, (pedido, de, para) -> {
+                    pedidoMetrics.estornarReceita(pedido);
+                    stockReservationService.liberar(pedido.getItens());
+                })
+                .aoEntrar(ENTREGUE, (pedido, de, para) -> relatorioService.registrarPedidoEntregue(pedido))
+                .build();
+    }
+
+    public static boolean isFinal(StatusPedido status) {
+        return TRANSICOES.isFinal(status);
+    }
+
+    public static boolean permiteAtualizacao(StatusPedido de, StatusPedido para) {
+        return ATUALIZACAO.permite(de, para);
+    }
+
+    public static boolean permiteCancelamento(StatusPedido de) {
+        return CANCELAMENTO.permite(de, CANCELADO);
+    }
+
+    /**
+     * Aplica uma transição da atualização de status e seus efeitos. Retorna o status anterior.
+     *
+     * @throws TransicaoInvalidaException se a transição não estiver em ATUALIZACAO
+     */
+    public StatusPedido atualizar(Pedido pedido, StatusPedido novoStatus) {
+        if (!permiteAtualizacao(pedido.getStatus(), novoStatus)) {
+            throw new TransicaoInvalidaException(pedido.getStatus(), novoStatus);
+        }
+        return maquina.transicionar(pedido, novoStatus);
+    }
+
+    /**
+     * Cancela o pedido, com estorno e devolução de estoque. Retorna o status anterior.
+     *
+     * @throws TransicaoInvalidaException se o status atual não estiver em CANCELAMENTO
+     */
+    public StatusPedido cancelar(Pedido pedido) {
+        if (!permiteCancelamento(pedido.getStatus())) {
+            throw new TransicaoInvalidaException(pedido.getStatus(), CANCELADO);
+        }
+        return maquina.transicionar(pedido, CANCELADO);
+    }
+
+    private static void registrarTempoNoStatus(PedidoMetrics pedidoMetrics, Pedido pedido, StatusPedido de, StatusPedido para) {
+        LocalDateTime entrada = pedido.getDataStatus(de);
+        if (entrada != null) {
+            pedidoMetrics.registrarTempoNoStatus(pedido.getRestaurante().getId(), de, para,
+                    Duration.between(entrada, LocalDateTime.now()));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.deliverytech.delivery.statemachine;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Transições permitidas entre os valores de um enum, em EnumMap/EnumSet (consulta sem hashing nem alocação).
+ *
+ * Estados sem nenhuma transição de saída são finais: não existe uma segunda regra para "status final"
+ * que possa divergir da tabela.
+ */
+public final class TabelaTransicoes<S extends Enum<S>> {
+
+    private final Class<S> tipo;
+    private final Map<S, Set<S>> destinos;
+
+    private TabelaTransicoes(Class<S> tipo, Map<S, Set<S>> destinos) {
+        this.tipo = tipo;
+        this.destinos = destinos;
+    }
+
+    public static <S extends Enum<S>> Builder<S> de(Class<S> tipo) {
+        return new Builder<>(tipo);
+    }
+
+    public boolean permite(S de, S para) {
+        return destinos.get(de).contains(para);
+    }
+
+    public boolean isFinal(S estado) {
+        return destinos.get(estado).isEmpty();
+    }
+
+    public Set<S> destinos(S de) {
+        return destinos.get(de);
+    }
+
+    public Class<S> tipo() {
+        return tipo;
+    }
+
+    /**
+     * Tabela com as transições desta e da outra.
+     */
+    public TabelaTransicoes<S> unir(TabelaTransicoes<S> outra) {
+        Builder<S> builder = de(tipo);
+        destinos.forEach((estado, para) -> para.forEach(destino -> builder.permitir(estado, destino)));
+        outra.destinos.forEach((estado, para) -> para.forEach(destino -> builder.permitir(estado, destino)));
+        return builder.build();
+    }
+
+    public static final class Builder<S extends Enum<S>> {
+
+        private final Class<S> tipo;
+        private final EnumMap<S, EnumSet<S>> destinos;
+
+        private Builder(Class<S> tipo) {
+            this.tipo = tipo;
+            this.destinos = new EnumMap<>(tipo);
+            for (S estado : tipo.getEnumConstants()) {
+                destinos.put(estado, EnumSet.noneOf(tipo));
+            }
+        }
+
+        @SafeVarargs
+        public final Builder<S> permitir(S de, S... para) {
+            for (S destino : para) {
+                destinos.get(de).add(destino);
+            }
+            return this;
+        }
+
+        public TabelaTransicoes<S> build() {
+            EnumMap<S, Set<S>> imutavel = new EnumMap<>(tipo);
+            destinos.forEach((estado, para) -> imutavel.put(estado, Collections.unmodifiableSet(EnumSet.copyOf(para))));
+            return new TabelaTransicoes<>(tipo, Collections.unmodifiableMap(imutavel));
+        }
+    }
+}
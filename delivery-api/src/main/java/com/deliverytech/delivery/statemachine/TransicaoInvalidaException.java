@@ -0,0 +1,13 @@
+package com.deliverytech.delivery.statemachine;
+
+/**
+ * Transição ausente da tabela. Quem chama deve validar antes (permiteAtualizacao,
+ * permiteCancelamento, isFinal) e responder com
+ * a mensagem de negócio adequada; esta exceção indica um caminho que pulou a validação.
+ */
+public class TransicaoInvalidaException extends IllegalStateException {
+
+    public TransicaoInvalidaException(Enum<?> de, Enum<?> para) {
+        super("Transição de estado não permitida: de " + de + " para " + para);
+    }
+}
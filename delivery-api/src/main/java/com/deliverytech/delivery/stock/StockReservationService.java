@@ -0,0 +1,227 @@
+package com.deliverytech.delivery.stock;
+
+import com.deliverytech.delivery.entity.ItemPedido;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.exception.BusinessException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reserva de estoque em memória, sem travar a linha do produto no banco a cada pedido.
+ *
+ * O contador de cada produto é criado a partir do estoque lido do banco no primeiro pedido
+ * e, a partir daí, é a referência desta instância. As reservas e liberações acumulam um saldo
+ * que é gravado em lote periodicamente (UPDATE relativo, estoque = estoque - saldo). O estoque
+ * exibido pelo banco pode ficar atrasado até o intervalo de flush.
+ *
+ * A cada stock.reconcile-interval os contadores são comparados ao banco: o que mudou além dos
+ * flushes desta instância (baixas de outras instâncias, ajuste administrativo direto na tabela)
+ * é aplicado ao disponível. Com várias instâncias, cada uma ainda pode vender até o estoque que
+ * enxerga dentro de um intervalo de reconciliação.
+ */
+@Service
+public class StockReservationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockReservationService.class);
+
+    private static final String SQL_FLUSH = "UPDATE produto SET estoque = estoque - ? WHERE id = ?";
+    private static final String SQL_ESTOQUES = "SELECT id, estoque FROM produto WHERE id IN (%s)";
+    private static final int LOTE_RECONCILIACAO = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int quantidadeFaixas;
+
+    private final Map<Long, StripedStockCounter> contadores = new ConcurrentHashMap<>();
+
+    // Flush e reconciliação não se sobrepõem: a leitura do banco precisa enxergar tudo o que já
+    // foi drenado dos contadores
+    private final ReentrantLock gravando = new ReentrantLock();
+
+    public StockReservationService(JdbcTemplate jdbcTemplate,
+                                   @Value("${stock.stripes:0}") int quantidadeFaixas) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.quantidadeFaixas = quantidadeFaixas > 0
+                ? quantidadeFaixas
+                : Math.max(4, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Reserva o estoque de todos os itens ou de nenhum. Lança BusinessException se algum produto
+     * não tiver saldo. Dentro de uma transação, a reserva é desfeita se ela sofrer rollback.
+     */
+    public void reservar(List<ItemPedido> itens) {
+        List<Quantidade> quantidades = somarPorProduto(itens);
+        List<Quantidade> reservados = new ArrayList<>();
+
+        for (Quantidade item : quantidades) {
+            if (!contador(item.produto()).reservar(item.quantidade())) {
+                devolver(reservados);
+                throw new BusinessException("Estoque insuficiente para o produto: " + item.produto().getNome());
+            }
+            reservados.add(item);
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        devolver(quantidades);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Devolve ao estoque as quantidades de um pedido cancelado. Dentro de uma transação,
+     * a devolução só acontece depois do commit.
+     */
+    public void liberar(List<ItemPedido> itens) {
+        List<Quantidade> quantidades = somarPorProduto(itens);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    devolver(quantidades);
+                }
+            });
+        } else {
+            devolver(quantidades);
+        }
+    }
+
+    /**
+     * Estoque disponível na visão desta instância, ou null se o produto ainda não foi reservado.
+     */
+    public Long disponivel(Long produtoId) {
+        StripedStockCounter contador = contadores.get(produtoId);
+        return contador != null ? contador.disponivel() : null;
+    }
+
+    /**
+     * Grava no banco, em um único lote, o saldo acumulado de cada produto desde o último flush.
+     */
+    @Scheduled(fixedDelayString = "${stock.flush-interval:1s}")
+    public void flush() {
+        gravando.lock();
+        try {
+            gravarPendentes();
+        } finally {
+            gravando.unlock();
+        }
+    }
+
+    /**
+     * Aplica aos contadores as mudanças de estoque feitas no banco fora desta instância.
+     * Produtos removidos do banco deixam de ter contador.
+     */
+    @Scheduled(fixedDelayString = "${stock.reconcile-interval:30s}",
+               initialDelayString = "${stock.reconcile-interval:30s}")
+    public void reconciliar() {
+        gravando.lock();
+        try {
+            List<Long> produtos = new ArrayList<>(contadores.keySet());
+            for (int inicio = 0; inicio < produtos.size(); inicio += LOTE_RECONCILIACAO) {
+                List<Long> lote = produtos.subList(inicio, Math.min(inicio + LOTE_RECONCILIACAO, produtos.size()));
+                Map<Long, Long> gravados = new HashMap<>();
+                jdbcTemplate.query(String.format(SQL_ESTOQUES, String.join(",", Collections.nCopies(lote.size(), "?"))),
+                        (RowCallbackHandler) rs -> gravados.put(rs.getLong(1), rs.getLong(2)),
+                        lote.toArray());
+
+                for (Long produtoId : lote) {
+                    Long gravado = gravados.get(produtoId);
+                    if (gravado == null) {
+                        contadores.remove(produtoId);
+                    } else {
+                        long diferenca = contadores.get(produtoId).reconciliar(gravado);
+                        if (diferenca != 0) {
+                            logger.debug("Estoque do produto {} ajustado em {} pelo banco", produtoId, diferenca);
+                        }
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Falha ao reconciliar o estoque com o banco, nova tentativa na próxima rodada: {}",
+                    e.getMessage());
+        } finally {
+            gravando.unlock();
+        }
+    }
+
+    private void gravarPendentes() {
+        List<Long> produtos = new ArrayList<>();
+        List<Object[]> parametros = new ArrayList<>();
+
+        contadores.forEach((produtoId, contador) -> {
+            long saldo = contador.drenarPendente();
+            if (saldo != 0) {
+                produtos.add(produtoId);
+                parametros.add(new Object[]{saldo, produtoId});
+            }
+        });
+
+        if (parametros.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(SQL_FLUSH, parametros);
+            for (int i = 0; i < produtos.size(); i++) {
+                contadores.get(produtos.get(i)).registrarGravado((long) parametros.get(i)[0]);
+            }
+        } catch (Exception e) {
+            logger.warn("Falha ao gravar estoque de {} produtos, nova tentativa no próximo flush: {}",
+                    produtos.size(), e.getMessage());
+            for (int i = 0; i < produtos.size(); i++) {
+                contadores.get(produtos.get(i)).restaurarPendente((long) parametros.get(i)[0]);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        flush();
+    }
+
+    private void devolver(List<Quantidade> quantidades) {
+        quantidades.forEach(item -> contador(item.produto()).liberar(item.quantidade()));
+    }
+
+    private StripedStockCounter contador(Produto produto) {
+        return contadores.computeIfAbsent(produto.getId(),
+                id -> new StripedStockCounter(produto.getEstoque(), quantidadeFaixas));
+    }
+
+    // Agrupa por id: o mesmo produto pode aparecer em mais de um item
+    private static List<Quantidade> somarPorProduto(List<ItemPedido> itens) {
+        Map<Long, Quantidade> porProduto = new LinkedHashMap<>();
+        for (ItemPedido item : itens) {
+            porProduto.merge(item.getProduto().getId(),
+                    new Quantidade(item.getProduto(), item.getQuantidade()),
+                    (a, b) -> new Quantidade(a.produto(), a.quantidade() + b.quantidade()));
+        }
+        return List.copyOf(porProduto.values());
+    }
+
+    private record Quantidade(Produto produto, int quantidade) {
+    }
+}
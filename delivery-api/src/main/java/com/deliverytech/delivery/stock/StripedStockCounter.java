@@ -0,0 +1,189 @@
+package com.deliverytech.delivery.stock;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Estoque disponível de um produto dividido em faixas (stripes) independentes.
+ *
+ * Cada reserva tenta primeiro uma única faixa escolhida ao acaso, com um CAS; só quando a faixa
+ * não tem saldo suficiente percorre as demais, juntando unidades e devolvendo tudo se não alcançar
+ * a quantidade. Nenhuma faixa fica negativa, então a soma reservada nunca passa do estoque.
+ *
+ * Cada faixa guarda também o saldo ainda não gravado no banco (reservas menos liberações),
+ * drenado pelo flush periódico. As faixas ficam em linhas de cache separadas para evitar false sharing.
+ */
+final class StripedStockCounter {
+
+    // 8 longs = 64 bytes por faixa: [disponível, pendente, padding...]
+    private static final int PASSO = 8;
+    private static final int DISPONIVEL = 0;
+    private static final int PENDENTE = 1;
+
+    private final AtomicLongArray faixas;
+    private final int quantidadeFaixas;
+
+    // Redução externa que não coube no disponível (já zerado); abatida dos próximos aumentos
+    private final AtomicLong deficit = new AtomicLong();
+
+    // Estoque que o banco deve ter considerando só os flushes desta instância; lido e escrito
+    // apenas com o lock de gravação de StockReservationService
+    private long gravadoEsperado;
+
+    StripedStockCounter(long estoqueInicial, int quantidadeFaixas) {
+        this.quantidadeFaixas = quantidadeFaixas;
+        this.faixas = new AtomicLongArray(quantidadeFaixas * PASSO);
+        this.gravadoEsperado = estoqueInicial;
+
+        long base = Math.max(0, estoqueInicial) / quantidadeFaixas;
+        long resto = Math.max(0, estoqueInicial) % quantidadeFaixas;
+        for (int i = 0; i < quantidadeFaixas; i++) {
+            faixas.set(i * PASSO + DISPONIVEL, base + (i < resto ? 1 : 0));
+        }
+    }
+
+    boolean reservar(int quantidade) {
+        int inicio = ThreadLocalRandom.current().nextInt(quantidadeFaixas);
+
+        if (tentarFaixa(inicio, quantidade)) {
+            faixas.addAndGet(inicio * PASSO + PENDENTE, quantidade);
+            return true;
+        }
+
+        long[] tomados = new long[quantidadeFaixas];
+        long restante = quantidade;
+        for (int k = 0; k < quantidadeFaixas && restante > 0; k++) {
+            int faixa = (inicio + k) % quantidadeFaixas;
+            long tomado = tomarAte(faixa, restante);
+            tomados[faixa] = tomado;
+            restante -= tomado;
+        }
+
+        if (restante > 0) {
+            for (int faixa = 0; faixa < quantidadeFaixas; faixa++) {
+                if (tomados[faixa] > 0) {
+                    faixas.addAndGet(faixa * PASSO + DISPONIVEL, tomados[faixa]);
+                }
+            }
+            return false;
+        }
+
+        faixas.addAndGet(inicio * PASSO + PENDENTE, quantidade);
+        return true;
+    }
+
+    void liberar(int quantidade) {
+        int faixa = ThreadLocalRandom.current().nextInt(quantidadeFaixas);
+        faixas.addAndGet(faixa * PASSO + DISPONIVEL, quantidade);
+        faixas.addAndGet(faixa * PASSO + PENDENTE, -quantidade);
+    }
+
+    /**
+     * Retorna e zera o saldo reservado ainda não gravado no banco.
+     */
+    long drenarPendente() {
+        long total = 0;
+        for (int i = 0; i < quantidadeFaixas; i++) {
+            total += faixas.getAndSet(i * PASSO + PENDENTE, 0);
+        }
+        return total;
+    }
+
+    /**
+     * Devolve um saldo que não pôde ser gravado, para a próxima tentativa de flush.
+     */
+    void restaurarPendente(long quantidade) {
+        faixas.addAndGet(PENDENTE, quantidade);
+    }
+
+    /**
+     * Registra um saldo gravado no banco por esta instância.
+     */
+    void registrarGravado(long saldo) {
+        gravadoEsperado -= saldo;
+    }
+
+    /**
+     * Aplica ao disponível a diferença entre o estoque lido do banco e o esperado pelos flushes
+     * desta instância: baixas de outras instâncias e ajustes administrativos. O ajuste é relativo
+     * e não depende do disponível nem do pendente, então reservas concorrentes não o afetam.
+     * Retorna a diferença aplicada.
+     */
+    long reconciliar(long gravado) {
+        long diferenca = gravado - gravadoEsperado;
+        gravadoEsperado = gravado;
+        if (diferenca > 0) {
+            aumentar(diferenca);
+        } else if (diferenca < 0) {
+            reduzir(-diferenca);
+        }
+        return diferenca;
+    }
+
+    long disponivel() {
+        long total = 0;
+        for (int i = 0; i < quantidadeFaixas; i++) {
+            total += faixas.get(i * PASSO + DISPONIVEL);
+        }
+        return total;
+    }
+
+    private void aumentar(long quantidade) {
+        long divida;
+        long abatido;
+        do {
+            divida = deficit.get();
+            abatido = Math.min(divida, quantidade);
+        } while (!deficit.compareAndSet(divida, divida - abatido));
+
+        long restante = quantidade - abatido;
+        if (restante == 0) {
+            return;
+        }
+        long base = restante / quantidadeFaixas;
+        long resto = restante % quantidadeFaixas;
+        for (int i = 0; i < quantidadeFaixas; i++) {
+            long parte = base + (i < resto ? 1 : 0);
+            if (parte > 0) {
+                faixas.addAndGet(i * PASSO + DISPONIVEL, parte);
+            }
+        }
+    }
+
+    private void reduzir(long quantidade) {
+        long restante = quantidade;
+        for (int faixa = 0; faixa < quantidadeFaixas && restante > 0; faixa++) {
+            restante -= tomarAte(faixa, restante);
+        }
+        if (restante > 0) {
+            deficit.addAndGet(restante);
+        }
+    }
+
+    private boolean tentarFaixa(int faixa, long quantidade) {
+        int indice = faixa * PASSO + DISPONIVEL;
+        long atual;
+        do {
+            atual = faixas.get(indice);
+            if (atual < quantidade) {
+                return false;
+            }
+        } while (!faixas.compareAndSet(indice, atual, atual - quantidade));
+        return true;
+    }
+
+    private long tomarAte(int faixa, long maximo) {
+        int indice = faixa * PASSO + DISPONIVEL;
+        long atual;
+        long tomado;
+        do {
+            atual = faixas.get(indice);
+            if (atual <= 0) {
+                return 0;
+            }
+            tomado = Math.min(atual, maximo);
+        } while (!faixas.compareAndSet(indice, atual, atual - tomado));
+        return tomado;
+    }
+}
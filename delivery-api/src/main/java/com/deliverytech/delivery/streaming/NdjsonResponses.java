@@ -0,0 +1,62 @@
+package com.deliverytech.delivery.streaming;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Respostas application/x-ndjson: um objeto JSON por linha, escrito assim que é lido.
+ *
+ * Alternativa opt-in (Accept: application/x-ndjson) às listagens que montam a lista inteira em
+ * ApiWrapperResponse. Erros durante a transmissão não viram resposta de erro (o status 200 já foi
+ * enviado): a conexão é encerrada e o cliente recebe um documento incompleto.
+ */
+@Component
+public class NdjsonResponses {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    // Entrega as linhas ao cliente em blocos, sem um flush por elemento
+    private static final int LINHAS_POR_FLUSH = 100;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+
+    public NdjsonResponses(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public ResponseEntity<StreamingResponseBody> responder(Transmissao<?> transmissao) {
+        StreamingResponseBody corpo = saida -> {
+            try (JsonGenerator gerador = objectMapper.getFactory().createGenerator(saida)) {
+                gerador.setRootValueSeparator(null);
+                int[] linhas = {0};
+                transmissao.transmitir(elemento -> escrever(gerador, elemento, ++linhas[0]));
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(MEDIA_TYPE))
+                .body(corpo);
+    }
+
+    private void escrever(JsonGenerator gerador, Object elemento, int linha) {
+        try {
+            writer.writeValue(gerador, elemento);
+            gerador.writeRaw('\n');
+            if (linha % LINHAS_POR_FLUSH == 0) {
+                gerador.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
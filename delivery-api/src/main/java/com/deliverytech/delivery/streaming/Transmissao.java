@@ -0,0 +1,27 @@
+package com.deliverytech.delivery.streaming;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Sequência de elementos entregue um a um ao destino, sem materializar a lista.
+ *
+ * A execução é adiada: quem monta a transmissão valida os parâmetros na hora; a leitura
+ * só acontece quando transmitir é chamado (no caso do NDJSON, já escrevendo a resposta).
+ */
+@FunctionalInterface
+public interface Transmissao<T> {
+
+    void transmitir(Consumer<? super T> destino);
+
+    default <R> Transmissao<R> mapear(Function<? super T, ? extends R> mapeamento) {
+        return destino -> transmitir(elemento -> destino.accept(mapeamento.apply(elemento)));
+    }
+
+    default Transmissao<T> seguidaDe(Transmissao<? extends T> outra) {
+        return destino -> {
+            transmitir(destino);
+            outra.transmitir(destino);
+        };
+    }
+}
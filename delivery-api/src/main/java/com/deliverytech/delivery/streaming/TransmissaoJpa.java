@@ -0,0 +1,59 @@
+package com.deliverytech.delivery.streaming;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Transmissões sobre consultas JPA que devolvem Stream (cursor no banco), com memória constante.
+ *
+ * A consulta roda em uma transação somente leitura aberta pela própria transmissão (a escrita da
+ * resposta acontece fora da thread da requisição, sem o EntityManager do open-in-view). As entidades
+ * são mapeadas em lotes do tamanho do hibernate.default_batch_fetch_size: as coleções lazy de um
+ * lote (ex.: itens do pedido) são carregadas em uma consulta só, e o contexto de persistência é
+ * limpo ao fim de cada lote para não acumular as entidades já escritas.
+ */
+@Component
+public class TransmissaoJpa {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transacao;
+    private final int tamanhoLote;
+
+    public TransmissaoJpa(PlatformTransactionManager transactionManager,
+                          @Value("${spring.jpa.properties.hibernate.default_batch_fetch_size:50}") int tamanhoLote) {
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.transacao.setReadOnly(true);
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+    }
+
+    public <E, R> Transmissao<R> de(Supplier<Stream<E>> consulta, Function<? super E, ? extends R> mapeamento) {
+        return destino -> transacao.executeWithoutResult(status -> {
+            List<E> lote = new ArrayList<>(tamanhoLote);
+            try (Stream<E> linhas = consulta.get()) {
+                Iterator<E> iterator = linhas.iterator();
+                while (iterator.hasNext()) {
+                    lote.add(iterator.next());
+                    if (lote.size() == tamanhoLote) {
+                        lote.forEach(entidade -> destino.accept(mapeamento.apply(entidade)));
+                        lote.clear();
+                        entityManager.clear();
+                    }
+                }
+                lote.forEach(entidade -> destino.accept(mapeamento.apply(entidade)));
+            }
+        });
+    }
+}
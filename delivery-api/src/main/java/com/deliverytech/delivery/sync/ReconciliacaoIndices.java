@@ -0,0 +1,140 @@
+package com.deliverytech.delivery.sync;
+
+import com.deliverytech.delivery.fee.TaxaEntregaCalculadora;
+import com.deliverytech.delivery.geo.RestauranteGeoIndice;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.search.CatalogoBusca;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Leva aos índices em memória desta instância (tarifas de entrega, índice geográfico e busca
+ * textual) as escritas de restaurantes e produtos feitas por outras instâncias.
+ *
+ * As escritas de RestauranteService e ProdutoService atualizam os índices só da instância que as
+ * recebeu, mas todas incrementam restaurante.versao_cardapio (ver Cardapios). A cada
+ * catalogo.reconciliacao.intervalo uma consulta só de (id, versão) aponta os restaurantes
+ * cadastrados, alterados ou removidos desde a rodada anterior, que são relidos do banco.
+ * Com uma instância só, a rodada apenas relê o que ela mesma já tinha aplicado.
+ */
+@Component
+public class ReconciliacaoIndices {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReconciliacaoIndices.class);
+
+    private final RestauranteRepository restauranteRepository;
+    private final TaxaEntregaCalculadora taxaEntregaCalculadora;
+    private final RestauranteGeoIndice geoIndice;
+    private final CatalogoBusca catalogoBusca;
+    private final boolean habilitado;
+
+    private final ReentrantLock reconciliando = new ReentrantLock();
+    private final Counter restaurantesRelidos;
+
+    // Versão de cada restaurante já refletida nos índices; acessado só com o lock
+    private Map<Long, Long> versoes = new HashMap<>();
+
+    public ReconciliacaoIndices(RestauranteRepository restauranteRepository,
+                                TaxaEntregaCalculadora taxaEntregaCalculadora,
+                                RestauranteGeoIndice geoIndice,
+                                CatalogoBusca catalogoBusca,
+                                MeterRegistry meterRegistry,
+                                @Value("${catalogo.reconciliacao.enabled:true}") boolean habilitado) {
+        this.restauranteRepository = restauranteRepository;
+        this.taxaEntregaCalculadora = taxaEntregaCalculadora;
+        this.geoIndice = geoIndice;
+        this.catalogoBusca = catalogoBusca;
+        this.habilitado = habilitado;
+
+        this.restaurantesRelidos = Counter.builder("catalogo.reconciliacao.relidos")
+                .description("Restaurantes relidos nos índices em memória por escritas de outras instâncias")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Versões lidas antes da carga dos índices (que também escutam ApplicationReadyEvent): uma
+     * escrita entre as duas leituras é relida na primeira rodada, e nunca perdida.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void registrarVersoesIniciais() {
+        reconciliando.lock();
+        try {
+            versoes = lerVersoes();
+        } catch (Exception e) {
+            logger.warn("Não foi possível ler as versões dos restaurantes: {}", e.getMessage());
+        } finally {
+            reconciliando.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalogo.reconciliacao.intervalo:30s}",
+               initialDelayString = "${catalogo.reconciliacao.intervalo:30s}")
+    public void agendado() {
+        if (habilitado) {
+            reconciliar();
+        }
+    }
+
+    /**
+     * Relê nos índices os restaurantes com versão diferente da última rodada (ou que deixaram de
+     * existir). Retorna a quantidade relida.
+     */
+    public int reconciliar() {
+        if (!reconciliando.tryLock()) {
+            return 0;
+        }
+        try {
+            Map<Long, Long> atuais = lerVersoes();
+            List<Long> alterados = new ArrayList<>();
+            atuais.forEach((id, versao) -> {
+                if (!versao.equals(versoes.get(id))) {
+                    alterados.add(id);
+                }
+            });
+            versoes.keySet().stream().filter(id -> !atuais.containsKey(id)).forEach(alterados::add);
+
+            for (Long id : alterados) {
+                taxaEntregaCalculadora.recarregar(id);
+                geoIndice.recarregar(id);
+                catalogoBusca.recarregarRestaurante(id);
+            }
+            // Só depois de aplicadas: uma falha no meio repete a rodada inteira
+            versoes = atuais;
+
+            if (!alterados.isEmpty()) {
+                restaurantesRelidos.increment(alterados.size());
+                logger.debug("Índices em memória reconciliados: {} restaurantes relidos", alterados.size());
+            }
+            return alterados.size();
+        } catch (Exception e) {
+            logger.warn("Falha ao reconciliar os índices em memória: {}", e.getMessage());
+            return 0;
+        } finally {
+            reconciliando.unlock();
+        }
+    }
+
+    private Map<Long, Long> lerVersoes() {
+        Map<Long, Long> lidas = new HashMap<>();
+        for (VersaoRestaurante versao : restauranteRepository.buscarVersoesCardapio()) {
+            lidas.put(versao.id(), versao.versao());
+        }
+        return lidas;
+    }
+}
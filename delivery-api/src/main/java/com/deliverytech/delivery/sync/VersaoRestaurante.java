@@ -0,0 +1,7 @@
+package com.deliverytech.delivery.sync;
+
+/**
+ * Versão do cardápio de um restaurante (restaurante.versao_cardapio), lida pela reconciliação.
+ */
+public record VersaoRestaurante(Long id, Long versao) {
+}
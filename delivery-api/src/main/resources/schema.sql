@@ -18,7 +18,20 @@ CREATE TABLE restaurante (
     endereco VARCHAR(255) NOT NULL,
     telefone VARCHAR(255) NOT NULL,
     taxa_entrega DECIMAL(19,2) NOT NULL,
-    ativo BOOLEAN DEFAULT TRUE NOT NULL
+    ativo BOOLEAN DEFAULT TRUE NOT NULL,
+    -- Centroide do CEP do endereço, usado pelo índice geográfico
+    latitude DOUBLE,
+    longitude DOUBLE,
+    -- Incrementada a cada escrita no restaurante ou nos seus produtos (ETag do cardápio)
+    versao_cardapio BIGINT DEFAULT 0 NOT NULL
+);
+
+-- Curva de taxa de entrega por distância, por restaurante (sem linhas: curva padrão)
+CREATE TABLE restaurante_faixa_taxa (
+    restaurante_id BIGINT NOT NULL,
+    ate_km DOUBLE NOT NULL,
+    valor DECIMAL(19,2) NOT NULL,
+    FOREIGN KEY (restaurante_id) REFERENCES restaurante(id)
 );
     
 
@@ -33,11 +46,22 @@ CREATE TABLE produto (
     restaurante_id BIGINT
 );
 
+-- Ids de pedido e itens vêm de sequências em blocos de 50 (allocationSize das entidades):
+-- o Hibernate reserva os ids em memória e consegue agrupar os INSERTs em lote
+CREATE SEQUENCE pedido_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE item_pedido_seq START WITH 1 INCREMENT BY 50;
+
 -- Tabela Pedido
 CREATE TABLE pedido (
-    pedido_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    pedido_id BIGINT DEFAULT NEXT VALUE FOR pedido_seq PRIMARY KEY,
     data_hora TIMESTAMP NOT NULL,
     status VARCHAR(50) NOT NULL,
+    -- Entrada em cada status seguinte (PENDENTE é data_hora), para medir o tempo em cada etapa
+    data_confirmacao TIMESTAMP,
+    data_preparacao TIMESTAMP,
+    data_saida_entrega TIMESTAMP,
+    data_entrega TIMESTAMP,
+    data_cancelamento TIMESTAMP,
     valor_total DECIMAL(10, 2) NOT NULL,
     cliente_id BIGINT NOT NULL,
     restaurante_id BIGINT NOT NULL,
@@ -45,16 +69,74 @@ CREATE TABLE pedido (
     FOREIGN KEY (restaurante_id) REFERENCES restaurante(id)
 );
 
+-- Índices para a listagem paginada por cursor (data, id) com filtro opcional de status
+CREATE INDEX idx_pedido_data_id ON pedido (data_hora, pedido_id);
+CREATE INDEX idx_pedido_status_data ON pedido (status, data_hora, pedido_id);
+
 -- Tabela item_pedido (Pedido <-> Produto)
 CREATE TABLE item_pedido (
+    id BIGINT DEFAULT NEXT VALUE FOR item_pedido_seq PRIMARY KEY,
     pedido_id BIGINT NOT NULL,
     produto_id BIGINT NOT NULL,
     quantidade INT NOT NULL,
     preco_unitario DECIMAL(10,2) NOT NULL,
     subtotal DECIMAL(10,2) NOT NULL,
-    PRIMARY KEY (pedido_id, produto_id),
     FOREIGN KEY (pedido_id) REFERENCES pedido(pedido_id),
     FOREIGN KEY (produto_id) REFERENCES produto(id)
 );
 
+-- Resumos diários dos pedidos entregues (lidos pelos relatórios)
+CREATE TABLE resumo_restaurante_diario (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    restaurante_id BIGINT NOT NULL,
+    data DATE NOT NULL,
+    valor_total DECIMAL(19,2) NOT NULL,
+    total_pedidos BIGINT NOT NULL,
+    CONSTRAINT uk_resumo_restaurante_data UNIQUE (restaurante_id, data),
+    FOREIGN KEY (restaurante_id) REFERENCES restaurante(id)
+);
+
+CREATE TABLE resumo_produto_diario (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    produto_id BIGINT NOT NULL,
+    data DATE NOT NULL,
+    quantidade_vendida BIGINT NOT NULL,
+    CONSTRAINT uk_resumo_produto_data UNIQUE (produto_id, data),
+    FOREIGN KEY (produto_id) REFERENCES produto(id)
+);
+
+CREATE TABLE resumo_cliente_diario (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    cliente_id BIGINT NOT NULL,
+    data DATE NOT NULL,
+    total_pedidos BIGINT NOT NULL,
+    CONSTRAINT uk_resumo_cliente_data UNIQUE (cliente_id, data),
+    FOREIGN KEY (cliente_id) REFERENCES cliente(id)
+);
+
 ALTER TABLE produto ALTER COLUMN disponivel SET DEFAULT TRUE;
+
+CREATE TABLE outbox_evento (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    pedido_id BIGINT NOT NULL,
+    restaurante_id BIGINT NOT NULL,
+    cliente_id BIGINT,
+    status_anterior VARCHAR(30),
+    status_novo VARCHAR(30) NOT NULL,
+    data_criacao TIMESTAMP NOT NULL
+);
+
+-- Pedidos finalizados antigos (armazenamento frio): pedido completo em JSON compactado
+CREATE TABLE pedido_arquivado (
+    id BIGINT PRIMARY KEY,
+    cliente_id BIGINT NOT NULL,
+    restaurante_id BIGINT NOT NULL,
+    status VARCHAR(30) NOT NULL,
+    data_pedido TIMESTAMP NOT NULL,
+    valor_total DECIMAL(10, 2),
+    data_arquivamento TIMESTAMP NOT NULL,
+    conteudo BLOB NOT NULL
+);
+
+CREATE INDEX idx_pedido_arquivado_cliente ON pedido_arquivado (cliente_id, data_pedido, id);
+CREATE INDEX idx_pedido_arquivado_restaurante ON pedido_arquivado (restaurante_id, data_pedido, id);
@@ -0,0 +1,156 @@
+package com.deliverytech.delivery.archive;
+
+import com.deliverytech.delivery.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery.dto.request.PedidoRequest;
+import com.deliverytech.delivery.dto.response.PedidoResponse;
+import com.deliverytech.delivery.dto.response.common.CursorPage;
+import com.deliverytech.delivery.entity.*;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.repository.*;
+import com.deliverytech.delivery.service.PedidoService;
+import com.deliverytech.delivery.support.DadosDeTeste;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pedidos finalizados antigos saem das tabelas quentes e continuam visíveis,
+ * na mesma ordem, no histórico paginado do cliente.
+ */
+@SpringBootTest(properties = {"pedido.arquivamento.idade=30d", "pedido.arquivamento.batch-size=3"})
+@Import(DadosDeTeste.class)
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PedidoArquivamentoTest {
+
+    @Autowired private PedidoArquivamento arquivamento;
+    @Autowired private PedidoService pedidoService;
+    @Autowired private PedidoRepository pedidoRepository;
+    @Autowired private PedidoArquivadoRepository pedidoArquivadoRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private DadosDeTeste dados;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private Produto produto;
+
+    @BeforeEach
+    void setup() {
+        dados.autenticarAdmin("admin.arquivo@teste.com");
+        cliente = dados.cliente("Cliente Arquivo");
+        restaurante = dados.restaurante("Pizzaria", "Pizza");
+        produto = dados.produto(restaurante, "Pizza", "Pizza", "40.00");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deveArquivarApenasPedidosFinalizadosAntigos() {
+        Long entregueAntigo = criarPedido(StatusPedido.ENTREGUE, 40);
+        Long canceladoAntigo = criarPedido(StatusPedido.CANCELADO, 35);
+        Long pendenteAntigo = criarPedido(StatusPedido.PENDENTE, 60);
+        Long entregueRecente = criarPedido(StatusPedido.ENTREGUE, 5);
+
+        assertThat(arquivamento.arquivar()).isEqualTo(2);
+
+        assertThat(pedidoRepository.findAll()).extracting(Pedido::getId)
+                .containsExactlyInAnyOrder(pendenteAntigo, entregueRecente);
+        assertThat(pedidoArquivadoRepository.findAll()).extracting(PedidoArquivado::getId)
+                .containsExactlyInAnyOrder(entregueAntigo, canceladoAntigo);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM item_pedido WHERE pedido_id IN (?, ?)", Long.class, entregueAntigo, canceladoAntigo))
+                .isZero();
+
+        PedidoResponse arquivado = arquivamento.ler(pedidoArquivadoRepository.findById(entregueAntigo).orElseThrow());
+        assertThat(arquivado.getStatus()).isEqualTo(StatusPedido.ENTREGUE);
+        assertThat(arquivado.getCliente().getId()).isEqualTo(cliente.getId());
+        assertThat(arquivado.getItens()).hasSize(1);
+        assertThat(arquivado.getTotal()).isEqualByComparingTo("45.00");
+
+        // Nada mais a arquivar
+        assertThat(arquivamento.arquivar()).isZero();
+    }
+
+    @Test
+    void historicoDoClienteDeveIntercalarRecentesEArquivados() {
+        // A cada 5 dias, um em cada três pendente: 4 finalizados com mais de 30 dias, em dois lotes de 3
+        List<Long> esperado = new ArrayList<>();
+        for (int dias = 1; dias <= 12; dias++) {
+            StatusPedido status = dias % 3 == 0 ? StatusPedido.PENDENTE : StatusPedido.ENTREGUE;
+            esperado.add(criarPedido(status, dias * 5));
+        }
+        assertThat(arquivamento.arquivar()).isEqualTo(4);
+
+        List<Long> obtido = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            CursorPage<PedidoResponse> pagina = pedidoService.buscarPedidosPorCliente(cliente.getId(), cursor, 5);
+            pagina.itens().forEach(p -> obtido.add(p.getId()));
+            cursor = pagina.nextCursor();
+            paginas++;
+        } while (cursor != null);
+
+        assertThat(obtido).containsExactlyElementsOf(esperado);
+        assertThat(paginas).isEqualTo(3);
+    }
+
+    @Test
+    void historicoDoClienteNaoDeveRepetirPedidoPresenteNasDuasTabelas() {
+        Long antigo = criarPedido(StatusPedido.ENTREGUE, 40);
+        Long recente = criarPedido(StatusPedido.PENDENTE, 5);
+        assertThat(arquivamento.arquivar()).isEqualTo(1);
+
+        // Cópia do recente no arquivo, como se lida no meio de um lote
+        Pedido original = pedidoRepository.findById(recente).orElseThrow();
+        PedidoArquivado copia = pedidoArquivadoRepository.findById(antigo).orElseThrow();
+        PedidoArquivado duplicado = new PedidoArquivado();
+        duplicado.setId(recente);
+        duplicado.setClienteId(cliente.getId());
+        duplicado.setRestauranteId(restaurante.getId());
+        duplicado.setStatus(StatusPedido.ENTREGUE);
+        duplicado.setDataPedido(original.getDataPedido());
+        duplicado.setDataArquivamento(LocalDateTime.now());
+        duplicado.setConteudo(copia.getConteudo());
+        pedidoArquivadoRepository.save(duplicado);
+
+        CursorPage<PedidoResponse> pagina = pedidoService.buscarPedidosPorCliente(cliente.getId(), null, 5);
+
+        assertThat(pagina.itens()).extracting(PedidoResponse::getId).containsExactly(recente, antigo);
+        assertThat(pagina.nextCursor()).isNull();
+    }
+
+    private Long criarPedido(StatusPedido status, int diasAtras) {
+        PedidoRequest request = new PedidoRequest();
+        request.setClienteId(cliente.getId());
+        request.setRestauranteId(restaurante.getId());
+        request.setEnderecoEntrega("Rua Teste, 123");
+        request.setItens(List.of(new ItemPedidoRequest(produto.getId(), 1)));
+        Long id = pedidoService.criarPedido(request).getId();
+
+        jdbcTemplate.update("UPDATE pedido SET status = ?, data_pedido = ? WHERE id = ?",
+                status.name(), Timestamp.valueOf(LocalDateTime.now().minusDays(diasAtras)), id);
+        return id;
+    }
+}
@@ -0,0 +1,134 @@
+package com.deliverytech.delivery.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class NearCacheManagerTest {
+
+    private ConcurrentMapCacheManager remoto;
+    private CacheInvalidationPublisher publisher;
+    private SimpleMeterRegistry registry;
+    private NearCacheManager manager;
+
+    @BeforeEach
+    void setup() {
+        remoto = new ConcurrentMapCacheManager("restaurantes");
+        publisher = mock(CacheInvalidationPublisher.class);
+        when(publisher.getInstanciaId()).thenReturn("local");
+        registry = new SimpleMeterRegistry();
+        manager = new NearCacheManager(remoto, publisher, registry, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void deveServirDoCacheLocalAposPrimeiraLeitura() {
+        remoto.getCache("restaurantes").put(1L, "Pizzaria");
+        Cache cache = manager.getCache("restaurantes");
+
+        assertThat(cache.get(1L).get()).isEqualTo("Pizzaria");
+        // Alteração direta no Redis não é vista enquanto a cópia local for válida
+        remoto.getCache("restaurantes").put(1L, "Alterado");
+        assertThat(cache.get(1L).get()).isEqualTo("Pizzaria");
+
+        assertThat(contagem("local", "hit")).isEqualTo(1);
+        assertThat(contagem("local", "miss")).isEqualTo(1);
+        assertThat(contagem("redis", "hit")).isEqualTo(1);
+    }
+
+    @Test
+    void devePublicarInvalidacaoAoGravarERemover() {
+        Cache cache = manager.getCache("restaurantes");
+
+        cache.put(1L, "Pizzaria");
+        cache.evict(1L);
+        cache.clear();
+
+        verify(publisher, times(2)).publicarRemocao("restaurantes", "1");
+        verify(publisher).publicarLimpeza("restaurantes");
+        assertThat(remoto.getCache("restaurantes").get(1L)).isNull();
+    }
+
+    @Test
+    void deveInvalidarCopiaLocalAoReceberMensagemDeOutraInstancia() {
+        Cache cache = manager.getCache("restaurantes");
+        cache.put(1L, "Pizzaria");
+        remoto.getCache("restaurantes").put(1L, "Atualizado em outro nó");
+
+        manager.onMessage(mensagem("outra|restaurantes|E|1"), null);
+
+        assertThat(cache.get(1L).get()).isEqualTo("Atualizado em outro nó");
+    }
+
+    @Test
+    void deveIgnorarMensagensDaPropriaInstancia() {
+        Cache cache = manager.getCache("restaurantes");
+        cache.put(1L, "Pizzaria");
+        remoto.getCache("restaurantes").put(1L, "Alterado");
+
+        manager.onMessage(mensagem("local|restaurantes|C|"), null);
+
+        assertThat(cache.get(1L).get()).isEqualTo("Pizzaria");
+    }
+
+    @Test
+    void deveContarMissNosDoisNiveis() {
+        Cache cache = manager.getCache("restaurantes");
+
+        assertThat(cache.get(99L)).isNull();
+
+        assertThat(contagem("local", "miss")).isEqualTo(1);
+        assertThat(contagem("redis", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    void naoDeveGuardarNoLocalValorLidoAntesDeUmaInvalidacao() {
+        NearCache[] near = new NearCache[1];
+        AtomicBoolean corrida = new AtomicBoolean(true);
+        Cache redis = new ConcurrentMapCache("restaurantes") {
+            @Override
+            public ValueWrapper get(Object key) {
+                ValueWrapper lido = super.get(key);
+                if (corrida.getAndSet(false)) {
+                    // Outra instância grava e publica a invalidação com a leitura em curso
+                    super.put(key, "Atualizado em outro nó");
+                    near[0].invalidarLocal(NearCache.chaveLocal(key));
+                }
+                return lido;
+            }
+        };
+        redis.put(1L, "Pizzaria");
+        near[0] = new NearCache(redis, Caffeine.newBuilder().<String, Cache.ValueWrapper>build(), publisher, registry);
+
+        assertThat(near[0].get(1L).get()).isEqualTo("Pizzaria");
+        assertThat(near[0].get(1L).get()).isEqualTo("Atualizado em outro nó");
+        // Sem corrida, a leitura seguinte volta a guardar no local
+        assertThat(near[0].get(1L).get()).isEqualTo("Atualizado em outro nó");
+        assertThat(contagem("local", "hit")).isEqualTo(1);
+    }
+
+    private double contagem(String nivel, String resultado) {
+        return registry.get("cache.near.gets")
+                .tag("cache", "restaurantes")
+                .tag("tier", nivel)
+                .tag("result", resultado)
+                .counter()
+                .count();
+    }
+
+    private static DefaultMessage mensagem(String corpo) {
+        return new DefaultMessage(CacheInvalidationPublisher.CANAL.getBytes(StandardCharsets.UTF_8),
+                corpo.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -5,7 +5,9 @@ import com.deliverytech.delivery.dto.request.PedidoRequest;
 import com.deliverytech.delivery.entity.*;
 import com.deliverytech.delivery.enums.Role;
 import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.outbox.OutboxRelay;
 import com.deliverytech.delivery.repository.*;
+import com.deliverytech.delivery.stock.StockReservationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -21,11 +23,14 @@ import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.assertj.core.api.Assertions.assertThat;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -44,6 +49,9 @@ class PedidoControllerIT {
     @Autowired private ClienteRepository clienteRepository;
     @Autowired private RestauranteRepository restauranteRepository;
     @Autowired private ProdutoRepository produtoRepository;
+    @Autowired private PedidoRepository pedidoRepository;
+    @Autowired private StockReservationService stockReservationService;
+    @Autowired private OutboxRelay outboxRelay;
 
     private Cliente cliente;
     private Restaurante restaurante;
@@ -235,4 +243,211 @@ void deveBuscarPedidosPorCliente() throws Exception {
         .andExpect(jsonPath("$.dados[0].cliente.id", is(cliente.getId().intValue())))
         .andExpect(jsonPath("$.dados[0].itens", not(empty())));
 }
+
+    @Test
+    void deveListarPedidosPaginadosPorCursor() throws Exception {
+        PedidoRequest pedidoRequest = new PedidoRequest();
+        pedidoRequest.setClienteId(cliente.getId());
+        pedidoRequest.setRestauranteId(restaurante.getId());
+        pedidoRequest.setEnderecoEntrega("Rua Teste, 123");
+        pedidoRequest.setItens(List.of(new ItemPedidoRequest(produto1.getId(), 1)));
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/pedidos")
+                    .header("Authorization", "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(pedidoRequest)))
+                .andExpect(status().isOk());
+        }
+
+        String primeiraPagina = mockMvc.perform(get("/api/pedidos")
+                .header("Authorization", "Bearer " + token)
+                .param("status", StatusPedido.PENDENTE.name())
+                .param("size", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.dados", hasSize(2)))
+            .andExpect(jsonPath("$.dados[0].itens", not(empty())))
+            .andExpect(jsonPath("$.nextCursor", notNullValue()))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        String cursor = objectMapper.readTree(primeiraPagina).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/pedidos")
+                .header("Authorization", "Bearer " + token)
+                .param("status", StatusPedido.PENDENTE.name())
+                .param("size", "2")
+                .param("cursor", cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.dados", hasSize(1)))
+            .andExpect(jsonPath("$.nextCursor", nullValue()));
+    }
+
+    @Test
+    void deveTransmitirPedidosDoClienteEmNdjson() throws Exception {
+        PedidoRequest pedidoRequest = new PedidoRequest();
+        pedidoRequest.setClienteId(cliente.getId());
+        pedidoRequest.setRestauranteId(restaurante.getId());
+        pedidoRequest.setEnderecoEntrega("Rua Teste, 123");
+        pedidoRequest.setItens(List.of(new ItemPedidoRequest(produto1.getId(), 1)));
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/pedidos")
+                    .header("Authorization", "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(pedidoRequest)))
+                .andExpect(status().isOk());
+        }
+
+        MvcResult stream = mockMvc.perform(get("/api/pedidos/cliente/{clienteId}", cliente.getId())
+                .header("Authorization", "Bearer " + token)
+                .accept("application/x-ndjson"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String corpo = mockMvc.perform(asyncDispatch(stream))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/x-ndjson"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        // Um pedido completo por linha, sem o envelope ApiWrapperResponse
+        List<String> linhas = corpo.lines().toList();
+        assertThat(linhas).hasSize(3);
+        for (String linha : linhas) {
+            assertThat(objectMapper.readTree(linha).path("cliente").path("id").asLong()).isEqualTo(cliente.getId());
+            assertThat(objectMapper.readTree(linha).path("itens")).hasSize(1);
+        }
+
+        // Sem o Accept, a listagem paginada continua como antes
+        mockMvc.perform(get("/api/pedidos/cliente/{clienteId}", cliente.getId())
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.dados", hasSize(3)));
+    }
+
+    @Test
+    void naoDeveIniciarTransmissaoParaRestauranteInexistente() throws Exception {
+        mockMvc.perform(get("/api/pedidos/restaurantes/{restauranteId}", 999_999L)
+                .header("Authorization", "Bearer " + token)
+                .accept("application/x-ndjson"))
+            .andExpect(request().asyncNotStarted())
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deveCriarPedidoUmaUnicaVezComMesmaIdempotencyKey() throws Exception {
+        PedidoRequest pedidoRequest = new PedidoRequest();
+        pedidoRequest.setClienteId(cliente.getId());
+        pedidoRequest.setRestauranteId(restaurante.getId());
+        pedidoRequest.setEnderecoEntrega("Rua Teste, 123");
+        pedidoRequest.setItens(List.of(new ItemPedidoRequest(produto1.getId(), 1)));
+        String corpo = objectMapper.writeValueAsString(pedidoRequest);
+
+        String primeira = mockMvc.perform(post("/api/pedidos")
+                .header("Authorization", "Bearer " + token)
+                .header("Idempotency-Key", "tentativa-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpo))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Idempotent-Replayed", "false"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        long pedidoId = objectMapper.readTree(primeira).path("dados").path("id").asLong();
+
+        mockMvc.perform(post("/api/pedidos")
+                .header("Authorization", "Bearer " + token)
+                .header("Idempotency-Key", "tentativa-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpo))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Idempotent-Replayed", "true"))
+            .andExpect(jsonPath("$.dados.id", is((int) pedidoId)));
+
+        assertEquals(1, pedidoRepository.count());
+    }
+
+    @Test
+    void deveReservarEstoqueERecusarPedidoSemSaldo() throws Exception {
+        PedidoRequest pedidoRequest = new PedidoRequest();
+        pedidoRequest.setClienteId(cliente.getId());
+        pedidoRequest.setRestauranteId(restaurante.getId());
+        pedidoRequest.setEnderecoEntrega("Rua Teste, 123");
+        pedidoRequest.setItens(List.of(new ItemPedidoRequest(produto2.getId(), 4)));
+
+        mockMvc.perform(post("/api/pedidos")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(pedidoRequest)))
+            .andExpect(status().isOk());
+
+        // Restam 1 unidade do produto 2
+        mockMvc.perform(post("/api/pedidos")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(pedidoRequest)))
+            .andExpect(status().isUnprocessableEntity());
+
+        stockReservationService.flush();
+
+        assertEquals(1, produtoRepository.findById(produto2.getId()).orElseThrow().getEstoque());
+    }
+
+    @Test
+    void deveAcompanharStatusDoPedidoPorSse() throws Exception {
+        PedidoRequest pedidoRequest = new PedidoRequest();
+        pedidoRequest.setClienteId(cliente.getId());
+        pedidoRequest.setRestauranteId(restaurante.getId());
+        pedidoRequest.setEnderecoEntrega("Rua Teste, 123");
+        pedidoRequest.setItens(List.of(new ItemPedidoRequest(produto1.getId(), 1)));
+
+        String jsonResponse = mockMvc.perform(post("/api/pedidos")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(pedidoRequest)))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        long pedidoId = objectMapper.readTree(jsonResponse).path("dados").path("id").asLong();
+
+        MvcResult stream = mockMvc.perform(get("/api/pedidos/{id}/eventos", pedidoId)
+                .header("Authorization", "Bearer " + token)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(patch("/api/pedidos/{id}/status", pedidoId)
+                .header("Authorization", "Bearer " + token)
+                .param("status", StatusPedido.CONFIRMADO.name()))
+            .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/pedidos/{id}", pedidoId)
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().is2xxSuccessful());
+
+        outboxRelay.drenar();
+
+        // CANCELADO é status final: o servidor encerra o stream
+        stream.getAsyncResult(5_000);
+        String eventos = stream.getResponse().getContentAsString();
+        assertThat(eventos).contains("event:status");
+        assertThat(eventos.indexOf("\"statusNovo\":\"PENDENTE\""))
+                .isNotNegative()
+                .isLessThan(eventos.indexOf("\"statusNovo\":\"CONFIRMADO\""));
+        assertThat(eventos.indexOf("\"statusNovo\":\"CONFIRMADO\""))
+                .isLessThan(eventos.indexOf("\"statusNovo\":\"CANCELADO\""));
+    }
+
+    @Test
+    void naoDeveAcompanharPedidosDeRestauranteDeOutroUsuario() throws Exception {
+        mockMvc.perform(get("/api/pedidos/restaurantes/{restauranteId}/eventos", restaurante.getId())
+                .header("Authorization", "Bearer " + token)
+                .accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncNotStarted())
+            .andExpect(status().is4xxClientError());
+    }
 }
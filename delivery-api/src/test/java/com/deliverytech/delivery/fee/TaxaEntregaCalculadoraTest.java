@@ -0,0 +1,92 @@
+package com.deliverytech.delivery.fee;
+
+import com.deliverytech.delivery.entity.FaixaTaxaEntrega;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.exception.EntityNotFoundException;
+import com.deliverytech.delivery.geo.TabelaCep;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class TaxaEntregaCalculadoraTest {
+
+    // Restaurantes em 01; 02 a ~5,6 km, 03 a ~11 km, 04 a ~55 km; 05 fora da tabela
+    private static final String CENTROIDES = """
+            01;-23.50;-46.5
+            02;-23.55;-46.5
+            03;-23.60;-46.5
+            04;-24.00;-46.5
+            """;
+
+    private final RestauranteRepository repository = mock(RestauranteRepository.class);
+    private TaxaEntregaCalculadora calculadora;
+
+    @BeforeEach
+    void setup() {
+        TabelaCep tabela = new TabelaCep(new ByteArrayResource(CENTROIDES.getBytes(StandardCharsets.UTF_8)), "");
+        calculadora = new TaxaEntregaCalculadora(repository, tabela, new SimpleMeterRegistry(), "3:1.0,6:1.5,10:2.0,15:2.5");
+
+        Restaurante curvaPadrao = restaurante(1L, "Rua A, 1 - 01001-000", List.of());
+        Restaurante curvaPropria = restaurante(2L, "Rua B, 2 - 01001-000",
+                List.of(new FaixaTaxaEntrega(8.0, new BigDecimal("7.5")), new FaixaTaxaEntrega(2.0, new BigDecimal("4.00"))));
+        when(repository.buscarComFaixasTaxa()).thenReturn(List.of(curvaPadrao, curvaPropria));
+        when(repository.buscarComFaixasTaxaPorId(anyLong())).thenReturn(Optional.empty());
+        calculadora.carregar();
+    }
+
+    @Test
+    void deveCobrarPelaFaixaDeDistancia() {
+        assertThat(calculadora.calcular(1L, "01310-100")).isEqualTo(new BigDecimal("6.00"));
+        assertThat(calculadora.calcular(1L, "02010000")).isEqualTo(new BigDecimal("9.00"));
+        assertThat(calculadora.calcular(1L, "03010000")).isEqualTo(new BigDecimal("15.00"));
+        // Fora da tabela de CEP: taxa base
+        assertThat(calculadora.calcular(1L, "05010000")).isEqualTo(new BigDecimal("6.00"));
+
+        assertThat(calculadora.calcular(2L, "01310100")).isEqualTo(new BigDecimal("4.00"));
+        assertThat(calculadora.calcular(2L, "02010000")).isEqualTo(new BigDecimal("7.50"));
+
+        assertThatThrownBy(() -> calculadora.calcular(1L, "04010000")).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> calculadora.calcular(2L, "03010000")).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> calculadora.calcular(1L, "0301")).isInstanceOf(BusinessException.class);
+
+        verify(repository, never()).buscarComFaixasTaxaPorId(anyLong());
+    }
+
+    @Test
+    void restauranteForaDaMemoriaDeveSerCarregadoUmaVez() {
+        Restaurante novo = restaurante(3L, "Rua C, 3 - 02010-000", List.of());
+        when(repository.buscarComFaixasTaxaPorId(3L)).thenReturn(Optional.of(novo));
+
+        assertThat(calculadora.calcular(3L, "02010000")).isEqualTo(new BigDecimal("6.00"));
+        assertThat(calculadora.calcular(3L, "01010000")).isEqualTo(new BigDecimal("9.00"));
+        verify(repository, times(1)).buscarComFaixasTaxaPorId(3L);
+
+        assertThatThrownBy(() -> calculadora.calcular(99L, "01010000")).isInstanceOf(EntityNotFoundException.class);
+
+        calculadora.remover(1L);
+        assertThatThrownBy(() -> calculadora.calcular(1L, "01010000")).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    private Restaurante restaurante(Long id, String endereco, List<FaixaTaxaEntrega> faixas) {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setId(id);
+        restaurante.setNome("Restaurante " + id);
+        restaurante.setEndereco(endereco);
+        restaurante.setTaxaEntrega(new BigDecimal("6.00"));
+        restaurante.setFaixasTaxaEntrega(faixas);
+        return restaurante;
+    }
+}
@@ -0,0 +1,82 @@
+package com.deliverytech.delivery.geo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceGeograficoTest {
+
+    private static final int PONTOS = 5_000;
+
+    private final IndiceGeografico indice = new IndiceGeografico(0.05);
+    private final double[] latitudes = new double[PONTOS];
+    private final double[] longitudes = new double[PONTOS];
+
+    @BeforeEach
+    void setup() {
+        // Região metropolitana de São Paulo, ~1° x 1°
+        Random random = new Random(42);
+        for (int i = 0; i < PONTOS; i++) {
+            latitudes[i] = -24.0 + random.nextDouble();
+            longitudes[i] = -47.2 + random.nextDouble();
+            indice.atualizar(i, latitudes[i], longitudes[i]);
+        }
+    }
+
+    @Test
+    void buscaPorRaioDeveCoincidirComVarreduraCompleta() {
+        List<Vizinho> obtido = indice.buscar(-23.55, -46.63, 8, -1, Long.MIN_VALUE, PONTOS);
+
+        assertThat(obtido).isNotEmpty().containsExactlyElementsOf(varredura(-23.55, -46.63, 8, PONTOS));
+    }
+
+    @Test
+    void maisProximosDevemVirEmOrdemEPaginarSemRepetir() {
+        List<Vizinho> esperado = varredura(-23.62, -46.70, Double.MAX_VALUE, 95);
+
+        List<Vizinho> obtido = new ArrayList<>();
+        double depoisDistancia = -1;
+        long depoisId = Long.MIN_VALUE;
+        while (obtido.size() < 95) {
+            List<Vizinho> pagina = indice.buscar(-23.62, -46.70, Double.MAX_VALUE, depoisDistancia, depoisId, 10);
+            obtido.addAll(pagina);
+            Vizinho ultimo = pagina.get(pagina.size() - 1);
+            depoisDistancia = ultimo.distanciaKm();
+            depoisId = ultimo.id();
+        }
+
+        assertThat(obtido.subList(0, 95)).containsExactlyElementsOf(esperado);
+    }
+
+    @Test
+    void deveMoverERemoverPontos() {
+        Vizinho maisProximo = indice.buscar(-23.55, -46.63, 50, -1, Long.MIN_VALUE, 1).get(0);
+
+        indice.atualizar(maisProximo.id(), -3.73, -38.52);
+        assertThat(indice.buscar(-23.55, -46.63, 50, -1, Long.MIN_VALUE, 1).get(0).id()).isNotEqualTo(maisProximo.id());
+        assertThat(indice.buscar(-3.73, -38.52, 1, -1, Long.MIN_VALUE, 10))
+                .extracting(Vizinho::id).containsExactly(maisProximo.id());
+
+        indice.remover(maisProximo.id());
+        assertThat(indice.buscar(-3.73, -38.52, 1, -1, Long.MIN_VALUE, 10)).isEmpty();
+        assertThat(indice.tamanho()).isEqualTo(PONTOS - 1);
+    }
+
+    private List<Vizinho> varredura(double latitude, double longitude, double raioKm, int limite) {
+        List<Vizinho> todos = new ArrayList<>();
+        for (int i = 0; i < PONTOS; i++) {
+            double distancia = Coordenada.distanciaKm(latitude, longitude, latitudes[i], longitudes[i]);
+            if (distancia <= raioKm) {
+                todos.add(new Vizinho(i, distancia));
+            }
+        }
+        todos.sort(Comparator.comparingDouble(Vizinho::distanciaKm).thenComparingLong(Vizinho::id));
+        return todos.subList(0, Math.min(limite, todos.size()));
+    }
+}
@@ -0,0 +1,117 @@
+package com.deliverytech.delivery.geo;
+
+import com.deliverytech.delivery.dto.request.RestauranteRequest;
+import com.deliverytech.delivery.dto.response.RestauranteResponse;
+import com.deliverytech.delivery.dto.response.common.CursorPage;
+import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.service.RestauranteService;
+import com.deliverytech.delivery.support.DadosDeTeste;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Busca por proximidade a partir das escritas do serviço: cadastro, atualização e mudança de status
+ * refletem no índice sem recarga.
+ */
+@SpringBootTest
+@Import(DadosDeTeste.class)
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class RestaurantesProximosTest {
+
+    // Cadastro e atualização passam pelo cache "restaurantes" (Redis), fora do escopo deste teste
+    @TestConfiguration
+    static class SemCache {
+        @Bean
+        @Primary
+        CacheManager semCache() {
+            return new NoOpCacheManager();
+        }
+    }
+
+    @Autowired private RestauranteService restauranteService;
+    @Autowired private DadosDeTeste dados;
+
+    @BeforeEach
+    void setup() {
+        dados.autenticarAdmin("admin.geo@teste.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deveOrdenarPorDistanciaEAcompanharAsEscritas() {
+        Long paulista = cadastrar("Paulista", "Av. Paulista, 1000 - 01310-100");
+        Long itaim = cadastrar("Itaim", "Rua Joaquim Floriano, 50 - 04534-000");
+        Long rio = cadastrar("Centro Rio", "Av. Rio Branco, 1 - 20090-003");
+
+        assertThat(ids(restauranteService.buscarRestaurantesProximos("01311-000", null, null, 20)))
+                .containsExactly(paulista, itaim);
+        assertThat(ids(restauranteService.buscarRestaurantesProximos("01311000", 3.0, null, 20)))
+                .containsExactly(paulista);
+
+        // Página de um elemento: o cursor leva ao próximo mais distante
+        CursorPage<RestauranteResponse> primeira = restauranteService.buscarRestaurantesProximos("01311-000", null, null, 1);
+        assertThat(primeira.itens().get(0).getDistanciaKm()).isZero();
+        CursorPage<RestauranteResponse> segunda = restauranteService.buscarRestaurantesProximos("01311-000", null, primeira.nextCursor(), 1);
+        assertThat(ids(segunda)).containsExactly(itaim);
+        assertThat(segunda.itens().get(0).getDistanciaKm()).isBetween(3.0, 8.0);
+        assertThat(segunda.nextCursor()).isNull();
+
+        // Mudou de endereço para perto da Paulista; o do Rio foi desativado
+        restauranteService.atualizarRestaurante(rio, request("Centro Rio", "Rua Augusta, 500 - 01305-000"));
+        assertThat(ids(restauranteService.buscarRestaurantesProximos("01311-000", 3.0, null, 20)))
+                .containsExactlyInAnyOrder(paulista, rio);
+
+        restauranteService.alterarStatusRestaurante(paulista);
+        assertThat(ids(restauranteService.buscarRestaurantesProximos("01311-000", null, null, 20)))
+                .containsExactly(rio, itaim);
+    }
+
+    @Test
+    void deveRecusarCepInvalido() {
+        assertThatThrownBy(() -> restauranteService.buscarRestaurantesProximos("0131", null, null, 20))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private Long cadastrar(String nome, String endereco) {
+        return restauranteService.cadastrarRestaurante(request(nome, endereco)).getId();
+    }
+
+    private RestauranteRequest request(String nome, String endereco) {
+        RestauranteRequest request = new RestauranteRequest();
+        request.setNome(nome);
+        request.setCategoria("Pizza");
+        request.setEndereco(endereco);
+        request.setTelefone("11999999999");
+        request.setTaxaEntrega(new BigDecimal("5.00"));
+        return request;
+    }
+
+    private List<Long> ids(CursorPage<RestauranteResponse> pagina) {
+        return pagina.itens().stream().map(RestauranteResponse::getId).toList();
+    }
+}
@@ -0,0 +1,64 @@
+package com.deliverytech.delivery.geo;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TabelaCepTest {
+
+    private static final String CENTROIDES = """
+            # prefixo;latitude;longitude
+            0;-23.0;-46.0
+            01;-23.5;-46.5
+            015;-23.6;-46.6
+            016;-23.5;-46.5
+            3;-19.9;-43.9
+            """;
+
+    @Test
+    void deveResolverPeloPrefixoMaisLongoEmFaixasDisjuntas(@TempDir Path diretorio) throws Exception {
+        Path arquivo = diretorio.resolve("cep.bin");
+        TabelaCep tabela = new TabelaCep(new ByteArrayResource(CENTROIDES.getBytes(StandardCharsets.UTF_8)), arquivo.toString());
+
+        assertThat(latitude(tabela, "01500-123")).isCloseTo(-23.6, within(1e-5));
+        assertThat(latitude(tabela, "01000000")).isCloseTo(-23.5, within(1e-5));
+        // 016 tem a mesma coordenada de 01: as duas faixas vizinhas viram uma só
+        assertThat(latitude(tabela, "01699999")).isCloseTo(-23.5, within(1e-5));
+        assertThat(latitude(tabela, "02000000")).isCloseTo(-23.0, within(1e-5));
+        assertThat(latitude(tabela, "39999999")).isCloseTo(-19.9, within(1e-5));
+        assertThat(tabela.faixa(Cep.paraNumero("20000000"))).isEqualTo(-1);
+        assertThat(tabela.faixa(Cep.paraNumero("0100"))).isEqualTo(-1);
+
+        // 00 | 010-014 | 015 | 016-019 (016 e o resto de 01) | 02-09 | 3
+        assertThat(tabela.tamanho()).isEqualTo(6);
+        assertThat(Files.size(arquivo)).isEqualTo(8 + 6 * 16);
+    }
+
+    @Test
+    void tabelaPadraoDeveCobrirAsRegioesPostais() {
+        TabelaCep tabela = new TabelaCep(new ClassPathResource("geo/cep-centroides.csv"), "");
+
+        for (int regiao = 0; regiao <= 9; regiao++) {
+            assertThat(tabela.localizar(regiao + "0000000")).as("região %d", regiao).isPresent();
+        }
+        assertThat(tabela.localizar("01310-100")).get()
+                .satisfies(c -> assertThat(c.distanciaKm(-23.5614, -46.6559)).isLessThan(5));
+        assertThat(Cep.paraNumero("01310-100")).isEqualTo(1310100);
+        assertThat(Cep.paraNumero("013101000")).isEqualTo(-1);
+        assertThat(Cep.paraNumero("0131a100")).isEqualTo(-1);
+    }
+
+    private double latitude(TabelaCep tabela, String cep) {
+        int faixa = tabela.faixa(Cep.paraNumero(cep));
+        assertThat(faixa).as("faixa de %s", cep).isNotNegative();
+        return tabela.latitude(faixa);
+    }
+}
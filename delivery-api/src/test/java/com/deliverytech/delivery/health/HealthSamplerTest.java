@@ -0,0 +1,154 @@
+package com.deliverytech.delivery.health;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.availability.ReadinessStateHealthIndicator;
+import org.springframework.boot.actuate.health.DefaultHealthContributorRegistry;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthContributorRegistry;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.PingHealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.availability.ApplicationAvailabilityBean;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class HealthSamplerTest {
+
+    private final CountDownLatch liberarLento = new CountDownLatch(1);
+    private final AtomicInteger chamadasLento = new AtomicInteger();
+
+    private HealthIndicator rapido;
+    private HealthIndicator lento;
+    private HealthContributorRegistry registry;
+    private ApplicationAvailabilityBean disponibilidade;
+    private HealthSampler sampler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        rapido = mock(HealthIndicator.class);
+        when(rapido.health()).thenReturn(Health.up().withDetail("database", "Conexão válida").build());
+
+        lento = () -> {
+            chamadasLento.incrementAndGet();
+            try {
+                liberarLento.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Health.up().build();
+        };
+
+        registry = new DefaultHealthContributorRegistry();
+        registry.registerContributor("customDbHealth", rapido);
+        registry.registerContributor("externalApi", lento);
+        registry.registerContributor("ping", new PingHealthIndicator());
+        disponibilidade = new ApplicationAvailabilityBean();
+        registry.registerContributor("readinessState", new ReadinessStateHealthIndicator(disponibilidade));
+
+        ObjectProvider<HealthContributorRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(registry);
+
+        sampler = criarSampler(provider, Duration.ofSeconds(10));
+    }
+
+    private HealthSampler criarSampler(ObjectProvider<HealthContributorRegistry> provider, Duration intervalo) {
+        HealthSampler novo = new HealthSampler(provider, intervalo, Duration.ofMillis(200));
+        novo.afterSingletonsInstantiated();
+        return novo;
+    }
+
+    @AfterEach
+    void tearDown() {
+        liberarLento.countDown();
+        sampler.encerrar();
+    }
+
+    @Test
+    void shouldServeLastSampleFromMemory() {
+        HealthIndicator publicado = (HealthIndicator) registry.getContributor("customDbHealth");
+        assertEquals(Status.UNKNOWN, publicado.health().getStatus());
+
+        sampler.amostrar();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(Status.UP, publicado.health().getStatus());
+        }
+        assertEquals("Conexão válida", publicado.health().getDetails().get("database"));
+        verify(rapido, times(1)).health();
+    }
+
+    @Test
+    void shouldMarkSlowIndicatorDownWithoutCallingItAgainWhileRunning() {
+        sampler.amostrar();
+        sampler.amostrar();
+
+        Health externa = ((HealthIndicator) registry.getContributor("externalApi")).health();
+        assertEquals(Status.DOWN, externa.getStatus());
+        assertTrue(externa.getDetails().get("erro").toString().startsWith("Timeout"));
+        assertEquals(Status.UP, ((HealthIndicator) registry.getContributor("customDbHealth")).health().getStatus());
+        assertEquals(1, chamadasLento.get());
+    }
+
+    @Test
+    void shouldEvaluateSnapshotIndicatorsDirectly() {
+        sampler.amostrar();
+
+        CompositeHealthIndicator composite = new CompositeHealthIndicator(
+                Map.of("customDbHealth", rapido, "externalApi", lento), sampler);
+
+        Health result = composite.health();
+
+        assertEquals(Status.DOWN, result.getStatus());
+        assertEquals(Status.UP, result.getDetails().get("customDbHealth"));
+        verify(rapido, times(1)).health();
+    }
+
+    @Test
+    void shouldLeaveAvailabilityAndPingOutOfSampling() {
+        StaticApplicationContext contexto = new StaticApplicationContext();
+        disponibilidade.onApplicationEvent(new AvailabilityChangeEvent<>(contexto, ReadinessState.ACCEPTING_TRAFFIC));
+        sampler.amostrar();
+        HealthIndicator readiness = (HealthIndicator) registry.getContributor("readinessState");
+        assertEquals(Status.UP, readiness.health().getStatus());
+
+        // Desligamento: a recusa de tráfego aparece na hora, sem esperar a próxima rodada
+        disponibilidade.onApplicationEvent(new AvailabilityChangeEvent<>(contexto, ReadinessState.REFUSING_TRAFFIC));
+        assertEquals(Status.OUT_OF_SERVICE, readiness.health().getStatus());
+        assertInstanceOf(PingHealthIndicator.class, registry.getContributor("ping"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReportDownWhenSampleExpires() throws InterruptedException {
+        sampler.encerrar();
+        registry.unregisterContributor("customDbHealth");
+        registry.unregisterContributor("externalApi");
+        registry.registerContributor("customDbHealth", rapido);
+        ObjectProvider<HealthContributorRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(registry);
+        // Validade: 3 x 1 ms + 200 ms de timeout
+        sampler = criarSampler(provider, Duration.ofMillis(1));
+
+        sampler.amostrar();
+        HealthIndicator publicado = (HealthIndicator) registry.getContributor("customDbHealth");
+        assertEquals(Status.UP, publicado.health().getStatus());
+
+        Thread.sleep(300);
+        Health expirada = publicado.health();
+        assertEquals(Status.DOWN, expirada.getStatus());
+        assertTrue(expirada.getDetails().get("erro").toString().startsWith("Amostra expirada"));
+    }
+}
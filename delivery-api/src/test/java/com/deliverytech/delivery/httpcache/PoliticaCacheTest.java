@@ -0,0 +1,126 @@
+package com.deliverytech.delivery.httpcache;
+
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.support.DadosDeTeste;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cabeçalhos de cache por rota: catálogo público com ETag pelo corpo, "private" para quem está
+ * autenticado e no-store para dados pessoais e erros.
+ */
+@SpringBootTest
+@Import(DadosDeTeste.class)
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class PoliticaCacheTest {
+
+    // Listagens passam pelos caches (Redis), fora do escopo deste teste
+    @TestConfiguration
+    static class SemCache {
+        @Bean
+        @Primary
+        CacheManager semCache() {
+            return new NoOpCacheManager();
+        }
+    }
+
+    private static final String CATALOGO = "max-age=60, public, stale-while-revalidate=300";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private RestauranteRepository restauranteRepository;
+    @Autowired private DadosDeTeste dados;
+
+    @BeforeEach
+    void setup() {
+        if (restauranteRepository.count() == 0) {
+            dados.restaurante("Cantina Cache", "Italiana", "Rua A, 1 - 01001-000");
+        }
+    }
+
+    @Test
+    void catalogoDeveResponder304PeloHashDoCorpo() throws Exception {
+        String etag = mockMvc.perform(get("/api/restaurantes"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, CATALOGO))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("W/\"");
+
+        // O envelope tem outro timestamp, mas os dados são os mesmos
+        mockMvc.perform(get("/api/restaurantes").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, CATALOGO))
+                .andExpect(content().bytes(new byte[0]));
+
+        // Outros dados, outra ETag
+        mockMvc.perform(get("/api/restaurantes").param("ativo", "false").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void requisicaoAutenticadaNaoDeveIrParaCachesCompartilhados() throws Exception {
+        String token = token();
+
+        mockMvc.perform(get("/api/restaurantes").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, private, stale-while-revalidate=300"));
+
+        // Dados pessoais: rota sem política
+        mockMvc.perform(get("/api/auth/me").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, RespostaCacheavel.SEM_CACHE))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void errosDevemSairSemCacheMesmoEmRotaComPolitica() throws Exception {
+        mockMvc.perform(get("/api/restaurantes/999999/cardapio"))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, RespostaCacheavel.SEM_CACHE))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    private String token() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"nome": "Cliente Cache", "email": "cliente.cache@teste.com", "senha": "123456", "role": "CLIENTE"}
+                            """))
+                .andExpect(status().isCreated());
+        String resposta = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"email": "cliente.cache@teste.com", "senha": "123456"}
+                            """))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, RespostaCacheavel.SEM_CACHE))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(resposta).get("token").asText();
+    }
+}
@@ -0,0 +1,56 @@
+package com.deliverytech.delivery.httpcache;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumoJsonTest {
+
+    @Test
+    void deveIgnorarSoOCampoDoObjetoRaiz() {
+        String base = "{\"status\":200,\"dados\":[{\"id\":1,\"timestamp\":\"%s\"}],\"timestamp\":\"%s\",\"page\":0}";
+
+        String etag = etag(base.formatted("a", "2025-01-01T10:00:00Z"));
+        assertThat(etag(base.formatted("a", "2025-01-01T10:00:05.123Z"))).isEqualTo(etag);
+        // Dentro de "dados" o campo faz parte do conteúdo
+        assertThat(etag(base.formatted("b", "2025-01-01T10:00:00Z"))).isNotEqualTo(etag);
+        assertThat(etag).startsWith("W/\"");
+    }
+
+    @Test
+    void deveIgnorarOCampoNoFimDoObjetoENumerico() {
+        String base = "{\"mensagem\":\"Sucesso, \\\"timestamp\\\": não\",\"dados\":{\"x\":[1,2]},\"timestamp\":%s}";
+
+        assertThat(etag(base.formatted("1735725600.5"))).isEqualTo(etag(base.formatted("1735725999")));
+        assertThat(etag(base.formatted("1")))
+                .isNotEqualTo(etag(base.replace("[1,2]", "[1,3]").formatted("1")));
+    }
+
+    @Test
+    void deveDarOMesmoResultadoEmQualquerDivisaoDaEscrita() {
+        byte[] json = "{\"status\":200,\"timestamp\":\"2025-01-01T10:00:00Z\",\"dados\":[\"Feijão\",{\"a\":{}}]}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        ResumoJson byteAByte = new ResumoJson(Set.of("timestamp"));
+        for (int i = 0; i < json.length; i++) {
+            byteAByte.atualizar(json, i, 1);
+        }
+        ResumoJson emDuasPartes = new ResumoJson(Set.of("timestamp"));
+        emDuasPartes.atualizar(json, 0, 25);
+        emDuasPartes.atualizar(json, 25, json.length - 25);
+
+        String inteiro = etag(new String(json, StandardCharsets.UTF_8));
+        assertThat(byteAByte.etag()).isEqualTo(inteiro);
+        assertThat(emDuasPartes.etag()).isEqualTo(inteiro);
+    }
+
+    private static String etag(String json) {
+        ResumoJson resumo = new ResumoJson(Set.of("timestamp"));
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        resumo.atualizar(bytes, 0, bytes.length);
+        return resumo.etag();
+    }
+}
@@ -0,0 +1,157 @@
+package com.deliverytech.delivery.idempotency;
+
+import com.deliverytech.delivery.dto.response.PedidoResponse;
+import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.exception.ConflictException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceTest {
+
+    private InMemoryIdempotencyStore store;
+    private IdempotencyService service;
+    private final AtomicInteger execucoes = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        store = new InMemoryIdempotencyStore(1000);
+        service = new IdempotencyService(store, objectMapper,
+                Duration.ofHours(1), Duration.ofSeconds(30), Duration.ofSeconds(2));
+    }
+
+    @Test
+    void deveDevolverRespostaArmazenadaSemExecutarDeNovo() {
+        Map<String, Object> requisicao = Map.of("restauranteId", 1);
+
+        IdempotentResult<PedidoResponse> primeiro = service.executar("1", "chave", requisicao, PedidoResponse.class, this::criarPedido);
+        IdempotentResult<PedidoResponse> segundo = service.executar("1", "chave", requisicao, PedidoResponse.class, this::criarPedido);
+
+        assertThat(primeiro.repetido()).isFalse();
+        assertThat(segundo.repetido()).isTrue();
+        assertThat(segundo.valor().getId()).isEqualTo(primeiro.valor().getId());
+        assertThat(segundo.valor().getTotal()).isEqualByComparingTo(primeiro.valor().getTotal());
+        assertThat(execucoes).hasValue(1);
+    }
+
+    @Test
+    void deveAgruparDuplicatasSimultaneasNaExecucaoEmAndamento() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        Map<String, Object> requisicao = Map.of("restauranteId", 1);
+
+        List<Future<IdempotentResult<PedidoResponse>>> resultados = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10; i++) {
+                resultados.add(executor.submit(() -> service.executar("1", "chave", requisicao, PedidoResponse.class, () -> {
+                    aguardar(liberar);
+                    return criarPedido();
+                })));
+            }
+            Thread.sleep(200);
+            liberar.countDown();
+        }
+
+        long originais = 0;
+        for (Future<IdempotentResult<PedidoResponse>> resultado : resultados) {
+            assertThat(resultado.get().valor().getId()).isEqualTo(1L);
+            originais += resultado.get().repetido() ? 0 : 1;
+        }
+        assertThat(originais).isEqualTo(1);
+        assertThat(execucoes).hasValue(1);
+    }
+
+    @Test
+    void deveRejeitarMesmaChaveComOutroConteudo() {
+        service.executar("1", "chave", Map.of("restauranteId", 1), PedidoResponse.class, this::criarPedido);
+
+        assertThatThrownBy(() -> service.executar("1", "chave", Map.of("restauranteId", 2), PedidoResponse.class, this::criarPedido))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void deveSepararChavesPorEscopo() {
+        Map<String, Object> requisicao = Map.of("restauranteId", 1);
+
+        service.executar("1", "chave", requisicao, PedidoResponse.class, this::criarPedido);
+        IdempotentResult<PedidoResponse> outroUsuario = service.executar("2", "chave", requisicao, PedidoResponse.class, this::criarPedido);
+
+        assertThat(outroUsuario.repetido()).isFalse();
+        assertThat(execucoes).hasValue(2);
+    }
+
+    @Test
+    void deveLiberarChaveQuandoOperacaoFalha() {
+        Map<String, Object> requisicao = Map.of("restauranteId", 1);
+
+        assertThatThrownBy(() -> service.executar("1", "chave", requisicao, PedidoResponse.class, () -> {
+            throw new BusinessException("Produto indisponível");
+        })).isInstanceOf(BusinessException.class);
+
+        IdempotentResult<PedidoResponse> novaTentativa = service.executar("1", "chave", requisicao, PedidoResponse.class, this::criarPedido);
+
+        assertThat(novaTentativa.repetido()).isFalse();
+        assertThat(execucoes).hasValue(1);
+    }
+
+    @Test
+    void deveAguardarConclusaoEmOutraInstancia() throws Exception {
+        Map<String, Object> requisicao = Map.of("restauranteId", 1);
+        // Primeira chamada só para descobrir o fingerprint gravado
+        service.executar("1", "outra", requisicao, PedidoResponse.class, this::criarPedido);
+        IdempotencyRecord concluido = store.buscar("1:outra").orElseThrow();
+
+        store.reservar("1:chave", concluido.fingerprint(), Duration.ofSeconds(30));
+        Thread outraInstancia = Thread.ofVirtual().start(() -> {
+            aguardar(200);
+            store.concluir("1:chave", concluido, Duration.ofHours(1));
+        });
+
+        IdempotentResult<PedidoResponse> resultado = service.executar("1", "chave", requisicao, PedidoResponse.class, this::criarPedido);
+        outraInstancia.join();
+
+        assertThat(resultado.repetido()).isTrue();
+        assertThat(execucoes).hasValue(1);
+    }
+
+    private PedidoResponse criarPedido() {
+        PedidoResponse response = new PedidoResponse();
+        response.setId((long) execucoes.incrementAndGet());
+        response.setTotal(new BigDecimal("42.50"));
+        response.setDataPedido(LocalDateTime.now());
+        return response;
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void aguardar(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.deliverytech.delivery.menu;
+
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.service.ProdutoService;
+import com.deliverytech.delivery.support.DadosDeTeste;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cardápio versionado: o mesmo documento serializado enquanto nada muda, 304 para a versão
+ * atual e nova versão a cada escrita no restaurante ou nos produtos.
+ */
+@SpringBootTest
+@Import(DadosDeTeste.class)
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CardapioTest {
+
+    // Escritas de produto passam pelos caches (Redis), fora do escopo deste teste
+    @TestConfiguration
+    static class SemCache {
+        @Bean
+        @Primary
+        CacheManager semCache() {
+            return new NoOpCacheManager();
+        }
+    }
+
+    private static final String ADMIN = "admin.cardapio@teste.com";
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private Cardapios cardapios;
+    @Autowired private ProdutoService produtoService;
+    @Autowired private RestauranteRepository restauranteRepository;
+    @Autowired private DadosDeTeste dados;
+
+    private Restaurante restaurante;
+    private Produto margherita;
+
+    @BeforeEach
+    void setup() {
+        dados.admin(ADMIN);
+        restaurante = dados.restaurante("Cantina São João", "Italiana", "Rua A, 1 - 01001-000");
+        margherita = dados.produto(restaurante, "Pizza Margherita", "Pizzas", "49.90");
+        dados.produto(restaurante, "Pizza Calabresa", "Pizzas", "49.90");
+        dados.produto(restaurante, "Lasanha", "Massas", "49.90");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deveResponder304EnquantoOCardapioNaoMuda() throws Exception {
+        String url = "/api/restaurantes/" + restaurante.getId() + "/cardapio";
+
+        String etag = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"))
+                .andExpect(jsonPath("$.restaurante.nome").value("Cantina São João"))
+                .andExpect(jsonPath("$.categorias[0].nome").value("Massas"))
+                .andExpect(jsonPath("$.categorias[1].nome").value("Pizzas"))
+                .andExpect(jsonPath("$.categorias[1].produtos[0].nome").value("Pizza Calabresa"))
+                .andExpect(jsonPath("$.categorias[1].produtos[1].nome").value("Pizza Margherita"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+
+        DadosDeTeste.autenticarComoAdmin(ADMIN);
+        produtoService.alterarDisponibilidade(margherita.getId(), false);
+
+        String novaEtag = mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categorias[1].produtos", hasSize(1)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(novaEtag).isNotEqualTo(etag);
+    }
+
+    @Test
+    void deveServirOMesmoDocumentoAteAProximaEscrita() {
+        Cardapio primeiro = cardapios.obter(restaurante.getId());
+        assertThat(cardapios.obter(restaurante.getId()).json()).isSameAs(primeiro.json());
+
+        // Versão cresce a cada escrita e não é desfeita pelo save da entidade
+        cardapios.invalidar(restaurante.getId());
+        restaurante.setTelefone("11888888888");
+        restauranteRepository.save(restaurante);
+
+        Cardapio segundo = cardapios.obter(restaurante.getId());
+        assertThat(segundo.versao()).isEqualTo(primeiro.versao() + 1);
+        assertThat(segundo.json()).isNotSameAs(primeiro.json());
+        assertThat(restauranteRepository.buscarVersaoCardapio(restaurante.getId())).contains(segundo.versao());
+    }
+}
@@ -0,0 +1,71 @@
+package com.deliverytech.delivery.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JanelaDeslizanteTest {
+
+    @Test
+    void deveSomarApenasOsMinutosDentroDaJanela() {
+        JanelaDeslizante janela = new JanelaDeslizante(60);
+        long agora = 1_000_000;
+
+        janela.adicionar(agora, 100);
+        janela.adicionar(agora - 30, 50);
+        janela.adicionar(agora - 59, 25);
+        janela.adicionar(agora - 60, 999); // fora da janela de 60 minutos
+
+        assertThat(janela.somar(agora, 1)).isEqualTo(100);
+        assertThat(janela.somar(agora, 60)).isEqualTo(175);
+    }
+
+    @Test
+    void deveDescartarBaldeAntigoAoReutilizarPosicao() {
+        JanelaDeslizante janela = new JanelaDeslizante(60);
+        long agora = 1_000_000;
+
+        janela.adicionar(agora - 60, 500);
+        janela.adicionar(agora, 10);
+        // Evento atrasado para um minuto que já saiu da janela é ignorado
+        janela.adicionar(agora - 60, 500);
+
+        assertThat(janela.somar(agora, 60)).isEqualTo(10);
+    }
+
+    @Test
+    void deveAplicarEstorno() {
+        JanelaDeslizante janela = new JanelaDeslizante(60);
+        long agora = 1_000_000;
+
+        janela.adicionar(agora - 5, 3000);
+        janela.adicionar(agora - 5, -3000);
+
+        assertThat(janela.somar(agora, 60)).isZero();
+    }
+
+    @Test
+    void deveAcumularSemPerdasComEscritasConcorrentes() throws InterruptedException {
+        JanelaDeslizante janela = new JanelaDeslizante(1440);
+        long agora = 1_000_000;
+        int threads = 8;
+        int escritasPorThread = 10_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < escritasPorThread; i++) {
+                    janela.adicionar(agora - (i % 10), 1);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(janela.somar(agora, 60)).isEqualTo((long) threads * escritasPorThread);
+    }
+}
@@ -0,0 +1,88 @@
+package com.deliverytech.delivery.metrics;
+
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class PedidoMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PedidoMetrics pedidoMetrics;
+
+    @BeforeEach
+    void setup() {
+        pedidoMetrics = new PedidoMetrics(mock(PedidoRepository.class), meterRegistry);
+        pedidoMetrics.init();
+    }
+
+    @Test
+    void receitaDeveEntrarNaJanelaSoDepoisDoCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            pedidoMetrics.registrarReceita(pedido(1L, "30.00", LocalDateTime.now()));
+            assertThat(receitaDoDia(1L)).isNull();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(receitaDoDia(1L)).isEqualTo(30.0);
+
+        // Rollback: nada é somado
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            pedidoMetrics.registrarReceita(pedido(1L, "12.00", LocalDateTime.now()));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(receitaDoDia(1L)).isEqualTo(30.0);
+    }
+
+    @Test
+    void deveDescartarJanelasEGaugesDeRestaurantesSemReceitaNasUltimas24Horas() {
+        pedidoMetrics.registrarReceita(pedido(1L, "30.00", LocalDateTime.now()));
+        pedidoMetrics.registrarReceita(pedido(2L, "45.00", LocalDateTime.now().minusHours(25)));
+        assertThat(receitaDoDia(2L)).isZero();
+
+        pedidoMetrics.descartarJanelasOciosas();
+
+        assertThat(receitaDoDia(1L)).isEqualTo(30.0);
+        assertThat(receitaDoDia(2L)).isNull();
+        assertThat(meterRegistry.find("receita.restaurante.por.hora").tag("restauranteId", "2").gauge()).isNull();
+
+        // Nova venda recria a janela
+        pedidoMetrics.registrarReceita(pedido(2L, "10.00", LocalDateTime.now()));
+        assertThat(receitaDoDia(2L)).isEqualTo(10.0);
+    }
+
+    private Double receitaDoDia(Long restauranteId) {
+        Gauge gauge = meterRegistry.find("receita.restaurante.por.dia")
+                .tag("restauranteId", String.valueOf(restauranteId))
+                .gauge();
+        return gauge != null ? gauge.value() : null;
+    }
+
+    private static Pedido pedido(Long restauranteId, String total, LocalDateTime dataPedido) {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setId(restauranteId);
+        Pedido pedido = new Pedido();
+        pedido.setRestaurante(restaurante);
+        pedido.setValorTotal(new BigDecimal(total));
+        pedido.setDataPedido(dataPedido);
+        return pedido;
+    }
+}
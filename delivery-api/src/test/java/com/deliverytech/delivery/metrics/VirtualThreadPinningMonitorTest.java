@@ -0,0 +1,45 @@
+package com.deliverytech.delivery.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object monitor = new Object();
+
+    @Test
+    void deveRegistrarPinningDentroDeSynchronized() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VirtualThreadPinningMonitor pinningMonitor = new VirtualThreadPinningMonitor(registry, Duration.ofMillis(10));
+        pinningMonitor.iniciar();
+        try {
+            Thread.ofVirtual().start(() -> {
+                synchronized (monitor) {
+                    try {
+                        Thread.sleep(50);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }).join();
+
+            // O RecordingStream entrega os eventos em lotes (cerca de 1 s)
+            Timer timer = null;
+            long limite = System.currentTimeMillis() + 10_000;
+            while (timer == null && System.currentTimeMillis() < limite) {
+                timer = registry.find(VirtualThreadPinningMonitor.METRICA).tag("motivo", "synchronized").timer();
+                Thread.sleep(100);
+            }
+
+            assertThat(timer).isNotNull();
+            assertThat(timer.count()).isGreaterThanOrEqualTo(1);
+        } finally {
+            pinningMonitor.encerrar();
+        }
+    }
+}
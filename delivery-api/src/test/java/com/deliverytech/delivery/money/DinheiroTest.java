@@ -0,0 +1,55 @@
+package com.deliverytech.delivery.money;
+
+import com.deliverytech.delivery.entity.ItemPedido;
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.Produto;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DinheiroTest {
+
+    @Test
+    void deveConverterNaBordaSemPerderCentavos() {
+        assertThat(Dinheiro.de(new BigDecimal("19.90")).centavos()).isEqualTo(1990);
+        assertThat(Dinheiro.de(new BigDecimal("5")).centavos()).isEqualTo(500);
+        assertThat(Dinheiro.de(null)).isEqualTo(Dinheiro.ZERO);
+        // Mais de duas casas: arredonda para o centavo
+        assertThat(Dinheiro.de(new BigDecimal("0.125")).centavos()).isEqualTo(12);
+        assertThat(Dinheiro.deCentavos(6490).paraBigDecimal()).isEqualTo(new BigDecimal("64.90"));
+    }
+
+    @Test
+    void deveSomarEMultiplicarEmCentavos() {
+        Dinheiro preco = Dinheiro.de(new BigDecimal("0.10"));
+
+        assertThat(preco.vezes(3).mais(Dinheiro.de(new BigDecimal("0.20"))).paraBigDecimal())
+                .isEqualTo(new BigDecimal("0.50"));
+        assertThatThrownBy(() -> Dinheiro.deCentavos(Long.MAX_VALUE).mais(Dinheiro.deCentavos(1)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void pedidoDeveCalcularTotaisComItensETaxa() {
+        Pedido pedido = new Pedido();
+        pedido.setTaxaEntrega(new BigDecimal("5.00"));
+        pedido.adicionarItem(new ItemPedido(produto("19.90"), 2));
+        pedido.adicionarItem(new ItemPedido(produto("0.10"), 3));
+
+        pedido.calcularTotais();
+
+        assertThat(pedido.getItens().get(0).getSubtotal()).isEqualTo(new BigDecimal("39.80"));
+        assertThat(pedido.getSubtotal()).isEqualTo(new BigDecimal("40.10"));
+        assertThat(pedido.getValorTotal()).isEqualTo(new BigDecimal("45.10"));
+        assertThat(pedido.getTotal()).isSameAs(pedido.getValorTotal());
+    }
+
+    private Produto produto(String preco) {
+        Produto produto = new Produto();
+        produto.setPreco(new BigDecimal(preco));
+        return produto;
+    }
+}
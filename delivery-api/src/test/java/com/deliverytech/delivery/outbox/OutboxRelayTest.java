@@ -0,0 +1,163 @@
+package com.deliverytech.delivery.outbox;
+
+import com.deliverytech.delivery.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery.dto.request.PedidoRequest;
+import com.deliverytech.delivery.entity.*;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.exception.BusinessException;
+import com.deliverytech.delivery.repository.*;
+import com.deliverytech.delivery.service.PedidoService;
+import com.deliverytech.delivery.support.DadosDeTeste;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+/**
+ * Eventos gravados na transação da mudança de status e entregues pelo relay
+ * em ordem por restaurante.
+ */
+@SpringBootTest(properties = {"outbox.relay.batch-size=200", "outbox.relay.partitions=4"})
+@Import(DadosDeTeste.class)
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class OutboxRelayTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelayTest.class);
+
+    @Autowired private OutboxRelay relay;
+    @Autowired private OutboxEventoRepository outboxEventoRepository;
+    @Autowired private PedidoService pedidoService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private DadosDeTeste dados;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private Produto produto;
+
+    @BeforeEach
+    void setup() {
+        dados.autenticarAdmin("admin.outbox@teste.com");
+        cliente = dados.cliente("Cliente Outbox");
+        restaurante = dados.restaurante("Pizzaria", "Pizza");
+        produto = dados.produto(restaurante, "Pizza", "Pizza", "40.00");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deveEntregarCicloDeVidaDoPedidoEmOrdem() {
+        List<PedidoEvento> recebidos = Collections.synchronizedList(new ArrayList<>());
+        relay.inscrever(recebidos::add);
+
+        Long pedidoId = criarPedido();
+        pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.CONFIRMADO);
+        pedidoService.cancelarPedido(pedidoId);
+
+        // Transição inválida: a transação sofre rollback e nenhum evento é gravado
+        assertThatThrownBy(() -> pedidoService.atualizarStatusPedido(criarPedido(), StatusPedido.ENTREGUE))
+                .isInstanceOf(BusinessException.class);
+
+        assertThat(relay.drenar()).isEqualTo(4);
+        assertThat(outboxEventoRepository.count()).isZero();
+
+        assertThat(recebidos).filteredOn(e -> e.pedidoId().equals(pedidoId))
+                .extracting(PedidoEvento::statusAnterior, PedidoEvento::statusNovo)
+                .containsExactly(
+                        tuple(null, StatusPedido.PENDENTE),
+                        tuple(StatusPedido.PENDENTE, StatusPedido.CONFIRMADO),
+                        tuple(StatusPedido.CONFIRMADO, StatusPedido.CANCELADO));
+        assertThat(recebidos).allSatisfy(e -> {
+            assertThat(e.restauranteId()).isEqualTo(restaurante.getId());
+            assertThat(e.clienteId()).isEqualTo(cliente.getId());
+        });
+    }
+
+    @Test
+    void inscritoComFalhaNaoBloqueiaOsDemais() {
+        AtomicInteger recebidos = new AtomicInteger();
+        relay.inscrever(e -> { throw new IllegalStateException("falha simulada"); });
+        Runnable cancelar = relay.inscrever(e -> recebidos.incrementAndGet());
+
+        criarPedido();
+        criarPedido();
+        assertThat(relay.drenar()).isEqualTo(2);
+        assertThat(recebidos).hasValue(2);
+
+        cancelar.run();
+        criarPedido();
+        relay.drenar();
+        assertThat(recebidos).hasValue(2);
+    }
+
+    @Test
+    void deveManterOrdemPorRestauranteEntreParticoes() {
+        int eventos = 20_000;
+        int restaurantes = 37;
+        gravarEventos(eventos, restaurantes);
+
+        Map<Long, List<Long>> idsPorRestaurante = new ConcurrentHashMap<>();
+        relay.inscrever(e -> idsPorRestaurante
+                .computeIfAbsent(e.restauranteId(), r -> Collections.synchronizedList(new ArrayList<>()))
+                .add(e.id()));
+
+        long inicio = System.nanoTime();
+        long entregues = relay.drenar();
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        logger.info("Relay do outbox: {} eventos em {} s ({} eventos/s)",
+                entregues, String.format("%.2f", segundos), Math.round(entregues / segundos));
+
+        assertThat(entregues).isEqualTo(eventos);
+        assertThat(outboxEventoRepository.count()).isZero();
+        assertThat(idsPorRestaurante).hasSize(restaurantes);
+        idsPorRestaurante.values().forEach(ids -> assertThat(ids).isSorted());
+    }
+
+    private void gravarEventos(int quantidade, int restaurantes) {
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> linhas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            linhas.add(new Object[]{(long) i, (long) (i % restaurantes) + 1, StatusPedido.PENDENTE.name(), agora});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO outbox_evento (pedido_id, restaurante_id, status_novo, data_criacao) VALUES (?, ?, ?, ?)",
+                linhas);
+    }
+
+    private Long criarPedido() {
+        PedidoRequest request = new PedidoRequest();
+        request.setClienteId(cliente.getId());
+        request.setRestauranteId(restaurante.getId());
+        request.setEnderecoEntrega("Rua Teste, 123");
+        request.setItens(List.of(new ItemPedidoRequest(produto.getId(), 1)));
+        return pedidoService.criarPedido(request).getId();
+    }
+}
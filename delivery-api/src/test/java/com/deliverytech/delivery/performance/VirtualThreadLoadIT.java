@@ -0,0 +1,188 @@
+package com.deliverytech.delivery.performance;
+
+import com.deliverytech.delivery.DeliveryApiApplication;
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.enums.Role;
+import com.deliverytech.delivery.repository.UsuarioRepository;
+import com.deliverytech.delivery.security.JwtUtil;
+import com.deliverytech.delivery.service.OutroService;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga comparando o pool de plataforma do Tomcat com virtual threads.
+ *
+ * O endpoint de carga chama o OutroService, apontado para um stub que responde com atraso fixo,
+ * simulando uma dependência remota lenta. Executar com: mvn test -Dtest=VirtualThreadLoadIT
+ */
+class VirtualThreadLoadIT {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadLoadIT.class);
+
+    // Pool de plataforma limitado a THREADS_TOMCAT / latência (40 req/s), abaixo do que a CPU suporta:
+    // a comparação mede o limite de threads, não o custo de CPU por requisição
+    private static final int LATENCIA_STUB_MS = 250;
+    private static final int THREADS_TOMCAT = 10;
+    private static final int CLIENTES_SIMULTANEOS = 200;
+    private static final int REQUISICOES = 1_000;
+
+    private static HttpServer stub;
+    private static ExecutorService executorStub;
+
+    @BeforeAll
+    static void iniciarStub() throws Exception {
+        executorStub = Executors.newVirtualThreadPerTaskExecutor();
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/api/data", exchange -> {
+            try {
+                Thread.sleep(LATENCIA_STUB_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] corpo = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, corpo.length);
+            exchange.getResponseBody().write(corpo);
+            exchange.close();
+        });
+        stub.setExecutor(executorStub);
+        stub.start();
+    }
+
+    @AfterAll
+    static void pararStub() {
+        stub.stop(0);
+        executorStub.shutdownNow();
+    }
+
+    @Test
+    void virtualThreadsDevemSuperarPoolDePlataformaComChamadaBloqueante() throws Exception {
+        double plataforma = medirVazao(false);
+        double virtual = medirVazao(true);
+
+        logger.info("Vazão com {} threads de plataforma: {} req/s", THREADS_TOMCAT, String.format("%.1f", plataforma));
+        logger.info("Vazão com virtual threads: {} req/s", String.format("%.1f", virtual));
+
+        assertThat(virtual).isGreaterThan(plataforma);
+    }
+
+    private double medirVazao(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(DeliveryApiApplication.class, CargaController.class)
+                .profiles("test")
+                // Como argumentos: precedência sobre o application.properties (properties() seria só default)
+                .run("--server.port=0",
+                        "--server.tomcat.threads.max=" + THREADS_TOMCAT,
+                        "--logging.level.com.deliverytech=INFO",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--threads.virtual.pinning.enabled=true",
+                        "--outro-servico.url=http://localhost:" + stub.getAddress().getPort())) {
+
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + porta + "/api/carga/outro-servico");
+            String token = gerarToken(contexto);
+
+            // Aquecimento: JIT, pool de conexões e cache de tokens
+            disparar(uri, token, CLIENTES_SIMULTANEOS);
+
+            long inicio = System.nanoTime();
+            int sucesso = disparar(uri, token, REQUISICOES);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            assertThat(sucesso).isEqualTo(REQUISICOES);
+
+            if (virtualThreads) {
+                Timer pinning = contexto.getBean(MeterRegistry.class).find("jvm.threads.virtual.pinned").timer();
+                logger.info("Pinning detectado durante a carga: {}", pinning != null ? pinning.count() : 0);
+            }
+            return REQUISICOES / segundos;
+        }
+    }
+
+    private static String gerarToken(ConfigurableApplicationContext contexto) {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Carga");
+        usuario.setEmail("carga@email.com");
+        usuario.setSenha("123456");
+        usuario.setRole(Role.CLIENTE);
+        usuario.setAtivo(true);
+        usuario.setDataCriacao(LocalDateTime.now());
+        usuario = contexto.getBean(UsuarioRepository.class).save(usuario);
+        return contexto.getBean(JwtUtil.class).generateToken(usuario);
+    }
+
+    private static int disparar(URI uri, String token, int requisicoes) throws InterruptedException {
+        AtomicInteger sucesso = new AtomicInteger();
+        Semaphore simultaneos = new Semaphore(CLIENTES_SIMULTANEOS);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clientes)
+                     .build()) {
+            for (int i = 0; i < requisicoes; i++) {
+                simultaneos.acquire();
+                clientes.submit(() -> {
+                    try {
+                        if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                            sucesso.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        logger.debug("Falha na requisição de carga: {}", e.getMessage());
+                    } finally {
+                        simultaneos.release();
+                    }
+                });
+            }
+            simultaneos.acquire(CLIENTES_SIMULTANEOS);
+        }
+        return sucesso.get();
+    }
+
+    /**
+     * Endpoint usado só pelo teste de carga: uma chamada bloqueante a um serviço remoto.
+     */
+    @RestController
+    static class CargaController {
+
+        private final OutroService outroService;
+
+        CargaController(OutroService outroService) {
+            this.outroService = outroService;
+        }
+
+        @GetMapping("/api/carga/outro-servico")
+        String outroServico() {
+            return outroService.chamaOutroServico();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.deliverytech.delivery.search;
+
+import com.deliverytech.delivery.dto.request.ProdutoRequest;
+import com.deliverytech.delivery.dto.request.RestauranteRequest;
+import com.deliverytech.delivery.dto.response.ProdutoResponse;
+import com.deliverytech.delivery.dto.response.RestauranteResponse;
+import com.deliverytech.delivery.dto.response.common.CursorPage;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.service.ProdutoService;
+import com.deliverytech.delivery.service.RestauranteService;
+import com.deliverytech.delivery.support.DadosDeTeste;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Busca textual a partir das escritas dos serviços: cadastro, atualização, disponibilidade e
+ * remoção refletem no índice sem recarga.
+ */
+@SpringBootTest
+@Import(DadosDeTeste.class)
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BuscaCatalogoTest {
+
+    // Escritas de restaurante e produto passam pelos caches (Redis), fora do escopo deste teste
+    @TestConfiguration
+    static class SemCache {
+        @Bean
+        @Primary
+        CacheManager semCache() {
+            return new NoOpCacheManager();
+        }
+    }
+
+    @Autowired private RestauranteService restauranteService;
+    @Autowired private ProdutoService produtoService;
+    @Autowired private CatalogoBusca catalogoBusca;
+    @Autowired private RestauranteRepository restauranteRepository;
+    @Autowired private ProdutoRepository produtoRepository;
+    @Autowired private DadosDeTeste dados;
+
+    @BeforeEach
+    void setup() {
+        dados.autenticarAdmin("admin.busca@teste.com");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void buscaDeProdutosDeveAcompanharAsEscritas() {
+        Long restaurante = restauranteService.cadastrarRestaurante(restaurante("Cantina São João", "Italiana")).getId();
+        Long calabresa = cadastrar(restaurante, "Pizza Calabresa", "Calabresa e cebola");
+        Long margherita = cadastrar(restaurante, "Pizza Margherita", "Tomate, mussarela e manjericão");
+        Long lasanha = cadastrar(restaurante, "Lasanha", "Massa, presunto e mussarela");
+
+        assertThat(ids(produtoService.buscarProdutos("pizza", null, 20))).containsExactly(calabresa, margherita);
+        assertThat(ids(produtoService.buscarProdutos("mussarela", null, 20))).containsExactly(margherita, lasanha);
+        assertThat(ids(produtoService.buscarProdutos("manjericao", null, 20))).containsExactly(margherita);
+
+        // Páginas de um elemento, ligadas pelo cursor
+        List<Long> paginado = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<ProdutoResponse> pagina = produtoService.buscarProdutos("mussarela", cursor, 1);
+            pagina.itens().forEach(p -> paginado.add(p.getId()));
+            cursor = pagina.nextCursor();
+        } while (cursor != null);
+        assertThat(paginado).containsExactly(margherita, lasanha);
+
+        ProdutoRequest renomeado = produto(restaurante, "Pizza Quatro Queijos", "Mussarela, provolone, parmesão e gorgonzola");
+        produtoService.atualizarProduto(calabresa, renomeado);
+        assertThat(ids(produtoService.buscarProdutos("calabresa", null, 20))).isEmpty();
+        assertThat(ids(produtoService.buscarProdutos("queijos", null, 20))).containsExactly(calabresa);
+
+        produtoService.alterarDisponibilidade(margherita, false);
+        produtoService.removerProduto(lasanha);
+        assertThat(ids(produtoService.buscarProdutos("mussarela", null, 20))).containsExactly(calabresa);
+    }
+
+    @Test
+    void buscaDeRestaurantesDeveConsiderarStatusECarga() {
+        Long cantina = restauranteService.cadastrarRestaurante(restaurante("Cantina São João", "Italiana")).getId();
+        Long sushi = restauranteService.cadastrarRestaurante(restaurante("Sushi do João", "Japonesa")).getId();
+
+        assertThat(idsRestaurantes(restauranteService.buscarRestaurantes("joao", null, 20))).containsExactly(cantina, sushi);
+        assertThat(idsRestaurantes(restauranteService.buscarRestaurantes("japonesa", null, 20))).containsExactly(sushi);
+
+        restauranteService.alterarStatusRestaurante(sushi);
+        assertThat(idsRestaurantes(restauranteService.buscarRestaurantes("joao", null, 20))).containsExactly(cantina);
+
+        // Gravado direto no banco: entra na próxima carga
+        Restaurante gravado = new Restaurante();
+        gravado.setNome("Churrascaria Gaúcha");
+        gravado.setCategoria("Churrasco");
+        gravado.setEndereco("Rua C, 3");
+        gravado.setTelefone("11999999999");
+        gravado.setTaxaEntrega(new BigDecimal("5.00"));
+        gravado = restauranteRepository.save(gravado);
+        Produto picanha = new Produto();
+        picanha.setNome("Picanha na Chapa");
+        picanha.setDescricao("Picanha, farofa e vinagrete");
+        picanha.setCategoria("Carnes");
+        picanha.setPreco(new BigDecimal("89.90"));
+        picanha.setDisponivel(true);
+        picanha.setRestaurante(gravado);
+        picanha = produtoRepository.save(picanha);
+
+        catalogoBusca.carregar();
+        assertThat(idsRestaurantes(restauranteService.buscarRestaurantes("gaucha", null, 20))).containsExactly(gravado.getId());
+        assertThat(ids(produtoService.buscarProdutos("picanha", null, 20))).containsExactly(picanha.getId());
+    }
+
+    private Long cadastrar(Long restauranteId, String nome, String descricao) {
+        return produtoService.cadastrarProduto(produto(restauranteId, nome, descricao)).getId();
+    }
+
+    private ProdutoRequest produto(Long restauranteId, String nome, String descricao) {
+        ProdutoRequest request = new ProdutoRequest();
+        request.setNome(nome);
+        request.setDescricao(descricao);
+        request.setCategoria("Massas");
+        request.setPreco(new BigDecimal("49.90"));
+        request.setDisponivel(true);
+        request.setRestauranteId(restauranteId);
+        request.setEstoque(10);
+        return request;
+    }
+
+    private RestauranteRequest restaurante(String nome, String categoria) {
+        RestauranteRequest request = new RestauranteRequest();
+        request.setNome(nome);
+        request.setCategoria(categoria);
+        request.setEndereco("Rua A, 1 - 01001-000");
+        request.setTelefone("11999999999");
+        request.setTaxaEntrega(new BigDecimal("5.00"));
+        return request;
+    }
+
+    private List<Long> ids(CursorPage<ProdutoResponse> pagina) {
+        return pagina.itens().stream().map(ProdutoResponse::getId).toList();
+    }
+
+    private List<Long> idsRestaurantes(CursorPage<RestauranteResponse> pagina) {
+        return pagina.itens().stream().map(RestauranteResponse::getId).toList();
+    }
+}
@@ -0,0 +1,89 @@
+package com.deliverytech.delivery.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceTextoTest {
+
+    // nome, categoria, descrição
+    private final IndiceTexto indice = new IndiceTexto(3.0, 1.5, 1.0);
+
+    @BeforeEach
+    void setup() {
+        indice.atualizar(1, "Feijoada Completa", "Brasileira", "Feijão preto com carnes");
+        indice.atualizar(2, "Pão de Queijo", "Lanches", "Massa de polvilho");
+        indice.atualizar(3, "Pizza Calabresa", "Pizza", "Calabresa, cebola e azeitona");
+        indice.atualizar(4, "Esfiha de Calabresa", "Árabe", "Massa fina");
+        indice.atualizar(5, "Cebola Empanada", "Porções", "Anéis de cebola");
+    }
+
+    @Test
+    void deveIgnorarAcentosAceitarPrefixosEErrosDeDigitacao() {
+        assertThat(ids("FEIJAO")).containsExactly(1);
+        assertThat(ids("pao de queijo")).containsExactly(2);
+        assertThat(ids("arabe")).containsExactly(4);
+        assertThat(ids("pi")).containsExactly(3);
+        assertThat(ids("calabreza")).containsExactly(3, 4);
+        // Todos os termos precisam casar
+        assertThat(ids("pizza calabresa")).containsExactly(3);
+        assertThat(ids("pizza queijo")).isEmpty();
+        // Palavras vazias não precisam casar
+        assertThat(ids("pizza de calabresa")).containsExactly(3);
+    }
+
+    @Test
+    void nomeDeveValerMaisQueDescricao() {
+        assertThat(ids("cebola")).containsExactly(5, 3);
+        assertThat(indice.buscar("cebola", Double.POSITIVE_INFINITY, Long.MIN_VALUE, 10))
+                .extracting(Resultado::relevancia)
+                .containsExactly(3.0, 1.0);
+    }
+
+    @Test
+    void escritasDevemRefletirNaBuscaSemRecarga() {
+        indice.atualizar(2, "Pão de Batata", "Lanches", "Massa de batata");
+        assertThat(ids("queijo")).isEmpty();
+        assertThat(ids("batata")).containsExactly(2);
+
+        indice.remover(3);
+        assertThat(ids("calabresa")).containsExactly(4);
+        assertThat(indice.tamanho()).isEqualTo(4);
+    }
+
+    @Test
+    void paginasPorCursorDevemRepetirABuscaCompleta() {
+        String[] palavras = {"pizza", "massa", "queijo", "frango", "calabresa", "burguer", "salada", "suco"};
+        Random random = new Random(42);
+        for (long id = 10; id < 500; id++) {
+            indice.atualizar(id, palavras[random.nextInt(palavras.length)] + " " + palavras[random.nextInt(palavras.length)],
+                    palavras[random.nextInt(palavras.length)], palavras[random.nextInt(palavras.length)]);
+        }
+
+        List<Resultado> completa = indice.buscar("pizza queijo", Double.POSITIVE_INFINITY, Long.MIN_VALUE, 1000);
+        List<Resultado> paginada = new ArrayList<>();
+        double relevancia = Double.POSITIVE_INFINITY;
+        long id = Long.MIN_VALUE;
+        List<Resultado> pagina;
+        do {
+            pagina = indice.buscar("pizza queijo", relevancia, id, 7);
+            paginada.addAll(pagina);
+            if (!pagina.isEmpty()) {
+                relevancia = pagina.get(pagina.size() - 1).relevancia();
+                id = pagina.get(pagina.size() - 1).id();
+            }
+        } while (pagina.size() == 7);
+
+        assertThat(completa).hasSizeGreaterThan(20);
+        assertThat(paginada).containsExactlyElementsOf(completa);
+    }
+
+    private long[] ids(String consulta) {
+        return indice.buscar(consulta, Double.POSITIVE_INFINITY, Long.MIN_VALUE, 100).stream().mapToLong(Resultado::id).toArray();
+    }
+}
@@ -0,0 +1,83 @@
+package com.deliverytech.delivery.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class JwtTokenBlacklistTest {
+
+    @Test
+    void memoriaDeveRevogarAteAExpiracaoDoToken() throws InterruptedException {
+        InMemoryJwtTokenBlacklist blacklist = new InMemoryJwtTokenBlacklist(1000);
+
+        blacklist.add("token-a", Instant.now().plusMillis(300));
+        blacklist.add("token-vencido", Instant.now().minusSeconds(1));
+
+        assertThat(blacklist.isBlacklisted("token-a")).isTrue();
+        assertThat(blacklist.isBlacklisted("token-b")).isFalse();
+        assertThat(blacklist.isBlacklisted("token-vencido")).isFalse();
+
+        Thread.sleep(500);
+
+        assertThat(blacklist.isBlacklisted("token-a")).isFalse();
+    }
+
+    @Test
+    void bloomFilterNaoDeveTerFalsosNegativos() {
+        TokenBloomFilter filtro = new TokenBloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filtro.adicionar(TokenHash.sha256("token-" + i)));
+
+        assertThat(IntStream.range(0, 10_000)
+                .allMatch(i -> filtro.talvezContenha(TokenHash.sha256("token-" + i)))).isTrue();
+
+        long falsosPositivos = IntStream.range(0, 10_000)
+                .filter(i -> filtro.talvezContenha(TokenHash.sha256("outro-" + i)))
+                .count();
+        assertThat(falsosPositivos).isLessThan(300);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void redisDeveResponderTokenNaoRevogadoSemConsultarRedis() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> ops = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(ops);
+        when(redisTemplate.hasKey(anyString())).thenReturn(true);
+
+        RedisJwtTokenBlacklist blacklist = new RedisJwtTokenBlacklist(redisTemplate, 1000, 0.01, Duration.ofMinutes(10));
+
+        assertThat(blacklist.isBlacklisted("token-livre")).isFalse();
+        verify(redisTemplate, never()).hasKey(anyString());
+
+        blacklist.add("token-revogado", Instant.now().plusSeconds(60));
+        String hash = TokenHash.sha256("token-revogado");
+        verify(ops).set(eq(RedisJwtTokenBlacklist.PREFIXO + hash), eq("1"), any(Duration.class));
+        verify(redisTemplate).convertAndSend(RedisJwtTokenBlacklist.CANAL, hash);
+
+        assertThat(blacklist.isBlacklisted("token-revogado")).isTrue();
+        verify(redisTemplate).hasKey(RedisJwtTokenBlacklist.PREFIXO + hash);
+    }
+
+    @Test
+    void redisDeveMarcarRevogacoesDeOutrasInstancias() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.hasKey(anyString())).thenReturn(true);
+        RedisJwtTokenBlacklist blacklist = new RedisJwtTokenBlacklist(redisTemplate, 1000, 0.01, Duration.ofMinutes(10));
+
+        String hash = TokenHash.sha256("token-outro-no");
+        blacklist.onMessage(new DefaultMessage(RedisJwtTokenBlacklist.CANAL.getBytes(StandardCharsets.UTF_8),
+                hash.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(blacklist.isBlacklisted("token-outro-no")).isTrue();
+    }
+}
@@ -0,0 +1,67 @@
+package com.deliverytech.delivery.security;
+
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.enums.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "1a2b3c4d5e6f7g8h9i0j1k2l3m4n5o6p";
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void setup() {
+        usuario = new Usuario();
+        usuario.setId(7L);
+        usuario.setNome("Maria");
+        usuario.setEmail("maria@email.com");
+        usuario.setSenha("123456");
+        usuario.setRole(Role.CLIENTE);
+        usuario.setAtivo(true);
+        usuario.setDataCriacao(LocalDateTime.now());
+    }
+
+    @Test
+    void deveReutilizarClaimsDeTokenJaVerificado() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 100);
+        String token = jwtUtil.generateToken(usuario);
+
+        Claims primeira = jwtUtil.parseClaims(token);
+        Claims segunda = jwtUtil.parseClaims(token);
+
+        assertThat(segunda).isSameAs(primeira);
+        assertThat(jwtUtil.extractUsername(token)).isEqualTo("maria@email.com");
+        assertThat(jwtUtil.validateToken(token, usuario)).isTrue();
+    }
+
+    @Test
+    void deveRejeitarTokenAlterado() {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000, 100);
+        String token = jwtUtil.generateToken(usuario);
+        jwtUtil.parseClaims(token);
+
+        String adulterado = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> jwtUtil.parseClaims(adulterado)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void deveRejeitarTokenExpiradoMesmoDepoisDeVerificado() throws InterruptedException {
+        JwtUtil jwtUtil = new JwtUtil(SECRET, 1_000, 100);
+        String token = jwtUtil.generateToken(usuario);
+        jwtUtil.parseClaims(token);
+
+        Thread.sleep(1_500);
+
+        assertThatThrownBy(() -> jwtUtil.parseClaims(token)).isInstanceOf(JwtException.class);
+    }
+}
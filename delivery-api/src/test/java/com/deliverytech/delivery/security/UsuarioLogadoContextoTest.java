@@ -0,0 +1,88 @@
+package com.deliverytech.delivery.security;
+
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.enums.Role;
+import com.deliverytech.delivery.repository.UsuarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UsuarioLogadoContextoTest {
+
+    private final UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+    private final UsuarioLogadoContexto contexto = new UsuarioLogadoContexto(usuarioRepository);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void principalUsuarioNaoConsultaORepositorio() {
+        Usuario usuario = usuario("jwt@email.com");
+        autenticar(usuario);
+
+        assertThat(contexto.getUsuario()).containsSame(usuario);
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    @Test
+    void deveBuscarUmaVezPorRequisicao() {
+        Usuario usuario = usuario("email@email.com");
+        when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+        autenticar(usuario.getEmail());
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(contexto.getUsuario()).containsSame(usuario);
+        assertThat(contexto.getUsuario()).containsSame(usuario);
+        verify(usuarioRepository, times(1)).findByEmail(usuario.getEmail());
+
+        // Nova requisição, nova busca
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        contexto.getUsuario();
+        verify(usuarioRepository, times(2)).findByEmail(usuario.getEmail());
+    }
+
+    @Test
+    void foraDeRequisicaoBuscaACadaChamada() {
+        Usuario usuario = usuario("job@email.com");
+        when(usuarioRepository.findByEmail(usuario.getEmail())).thenReturn(Optional.of(usuario));
+        autenticar(usuario.getEmail());
+
+        contexto.getUsuario();
+        contexto.getUsuario();
+        verify(usuarioRepository, times(2)).findByEmail(usuario.getEmail());
+    }
+
+    @Test
+    void semAutenticacaoRetornaVazio() {
+        assertThat(contexto.getUsuario()).isEmpty();
+        verify(usuarioRepository, never()).findByEmail(any());
+    }
+
+    private void autenticar(Object principal) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, List.of(new SimpleGrantedAuthority("ROLE_CLIENTE"))));
+    }
+
+    private Usuario usuario(String email) {
+        Usuario usuario = new Usuario();
+        usuario.setId(1L);
+        usuario.setEmail(email);
+        usuario.setRole(Role.CLIENTE);
+        return usuario;
+    }
+}
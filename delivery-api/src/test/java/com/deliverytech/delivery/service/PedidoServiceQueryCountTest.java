@@ -0,0 +1,174 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery.dto.request.PedidoRequest;
+import com.deliverytech.delivery.dto.response.PedidoResponse;
+import com.deliverytech.delivery.dto.response.common.CursorPage;
+import com.deliverytech.delivery.entity.*;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.support.DadosDeTeste;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Garante que a criação de pedido executa um número fixo de consultas e de INSERTs,
+ * independente da quantidade de itens (sem N+1 na busca de produtos, itens gravados em lote).
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.deliverytech.delivery.service.SqlStatementCounter"
+})
+@Import(DadosDeTeste.class)
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PedidoServiceQueryCountTest {
+
+    // usuário logado, cliente, restaurante e produtos (lote único)
+    private static final long CONSULTAS_ESPERADAS = 4;
+
+    // pedido, lote de itens e evento do outbox
+    private static final long INSERTS_ESPERADOS = 3;
+
+    private Usuario admin;
+
+    @Autowired private PedidoService pedidoService;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private DadosDeTeste dados;
+
+    private Statistics statistics;
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private final List<Produto> produtos = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        admin = dados.autenticarAdmin("admin.consultas@teste.com");
+        cliente = dados.cliente("Cliente Consultas");
+        restaurante = dados.restaurante("Restaurante Consultas", "Lanches");
+        IntStream.rangeClosed(1, 20).forEach(i ->
+                produtos.add(dados.produto(restaurante, "Produto " + i, "Lanche", "10.00")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deveExecutarConsultasConstantesIndependenteDaQuantidadeDeItens() {
+        long consultasUmItem = contarConsultas(novoPedido(produtos.subList(0, 1)));
+        long consultasVinteItens = contarConsultas(novoPedido(produtos));
+
+        assertEquals(CONSULTAS_ESPERADAS, consultasUmItem);
+        assertEquals(consultasUmItem, consultasVinteItens);
+    }
+
+    @Test
+    void deveGravarItensDoPedidoEmLote() {
+        int pedidos = 5;
+        statistics.clear();
+        SqlStatementCounter.zerar();
+        for (int i = 0; i < pedidos; i++) {
+            pedidoService.criarPedido(novoPedido(produtos));
+        }
+
+        // pedido, 20 itens e evento do outbox por pedido
+        assertEquals(pedidos * 22L, statistics.getEntityInsertCount());
+        assertEquals(pedidos * INSERTS_ESPERADOS, SqlStatementCounter.inserts());
+        // ids reservados em blocos de 50: 105 ids custam poucas chamadas à sequência (105 com allocationSize = 1)
+        assertTrue(SqlStatementCounter.sequencias() <= 6, "chamadas à sequência: " + SqlStatementCounter.sequencias());
+    }
+
+    @Test
+    void deveAtualizarStatusComUmaUnicaLeitura() {
+        // Principal montado pelo JwtAuthenticationFilter: o usuário logado não é buscado de novo
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                admin, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+        Long pedidoId = pedidoService.criarPedido(novoPedido(produtos)).getId();
+
+        SqlStatementCounter.zerar();
+        pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.CONFIRMADO);
+        assertEquals(1, SqlStatementCounter.selects());
+
+        SqlStatementCounter.zerar();
+        pedidoService.cancelarPedido(pedidoId);
+        assertEquals(1, SqlStatementCounter.selects());
+    }
+
+    @Test
+    void deveListarComFiltroPaginandoPorCursor() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(pedidoService.criarPedido(novoPedido(produtos.subList(0, 1))).getId());
+        }
+        pedidoService.atualizarStatusPedido(ids.get(0), StatusPedido.CONFIRMADO);
+        pedidoService.atualizarStatusPedido(ids.get(2), StatusPedido.CONFIRMADO);
+        pedidoService.atualizarStatusPedido(ids.get(3), StatusPedido.CONFIRMADO);
+
+        List<Long> listados = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<PedidoResponse> pagina = pedidoService.listarPedidosComFiltro(
+                    StatusPedido.CONFIRMADO, LocalDateTime.now().minusDays(1), null, cursor, 2);
+            pagina.itens().forEach(p -> {
+                assertEquals(StatusPedido.CONFIRMADO, p.getStatus());
+                assertNotNull(p.getCliente());
+                listados.add(p.getId());
+            });
+            cursor = pagina.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(ids.get(3), ids.get(2), ids.get(0)), listados);
+
+        CursorPage<PedidoResponse> todos = pedidoService.listarPedidosComFiltro(null, null, null, null, 10);
+        assertEquals(5, todos.itens().size());
+        assertNull(todos.nextCursor());
+    }
+
+    private long contarConsultas(PedidoRequest request) {
+        // Cada pedido chega em uma requisição própria: o usuário logado não vem memorizado da anterior
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        SqlStatementCounter.zerar();
+        pedidoService.criarPedido(request);
+        return SqlStatementCounter.selects();
+    }
+
+    private PedidoRequest novoPedido(List<Produto> itens) {
+        PedidoRequest request = new PedidoRequest();
+        request.setClienteId(cliente.getId());
+        request.setRestauranteId(restaurante.getId());
+        request.setEnderecoEntrega("Rua Teste, 123");
+        request.setItens(itens.stream()
+                .map(p -> new ItemPedidoRequest(p.getId(), 1))
+                .toList());
+        return request;
+    }
+}
@@ -1,5 +1,6 @@
 package com.deliverytech.delivery.service;
 
+import com.deliverytech.delivery.archive.PedidoArquivamento;
 import com.deliverytech.delivery.dto.request.ItemPedidoRequest;
 import com.deliverytech.delivery.dto.request.PedidoRequest;
 import com.deliverytech.delivery.dto.response.ClienteResponse;
@@ -11,8 +12,12 @@ import com.deliverytech.delivery.enums.StatusPedido;
 import com.deliverytech.delivery.exception.BusinessException;
 import com.deliverytech.delivery.mapper.PedidoMapper;
 import com.deliverytech.delivery.metrics.PedidoMetrics;
+import com.deliverytech.delivery.outbox.OutboxService;
 import com.deliverytech.delivery.repository.*;
 import com.deliverytech.delivery.service.impl.PedidoServiceImpl;
+import com.deliverytech.delivery.statemachine.PedidoStatusMaquina;
+import com.deliverytech.delivery.stock.StockReservationService;
+import com.deliverytech.delivery.streaming.TransmissaoJpa;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,6 +31,7 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
+import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -42,6 +48,12 @@ class PedidoServiceTest {
     @Mock private ProdutoRepository produtoRepository;
     @Mock private PedidoMapper pedidoMapper;
     @Mock private PedidoMetrics pedidoMetrics; // Adicionado para evitar NPE
+    @Mock private StockReservationService stockReservationService;
+    @Mock private OutboxService outboxService;
+    @Mock private PedidoArquivadoRepository pedidoArquivadoRepository;
+    @Mock private PedidoArquivamento pedidoArquivamento;
+    @Mock private TransmissaoJpa transmissaoJpa;
+    @Mock private PedidoStatusMaquina pedidoStatusMaquina;
 
     @InjectMocks
     private PedidoServiceImpl pedidoService;
@@ -94,7 +106,7 @@ class PedidoServiceTest {
         when(usuarioService.getUsuarioLogado()).thenReturn(usuarioCliente);
         when(clienteRepository.findById(cliente.getId())).thenReturn(Optional.of(cliente));
         when(restauranteRepository.findById(restaurante.getId())).thenReturn(Optional.of(restaurante));
-        when(produtoRepository.findById(produto.getId())).thenReturn(Optional.of(produto));
+        when(produtoRepository.findAllById(anySet())).thenReturn(List.of(produto));
 
         // Simula o timer para não quebrar o teste
         when(pedidoMetrics.startTimer()).thenReturn(null);
@@ -151,6 +163,9 @@ class PedidoServiceTest {
         ArgumentCaptor<Pedido> captor = ArgumentCaptor.forClass(Pedido.class);
         verify(pedidoMapper).toResponse(captor.capture());
         assertEquals(StatusPedido.PENDENTE, captor.getValue().getStatus());
+        verify(pedidoMetrics).registrarReceita(captor.getValue());
+        verify(stockReservationService).reservar(captor.getValue().getItens());
+        verify(outboxService).registrar(captor.getValue(), null);
     }
 
     @Test
@@ -183,7 +198,7 @@ class PedidoServiceTest {
     @Test
     void deveLancarErroQuandoProdutoIndisponivel() {
         produto.setDisponivel(false);
-        when(produtoRepository.findById(produto.getId())).thenReturn(Optional.of(produto));
+        when(produtoRepository.findAllById(anySet())).thenReturn(List.of(produto));
 
         PedidoRequest request = new PedidoRequest();
         request.setClienteId(cliente.getId());
@@ -0,0 +1,164 @@
+package com.deliverytech.delivery.service;
+
+import com.deliverytech.delivery.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery.dto.request.PedidoRequest;
+import com.deliverytech.delivery.dto.response.RelatorioClienteAtivoResponse;
+import com.deliverytech.delivery.dto.response.RelatorioPedidosPorPeriodoResponse;
+import com.deliverytech.delivery.dto.response.RelatorioProdutoMaisVendidoResponse;
+import com.deliverytech.delivery.dto.response.RelatorioVendaPorRestauranteResponse;
+import com.deliverytech.delivery.entity.*;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.repository.*;
+import com.deliverytech.delivery.support.DadosDeTeste;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que os relatórios são alimentados pelas tabelas de resumo diário
+ * quando o pedido passa para ENTREGUE.
+ */
+@SpringBootTest
+@Import(DadosDeTeste.class)
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class RelatorioServiceTest {
+
+    @Autowired private PedidoService pedidoService;
+    @Autowired private RelatorioService relatorioService;
+    @Autowired private PedidoRepository pedidoRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private DadosDeTeste dados;
+
+    private Cliente cliente;
+    private Restaurante pizzaria;
+    private Restaurante hamburgueria;
+    private Produto pizza;
+    private Produto hamburguer;
+
+    @BeforeEach
+    void setup() {
+        dados.autenticarAdmin("admin.relatorio@teste.com");
+        cliente = dados.cliente("Cliente Relatório");
+        pizzaria = dados.restaurante("Pizzaria", "Lanches");
+        hamburgueria = dados.restaurante("Hamburgueria", "Lanches");
+        pizza = dados.produto(pizzaria, "Pizza", "Lanche", "40.00");
+        hamburguer = dados.produto(hamburgueria, "Hambúrguer", "Lanche", "25.00");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void deveAgregarSomentePedidosEntregues() {
+        entregar(criarPedido(pizzaria, pizza, 2));
+        entregar(criarPedido(pizzaria, pizza, 1));
+        entregar(criarPedido(hamburgueria, hamburguer, 1));
+        criarPedido(hamburgueria, hamburguer, 10); // não entregue: fora dos relatórios
+
+        List<RelatorioVendaPorRestauranteResponse> vendas = relatorioService.obterVendasPorRestaurante(null, null, null);
+        assertThat(vendas).hasSize(2);
+        assertThat(vendas.get(0).getRestauranteId()).isEqualTo(pizzaria.getId());
+        assertThat(vendas.get(0).getTotalPedidos()).isEqualTo(2L);
+        // 3 pizzas + 2 taxas de entrega de 5.00
+        assertThat(vendas.get(0).getValorTotal()).isEqualByComparingTo("130.00");
+
+        List<RelatorioProdutoMaisVendidoResponse> produtos = relatorioService.obterProdutosMaisVendidos(null, null, 1);
+        assertThat(produtos).singleElement()
+                .satisfies(p -> {
+                    assertThat(p.getProdutoId()).isEqualTo(pizza.getId());
+                    assertThat(p.getQuantidadeVendida()).isEqualTo(3L);
+                });
+
+        List<RelatorioClienteAtivoResponse> clientes = relatorioService.obterClientesMaisAtivos(null, null, 10);
+        assertThat(clientes).singleElement()
+                .satisfies(c -> assertThat(c.getTotalPedidos()).isEqualTo(3L));
+
+        LocalDate hoje = LocalDate.now();
+        RelatorioPedidosPorPeriodoResponse periodo = relatorioService.obterPedidosPorPeriodo(hoje, hoje);
+        assertThat(periodo.getTotalPedidos()).isEqualTo(3L);
+        assertThat(periodo.getValorTotal()).isEqualByComparingTo("160.00");
+    }
+
+    @Test
+    void deveFiltrarPorPeriodo() {
+        entregar(criarPedido(pizzaria, pizza, 1));
+
+        LocalDate ontem = LocalDate.now().minusDays(1);
+        assertThat(relatorioService.obterVendasPorRestaurante(null, ontem, null)).isEmpty();
+        assertThat(relatorioService.obterVendasPorRestaurante(ontem, null, null)).hasSize(1);
+        assertThat(relatorioService.obterPedidosPorPeriodo(ontem, ontem).getTotalPedidos()).isZero();
+    }
+
+    @Test
+    void deveSomarPrimeirasEntregasConcorrentesDoDia() throws Exception {
+        Long primeiro = criarPedido(pizzaria, pizza, 1);
+        Long segundo = criarPedido(pizzaria, pizza, 2);
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        CountDownLatch primeiroRegistrado = new CountDownLatch(1);
+
+        // O primeiro segura a transação aberta enquanto o segundo, sem ver a linha do dia
+        // ainda não confirmada, registra a sua entrega
+        CompletableFuture<Void> entregaPrimeiro = CompletableFuture.runAsync(() -> transacao.executeWithoutResult(status -> {
+            relatorioService.registrarPedidoEntregue(pedidoRepository.findById(primeiro).orElseThrow());
+            primeiroRegistrado.countDown();
+            pausar(300);
+        }));
+        primeiroRegistrado.await();
+        CompletableFuture<Void> entregaSegundo = CompletableFuture.runAsync(() -> transacao.executeWithoutResult(status ->
+                relatorioService.registrarPedidoEntregue(pedidoRepository.findById(segundo).orElseThrow())));
+        CompletableFuture.allOf(entregaPrimeiro, entregaSegundo).join();
+
+        assertThat(relatorioService.obterVendasPorRestaurante(null, null, null)).singleElement()
+                .satisfies(v -> assertThat(v.getTotalPedidos()).isEqualTo(2L));
+        assertThat(relatorioService.obterProdutosMaisVendidos(null, null, null)).singleElement()
+                .satisfies(p -> assertThat(p.getQuantidadeVendida()).isEqualTo(3L));
+        assertThat(relatorioService.obterClientesMaisAtivos(null, null, null)).singleElement()
+                .satisfies(c -> assertThat(c.getTotalPedidos()).isEqualTo(2L));
+    }
+
+    private static void pausar(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Long criarPedido(Restaurante restaurante, Produto produto, int quantidade) {
+        PedidoRequest request = new PedidoRequest();
+        request.setClienteId(cliente.getId());
+        request.setRestauranteId(restaurante.getId());
+        request.setEnderecoEntrega("Rua Teste, 123");
+        request.setItens(List.of(new ItemPedidoRequest(produto.getId(), quantidade)));
+        return pedidoService.criarPedido(request).getId();
+    }
+
+    private void entregar(Long pedidoId) {
+        pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.CONFIRMADO);
+        pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.EM_PREPARACAO);
+        pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.SAIU_PARA_ENTREGA);
+        pedidoService.atualizarStatusPedido(pedidoId, StatusPedido.ENTREGUE);
+    }
+}
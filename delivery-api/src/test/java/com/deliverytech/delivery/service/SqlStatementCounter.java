@@ -0,0 +1,62 @@
+package com.deliverytech.delivery.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conta os statements SQL preparados pelo Hibernate, por tipo. Um lote JDBC (addBatch/executeBatch)
+ * é preparado uma única vez e conta como um statement.
+ *
+ * Registrado via spring.jpa.properties.hibernate.session_factory.statement_inspector.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final AtomicLong SELECTS = new AtomicLong();
+    private static final AtomicLong INSERTS = new AtomicLong();
+    private static final AtomicLong UPDATES = new AtomicLong();
+    private static final AtomicLong SEQUENCIAS = new AtomicLong();
+
+    @Override
+    public String inspect(String sql) {
+        String normalizado = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (normalizado.contains("next value for")) {
+            SEQUENCIAS.incrementAndGet();
+        } else if (normalizado.startsWith("select")) {
+            SELECTS.incrementAndGet();
+        } else if (normalizado.startsWith("insert")) {
+            INSERTS.incrementAndGet();
+        } else if (normalizado.startsWith("update")) {
+            UPDATES.incrementAndGet();
+        }
+        return sql;
+    }
+
+    public static void zerar() {
+        SELECTS.set(0);
+        INSERTS.set(0);
+        UPDATES.set(0);
+        SEQUENCIAS.set(0);
+    }
+
+    public static long selects() {
+        return SELECTS.get();
+    }
+
+    public static long inserts() {
+        return INSERTS.get();
+    }
+
+    public static long updates() {
+        return UPDATES.get();
+    }
+
+    public static long sequencias() {
+        return SEQUENCIAS.get();
+    }
+
+    public static long total() {
+        return selects() + inserts() + updates() + sequencias();
+    }
+}
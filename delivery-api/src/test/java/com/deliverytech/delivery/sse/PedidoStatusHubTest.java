@@ -0,0 +1,218 @@
+package com.deliverytech.delivery.sse;
+
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.exception.EntityNotFoundException;
+import com.deliverytech.delivery.outbox.PedidoEvento;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PedidoStatusHubTest {
+
+    private static final int TAMANHO_FILA = 4;
+    private static final Duration LIMITE_ESCRITA = Duration.ofMillis(100);
+
+    private final Queue<EmitterDeTeste> proximos = new ArrayDeque<>();
+    private final PedidoStatusHub hub = new PedidoStatusHub(new ObjectMapper().findAndRegisterModules(),
+            new SimpleMeterRegistry(), Duration.ofMinutes(30), TAMANHO_FILA, LIMITE_ESCRITA) {
+        @Override
+        SseEmitter novoEmitter() {
+            return proximos.remove();
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        hub.encerrar();
+    }
+
+    @Test
+    void deveEnviarStatusAtualEEncerrarNoStatusFinal() throws Exception {
+        EmitterDeTeste emitter = proximo();
+
+        hub.acompanharPedido(1L, () -> StatusPedido.PENDENTE);
+        assertThat(hub.conexoesAbertas()).isEqualTo(1);
+
+        hub.entregar(evento(1L, 10L, StatusPedido.CONFIRMADO));
+        hub.entregar(evento(1L, 10L, StatusPedido.CANCELADO));
+
+        assertThat(emitter.encerrado.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.falha).isNull();
+        assertThat(emitter.enviados).hasSize(3);
+        assertThat(emitter.enviados.get(0)).contains("\"statusNovo\":\"PENDENTE\"");
+        assertThat(emitter.enviados.get(1)).contains("\"statusNovo\":\"CONFIRMADO\"");
+        assertThat(emitter.enviados.get(2)).contains("\"statusNovo\":\"CANCELADO\"");
+        assertThat(hub.conexoesAbertas()).isZero();
+    }
+
+    @Test
+    void pedidoJaFinalizadoRecebeOStatusEEncerra() throws Exception {
+        EmitterDeTeste emitter = proximo();
+
+        hub.acompanharPedido(1L, () -> StatusPedido.ENTREGUE);
+
+        assertThat(emitter.encerrado.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.enviados).singleElement().asString().contains("\"statusNovo\":\"ENTREGUE\"");
+        assertThat(hub.conexoesAbertas()).isZero();
+    }
+
+    @Test
+    void deveDesfazerORegistroQuandoOStatusNaoPodeSerLido() {
+        proximo();
+
+        assertThatThrownBy(() -> hub.acompanharPedido(1L, () -> {
+            throw new EntityNotFoundException("Pedido não encontrado.");
+        })).isInstanceOf(EntityNotFoundException.class);
+        assertThat(hub.conexoesAbertas()).isZero();
+    }
+
+    @Test
+    void deveRemoverConexaoQuandoOEnvioFalha() throws Exception {
+        EmitterDeTeste quebrado = proximo();
+        quebrado.erro = new IOException("Broken pipe");
+        EmitterDeTeste saudavel = proximo();
+
+        hub.acompanharRestaurante(10L);
+        hub.acompanharRestaurante(10L);
+        hub.entregar(evento(1L, 10L, StatusPedido.CONFIRMADO));
+
+        assertThat(quebrado.encerrado.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(quebrado.falha).isSameAs(quebrado.erro);
+        assertThat(hub.conexoesAbertas()).isEqualTo(1);
+
+        hub.entregar(evento(2L, 10L, StatusPedido.CONFIRMADO));
+        aguardar(() -> saudavel.enviados.size() == 2);
+        assertThat(quebrado.tentativas).isEqualTo(1);
+    }
+
+    @Test
+    void clienteLentoNaoDeveAtrasarOsDemaisNemQuemEntrega() throws Exception {
+        EmitterDeTeste lento = proximo();
+        lento.liberar = new CountDownLatch(1);
+        EmitterDeTeste rapido = proximo();
+
+        hub.acompanharRestaurante(10L);
+        hub.acompanharRestaurante(10L);
+
+        // O cliente rápido recebe cada evento enquanto a escrita do lento segue presa
+        for (long pedido = 1; pedido <= 10; pedido++) {
+            long inicio = System.nanoTime();
+            hub.entregar(evento(pedido, 10L, StatusPedido.CONFIRMADO));
+            // A entrega só enfileira: não espera a escrita presa do cliente lento
+            assertThat(Duration.ofNanos(System.nanoTime() - inicio)).isLessThan(Duration.ofSeconds(1));
+            int recebidos = (int) pedido;
+            aguardar(() -> rapido.enviados.size() == recebidos);
+        }
+
+        // Mais eventos pendentes que o tamanho da fila: a conexão lenta sai do índice na hora
+        assertThat(hub.conexoesAbertas()).isEqualTo(1);
+        assertThat(lento.encerrado.getCount()).isEqualTo(1);
+
+        // Destravada a escrita, a própria thread de escrita encerra o emitter
+        lento.liberar.countDown();
+        assertThat(lento.encerrado.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(lento.falha).hasMessageContaining("Fila de envio cheia");
+        assertThat(lento.enviados).hasSize(1);
+    }
+
+    @Test
+    void heartbeatDeveDescartarConexaoComEscritaParada() throws Exception {
+        EmitterDeTeste parado = proximo();
+        parado.liberar = new CountDownLatch(1);
+
+        hub.acompanharRestaurante(10L);
+        hub.entregar(evento(1L, 10L, StatusPedido.CONFIRMADO));
+        assertThat(parado.escrevendo.await(5, TimeUnit.SECONDS)).isTrue();
+
+        hub.heartbeat();
+        assertThat(hub.conexoesAbertas()).isEqualTo(1);
+
+        Thread.sleep(LIMITE_ESCRITA.toMillis() * 2);
+        hub.heartbeat();
+        assertThat(hub.conexoesAbertas()).isZero();
+
+        parado.liberar.countDown();
+        assertThat(parado.encerrado.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(parado.falha).hasMessageContaining("Escrita parada");
+    }
+
+    private EmitterDeTeste proximo() {
+        EmitterDeTeste emitter = new EmitterDeTeste();
+        proximos.add(emitter);
+        return emitter;
+    }
+
+    private static PedidoEvento evento(Long pedidoId, Long restauranteId, StatusPedido status) {
+        return new PedidoEvento(pedidoId, pedidoId, restauranteId, 1L, null, status, LocalDateTime.now());
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicao.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condição não atingida em 5s").isLessThan(limite);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Emitter sem servlet: guarda o que foi escrito e pode falhar ou prender a escrita até ser liberado.
+     */
+    private static class EmitterDeTeste extends SseEmitter {
+
+        final List<String> enviados = new CopyOnWriteArrayList<>();
+        final CountDownLatch escrevendo = new CountDownLatch(1);
+        final CountDownLatch encerrado = new CountDownLatch(1);
+        volatile int tentativas;
+        volatile IOException erro;
+        volatile CountDownLatch liberar;
+        volatile Throwable falha;
+
+        @Override
+        public void send(Set<DataWithMediaType> itens) throws IOException {
+            tentativas++;
+            escrevendo.countDown();
+            if (erro != null) {
+                throw erro;
+            }
+            if (liberar != null) {
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            StringBuilder evento = new StringBuilder();
+            itens.forEach(item -> evento.append(item.getData()));
+            enviados.add(evento.toString());
+        }
+
+        @Override
+        public void complete() {
+            encerrado.countDown();
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            falha = ex;
+            encerrado.countDown();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.deliverytech.delivery.statemachine;
+
+import com.deliverytech.delivery.entity.Pedido;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.enums.StatusPedido;
+import com.deliverytech.delivery.metrics.PedidoMetrics;
+import com.deliverytech.delivery.outbox.OutboxService;
+import com.deliverytech.delivery.repository.PedidoRepository;
+import com.deliverytech.delivery.service.RelatorioService;
+import com.deliverytech.delivery.stock.StockReservationService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static com.deliverytech.delivery.enums.StatusPedido.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PedidoStatusMaquinaTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxService outboxService = mock(OutboxService.class);
+    private final StockReservationService stockReservationService = mock(StockReservationService.class);
+    private final RelatorioService relatorioService = mock(RelatorioService.class);
+
+    private PedidoStatusMaquina maquina;
+    private Pedido pedido;
+
+    @BeforeEach
+    void setup() {
+        PedidoMetrics pedidoMetrics = new PedidoMetrics(mock(PedidoRepository.class), meterRegistry);
+        pedidoMetrics.init();
+        maquina = new PedidoStatusMaquina(pedidoMetrics, outboxService, stockReservationService, relatorioService);
+
+        Restaurante restaurante = new Restaurante();
+        restaurante.setId(7L);
+        pedido = new Pedido();
+        pedido.setRestaurante(restaurante);
+        pedido.setStatus(PENDENTE);
+        pedido.setDataPedido(LocalDateTime.now().minusMinutes(10));
+    }
+
+    @Test
+    void tabelaDeveDefinirTransicoesEStatusFinais() {
+        assertThat(PedidoStatusMaquina.permiteAtualizacao(PENDENTE, CONFIRMADO)).isTrue();
+        assertThat(PedidoStatusMaquina.permiteAtualizacao(PENDENTE, ENTREGUE)).isFalse();
+        assertThat(PedidoStatusMaquina.permiteCancelamento(CONFIRMADO)).isTrue();
+        assertThat(PedidoStatusMaquina.permiteCancelamento(PENDENTE)).isFalse();
+        assertThat(PedidoStatusMaquina.permiteCancelamento(SAIU_PARA_ENTREGA)).isFalse();
+
+        assertThat(StatusPedido.values())
+                .filteredOn(PedidoStatusMaquina::isFinal)
+                .containsExactlyInAnyOrder(ENTREGUE, CANCELADO);
+    }
+
+    @Test
+    void atualizacaoDeStatusDeveManterAsTransicoesDoPatch() {
+        // Regra do PATCH antes da tabela: confirmado só é cancelado pelo DELETE
+        for (StatusPedido de : StatusPedido.values()) {
+            for (StatusPedido para : StatusPedido.values()) {
+                boolean esperado = switch (de) {
+                    case PENDENTE -> para == CONFIRMADO || para == CANCELADO;
+                    case CONFIRMADO -> para == EM_PREPARACAO;
+                    case EM_PREPARACAO -> para == SAIU_PARA_ENTREGA;
+                    case SAIU_PARA_ENTREGA -> para == ENTREGUE;
+                    default -> false;
+                };
+                assertThat(PedidoStatusMaquina.permiteAtualizacao(de, para)).as(de + " -> " + para).isEqualTo(esperado);
+            }
+        }
+    }
+
+    @Test
+    void atualizacaoNaoDeveCancelarPedidoConfirmado() {
+        maquina.atualizar(pedido, CONFIRMADO);
+
+        assertThatThrownBy(() -> maquina.atualizar(pedido, CANCELADO))
+                .isInstanceOf(TransicaoInvalidaException.class);
+        assertThat(pedido.getStatus()).isEqualTo(CONFIRMADO);
+        verifyNoInteractions(stockReservationService);
+    }
+
+    @Test
+    void deveRegistrarDataDeEntradaETempoNoStatusAnterior() {
+        assertThat(maquina.atualizar(pedido, CONFIRMADO)).isEqualTo(PENDENTE);
+
+        assertThat(pedido.getStatus()).isEqualTo(CONFIRMADO);
+        assertThat(pedido.getDataConfirmacao()).isNotNull();
+        verify(outboxService).registrar(pedido, PENDENTE);
+
+        Timer pendente = meterRegistry.get("pedidos.tempo.status")
+                .tags("restauranteId", "7", "de", "PENDENTE", "para", "CONFIRMADO")
+                .timer();
+        assertThat(pendente.count()).isEqualTo(1);
+        assertThat(pendente.totalTime(TimeUnit.MINUTES)).isBetween(9.9, 10.1);
+
+        maquina.atualizar(pedido, EM_PREPARACAO);
+        maquina.atualizar(pedido, SAIU_PARA_ENTREGA);
+        maquina.atualizar(pedido, ENTREGUE);
+
+        assertThat(pedido.getDataEntrega()).isNotNull();
+        assertThat(meterRegistry.get("pedidos.tempo.status").tags("de", "EM_PREPARACAO", "para", "SAIU_PARA_ENTREGA")
+                .timer().count()).isEqualTo(1);
+        verify(relatorioService).registrarPedidoEntregue(pedido);
+        verifyNoInteractions(stockReservationService);
+    }
+
+    @Test
+    void cancelamentoDeveDevolverEstoque() {
+        assertThatThrownBy(() -> maquina.cancelar(pedido))
+                .isInstanceOf(TransicaoInvalidaException.class);
+
+        maquina.atualizar(pedido, CONFIRMADO);
+        maquina.cancelar(pedido);
+
+        assertThat(pedido.getDataCancelamento()).isNotNull();
+        verify(stockReservationService).liberar(pedido.getItens());
+        verify(outboxService).registrar(pedido, CONFIRMADO);
+        verify(relatorioService, never()).registrarPedidoEntregue(any());
+    }
+
+    @Test
+    void transicaoForaDaTabelaNaoDeveTerEfeitos() {
+        assertThatThrownBy(() -> maquina.atualizar(pedido, ENTREGUE))
+                .isInstanceOf(TransicaoInvalidaException.class);
+
+        assertThat(pedido.getStatus()).isEqualTo(PENDENTE);
+        assertThat(pedido.getDataEntrega()).isNull();
+        verifyNoInteractions(outboxService, relatorioService);
+        assertThat(meterRegistry.find("pedidos.tempo.status").timer()).isNull();
+    }
+}
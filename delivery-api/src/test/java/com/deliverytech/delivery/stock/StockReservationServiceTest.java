@@ -0,0 +1,227 @@
+package com.deliverytech.delivery.stock;
+
+import com.deliverytech.delivery.entity.ItemPedido;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StockReservationServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private StockReservationService service;
+    private Produto pizza;
+    private Produto refrigerante;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        service = new StockReservationService(jdbcTemplate, 8);
+        pizza = produto(1L, "Pizza", 1_000);
+        refrigerante = produto(2L, "Refrigerante", 1_500);
+    }
+
+    @Test
+    void naoDeveVenderAlemDoEstoqueComMilharesDePedidosParalelos() throws Exception {
+        int pedidos = 5_000;
+        AtomicLong pizzasVendidas = new AtomicLong();
+        AtomicLong refrigerantesVendidos = new AtomicLong();
+        CountDownLatch largada = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(32)) {
+            for (int i = 0; i < pedidos; i++) {
+                executor.submit(() -> {
+                    int qtdPizza = ThreadLocalRandom.current().nextInt(1, 4);
+                    int qtdRefrigerante = ThreadLocalRandom.current().nextInt(1, 3);
+                    largada.await();
+                    try {
+                        service.reservar(List.of(item(pizza, qtdPizza), item(refrigerante, qtdRefrigerante)));
+                        pizzasVendidas.addAndGet(qtdPizza);
+                        refrigerantesVendidos.addAndGet(qtdRefrigerante);
+                    } catch (BusinessException e) {
+                        // sem estoque: pedido recusado por inteiro
+                    }
+                    return null;
+                });
+            }
+            largada.countDown();
+        }
+
+        assertThat(pizzasVendidas.get()).isLessThanOrEqualTo(1_000);
+        assertThat(refrigerantesVendidos.get()).isLessThanOrEqualTo(1_500);
+        assertThat(pizzasVendidas.get() + service.disponivel(1L)).isEqualTo(1_000);
+        assertThat(refrigerantesVendidos.get() + service.disponivel(2L)).isEqualTo(1_500);
+        // Com 5000 pedidos de no mínimo 1 pizza, o estoque de pizza tem que ter se esgotado
+        assertThat(service.disponivel(1L)).isLessThan(3);
+
+        service.flush();
+
+        assertThat(somaGravada(1L)).isEqualTo(pizzasVendidas.get());
+        assertThat(somaGravada(2L)).isEqualTo(refrigerantesVendidos.get());
+    }
+
+    @Test
+    void deveRecusarPedidoInteiroQuandoUmItemNaoTemEstoque() {
+        Produto esgotado = produto(3L, "Sobremesa", 1);
+
+        assertThatThrownBy(() -> service.reservar(List.of(item(pizza, 2), item(esgotado, 2))))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Sobremesa");
+
+        assertThat(service.disponivel(1L)).isEqualTo(1_000);
+        assertThat(service.disponivel(3L)).isEqualTo(1);
+    }
+
+    @Test
+    void deveSomarItensDoMesmoProduto() {
+        Produto pouco = produto(4L, "Esfiha", 10);
+
+        service.reservar(List.of(item(pouco, 6), item(pouco, 4)));
+
+        assertThat(service.disponivel(4L)).isZero();
+        assertThatThrownBy(() -> service.reservar(List.of(item(pouco, 1))))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void deveDevolverEstoqueAoLiberarEDescontarDoSaldoGravado() {
+        List<ItemPedido> itens = List.of(item(pizza, 5));
+        service.reservar(itens);
+        service.liberar(itens);
+        service.reservar(List.of(item(pizza, 2)));
+
+        service.flush();
+
+        assertThat(service.disponivel(1L)).isEqualTo(998);
+        assertThat(somaGravada(1L)).isEqualTo(2);
+    }
+
+    @Test
+    void deveDesfazerReservaQuandoTransacaoSofreRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.reservar(List.of(item(pizza, 10)));
+            assertThat(service.disponivel(1L)).isEqualTo(990);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(service.disponivel(1L)).isEqualTo(1_000);
+        service.flush();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void deveManterSaldoParaProximoFlushQuandoBancoFalha() {
+        service.reservar(List.of(item(pizza, 3)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("banco indisponível"))
+                .thenReturn(new int[]{1});
+
+        service.flush();
+        service.flush();
+
+        assertThat(somaGravada(1L)).isEqualTo(3);
+    }
+
+    @Test
+    void deveAplicarMudancasDeEstoqueFeitasForaDestaInstancia() throws Exception {
+        service.reservar(List.of(item(pizza, 10)));
+        service.flush();
+        service.reservar(List.of(item(pizza, 5)));
+
+        // Banco: 1000 - 10 gravados aqui - 90 vendidos por outra instância
+        estoqueNoBanco(1L, 900L);
+        service.reconciliar();
+        // As 5 ainda não gravadas continuam descontadas
+        assertThat(service.disponivel(1L)).isEqualTo(895);
+
+        // Reposição administrativa de 200 unidades, direto na tabela
+        estoqueNoBanco(1L, 1_100L);
+        service.reconciliar();
+        assertThat(service.disponivel(1L)).isEqualTo(1_095);
+
+        // Produto removido do banco: o contador é descartado
+        estoqueNoBanco(1L, null);
+        service.reconciliar();
+        assertThat(service.disponivel(1L)).isNull();
+    }
+
+    @Test
+    void reducaoMaiorQueODisponivelDeveSerAbatidaDaProximaReposicao() throws Exception {
+        Produto pouco = produto(5L, "Quibe", 10);
+        service.reservar(List.of(item(pouco, 4)));
+
+        // Outra instância vendeu 8 das 10: faltam 2 para cobrir as 4 reservadas aqui
+        estoqueNoBanco(5L, 2L);
+        service.reconciliar();
+        assertThat(service.disponivel(5L)).isZero();
+
+        estoqueNoBanco(5L, 12L);
+        service.reconciliar();
+        assertThat(service.disponivel(5L)).isEqualTo(8);
+    }
+
+    private void estoqueNoBanco(Long produtoId, Long estoque) throws Exception {
+        ResultSet linha = mock(ResultSet.class);
+        when(linha.getLong(1)).thenReturn(produtoId);
+        when(linha.getLong(2)).thenReturn(estoque != null ? estoque : 0L);
+        doAnswer(invocation -> {
+            if (estoque != null) {
+                ((RowCallbackHandler) invocation.getArgument(1)).processRow(linha);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private long somaGravada(Long produtoId) {
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(eq("UPDATE produto SET estoque = estoque - ? WHERE id = ?"), captor.capture());
+
+        // Lotes que falharam são reenviados: considera só o último envio
+        List<Object[]> ultimo = captor.getAllValues().get(captor.getAllValues().size() - 1);
+        return ultimo.stream()
+                .filter(p -> p[1].equals(produtoId))
+                .mapToLong(p -> (long) p[0])
+                .sum();
+    }
+
+    private static Produto produto(Long id, String nome, int estoque) {
+        Produto produto = new Produto();
+        produto.setId(id);
+        produto.setNome(nome);
+        produto.setPreco(BigDecimal.TEN);
+        produto.setEstoque(estoque);
+        return produto;
+    }
+
+    private static ItemPedido item(Produto produto, int quantidade) {
+        return new ItemPedido(produto, quantidade);
+    }
+}
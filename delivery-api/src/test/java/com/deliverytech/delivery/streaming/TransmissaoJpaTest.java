@@ -0,0 +1,59 @@
+package com.deliverytech.delivery.streaming;
+
+import com.deliverytech.delivery.entity.Cliente;
+import com.deliverytech.delivery.repository.ClienteRepository;
+import com.deliverytech.delivery.service.ClienteService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A transmissão lê todos os registros sem acumulá-los no contexto de persistência.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class TransmissaoJpaTest {
+
+    @Autowired private ClienteService clienteService;
+    @Autowired private ClienteRepository clienteRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void deveTransmitirTodosMantendoOContextoLimitadoAoLote() {
+        clienteRepository.saveAll(IntStream.range(0, 130).mapToObj(i -> {
+            Cliente cliente = new Cliente();
+            cliente.setNome("Cliente " + i);
+            cliente.setEmail("transmissao" + i + "@teste.com");
+            cliente.setAtivo(true);
+            return cliente;
+        }).toList());
+
+        List<Long> ids = new ArrayList<>();
+        int[] maiorContexto = {0};
+        clienteService.transmitirTodosClientes().transmitir(cliente -> {
+            ids.add(cliente.getId());
+            int entidades = entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+            maiorContexto[0] = Math.max(maiorContexto[0], entidades);
+        });
+
+        assertThat(ids).hasSizeGreaterThanOrEqualTo(130).isSorted().doesNotHaveDuplicates();
+        // hibernate.default_batch_fetch_size = 50
+        assertThat(maiorContexto[0]).isLessThanOrEqualTo(50);
+    }
+}
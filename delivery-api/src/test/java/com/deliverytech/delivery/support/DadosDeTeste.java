@@ -0,0 +1,105 @@
+package com.deliverytech.delivery.support;
+
+import com.deliverytech.delivery.entity.Cliente;
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.entity.Usuario;
+import com.deliverytech.delivery.enums.Role;
+import com.deliverytech.delivery.repository.ClienteRepository;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.repository.UsuarioRepository;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Cadastros básicos dos testes de integração (admin, cliente, restaurante e produto), com valores
+ * padrão para tudo o que o teste não precisa controlar. Uso: {@code @Import(DadosDeTeste.class)}.
+ */
+@TestComponent
+public class DadosDeTeste {
+
+    public static final String TAXA_ENTREGA = "5.00";
+
+    private final UsuarioRepository usuarioRepository;
+    private final ClienteRepository clienteRepository;
+    private final RestauranteRepository restauranteRepository;
+    private final ProdutoRepository produtoRepository;
+
+    public DadosDeTeste(UsuarioRepository usuarioRepository,
+                        ClienteRepository clienteRepository,
+                        RestauranteRepository restauranteRepository,
+                        ProdutoRepository produtoRepository) {
+        this.usuarioRepository = usuarioRepository;
+        this.clienteRepository = clienteRepository;
+        this.restauranteRepository = restauranteRepository;
+        this.produtoRepository = produtoRepository;
+    }
+
+    /**
+     * Salva um usuário ADMIN e autentica a thread atual com ele (os serviços leem o usuário logado).
+     */
+    public Usuario autenticarAdmin(String email) {
+        Usuario admin = admin(email);
+        autenticarComoAdmin(email);
+        return admin;
+    }
+
+    public Usuario admin(String email) {
+        Usuario admin = new Usuario();
+        admin.setNome("Admin");
+        admin.setEmail(email);
+        admin.setSenha("123456");
+        admin.setRole(Role.ADMIN);
+        admin.setAtivo(true);
+        admin.setDataCriacao(LocalDateTime.now());
+        return usuarioRepository.save(admin);
+    }
+
+    public static void autenticarComoAdmin(String email) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                email, null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    public Cliente cliente(String nome) {
+        Cliente cliente = new Cliente();
+        cliente.setNome(nome);
+        cliente.setEndereco("Rua A, 1");
+        cliente.setTelefone("11000000000");
+        cliente.setAtivo(true);
+        return clienteRepository.save(cliente);
+    }
+
+    public Restaurante restaurante(String nome, String categoria) {
+        return restaurante(nome, categoria, "Rua B, 2");
+    }
+
+    public Restaurante restaurante(String nome, String categoria, String endereco) {
+        Restaurante restaurante = new Restaurante();
+        restaurante.setNome(nome);
+        restaurante.setCategoria(categoria);
+        restaurante.setEndereco(endereco);
+        restaurante.setTelefone("11999999999");
+        restaurante.setTaxaEntrega(new BigDecimal(TAXA_ENTREGA));
+        restaurante.setAtivo(true);
+        return restauranteRepository.save(restaurante);
+    }
+
+    public Produto produto(Restaurante restaurante, String nome, String categoria, String preco) {
+        Produto produto = new Produto();
+        produto.setNome(nome);
+        produto.setDescricao(nome);
+        produto.setCategoria(categoria);
+        produto.setPreco(new BigDecimal(preco));
+        produto.setEstoque(100);
+        produto.setDisponivel(true);
+        produto.setRestaurante(restaurante);
+        return produtoRepository.save(produto);
+    }
+}
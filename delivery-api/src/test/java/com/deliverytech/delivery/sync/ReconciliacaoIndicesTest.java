@@ -0,0 +1,90 @@
+package com.deliverytech.delivery.sync;
+
+import com.deliverytech.delivery.entity.Produto;
+import com.deliverytech.delivery.entity.Restaurante;
+import com.deliverytech.delivery.fee.TaxaEntregaCalculadora;
+import com.deliverytech.delivery.geo.Coordenada;
+import com.deliverytech.delivery.geo.RestauranteGeoIndice;
+import com.deliverytech.delivery.geo.Vizinho;
+import com.deliverytech.delivery.repository.ProdutoRepository;
+import com.deliverytech.delivery.repository.RestauranteRepository;
+import com.deliverytech.delivery.search.CatalogoBusca;
+import com.deliverytech.delivery.search.Resultado;
+import com.deliverytech.delivery.support.DadosDeTeste;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Escritas de "outra instância" (direto nos repositórios, sem passar pelos serviços desta) chegam
+ * aos índices em memória na rodada de reconciliação seguinte.
+ */
+@SpringBootTest
+@Import(DadosDeTeste.class)
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ReconciliacaoIndicesTest {
+
+    private static final String CEP = "01310-100";
+
+    @Autowired private ReconciliacaoIndices reconciliacao;
+    @Autowired private TaxaEntregaCalculadora taxaEntregaCalculadora;
+    @Autowired private RestauranteGeoIndice geoIndice;
+    @Autowired private CatalogoBusca catalogoBusca;
+    @Autowired private RestauranteRepository restauranteRepository;
+    @Autowired private ProdutoRepository produtoRepository;
+    @Autowired private DadosDeTeste dados;
+
+    @Test
+    void deveRelerRestaurantesCadastradosAlteradosERemovidosEmOutraInstancia() {
+        Restaurante restaurante = dados.restaurante("Cantina Paulista", "Italiana", "Av. Paulista, 1000 - " + CEP);
+        Long id = restaurante.getId();
+        Produto lasanha = dados.produto(restaurante, "Lasanha", "Massas", "39.90");
+
+        assertThat(catalogoBusca.buscarRestaurantes("cantina", null, 10)).isEmpty();
+        assertThat(reconciliacao.reconciliar()).isEqualTo(1);
+        assertThat(ids(catalogoBusca.buscarRestaurantes("cantina", null, 10))).containsExactly(id);
+        assertThat(ids(catalogoBusca.buscarProdutos("lasanha", null, 10))).containsExactly(lasanha.getId());
+        assertThat(proximos()).containsExactly(id);
+        assertThat(taxaEntregaCalculadora.calcular(id, CEP)).isEqualByComparingTo("5.00");
+
+        // Nada mudou: nada é relido
+        assertThat(reconciliacao.reconciliar()).isZero();
+
+        restaurante.setTaxaEntrega(new BigDecimal("8.00"));
+        restaurante.setAtivo(false);
+        restauranteRepository.save(restaurante);
+        produtoRepository.delete(lasanha);
+        restauranteRepository.incrementarVersaoCardapio(id);
+
+        assertThat(taxaEntregaCalculadora.calcular(id, CEP)).isEqualByComparingTo("5.00");
+        assertThat(reconciliacao.reconciliar()).isEqualTo(1);
+        assertThat(taxaEntregaCalculadora.calcular(id, CEP)).isEqualByComparingTo("8.00");
+        assertThat(catalogoBusca.buscarRestaurantes("cantina", null, 10)).isEmpty();
+        assertThat(catalogoBusca.buscarProdutos("lasanha", null, 10)).isEmpty();
+        assertThat(proximos()).isEmpty();
+
+        restauranteRepository.deleteById(id);
+        assertThat(reconciliacao.reconciliar()).isEqualTo(1);
+        assertThat(reconciliacao.reconciliar()).isZero();
+    }
+
+    private List<Long> proximos() {
+        Coordenada origem = geoIndice.localizar(CEP).orElseThrow();
+        return geoIndice.buscar(origem, 5.0, null, 10).stream().map(Vizinho::id).toList();
+    }
+
+    private static List<Long> ids(List<Resultado> resultados) {
+        return resultados.stream().map(Resultado::id).toList();
+    }
+}